@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples.finance.credit;
+
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.examples.marketdata.ExampleMarketData;
+import com.opengamma.strata.examples.marketdata.credit.markit.MarkitRedCode;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.pricer.credit.IsdaCdsBatchResult;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveId;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveInputs;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveId;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputs;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputsId;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.IndexReferenceInformation;
+import com.opengamma.strata.product.credit.ReferenceInformation;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.RestructuringClause;
+import com.opengamma.strata.product.credit.SeniorityLevel;
+import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.product.credit.type.CdsConventions;
+
+/**
+ * Test {@link IsdaCdsPricer#priceBatch(List, MarketData)} against the pricing of each product.
+ */
+@Test
+public class CdsBatchPricingTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 10, 16);
+  private static final double NOTIONAL = 100_000_000d;
+  private static final double TOL = 1e-12;
+
+  private static final ReferenceInformation COMPANY01 = SingleNameReferenceInformation.of(
+      MarkitRedCode.id("COMP01"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      Currency.USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+  private static final ReferenceInformation COMPANY02 = SingleNameReferenceInformation.of(
+      MarkitRedCode.id("COMP02"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      Currency.USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+  private static final ReferenceInformation INDEX0001 =
+      IndexReferenceInformation.of(MarkitRedCode.id("INDEX0001"), 22, 4);
+
+  private static final MarketData MARKET_DATA = withCalibratedCurves(
+      ExampleMarketData.builder().buildSnapshot(VAL_DATE), ImmutableList.of(COMPANY01, COMPANY02, INDEX0001));
+
+  //-------------------------------------------------------------------------
+  public void test_singleName_sharedCurve_mixedMaturities() {
+    // maturities on the quarterly schedule are priced as a strip, the others individually
+    List<ResolvedCds> products = ImmutableList.of(
+        product(COMPANY01, date(2014, 9, 22), date(2019, 12, 20), BuySell.BUY, 0.0100),
+        product(COMPANY01, date(2014, 9, 22), date(2016, 12, 20), BuySell.BUY, 0.0100),
+        product(COMPANY01, date(2014, 9, 22), date(2017, 12, 20), BuySell.SELL, 0.0500),
+        product(COMPANY01, date(2014, 9, 22), date(2019, 6, 20), BuySell.BUY, 0.0100),
+        product(COMPANY01, date(2014, 9, 22), date(2016, 12, 20), BuySell.SELL, 0.0500),
+        product(COMPANY01, date(2014, 9, 22), date(2018, 3, 5), BuySell.BUY, 0.0100),
+        product(COMPANY01, date(2014, 6, 20), date(2018, 6, 20), BuySell.BUY, 0.0100));
+    assertBatchMatches(products);
+  }
+
+  public void test_index_sharedCurve_mixedMaturities() {
+    List<ResolvedCds> products = ImmutableList.of(
+        product(INDEX0001, date(2014, 3, 20), date(2019, 6, 20), BuySell.BUY, 0.0500),
+        product(INDEX0001, date(2014, 3, 20), date(2017, 6, 20), BuySell.BUY, 0.0500),
+        product(INDEX0001, date(2014, 3, 20), date(2021, 6, 20), BuySell.SELL, 0.0500));
+    assertBatchMatches(products);
+  }
+
+  public void test_distinctCurves() {
+    List<ResolvedCds> products = ImmutableList.of(
+        product(COMPANY01, date(2014, 9, 22), date(2019, 12, 20), BuySell.BUY, 0.0100),
+        product(COMPANY02, date(2014, 9, 22), date(2019, 12, 20), BuySell.BUY, 0.0500),
+        product(INDEX0001, date(2014, 3, 20), date(2019, 6, 20), BuySell.BUY, 0.0500),
+        product(COMPANY02, date(2014, 9, 22), date(2017, 12, 20), BuySell.SELL, 0.0500),
+        product(COMPANY01, date(2014, 9, 22), date(2017, 12, 20), BuySell.BUY, 0.0100),
+        product(INDEX0001, date(2014, 3, 20), date(2017, 6, 20), BuySell.BUY, 0.0500));
+    assertBatchMatches(products);
+  }
+
+  public void test_singleProduct() {
+    assertBatchMatches(ImmutableList.of(
+        product(COMPANY02, date(2014, 9, 22), date(2019, 12, 20), BuySell.BUY, 0.0500)));
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the batch results against pricing each product alone
+  private static void assertBatchMatches(List<ResolvedCds> products) {
+    IsdaCdsBatchResult result = PRICER.priceBatch(products, MARKET_DATA);
+    assertEquals(result.size(), products.size());
+    for (int i = 0; i < products.size(); i++) {
+      ResolvedCds product = products.get(i);
+      IsdaCreditCurveId curveId = IsdaCreditCurveId.of(product.getReferenceInformation(), product.getCurrency());
+      IsdaYieldCurveInputs yieldCurveInputs = MARKET_DATA.getValue(IsdaYieldCurveInputsId.of(product.getCurrency()));
+      IsdaCreditCurveInputs creditCurveInputs = MARKET_DATA.getValue(curveId.creditCurveInputsId());
+      NodalCurve yieldCurve = MARKET_DATA.getValue(IsdaYieldCurveId.of(product.getCurrency()));
+      NodalCurve creditCurve = MARKET_DATA.getValue(curveId);
+      double recoveryRate = MARKET_DATA.getValue(curveId.recoveryRateId()).getRecoveryRate();
+      double scalingFactor = creditCurveInputs.getScalingFactor();
+
+      double pv = PRICER.presentValue(
+          product, yieldCurve, creditCurve, VAL_DATE, recoveryRate, scalingFactor).getAmount();
+      double parRate = PRICER.parRate(product, yieldCurve, creditCurve, VAL_DATE, recoveryRate);
+      double cs01 = PRICER.cs01ParallelHazard(
+          product, yieldCurveInputs, creditCurveInputs, VAL_DATE, recoveryRate, scalingFactor).getAmount();
+      assertEquals(result.getCurrencies().get(i), product.getCurrency());
+      assertEquals(result.getPresentValue(i).getAmount(), pv, NOTIONAL * TOL);
+      assertEquals(result.getParRates().get(i), parRate, TOL);
+      assertEquals(result.getCs01(i).getAmount(), cs01, NOTIONAL * TOL);
+    }
+  }
+
+  // adds the calibrated curves to the market data
+  private static MarketData withCalibratedCurves(MarketData marketData, List<ReferenceInformation> refInfos) {
+    Currency currency = Currency.USD;
+    NodalCurve yieldCurve =
+        PRICER.calibrateYieldCurve(VAL_DATE, marketData.getValue(IsdaYieldCurveInputsId.of(currency)));
+    MarketData result = marketData.withValue(IsdaYieldCurveId.of(currency), yieldCurve);
+    for (ReferenceInformation refInfo : refInfos) {
+      IsdaCreditCurveId curveId = IsdaCreditCurveId.of(refInfo, currency);
+      NodalCurve creditCurve = PRICER.calibrateCreditCurve(
+          VAL_DATE,
+          marketData.getValue(curveId.creditCurveInputsId()),
+          yieldCurve,
+          marketData.getValue(curveId.recoveryRateId()).getRecoveryRate());
+      result = result.withValue(curveId, creditCurve);
+    }
+    return result;
+  }
+
+  // creates an expanded product
+  private static ResolvedCds product(
+      ReferenceInformation refInfo,
+      LocalDate startDate,
+      LocalDate endDate,
+      BuySell buySell,
+      double coupon) {
+
+    return CdsConventions.USD_NORTH_AMERICAN
+        .toTrade(startDate, endDate, buySell, NOTIONAL, coupon, refInfo, 1_000_000d, date(2014, 10, 21))
+        .resolve(REF_DATA)
+        .getProduct();
+  }
+
+  private static LocalDate date(int year, int month, int day) {
+    return LocalDate.of(year, month, day);
+  }
+
+}
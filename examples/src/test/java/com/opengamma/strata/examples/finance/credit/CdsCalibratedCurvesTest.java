@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples.finance.credit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.examples.finance.credit.harness.TestHarness.TradeFactory;
+import com.opengamma.strata.examples.marketdata.ExampleMarketData;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.credit.CreditMeasures;
+import com.opengamma.strata.measure.credit.IsdaCreditCurveMarketDataFunction;
+import com.opengamma.strata.measure.credit.IsdaYieldCurveMarketDataFunction;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveId;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveId;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.credit.CdsTrade;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Test that CDS measures are the same whether the calibrated curves are in the market data or not.
+ */
+@Test
+public class CdsCalibratedCurvesTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 10, 16);
+  private static final List<Trade> TRADES = ImmutableList.of(
+      TradeFactory.withCompany01().getTrade(),
+      TradeFactory.withCompany02().getTrade(),
+      TradeFactory.withIndex0001().getTrade());
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PAR_RATE),
+      Column.of(CreditMeasures.JUMP_TO_DEFAULT));
+
+  //-------------------------------------------------------------------------
+  public void test_cachedCurvesMatchCalibratedCurves() {
+    MarketData marketData = ExampleMarketData.builder().buildSnapshot(VAL_DATE);
+    MarketData cachedMarketData = withCalibratedCurves(marketData);
+
+    Results calibrated = calculate(marketData);
+    Results cached = calculate(cachedMarketData);
+    for (int row = 0; row < TRADES.size(); row++) {
+      for (int column = 0; column < COLUMNS.size(); column++) {
+        Result<?> calibratedResult = calibrated.get(row, column);
+        Result<?> cachedResult = cached.get(row, column);
+        assertTrue(calibratedResult.isSuccess(), calibratedResult.toString());
+        assertTrue(cachedResult.isSuccess(), cachedResult.toString());
+        assertEquals(cachedResult.getValue(), calibratedResult.getValue());
+      }
+    }
+  }
+
+  // adds the curves built by the market data functions to the market data
+  private static MarketData withCalibratedCurves(MarketData marketData) {
+    ScenarioMarketData scenarioMarketData = ScenarioMarketData.of(1, marketData);
+    MarketData result = marketData;
+    for (Trade trade : TRADES) {
+      ResolvedCds product = ((CdsTrade) trade).resolve(REF_DATA).getProduct();
+      IsdaYieldCurveId yieldCurveId = IsdaYieldCurveId.of(product.getCurrency());
+      IsdaCreditCurveId creditCurveId = IsdaCreditCurveId.of(product.getReferenceInformation(), product.getCurrency());
+      assertFalse(marketData.containsValue(yieldCurveId));
+      assertFalse(marketData.containsValue(creditCurveId));
+      NodalCurve yieldCurve = new IsdaYieldCurveMarketDataFunction()
+          .build(yieldCurveId, MarketDataConfig.empty(), scenarioMarketData, REF_DATA)
+          .getSingleValue();
+      result = result.withValue(yieldCurveId, yieldCurve);
+      NodalCurve creditCurve = new IsdaCreditCurveMarketDataFunction()
+          .build(creditCurveId, MarketDataConfig.empty(), ScenarioMarketData.of(1, result), REF_DATA)
+          .getSingleValue();
+      result = result.withValue(creditCurveId, creditCurve);
+    }
+    return result;
+  }
+
+  // calculates the measures using the market data as supplied
+  private static Results calculate(MarketData marketData) {
+    CalculationRules rules = CalculationRules.of(StandardComponents.calculationFunctions());
+    CalculationRunner runner = CalculationRunner.of(MoreExecutors.newDirectExecutorService());
+    return runner.calculate(rules, TRADES, COLUMNS, marketData, REF_DATA);
+  }
+
+}
@@ -15,6 +15,7 @@ import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.Property;
@@ -30,7 +31,17 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
  * This immutable implementation of {@link HolidayCalendar} stores two underlying calendars.
  * A date is a holiday if either calendar defines it as a holiday.
  * <p>
- * This implementation is intended for short-lived queries.
+ * When created, the two calendars are flattened into a lookup table of business days,
+ * in the same form as {@link ImmutableHolidayCalendar}, covering the years supported by
+ * the underlying calendars. A table of the cumulative number of business days at the start
+ * of each month is also created, allowing {@link #shift(LocalDate, int)} and
+ * {@link #daysBetween(LocalDate, LocalDate)} to be calculated without looping over each day.
+ * Dates outside the table are queried using the underlying calendars.
+ * <p>
+ * Creating the lookup table queries every day of any underlying calendar that is not
+ * an {@link ImmutableHolidayCalendar}, so instances should be reused rather than recreated
+ * for each query. When a combined {@link HolidayCalendarId} is resolved, the last combined
+ * calendar is reused while the reference data provides the same underlying calendars.
  * To combine two calendars for the long-term, such as in a static constant,
  * see {@link ImmutableHolidayCalendar#combined(ImmutableHolidayCalendar, ImmutableHolidayCalendar)}.
  */
@@ -48,6 +59,108 @@ final class CombinedHolidayCalendar
    */
   @PropertyDefinition(validate = "notNull")
   private final HolidayCalendar calendar2;
+  /**
+   * The start year.
+   * Used as the base year for the lookup table.
+   */
+  private final int startYear;  // cached, not a property
+  /**
+   * The lookup table, where each item represents a month from January of startYear onwards.
+   * Bits 0 to 31 are used for each day-of-month, where 0 is a holiday and 1 is a business day.
+   * The table is empty if neither underlying calendar has a lookup table.
+   */
+  private final int[] lookup;  // cached, not a property
+  /**
+   * The number of business days before the start of each month in the lookup table.
+   * The table has one more item than the lookup table, holding the total number of business days.
+   */
+  private final int[] cumulative;  // cached, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * 
+   * @param calendar1  the first underlying calendar
+   * @param calendar2  the second underlying calendar
+   */
+  @ImmutableConstructor
+  CombinedHolidayCalendar(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+    JodaBeanUtils.notNull(calendar1, "calendar1");
+    JodaBeanUtils.notNull(calendar2, "calendar2");
+    this.calendar1 = calendar1;
+    this.calendar2 = calendar2;
+    // the table covers all the years covered by the tables of the underlying calendars
+    int start = Math.min(lookupStartYear(calendar1), lookupStartYear(calendar2));
+    int endExclusive = Math.max(lookupEndYearExclusive(calendar1), lookupEndYearExclusive(calendar2));
+    if (start >= endExclusive) {
+      // special case where neither calendar has a table
+      this.startYear = 0;
+      this.lookup = new int[0];
+      this.cumulative = new int[] {0};
+    } else {
+      this.startYear = start;
+      this.lookup = new int[(endExclusive - start) * 12];
+      this.cumulative = new int[lookup.length + 1];
+      for (int i = 0; i < lookup.length; i++) {
+        int year = start + i / 12;
+        int month = i % 12 + 1;
+        // a day is only a business day if it is a business day in both calendars
+        lookup[i] = monthData(calendar1, year, month) & monthData(calendar2, year, month);
+        cumulative[i + 1] = cumulative[i] + Integer.bitCount(lookup[i]);
+      }
+    }
+  }
+
+  // the first year of the lookup table of the calendar, MAX_VALUE if none
+  private static int lookupStartYear(HolidayCalendar calendar) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      ImmutableHolidayCalendar cal = (ImmutableHolidayCalendar) calendar;
+      return cal.lookupEndYearExclusive() > cal.lookupStartYear() ? cal.lookupStartYear() : Integer.MAX_VALUE;
+    }
+    if (calendar instanceof CombinedHolidayCalendar) {
+      CombinedHolidayCalendar cal = (CombinedHolidayCalendar) calendar;
+      return cal.lookup.length > 0 ? cal.startYear : Integer.MAX_VALUE;
+    }
+    return Integer.MAX_VALUE;
+  }
+
+  // the end year of the lookup table of the calendar, exclusive, MIN_VALUE if none
+  private static int lookupEndYearExclusive(HolidayCalendar calendar) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      ImmutableHolidayCalendar cal = (ImmutableHolidayCalendar) calendar;
+      return cal.lookupEndYearExclusive() > cal.lookupStartYear() ? cal.lookupEndYearExclusive() : Integer.MIN_VALUE;
+    }
+    if (calendar instanceof CombinedHolidayCalendar) {
+      CombinedHolidayCalendar cal = (CombinedHolidayCalendar) calendar;
+      return cal.lookup.length > 0 ? cal.startYear + cal.lookup.length / 12 : Integer.MIN_VALUE;
+    }
+    return Integer.MIN_VALUE;
+  }
+
+  // the data for a month of the calendar, in the format of the lookup table
+  private static int monthData(HolidayCalendar calendar, int year, int month) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      return ((ImmutableHolidayCalendar) calendar).monthData(year, month);
+    }
+    if (calendar instanceof CombinedHolidayCalendar) {
+      CombinedHolidayCalendar cal = (CombinedHolidayCalendar) calendar;
+      int index = (year - cal.startYear) * 12 + month - 1;
+      if (index >= 0 && index < cal.lookup.length) {
+        return cal.lookup[index];
+      }
+      return monthData(cal.calendar1, year, month) & monthData(cal.calendar2, year, month);
+    }
+    // query each day of other calendars
+    LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+    int monthLen = firstOfMonth.lengthOfMonth();
+    int monthData = 0;
+    for (int dom0 = 0; dom0 < monthLen; dom0++) {
+      if (!calendar.isHoliday(firstOfMonth.plusDays(dom0))) {
+        monthData |= (1 << dom0);
+      }
+    }
+    return monthData;
+  }
 
   //-------------------------------------------------------------------------
   @Override
@@ -57,9 +170,97 @@ final class CombinedHolidayCalendar
 
   @Override
   public boolean isHoliday(LocalDate date) {
+    int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+    if (index >= 0 && index < lookup.length) {
+      // check if bit is 1 at zero-based day-of-month
+      return (lookup[index] & (1 << (date.getDayOfMonth() - 1))) == 0;
+    }
     return calendar1.isHoliday(date) || calendar2.isHoliday(date);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate shift(LocalDate date, int amount) {
+    LocalDate shifted = shiftInRange(date, amount);
+    return shifted != null ? shifted : HolidayCalendar.super.shift(date, amount);
+  }
+
+  @Override
+  public LocalDate next(LocalDate date) {
+    LocalDate shifted = shiftInRange(date, 1);
+    return shifted != null ? shifted : HolidayCalendar.super.next(date);
+  }
+
+  @Override
+  public LocalDate previous(LocalDate date) {
+    LocalDate shifted = shiftInRange(date, -1);
+    return shifted != null ? shifted : HolidayCalendar.super.previous(date);
+  }
+
+  // shift using the lookup table, returning null if the input or result is outside the table
+  private LocalDate shiftInRange(LocalDate date, int amount) {
+    if (amount == 0) {
+      return date;
+    }
+    int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+    if (index < 0 || index >= lookup.length) {
+      return null;
+    }
+    // the zero-based number of the target business day in the table
+    // when shifting forward, the input date is skipped if it is a business day
+    int count = businessDaysBefore(index, date);
+    int isBusinessDay = (lookup[index] >>> (date.getDayOfMonth() - 1)) & 1;
+    int target = amount > 0 ? count + isBusinessDay + amount - 1 : count + amount;
+    if (target < 0 || target >= cumulative[lookup.length]) {
+      return null;
+    }
+    return businessDay(index, target);
+  }
+
+  // finds the business day with the zero-based number, starting the search at the month index
+  private LocalDate businessDay(int startIndex, int target) {
+    int index = startIndex;
+    if (target < cumulative[index] || target >= cumulative[index + 1]) {
+      // binary search for the last month that starts on or before the target
+      int low = 0;
+      int high = lookup.length - 1;
+      while (low < high) {
+        int mid = (low + high + 1) >>> 1;
+        if (cumulative[mid] <= target) {
+          low = mid;
+        } else {
+          high = mid - 1;
+        }
+      }
+      index = low;
+    }
+    // unset the lower business days in the month, leaving the target as the least significant bit
+    int monthData = lookup[index];
+    for (int i = cumulative[index]; i < target; i++) {
+      monthData &= monthData - 1;
+    }
+    int dom = Integer.numberOfTrailingZeros(monthData) + 1;
+    return LocalDate.of(startYear + index / 12, index % 12 + 1, dom);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    int startIndex = (startInclusive.getYear() - startYear) * 12 + startInclusive.getMonthValue() - 1;
+    int endIndex = (endExclusive.getYear() - startYear) * 12 + endExclusive.getMonthValue() - 1;
+    if (startIndex >= 0 && endIndex < lookup.length && !endExclusive.isBefore(startInclusive)) {
+      return businessDaysBefore(endIndex, endExclusive) - businessDaysBefore(startIndex, startInclusive);
+    }
+    return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+  }
+
+  // the number of business days in the lookup table before the date
+  private int businessDaysBefore(int index, LocalDate date) {
+    int dom0 = date.getDayOfMonth() - 1;
+    return cumulative[index] + Integer.bitCount(lookup[index] & ((1 << dom0) - 1));
+  }
+
+  //-------------------------------------------------------------------------
   @Override
   public String toString() {
     return "HolidayCalendar[" + getName() + ']';
@@ -84,20 +285,6 @@ final class CombinedHolidayCalendar
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param calendar1  the value of the property, not null
-   * @param calendar2  the value of the property, not null
-   */
-  CombinedHolidayCalendar(
-      HolidayCalendar calendar1,
-      HolidayCalendar calendar2) {
-    JodaBeanUtils.notNull(calendar1, "calendar1");
-    JodaBeanUtils.notNull(calendar2, "calendar2");
-    this.calendar1 = calendar1;
-    this.calendar2 = calendar2;
-  }
-
   @Override
   public CombinedHolidayCalendar.Meta metaBean() {
     return CombinedHolidayCalendar.Meta.INSTANCE;
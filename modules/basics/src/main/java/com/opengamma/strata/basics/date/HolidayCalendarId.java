@@ -93,22 +93,7 @@ public final class HolidayCalendarId
         .sorted(comparing(HolidayCalendarId::getName))
         .collect(toList());
     String normalizedName = Joiner.on('+').join(ids);
-    BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> resolver = (id, refData) -> {
-      HolidayCalendar cal = refData.queryValueOrNull(id);
-      if (cal != null) {
-        return cal;
-      }
-      cal = HolidayCalendars.NO_HOLIDAYS;
-      for (HolidayCalendarId splitId : ids) {
-        HolidayCalendar splitCal = refData.queryValueOrNull(splitId);
-        if (splitCal == null) {
-          throw new ReferenceDataNotFoundException(Messages.format(
-              "Reference data not found for '{}' of type 'HolidayCalendarId' when finding '{}'", splitId, id));
-        }
-        cal = cal.combinedWith(splitCal);
-      }
-      return cal;
-    };
+    BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> resolver = new CombinedResolver(ids);
     // cache under the normalized and non-normalized names
     HolidayCalendarId id = CACHE.computeIfAbsent(normalizedName, n -> new HolidayCalendarId(normalizedName, resolver));
     CACHE.putIfAbsent(name, id);
@@ -138,6 +123,62 @@ public final class HolidayCalendarId
     return of(name);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The resolver of a combined calendar.
+   * <p>
+   * Combining calendars is relatively slow, as the combined calendar builds a lookup table.
+   * The last combined calendar is therefore retained, and is returned again if the reference data
+   * provides the same underlying calendar instances.
+   */
+  private static final class CombinedResolver implements BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> {
+
+    /**
+     * The identifiers of the underlying calendars.
+     */
+    private final List<HolidayCalendarId> ids;
+    /**
+     * The underlying calendars of the last combined calendar, followed by the combined calendar.
+     */
+    private volatile HolidayCalendar[] last;
+
+    // restricted constructor
+    private CombinedResolver(List<HolidayCalendarId> ids) {
+      this.ids = ids;
+    }
+
+    @Override
+    public HolidayCalendar apply(HolidayCalendarId id, ReferenceData refData) {
+      HolidayCalendar cal = refData.queryValueOrNull(id);
+      if (cal != null) {
+        return cal;
+      }
+      HolidayCalendar[] cached = last;
+      HolidayCalendar[] splitCals = new HolidayCalendar[ids.size() + 1];
+      boolean matchesCached = cached != null;
+      for (int i = 0; i < ids.size(); i++) {
+        HolidayCalendarId splitId = ids.get(i);
+        HolidayCalendar splitCal = refData.queryValueOrNull(splitId);
+        if (splitCal == null) {
+          throw new ReferenceDataNotFoundException(Messages.format(
+              "Reference data not found for '{}' of type 'HolidayCalendarId' when finding '{}'", splitId, id));
+        }
+        splitCals[i] = splitCal;
+        matchesCached = matchesCached && cached[i] == splitCal;
+      }
+      if (matchesCached) {
+        return cached[ids.size()];
+      }
+      cal = HolidayCalendars.NO_HOLIDAYS;
+      for (int i = 0; i < ids.size(); i++) {
+        cal = cal.combinedWith(splitCals[i]);
+      }
+      splitCals[ids.size()] = cal;
+      last = splitCals;
+      return cal;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the name that uniquely identifies this calendar.
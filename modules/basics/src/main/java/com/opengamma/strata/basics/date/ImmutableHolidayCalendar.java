@@ -192,19 +192,7 @@ public final class ImmutableHolidayCalendar
     // loop through all months to handle end-of-month and weekends
     LocalDate firstOfMonth = LocalDate.of(startYear, 1, 1);
     for (int i = 0; i < array.length; i++) {
-      int monthLen = firstOfMonth.lengthOfMonth();
-      // set each valid day-of-month to be a business day
-      // the bits for days beyond the end-of-month will be unset and thus treated as non-business days
-      // the minus one part converts a single set bit into each lower bit being set
-      array[i] = (1 << monthLen) - 1;
-      // unset the bits associated with a weekend
-      // can unset across whole month using repeating pattern of 7 bits
-      // just need to find the offset between the weekend and the day-of-week of the 1st of the month
-      for (DayOfWeek weekendDow : weekendDays) {
-        int daysDiff = weekendDow.getValue() - firstOfMonth.getDayOfWeek().getValue();
-        int offset = (daysDiff < 0 ? daysDiff + 7 : daysDiff);
-        array[i] &= ~(0b10000001000000100000010000001 << offset);
-      }
+      array[i] = weekendMonthData(firstOfMonth, weekendDays);
       firstOfMonth = firstOfMonth.plusMonths(1);
     }
     // unset the bit associated with each holiday date
@@ -215,6 +203,45 @@ public final class ImmutableHolidayCalendar
     return array;
   }
 
+  // create the data for a month where only the weekend days are holidays
+  private static int weekendMonthData(LocalDate firstOfMonth, Set<DayOfWeek> weekendDays) {
+    int monthLen = firstOfMonth.lengthOfMonth();
+    // set each valid day-of-month to be a business day
+    // the bits for days beyond the end-of-month will be unset and thus treated as non-business days
+    // the minus one part converts a single set bit into each lower bit being set
+    int monthData = (1 << monthLen) - 1;
+    // unset the bits associated with a weekend
+    // can unset across whole month using repeating pattern of 7 bits
+    // just need to find the offset between the weekend and the day-of-week of the 1st of the month
+    for (DayOfWeek weekendDow : weekendDays) {
+      int daysDiff = weekendDow.getValue() - firstOfMonth.getDayOfWeek().getValue();
+      int offset = (daysDiff < 0 ? daysDiff + 7 : daysDiff);
+      monthData &= ~(0b10000001000000100000010000001 << offset);
+    }
+    return monthData;
+  }
+
+  //-------------------------------------------------------------------------
+  // the first year of the lookup table, used when combining calendars
+  int lookupStartYear() {
+    return startYear;
+  }
+
+  // the end year of the lookup table, exclusive, used when combining calendars
+  int lookupEndYearExclusive() {
+    return startYear + lookup.length / 12;
+  }
+
+  // the data for a month, in the format of the lookup table, used when combining calendars
+  // months outside the lookup table only have weekend holidays
+  int monthData(int year, int month) {
+    int index = (year - startYear) * 12 + month - 1;
+    if (index >= 0 && index < lookup.length) {
+      return lookup[index];
+    }
+    return weekendMonthData(LocalDate.of(year, month, 1), weekendDays);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean isHoliday(LocalDate date) {
@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A cache of relative year fractions from a fixed valuation date.
+ * <p>
+ * Curves and other market data convert dates to a relative year fraction from the valuation date
+ * using {@link DayCount#relativeYearFraction(LocalDate, LocalDate)}. For some day counts, such as
+ * 'Bus/252', this is expensive as the holiday calendar must be queried.
+ * This cache holds the year fractions in primitive arrays indexed by the number of days from
+ * the valuation date, covering a little over 60 years after the valuation date.
+ * The arrays are filled lazily, in blocks of 256 days, the first time a date in the block is queried.
+ * Dates outside the range of the cache are calculated directly.
+ * <p>
+ * The cache is not used unless requested. An instance would typically be created for a calculation run
+ * and attached to each curve based market data view of the run with the same day count and valuation date,
+ * such as discount factors. The memory used is then released with the market data of the run.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class YearFractionCache implements Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+  /**
+   * The number of bits used to identify the day within a block.
+   */
+  private static final int BLOCK_SHIFT = 8;
+  /**
+   * The number of days in a block.
+   */
+  private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+  /**
+   * The number of blocks, covering a little over 60 years.
+   */
+  private static final int BLOCK_COUNT = 86;
+  /**
+   * The number of days covered by the cache.
+   */
+  private static final int MAX_DAYS = BLOCK_SIZE * BLOCK_COUNT;
+
+  /**
+   * The day count.
+   */
+  private final DayCount dayCount;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The valuation date, as an epoch day.
+   */
+  private final transient long valuationEpochDay;
+  /**
+   * The blocks of year fractions, null until first used.
+   */
+  private final transient AtomicReferenceArray<double[]> blocks;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache for the specified day count and valuation date.
+   * <p>
+   * Each call returns a new instance, so the instance should be shared for as long as needed.
+   *
+   * @param dayCount  the day count
+   * @param valuationDate  the valuation date, from which the relative year fractions are measured
+   * @return the cache
+   */
+  public static YearFractionCache of(DayCount dayCount, LocalDate valuationDate) {
+    ArgChecker.notNull(dayCount, "dayCount");
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    return new YearFractionCache(dayCount, valuationDate);
+  }
+
+  // restricted constructor
+  private YearFractionCache(DayCount dayCount, LocalDate valuationDate) {
+    this.dayCount = dayCount;
+    this.valuationDate = valuationDate;
+    this.valuationEpochDay = valuationDate.toEpochDay();
+    this.blocks = new AtomicReferenceArray<>(BLOCK_COUNT);
+  }
+
+  // recreate the transient state, the year fractions are not serialized
+  private Object readResolve() {
+    return new YearFractionCache(dayCount, valuationDate);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the day count.
+   *
+   * @return the day count
+   */
+  public DayCount getDayCount() {
+    return dayCount;
+  }
+
+  /**
+   * Gets the valuation date.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Checks if this cache is for the specified day count and valuation date.
+   *
+   * @param dayCount  the day count
+   * @param valuationDate  the valuation date
+   * @return true if the cache has the same day count and valuation date
+   */
+  public boolean matches(DayCount dayCount, LocalDate valuationDate) {
+    return this.dayCount.equals(dayCount) && this.valuationDate.equals(valuationDate);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the relative year fraction from the valuation date to the specified date.
+   * <p>
+   * The result is the same as {@code dayCount.relativeYearFraction(valuationDate, date)}.
+   *
+   * @param date  the date
+   * @return the relative year fraction, negative if the date is before the valuation date
+   */
+  public double relativeYearFraction(LocalDate date) {
+    long offset = date.toEpochDay() - valuationEpochDay;
+    if (offset < 0 || offset >= MAX_DAYS) {
+      return dayCount.relativeYearFraction(valuationDate, date);
+    }
+    int blockIndex = (int) offset >>> BLOCK_SHIFT;
+    double[] block = blocks.get(blockIndex);
+    if (block == null) {
+      // racing threads calculate identical blocks, so the last one to be set is not important
+      block = createBlock(blockIndex);
+      blocks.set(blockIndex, block);
+    }
+    return block[(int) offset & (BLOCK_SIZE - 1)];
+  }
+
+  // calculates the year fractions of a block
+  private double[] createBlock(int blockIndex) {
+    double[] block = new double[BLOCK_SIZE];
+    LocalDate start = valuationDate.plusDays(blockIndex * BLOCK_SIZE);
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      block[i] = dayCount.relativeYearFraction(valuationDate, start.plusDays(i));
+    }
+    return block;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof YearFractionCache) {
+      YearFractionCache other = (YearFractionCache) obj;
+      return dayCount.equals(other.dayCount) && valuationDate.equals(other.valuationDate);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return dayCount.hashCode() * 31 + valuationDate.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "YearFractionCache[" + dayCount + ", " + valuationDate + "]";
+  }
+
+}
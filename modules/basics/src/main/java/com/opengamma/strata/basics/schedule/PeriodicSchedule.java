@@ -383,12 +383,23 @@ public final class PeriodicSchedule
    * If there are explicit stub dates then they will be used.
    * If the stub convention is present, then it will be validated against the stub dates.
    * If the stub convention and stub dates are not present, then no stubs are allowed.
+   * <p>
+   * If the reference data contains a {@link ScheduleCache}, the schedule is obtained using the cache.
    * 
    * @return the schedule
    * @param refData  the reference data, used to find the holiday calendars
    * @throws ScheduleException if the definition is invalid
    */
   public Schedule createSchedule(ReferenceData refData) {
+    ScheduleCache cache = ScheduleCache.queryOrNull(refData);
+    if (cache != null) {
+      return cache.createSchedule(this, refData);
+    }
+    return createScheduleUncached(refData);
+  }
+
+  // creates the schedule without using a cache
+  Schedule createScheduleUncached(ReferenceData refData) {
     List<LocalDate> unadj = generateUnadjustedDates();
     List<LocalDate> adj = applyBusinessDayAdjustment(unadj, refData);
     RollConvention rollConv = calculatedRollConvention();
@@ -617,12 +628,23 @@ public final class PeriodicSchedule
    * If there are explicit stub dates then they will be used.
    * If the stub convention is present, then it will be validated against the stub dates.
    * If the stub convention and stub dates are not present, then no stubs are allowed.
+   * <p>
+   * If the reference data contains a {@link ScheduleCache}, the dates are obtained using the cache.
    * 
    * @return the schedule of dates adjusted to valid business days
    * @param refData  the reference data, used to find the holiday calendar
    * @throws ScheduleException if the definition is invalid
    */
   public ImmutableList<LocalDate> createAdjustedDates(ReferenceData refData) {
+    ScheduleCache cache = ScheduleCache.queryOrNull(refData);
+    if (cache != null) {
+      return cache.createAdjustedDates(this, refData);
+    }
+    return createAdjustedDatesUncached(refData);
+  }
+
+  // creates the adjusted dates without using a cache
+  ImmutableList<LocalDate> createAdjustedDatesUncached(ReferenceData refData) {
     List<LocalDate> unadj = generateUnadjustedDates();
     List<LocalDate> adj = applyBusinessDayAdjustment(unadj, refData);
     // ensure schedule is valid with no duplicated dates
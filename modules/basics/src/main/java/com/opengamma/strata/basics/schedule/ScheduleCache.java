@@ -0,0 +1,328 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded cache of schedules created from periodic schedule definitions.
+ * <p>
+ * When loading a large portfolio, many trades have a {@link PeriodicSchedule} with the same
+ * start date, end date, frequency, roll convention and holiday calendars.
+ * This cache avoids creating the same {@link Schedule} more than once.
+ * <p>
+ * The cache is not used unless requested. It can be called directly, or it can be added to the reference data
+ * using {@link #combinedWith(ReferenceData)}. When the reference data contains a cache, it is used by
+ * {@link PeriodicSchedule#createSchedule(ReferenceData)} and
+ * {@link PeriodicSchedule#createAdjustedDates(ReferenceData)},
+ * so all products that are resolved using that reference data share the cached schedules.
+ * A cache would typically be created for a calculation run, or for loading a portfolio.
+ * <p>
+ * Results are keyed by the periodic schedule, which is immutable, and the holiday calendars that it resolves to.
+ * The holiday calendars are compared by identity, so reference data that contains the same calendar instances
+ * shares results, while reference data with different calendars does not.
+ * <p>
+ * The cache is bounded by the maximum size specified on creation.
+ * When that size is reached, the least recently used result is discarded as each new result is added.
+ * The number of hits and misses is recorded to allow the effectiveness of the cache to be monitored.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ScheduleCache {
+
+  /**
+   * The maximum number of results held in each cache.
+   */
+  private final int maxSize;
+  /**
+   * The cached schedules, in least recently used order.
+   */
+  private final Results<Schedule> schedules;
+  /**
+   * The cached adjusted dates, in least recently used order.
+   */
+  private final Results<ImmutableList<LocalDate>> adjustedDates;
+  /**
+   * The number of hits.
+   */
+  private final LongAdder hits = new LongAdder();
+  /**
+   * The number of misses.
+   */
+  private final LongAdder misses = new LongAdder();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache with the specified maximum size.
+   * <p>
+   * The maximum size applies separately to the schedules and the adjusted dates.
+   *
+   * @param maxSize  the maximum number of results to hold, one or greater
+   * @return the cache
+   */
+  public static ScheduleCache of(int maxSize) {
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    return new ScheduleCache(maxSize);
+  }
+
+  /**
+   * Finds the cache in the specified reference data.
+   * <p>
+   * This returns the cache added using {@link #combinedWith(ReferenceData)}, or null if there is none.
+   *
+   * @param refData  the reference data
+   * @return the cache, null if not found
+   */
+  static ScheduleCache queryOrNull(ReferenceData refData) {
+    return refData.queryValueOrNull(CacheId.INSTANCE);
+  }
+
+  // restricted constructor
+  private ScheduleCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.schedules = new Results<>(maxSize);
+    this.adjustedDates = new Results<>(maxSize);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Combines this cache with the specified reference data.
+   * <p>
+   * Schedules created using the resulting reference data will use this cache.
+   * The resulting reference data holds the cache, so it cannot be serialized.
+   *
+   * @param refData  the reference data, used to find the holiday calendars
+   * @return the reference data that uses this cache
+   */
+  public ReferenceData combinedWith(ReferenceData refData) {
+    ArgChecker.notNull(refData, "refData");
+    return ImmutableReferenceData.of(CacheId.INSTANCE, this).combinedWith(refData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule from the definition, using the cache.
+   * <p>
+   * The result is the same as {@link PeriodicSchedule#createSchedule(ReferenceData)}.
+   * If the definition is invalid, the exception is thrown and nothing is cached.
+   *
+   * @param definition  the periodic schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  public Schedule createSchedule(PeriodicSchedule definition, ReferenceData refData) {
+    Key key = Key.of(definition, refData);
+    return lookup(schedules, key, () -> definition.createScheduleUncached(refData));
+  }
+
+  /**
+   * Creates the list of adjusted dates from the definition, using the cache.
+   * <p>
+   * The result is the same as {@link PeriodicSchedule#createAdjustedDates(ReferenceData)}.
+   * If the definition is invalid, the exception is thrown and nothing is cached.
+   *
+   * @param definition  the periodic schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @return the schedule of dates adjusted to valid business days
+   * @throws ScheduleException if the definition is invalid
+   */
+  public ImmutableList<LocalDate> createAdjustedDates(PeriodicSchedule definition, ReferenceData refData) {
+    Key key = Key.of(definition, refData);
+    return lookup(adjustedDates, key, () -> definition.createAdjustedDatesUncached(refData));
+  }
+
+  // finds the result in the cache, creating it outside the lock if not found
+  private <T> T lookup(Results<T> results, Key key, Supplier<T> creator) {
+    T cached;
+    synchronized (results) {
+      cached = results.get(key);
+    }
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    T created = creator.get();
+    synchronized (results) {
+      results.putIfAbsent(key, created);
+    }
+    return created;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of results held, separately for schedules and adjusted dates.
+   *
+   * @return the maximum size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the number of requests that were satisfied by the cache.
+   *
+   * @return the number of hits
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of requests that were not satisfied by the cache.
+   *
+   * @return the number of misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the number of results currently held in the cache.
+   *
+   * @return the number of schedules and adjusted date lists in the cache
+   */
+  public int size() {
+    synchronized (schedules) {
+      synchronized (adjustedDates) {
+        return schedules.size() + adjustedDates.size();
+      }
+    }
+  }
+
+  /**
+   * Clears the cache, retaining the hit and miss counts.
+   */
+  public void clear() {
+    synchronized (schedules) {
+      schedules.clear();
+    }
+    synchronized (adjustedDates) {
+      adjustedDates.clear();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ScheduleCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // the identifier of the cache in reference data
+  private enum CacheId implements ReferenceDataId<ScheduleCache> {
+    INSTANCE;
+
+    @Override
+    public Class<ScheduleCache> getReferenceDataType() {
+      return ScheduleCache.class;
+    }
+
+    @Override
+    public String toString() {
+      return "ScheduleCache";
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the cached results, discarding the least recently used when full
+  // access is synchronized on the instance, as a get changes the order
+  private static final class Results<T> extends LinkedHashMap<Key, T> {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The maximum number of results.
+     */
+    private final int maxSize;
+
+    // creates an access ordered map
+    private Results(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, T> eldest) {
+      return size() > maxSize;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the cache key, comparing the holiday calendars by identity
+  private static final class Key {
+    private final PeriodicSchedule definition;
+    private final HolidayCalendar calendar;
+    private final HolidayCalendar startCalendar;
+    private final HolidayCalendar endCalendar;
+    private final int hashCode;
+
+    // resolves the calendars used by the definition, null if not found
+    private static Key of(PeriodicSchedule definition, ReferenceData refData) {
+      ArgChecker.notNull(definition, "definition");
+      ArgChecker.notNull(refData, "refData");
+      HolidayCalendarId calendarId = definition.getBusinessDayAdjustment().getCalendar();
+      HolidayCalendarId startCalendarId = definition.calculatedStartDate().getAdjustment().getCalendar();
+      HolidayCalendarId endCalendarId = definition.calculatedEndDate().getAdjustment().getCalendar();
+      HolidayCalendar calendar = calendarId.queryValueOrNull(refData);
+      HolidayCalendar startCalendar =
+          startCalendarId.equals(calendarId) ? calendar : startCalendarId.queryValueOrNull(refData);
+      HolidayCalendar endCalendar =
+          endCalendarId.equals(calendarId) ? calendar : endCalendarId.queryValueOrNull(refData);
+      return new Key(definition, calendar, startCalendar, endCalendar);
+    }
+
+    private Key(
+        PeriodicSchedule definition,
+        HolidayCalendar calendar,
+        HolidayCalendar startCalendar,
+        HolidayCalendar endCalendar) {
+
+      this.definition = definition;
+      this.calendar = calendar;
+      this.startCalendar = startCalendar;
+      this.endCalendar = endCalendar;
+      int hash = definition.hashCode();
+      hash = hash * 31 + System.identityHashCode(calendar);
+      hash = hash * 31 + System.identityHashCode(startCalendar);
+      this.hashCode = hash * 31 + System.identityHashCode(endCalendar);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return calendar == other.calendar &&
+            startCalendar == other.startCalendar &&
+            endCalendar == other.endCalendar &&
+            definition.equals(other.definition);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -86,6 +86,23 @@ public class HolidayCalendarIdTest {
     assertEquals(refData.getValue(combined), combinedCal);
   }
 
+  public void test_resolve_combined_indirect_reused() {
+    HolidayCalendarId gb = HolidayCalendarId.of("GB");
+    HolidayCalendarId eu = HolidayCalendarId.of("EU");
+    HolidayCalendarId combined = gb.combinedWith(eu);
+    ReferenceData refData1 = ImmutableReferenceData.of(
+        ImmutableMap.of(gb, HolidayCalendars.SAT_SUN, eu, HolidayCalendars.FRI_SAT));
+    HolidayCalendar resolved1 = combined.resolve(refData1);
+    assertSame(combined.resolve(refData1), resolved1);
+    // different underlying calendars are combined again
+    ReferenceData refData2 = ImmutableReferenceData.of(
+        ImmutableMap.of(gb, HolidayCalendars.SAT_SUN, eu, HolidayCalendars.THU_FRI));
+    HolidayCalendar resolved2 = combined.resolve(refData2);
+    assertEquals(resolved2, HolidayCalendars.THU_FRI.combinedWith(HolidayCalendars.SAT_SUN));
+    assertSame(combined.resolve(refData2), resolved2);
+    assertEquals(combined.resolve(refData1), resolved1);
+  }
+
   @Test
   public void testImmutableReferenceDataWithMergedHolidays() {
     HolidayCalendar hc = HolidayCalendars.FRI_SAT.combinedWith(HolidayCalendars.SAT_SUN);
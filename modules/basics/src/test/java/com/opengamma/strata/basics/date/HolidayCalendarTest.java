@@ -19,6 +19,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 import org.joda.beans.ImmutableBean;
 import org.testng.annotations.DataProvider;
@@ -592,6 +593,57 @@ public class HolidayCalendarTest {
     assertSame(test, base);
   }
 
+  public void test_combinedWith_lookupTable() {
+    HolidayCalendar base1 = GlobalHolidayCalendars.GBLO;
+    HolidayCalendar base2 = GlobalHolidayCalendars.USNY;
+    HolidayCalendar test = base1.combinedWith(base2);
+    HolidayCalendar expected = ImmutableHolidayCalendar.combined(
+        (ImmutableHolidayCalendar) base1, (ImmutableHolidayCalendar) base2);
+    assertCombined(test, date -> base1.isHoliday(date) || base2.isHoliday(date), expected);
+  }
+
+  public void test_combinedWith_lookupTable_nested() {
+    HolidayCalendar base1 = GlobalHolidayCalendars.GBLO.combinedWith(GlobalHolidayCalendars.EUTA);
+    HolidayCalendar base2 = new MockHolCal();
+    HolidayCalendar test = base1.combinedWith(base2);
+    assertCombined(test, date -> base1.isHoliday(date) || base2.isHoliday(date), null);
+  }
+
+  // checks the combined calendar against one day at a time, both inside and outside the lookup table
+  private static void assertCombined(HolidayCalendar test, Predicate<LocalDate> isHoliday, HolidayCalendar expected) {
+    for (LocalDate date = date(1945, 1, 1); date.isBefore(date(2105, 1, 1)); date = date.plusDays(1)) {
+      assertEquals(test.isHoliday(date), isHoliday.test(date), date.toString());
+      if (expected != null) {
+        assertEquals(test.isHoliday(date), expected.isHoliday(date), date.toString());
+      }
+    }
+    for (LocalDate date = date(1945, 1, 3); date.isBefore(date(2105, 1, 1)); date = date.plusDays(97)) {
+      for (int amount = -45; amount <= 45; amount += 4) {
+        LocalDate shifted = date;
+        for (int i = 0; i < Math.abs(amount); i++) {
+          do {
+            shifted = shifted.plusDays(Integer.signum(amount));
+          } while (isHoliday.test(shifted));
+        }
+        assertEquals(test.shift(date, amount), shifted, date + " " + amount);
+      }
+      LocalDate next = date.plusDays(1);
+      while (isHoliday.test(next)) {
+        next = next.plusDays(1);
+      }
+      assertEquals(test.next(date), next, date.toString());
+      LocalDate previous = date.minusDays(1);
+      while (isHoliday.test(previous)) {
+        previous = previous.minusDays(1);
+      }
+      assertEquals(test.previous(date), previous, date.toString());
+      LocalDate end = date.plusDays(400);
+      long count = LocalDateUtils.stream(date, end).filter(isHoliday.negate()).count();
+      assertEquals(test.daysBetween(date, end), count, date.toString());
+      assertEquals(test.daysBetween(date, date), 0);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_extendedEnum() {
     assertEquals(HolidayCalendars.extendedEnum().lookupAll().get("NoHolidays"), HolidayCalendars.NO_HOLIDAYS);
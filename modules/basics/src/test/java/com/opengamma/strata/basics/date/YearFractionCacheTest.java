@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link YearFractionCache}.
+ */
+@Test
+public class YearFractionCacheTest {
+
+  private static final LocalDate VAL_DATE = date(2014, 12, 1);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    YearFractionCache test = YearFractionCache.of(ACT_365F, VAL_DATE);
+    assertEquals(test.getDayCount(), ACT_365F);
+    assertEquals(test.getValuationDate(), VAL_DATE);
+    assertNotSame(YearFractionCache.of(ACT_365F, VAL_DATE), test);
+    assertEquals(YearFractionCache.of(ACT_365F, VAL_DATE), test);
+    assertEquals(test.toString(), "YearFractionCache[Act/365F, 2014-12-01]");
+  }
+
+  public void test_of_null() {
+    assertThrowsIllegalArg(() -> YearFractionCache.of(null, VAL_DATE));
+    assertThrowsIllegalArg(() -> YearFractionCache.of(ACT_365F, null));
+  }
+
+  public void test_matches() {
+    YearFractionCache test = YearFractionCache.of(ACT_365F, VAL_DATE);
+    assertTrue(test.matches(ACT_365F, VAL_DATE));
+    assertFalse(test.matches(ACT_360, VAL_DATE));
+    assertFalse(test.matches(ACT_365F, VAL_DATE.plusDays(1)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_relativeYearFraction_act365f() {
+    YearFractionCache test = YearFractionCache.of(ACT_365F, VAL_DATE);
+    for (int i = -400; i < 25000; i += 7) {
+      LocalDate date = VAL_DATE.plusDays(i);
+      assertEquals(test.relativeYearFraction(date), ACT_365F.relativeYearFraction(VAL_DATE, date));
+    }
+  }
+
+  public void test_relativeYearFraction_bus252() {
+    DayCount dayCount = DayCount.of("Bus/252 EUTA");
+    YearFractionCache test = YearFractionCache.of(dayCount, VAL_DATE);
+    for (int i = -30; i < 800; i++) {
+      LocalDate date = VAL_DATE.plusDays(i);
+      assertEquals(test.relativeYearFraction(date), dayCount.relativeYearFraction(VAL_DATE, date));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_serialization() {
+    YearFractionCache test = YearFractionCache.of(ACT_365F, VAL_DATE);
+    assertSerialization(test);
+  }
+
+}
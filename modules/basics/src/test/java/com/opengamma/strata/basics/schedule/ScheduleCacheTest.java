@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.basics.schedule.Frequency.P6M;
+import static com.opengamma.strata.basics.schedule.StubConvention.SHORT_INITIAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+
+/**
+ * Test {@link ScheduleCache}.
+ */
+@Test
+public class ScheduleCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final BusinessDayAdjustment BDA = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO);
+  private static final LocalDate START = date(2016, 2, 17);
+  private static final LocalDate END = date(2021, 2, 17);
+  private static final PeriodicSchedule DEFN_3M = PeriodicSchedule.of(START, END, P3M, BDA, SHORT_INITIAL, false);
+  private static final PeriodicSchedule DEFN_6M = PeriodicSchedule.of(START, END, P6M, BDA, SHORT_INITIAL, false);
+
+  //-------------------------------------------------------------------------
+  public void test_createSchedule() {
+    ScheduleCache test = ScheduleCache.of(10);
+    Schedule first = test.createSchedule(DEFN_3M, REF_DATA);
+    assertEquals(first, DEFN_3M.createSchedule(REF_DATA));
+    assertEquals(test.getHitCount(), 0);
+    assertEquals(test.getMissCount(), 1);
+    // equal definition is a hit
+    PeriodicSchedule equalDefn = PeriodicSchedule.of(START, END, P3M, BDA, SHORT_INITIAL, false);
+    assertSame(test.createSchedule(equalDefn, REF_DATA), first);
+    assertEquals(test.getHitCount(), 1);
+    assertEquals(test.getMissCount(), 1);
+    // different definition is a miss
+    assertEquals(test.createSchedule(DEFN_6M, REF_DATA), DEFN_6M.createSchedule(REF_DATA));
+    assertEquals(test.getHitCount(), 1);
+    assertEquals(test.getMissCount(), 2);
+    assertEquals(test.size(), 2);
+    assertEquals(test.getMaxSize(), 10);
+    assertEquals(test.toString(), "ScheduleCache[size=2, hits=1, misses=2]");
+  }
+
+  public void test_createSchedule_sameCalendars() {
+    ScheduleCache test = ScheduleCache.of(10);
+    Schedule first = test.createSchedule(DEFN_3M, REF_DATA);
+    ReferenceData otherRefData = REF_DATA.combinedWith(ReferenceData.empty());
+    assertSame(test.createSchedule(DEFN_3M, otherRefData), first);
+    assertEquals(test.getHitCount(), 1);
+    assertEquals(test.getMissCount(), 1);
+  }
+
+  public void test_createSchedule_differentCalendars() {
+    ScheduleCache test = ScheduleCache.of(10);
+    test.createSchedule(DEFN_3M, REF_DATA);
+    ReferenceData otherRefData = ImmutableReferenceData.of(GBLO, HolidayCalendars.SAT_SUN).combinedWith(REF_DATA);
+    assertEquals(test.createSchedule(DEFN_3M, otherRefData), DEFN_3M.createSchedule(otherRefData));
+    assertEquals(test.getHitCount(), 0);
+    assertEquals(test.getMissCount(), 2);
+  }
+
+  public void test_createSchedule_bounded() {
+    ScheduleCache test = ScheduleCache.of(1);
+    test.createSchedule(DEFN_3M, REF_DATA);
+    test.createSchedule(DEFN_6M, REF_DATA);
+    assertEquals(test.size(), 1);
+    test.createSchedule(DEFN_6M, REF_DATA);
+    assertEquals(test.getHitCount(), 1);
+    test.createSchedule(DEFN_3M, REF_DATA);
+    assertEquals(test.getMissCount(), 3);
+    test.clear();
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_createSchedule_leastRecentlyUsed() {
+    ScheduleCache test = ScheduleCache.of(2);
+    PeriodicSchedule defn12m = PeriodicSchedule.of(START, END, Frequency.P12M, BDA, SHORT_INITIAL, false);
+    Schedule first = test.createSchedule(DEFN_3M, REF_DATA);
+    test.createSchedule(DEFN_6M, REF_DATA);
+    // using the first schedule keeps it, so the second is discarded when the third is added
+    assertSame(test.createSchedule(DEFN_3M, REF_DATA), first);
+    test.createSchedule(defn12m, REF_DATA);
+    assertEquals(test.size(), 2);
+    assertSame(test.createSchedule(DEFN_3M, REF_DATA), first);
+    assertEquals(test.getHitCount(), 2);
+    assertEquals(test.getMissCount(), 3);
+    test.createSchedule(DEFN_6M, REF_DATA);
+    assertEquals(test.getHitCount(), 2);
+    assertEquals(test.getMissCount(), 4);
+  }
+
+  public void test_createSchedule_invalid() {
+    ScheduleCache test = ScheduleCache.of(10);
+    PeriodicSchedule defn = PeriodicSchedule.builder()
+        .startDate(START)
+        .endDate(date(2016, 12, 17))
+        .frequency(P3M)
+        .businessDayAdjustment(BDA)
+        .stubConvention(StubConvention.NONE)
+        .build();
+    assertThrows(() -> test.createSchedule(defn, REF_DATA), ScheduleException.class);
+    assertEquals(test.size(), 0);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_createAdjustedDates() {
+    ScheduleCache test = ScheduleCache.of(10);
+    ImmutableList<LocalDate> first = test.createAdjustedDates(DEFN_3M, REF_DATA);
+    assertEquals(first, DEFN_3M.createAdjustedDates(REF_DATA));
+    assertSame(test.createAdjustedDates(DEFN_3M, REF_DATA), first);
+    assertEquals(test.getHitCount(), 1);
+    assertEquals(test.getMissCount(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_combinedWith() {
+    ScheduleCache test = ScheduleCache.of(10);
+    ReferenceData refData = test.combinedWith(REF_DATA);
+    Schedule first = DEFN_3M.createSchedule(refData);
+    assertEquals(first, DEFN_3M.createSchedule(REF_DATA));
+    assertSame(DEFN_3M.createSchedule(refData), first);
+    ImmutableList<LocalDate> dates = DEFN_3M.createAdjustedDates(refData);
+    assertEquals(dates, DEFN_3M.createAdjustedDates(REF_DATA));
+    assertSame(DEFN_3M.createAdjustedDates(refData), dates);
+    assertEquals(test.getHitCount(), 2);
+    assertEquals(test.getMissCount(), 2);
+    assertEquals(test.size(), 2);
+    // the standard calendars are still available
+    assertEquals(refData.getValue(GBLO), REF_DATA.getValue(GBLO));
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ScheduleCache.of(0));
+    assertThrowsIllegalArg(() -> ScheduleCache.of(10).createSchedule(null, REF_DATA));
+    assertThrowsIllegalArg(() -> ScheduleCache.of(10).createSchedule(DEFN_3M, null));
+    assertThrowsIllegalArg(() -> ScheduleCache.of(10).combinedWith(null));
+  }
+
+}
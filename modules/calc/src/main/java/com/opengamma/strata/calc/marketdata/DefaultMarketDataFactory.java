@@ -10,10 +10,15 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
@@ -23,6 +28,8 @@ import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketDataBuilder;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -30,6 +37,10 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * If an executor is specified, non-observable market data is built concurrently.
+ * Each item of market data is built as soon as the data it depends on is available,
+ * rather than waiting for all the data at the same level in the dependency tree.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +53,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The executor used to build non-observable market data concurrently, null to build sequentially. */
+  private final Executor executor;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +66,36 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * building non-observable market data concurrently using the specified executor.
+   * <p>
+   * The market data functions are used to build the market data.
+   * They must be safe to invoke concurrently if an executor is specified.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build market data, null to build sequentially
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = executor;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -102,6 +138,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition) {
 
+    if (executor != null) {
+      return createMultiScenarioConcurrently(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
     BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
     BuiltScenarioMarketData builtData = dataBuilder.build();
 
@@ -138,38 +177,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
-
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
-
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
-
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
-
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      addObservableData(leafRequirements, marketData, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // Non-observable data -----------------------------------------------------------------------
 
@@ -186,9 +194,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
 
       // Copy supplied data to the scenario data after applying perturbations
-      leafRequirements.getNonObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      addSuppliedNonObservableData(leafRequirements, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // --------------------------------------------------------------------------------------------
 
@@ -201,6 +207,233 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the market data, building non-observable data concurrently.
+   * <p>
+   * The time-series and observable data are all leaves of the dependency tree, and are obtained in bulk first.
+   * Each item of non-observable data is then built on the executor as soon as the items it depends on are built.
+   * Any perturbation is applied to an item before it is used to build the items that depend on it.
+   */
+  private BuiltScenarioMarketData createMultiScenarioConcurrently(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+
+    // Flatten the tree into the direct dependencies of each item of non-observable data that must be built,
+    // and the requirements that can be satisfied immediately
+    Map<MarketDataId<?>, Set<MarketDataId<?>>> dependencies = new LinkedHashMap<>();
+    MarketDataRequirementsBuilder leafRequirementsBuilder = MarketDataRequirements.builder();
+    flattenDependencies(root, suppliedData, dependencies, leafRequirementsBuilder);
+    MarketDataRequirements leafRequirements = leafRequirementsBuilder.build();
+
+    // The observable data and supplied data is added first, providing the base for building everything else
+    BuiltScenarioMarketData emptyData = dataBuilder.build();
+    addObservableData(leafRequirements, emptyData, suppliedData, refData, scenarioDefinition, dataBuilder);
+    addSuppliedNonObservableData(leafRequirements, suppliedData, refData, scenarioDefinition, dataBuilder);
+    BuiltScenarioMarketData baseData = dataBuilder.build();
+
+    // Create a future for each item, which completes when the item and everything it depends on is built
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures = new LinkedHashMap<>();
+    for (MarketDataId<?> id : dependencies.keySet()) {
+      buildConcurrently(id, dependencies, futures, marketDataConfig, baseData, refData, scenarioDefinition);
+    }
+    // Wait for the results, adding them to the builder on this thread
+    for (Map.Entry<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> entry : futures.entrySet()) {
+      dataBuilder.addResult(entry.getKey(), join(entry.getValue()));
+    }
+    return dataBuilder.build();
+  }
+
+  // flattens the dependency tree, only visiting the dependencies of each item once
+  private static void flattenDependencies(
+      MarketDataNode node,
+      ScenarioMarketData suppliedData,
+      Map<MarketDataId<?>, Set<MarketDataId<?>>> dependencies,
+      MarketDataRequirementsBuilder leafRequirements) {
+
+    for (MarketDataNode child : node.getDependencies()) {
+      MarketDataId<?> id = child.getId();
+      if (child.getDataType() == MarketDataNode.DataType.TIME_SERIES) {
+        leafRequirements.addTimeSeries((ObservableId) id);
+      } else if (id instanceof ObservableId || suppliedData.containsValue(id)) {
+        leafRequirements.addValues(id);
+      } else if (!dependencies.containsKey(id)) {
+        Set<MarketDataId<?>> childDependencies = new LinkedHashSet<>();
+        for (MarketDataNode grandchild : child.getDependencies()) {
+          MarketDataId<?> grandchildId = grandchild.getId();
+          if (grandchild.getDataType() == MarketDataNode.DataType.SINGLE_VALUE &&
+              !(grandchildId instanceof ObservableId) &&
+              !suppliedData.containsValue(grandchildId)) {
+            childDependencies.add(grandchildId);
+          }
+        }
+        dependencies.put(id, childDependencies);
+        flattenDependencies(child, suppliedData, dependencies, leafRequirements);
+      }
+    }
+  }
+
+  // creates the future that builds an item of market data once its dependencies are built
+  private CompletableFuture<Result<MarketDataBox<?>>> buildConcurrently(
+      MarketDataId<?> id,
+      Map<MarketDataId<?>, Set<MarketDataId<?>>> dependencies,
+      Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures,
+      MarketDataConfig marketDataConfig,
+      BuiltScenarioMarketData baseData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    CompletableFuture<Result<MarketDataBox<?>>> existing = futures.get(id);
+    if (existing != null) {
+      return existing;
+    }
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> dependencyFutures = new LinkedHashMap<>();
+    for (MarketDataId<?> dependencyId : dependencies.get(id)) {
+      dependencyFutures.put(
+          dependencyId,
+          buildConcurrently(
+              dependencyId, dependencies, futures, marketDataConfig, baseData, refData, scenarioDefinition));
+    }
+    CompletableFuture<Result<MarketDataBox<?>>> future = CompletableFuture
+        .allOf(dependencyFutures.values().toArray(new CompletableFuture<?>[dependencyFutures.size()]))
+        .thenApplyAsync(
+            ignored -> buildWithDependencies(
+                id, dependencyFutures, marketDataConfig, baseData, refData, scenarioDefinition),
+            executor);
+    futures.put(id, future);
+    return future;
+  }
+
+  // builds an item of market data once its dependencies are built, applying any perturbation
+  private Result<MarketDataBox<?>> buildWithDependencies(
+      MarketDataId<?> id,
+      Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> dependencyFutures,
+      MarketDataConfig marketDataConfig,
+      BuiltScenarioMarketData baseData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    // The market data passed to the function contains the base data plus the dependencies that were built
+    ImmutableScenarioMarketDataBuilder dependencyBuilder =
+        ImmutableScenarioMarketData.builder(baseData.getValuationDate());
+    for (Map.Entry<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> entry : dependencyFutures.entrySet()) {
+      Result<MarketDataBox<?>> dependencyResult = entry.getValue().join();
+      if (dependencyResult.isSuccess()) {
+        addBox(dependencyBuilder, entry.getKey(), dependencyResult.getValue());
+      }
+    }
+    Result<ScenarioMarketData> marketData = Result.of(() -> dependencyBuilder.build().combinedWith(baseData));
+    if (marketData.isFailure()) {
+      return Result.failure(marketData);
+    }
+    Result<MarketDataBox<?>> result = buildNonObservableData(id, marketDataConfig, marketData.getValue(), refData);
+    if (result.isFailure()) {
+      return result;
+    }
+    return perturb(id, result.getValue(), refData, scenarioDefinition);
+  }
+
+  // adds a box to the builder, the cast is safe as the box type is checked when it is built
+  @SuppressWarnings("unchecked")
+  private static void addBox(ImmutableScenarioMarketDataBuilder builder, MarketDataId<?> id, MarketDataBox<?> box) {
+    builder.addBox((MarketDataId<Object>) id, (MarketDataBox<Object>) box);
+  }
+
+  // waits for the future, throwing any unexpected exception that was thrown when building the data
+  private static Result<MarketDataBox<?>> join(CompletableFuture<Result<MarketDataBox<?>>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the time-series and observable market data in the requirements to a builder.
+   * <p>
+   * Data that is not already available is obtained from the providers.
+   * Data in the supplied data is copied, applying any perturbations.
+   *
+   * @param leafRequirements  the requirements
+   * @param marketData  the market data built so far
+   * @param suppliedData  the market data supplied by the user
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param dataBuilder  the market data is added to this builder
+   */
+  private void addObservableData(
+      MarketDataRequirements leafRequirements,
+      BuiltScenarioMarketData marketData,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series of observable data ------------------------------------------------------------
+
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> marketData.getTimeSeries(id).isEmpty())
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+
+    // Single values of observable data -----------------------------------------------------------
+
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(marketData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
+
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
+  /**
+   * Copies the supplied non-observable market data in the requirements to a builder, applying any perturbations.
+   *
+   * @param leafRequirements  the requirements
+   * @param suppliedData  the market data supplied by the user
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param dataBuilder  the market data is added to this builder
+   */
+  private void addSuppliedNonObservableData(
+      MarketDataRequirements leafRequirements,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    leafRequirements.getNonObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
@@ -215,7 +448,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   private Result<MarketDataBox<?>> buildNonObservableData(
       MarketDataId id,
       MarketDataConfig marketDataConfig,
-      BuiltScenarioMarketData suppliedData,
+      ScenarioMarketData suppliedData,
       ReferenceData refData) {
 
     // The raw types in this method are an unfortunate necessity. The type parameters on MarketDataBuilder
@@ -310,7 +543,6 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param scenarioDefinition  definition of a set of scenarios
    * @param builder  the market data is added to this builder
    */
-  @SuppressWarnings("unchecked")
   private void addValue(
       MarketDataId<?> id,
       MarketDataBox<?> value,
@@ -318,21 +550,64 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition,
       BuiltScenarioMarketDataBuilder builder) {
 
-    Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
-        .filter(m -> m.matches(id, value, refData))
-        .findFirst();
+    Optional<PerturbationMapping<?>> optionalMapping = findMapping(id, value, refData, scenarioDefinition);
 
     if (optionalMapping.isPresent()) {
-      // This is definitely safe because the filter matched the value and the types of the filter and perturbation
-      // are compatible
-      PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
-      MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
-      // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
-      Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
-      builder.addResult(id, result);
+      builder.addResult(id, applyPerturbation(optionalMapping.get(), value, refData));
     } else {
       builder.addBox(id, value);
     }
   }
 
+  /**
+   * Applies the first matching perturbation to an item of market data, returning the result.
+   * <p>
+   * If none of the mappings in the scenario definition match the value it is returned unchanged.
+   *
+   * @param id  ID of the market data value
+   * @param value  the market data value
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @return a result containing the perturbed value or details of why it couldn't be perturbed
+   */
+  private Result<MarketDataBox<?>> perturb(
+      MarketDataId<?> id,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    Optional<PerturbationMapping<?>> optionalMapping = findMapping(id, value, refData, scenarioDefinition);
+    if (optionalMapping.isPresent()) {
+      return applyPerturbation(optionalMapping.get(), value, refData);
+    }
+    return Result.success(value);
+  }
+
+  // finds the first mapping matching the value
+  private static Optional<PerturbationMapping<?>> findMapping(
+      MarketDataId<?> id,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    return scenarioDefinition.getMappings().stream()
+        .filter(m -> m.matches(id, value, refData))
+        .findFirst();
+  }
+
+  // applies the perturbation from a mapping that matched the value
+  @SuppressWarnings("unchecked")
+  private static Result<MarketDataBox<?>> applyPerturbation(
+      PerturbationMapping<?> matchingMapping,
+      MarketDataBox<?> value,
+      ReferenceData refData) {
+
+    // This is definitely safe because the filter matched the value and the types of the filter and perturbation
+    // are compatible
+    PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) matchingMapping;
+    MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
+    // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
+    return Result.of(() -> mapping.applyPerturbation(objectValue, refData));
+  }
+
 }
@@ -180,6 +180,24 @@ class MarketDataNode {
     return id;
   }
 
+  /**
+   * Returns the type of data represented by this node.
+   *
+   * @return the type of data represented by this node, null for the root
+   */
+  DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Returns the child nodes, representing the market data required to build the value of this node.
+   *
+   * @return the child nodes of this node
+   */
+  List<MarketDataNode> getDependencies() {
+    return dependencies;
+  }
+
   /**
    * Prints this node and its tree of dependencies to an ASCII tree.
    *
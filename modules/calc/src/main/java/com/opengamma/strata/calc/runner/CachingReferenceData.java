@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Reference data that caches lookups and resolved targets for the duration of a calculation run.
+ * <p>
+ * When a portfolio is calculated, the same identifiers, such as holiday calendars and indices,
+ * are looked up many times, and each target is resolved by each of the functions that calculate it.
+ * This wraps the underlying reference data, caching the value found for each identifier.
+ * <p>
+ * In addition, the resolved form of each target can be cached using {@link #resolve(Resolvable)}.
+ * Targets are cached by identity, thus a target that is calculated for many columns is only resolved once.
+ * Failures are not cached, allowing each function to report the failure as normal.
+ * <p>
+ * As the cache is unbounded, an instance should only be used for a single calculation run.
+ * This class is thread-safe.
+ */
+public final class CachingReferenceData implements ReferenceData {
+
+  /**
+   * The underlying reference data.
+   */
+  private final ReferenceData underlying;
+  /**
+   * The cached values, keyed by identifier.
+   */
+  private final ConcurrentHashMap<ReferenceDataId<?>, Optional<?>> values = new ConcurrentHashMap<>();
+  /**
+   * The cached resolved targets, keyed by the identity of the target.
+   */
+  private final ConcurrentHashMap<IdentityKey, Object> resolved = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that caches the specified reference data.
+   * <p>
+   * If the reference data is already an instance of this class, it is returned.
+   *
+   * @param underlying  the underlying reference data
+   * @return the caching reference data
+   */
+  public static CachingReferenceData of(ReferenceData underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingReferenceData) {
+      return (CachingReferenceData) underlying;
+    }
+    return new CachingReferenceData(underlying);
+  }
+
+  // restricted constructor
+  private CachingReferenceData(ReferenceData underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying reference data.
+   *
+   * @return the underlying reference data
+   */
+  public ReferenceData getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+    Optional<?> cached = values.get(id);
+    if (cached == null) {
+      cached = underlying.findValue(id);
+      values.putIfAbsent(id, cached);
+    }
+    return (Optional<T>) cached;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the target, caching the result by the identity of the target.
+   * <p>
+   * The target is resolved against this reference data.
+   * If the same target instance has already been resolved, the cached result is returned.
+   *
+   * @param <T>  the type of the resolved result
+   * @param target  the target to resolve
+   * @return the resolved target
+   * @throws RuntimeException if unable to resolve the target
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T resolve(Resolvable<T> target) {
+    IdentityKey key = new IdentityKey(target);
+    Object cached = resolved.get(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    T result = target.resolve(this);
+    resolved.putIfAbsent(key, result);
+    return result;
+  }
+
+  /**
+   * Resolves the target if it can be resolved, ignoring any failure.
+   * <p>
+   * This is used to resolve targets in advance of the calculations.
+   * A failure is ignored, as it will be reported by the function that calculates the target.
+   *
+   * @param target  the target to resolve
+   */
+  void tryResolve(Object target) {
+    if (target instanceof Resolvable) {
+      try {
+        resolve((Resolvable<?>) target);
+      } catch (RuntimeException ex) {
+        // ignore, as the function will report the failure
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachingReferenceData[" + underlying + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // key comparing by identity
+  private static final class IdentityKey {
+    private final Object target;
+
+    private IdentityKey(Object target) {
+      this.target = ArgChecker.notNull(target, "target");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof IdentityKey && ((IdentityKey) obj).target == target;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(target);
+    }
+  }
+
+}
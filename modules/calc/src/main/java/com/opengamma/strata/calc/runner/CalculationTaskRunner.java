@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +80,37 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that uses work-stealing.
+   * <p>
+   * Instead of submitting each task separately, the tasks are grouped into cost-weighted batches,
+   * using the target type, function and number of scenarios. The batches are run on a fork-join pool,
+   * allowing idle threads to steal work, with the results of each batch delivered in one chunk.
+   * This reduces contention when calculating very large portfolios.
+   * <p>
+   * This factory creates a pool basing the parallelism on the number of available processors.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing() {
+    return DefaultCalculationTaskRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a calculation task runner that uses work-stealing, specifying the fork-join pool.
+   * <p>
+   * See {@link #ofWorkStealing()} for details of the scheduling.
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * The pool is not shut down when the runner is closed.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return DefaultCalculationTaskRunner.ofWorkStealing(pool);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -8,12 +8,20 @@ package com.opengamma.strata.calc.runner;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -24,7 +32,9 @@ import com.opengamma.strata.calc.ColumnHeader;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -33,14 +43,37 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * Two scheduling modes are supported. By default, each task is submitted to the executor separately.
+ * In work-stealing mode, the tasks are grouped into cost-weighted batches which are run
+ * on a {@link ForkJoinPool}, with the results of each batch delivered to the listener in one chunk.
+ * <p>
+ * In both modes, the targets are resolved in parallel before the tasks are run.
+ * The tasks are then run using {@link CachingReferenceData}, such that each target is only resolved
+ * once, no matter how many tasks calculate it.
  */
 class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The number of batches to aim for per thread in work-stealing mode.
+   * Having more batches than threads allows idle threads to steal work from busy ones.
+   */
+  private static final int BATCHES_PER_THREAD = 8;
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The fork-join pool used in work-stealing mode, null if tasks are submitted individually.
+   */
+  private final ForkJoinPool forkJoinPool;
+  /**
+   * Whether the executor is shut down when the runner is closed.
+   * This is false when the fork-join pool was supplied by the caller.
+   */
+  private final boolean shutdownOnClose;
 
   //-------------------------------------------------------------------------
   /**
@@ -57,7 +90,7 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), null, true);
   }
 
   /**
@@ -69,7 +102,34 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null, true);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that schedules batches of tasks using work-stealing.
+   * <p>
+   * This factory creates a fork-join pool basing the parallelism on the number of available processors.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    ForkJoinPool pool = createForkJoinPool(Runtime.getRuntime().availableProcessors());
+    return new DefaultCalculationTaskRunner(pool, pool, true);
+  }
+
+  /**
+   * Creates a calculation task runner that schedules batches of tasks using work-stealing,
+   * specifying the fork-join pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * The pool is not shut down when the runner is closed.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return new DefaultCalculationTaskRunner(pool, pool, false);
   }
 
   // create an executor with daemon threads
@@ -84,14 +144,29 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a fork-join pool, the worker threads of which are always daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      return t;
+    };
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, false);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    * 
    * @param executor  the executor that is used to perform the calculations
+   * @param forkJoinPool  the pool used in work-stealing mode, null if not batching
+   * @param shutdownOnClose  whether to shut down the executor when the runner is closed
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, ForkJoinPool forkJoinPool, boolean shutdownOnClose) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.forkJoinPool = forkJoinPool;
+    this.shutdownOnClose = shutdownOnClose;
   }
 
   //-------------------------------------------------------------------------
@@ -163,7 +238,7 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       ScenarioMarketData marketData,
       ReferenceData refData) {
 
-    AggregatingListener listener = new AggregatingListener(tasks.getColumns());
+    AggregatingListener listener = new AggregatingListener(tasks.getColumns(), tasks.getTargets().size());
     calculateMultiScenarioAsync(tasks, marketData, refData, listener);
     return listener.result();
   }
@@ -179,9 +254,98 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer = new ListenerWrapper(listener, taskList.size());
-    // run each task using the executor
-    taskList.stream().forEach(task -> runTask(task, marketData, refData, consumer));
+    ListenerWrapper consumer = new ListenerWrapper(listener, taskList.size());
+    // resolve each target once, in parallel, sharing the resolved form and reference data lookups across tasks
+    // the tasks are submitted once the targets are resolved, without blocking the calling thread
+    // if the tasks cannot be submitted, every cell is failed to ensure the listener is completed
+    try {
+      resolveTargetsAsync(tasks.getTargets(), refData)
+          .thenAccept(cachingRefData -> submitTasks(taskList, marketData, cachingRefData, consumer))
+          .whenComplete((ignored, ex) -> {
+            if (ex != null) {
+              failTasks(taskList, ex, consumer);
+            }
+          });
+    } catch (RuntimeException ex) {
+      failTasks(taskList, ex, consumer);
+    }
+  }
+
+  // submits the tasks to be run, once the targets have been resolved
+  private void submitTasks(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData cachingRefData,
+      ListenerWrapper consumer) {
+
+    if (forkJoinPool != null) {
+      // group the tasks into batches and run them using work-stealing
+      List<List<CalculationTask>> batches = createBatches(taskList, marketData.getScenarioCount());
+      if (!batches.isEmpty()) {
+        forkJoinPool.execute(new BatchAction(batches, 0, batches.size(), marketData, cachingRefData, consumer));
+      }
+    } else {
+      // run each task using the executor
+      taskList.stream().forEach(task -> runTask(task, marketData, cachingRefData, consumer));
+    }
+  }
+
+  // fails every cell of the tasks, used when the tasks could not be submitted
+  private static void failTasks(List<CalculationTask> taskList, Throwable ex, ListenerWrapper consumer) {
+    consumer.acceptAll(taskList.stream()
+        .map(task -> failTask(task, ex))
+        .collect(toImmutableList()));
+  }
+
+  // fails every cell of the task, unwrapping the exception thrown by the future
+  private static CalculationResults failTask(CalculationTask task, Throwable ex) {
+    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    Exception exception = cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    Result<?> failure = Result.failure(
+        FailureReason.CALCULATION_FAILED,
+        exception,
+        "Unable to run calculation for target '{}': {}",
+        task.getTarget(),
+        cause.toString());
+    List<CalculationResult> cells = task.getCells().stream()
+        .map(cell -> CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), failure))
+        .collect(toImmutableList());
+    return CalculationResults.of(task.getTarget(), cells);
+  }
+
+  /**
+   * Resolves the targets in parallel, blocking until they are resolved.
+   * 
+   * @param targets  the targets to resolve
+   * @param refData  the reference data
+   * @return the caching reference data holding the resolved targets
+   */
+  CachingReferenceData resolveTargets(List<CalculationTarget> targets, ReferenceData refData) {
+    return resolveTargetsAsync(targets, refData).join();
+  }
+
+  /**
+   * Resolves the targets in parallel, returning a future that completes once every target is resolved.
+   * <p>
+   * Each target is resolved once using {@link CachingReferenceData}, which is then used by all the tasks.
+   * Functions obtain the resolved form using {@link FunctionUtils#resolve}.
+   * The targets are split into batches, with several batches per thread, which are run using the executor.
+   * 
+   * @param targets  the targets to resolve
+   * @param refData  the reference data
+   * @return the future caching reference data holding the resolved targets
+   */
+  CompletableFuture<CachingReferenceData> resolveTargetsAsync(List<CalculationTarget> targets, ReferenceData refData) {
+    CachingReferenceData cachingRefData = CachingReferenceData.of(refData);
+    int threads = forkJoinPool != null ? forkJoinPool.getParallelism() : Runtime.getRuntime().availableProcessors();
+    int batchSize = Math.max(targets.size() / (threads * BATCHES_PER_THREAD), 1);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int start = 0; start < targets.size(); start += batchSize) {
+      List<CalculationTarget> batch = targets.subList(start, Math.min(start + batchSize, targets.size()));
+      futures.add(CompletableFuture.runAsync(() -> batch.forEach(cachingRefData::tryResolve), executor));
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+        .thenApply(ignored -> cachingRefData);
   }
 
   // submits a task to the executor to be run
@@ -193,65 +357,159 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
+    // if the executor rejects the task, the cells of the task are failed
     Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
-    CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    try {
+      CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    } catch (RuntimeException ex) {
+      consumer.accept(failTask(task, ex));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Groups the tasks into cost-weighted batches.
+   * <p>
+   * Tasks are grouped by target type and function, such that each batch performs similar work.
+   * The cost of a task is estimated as the number of cells multiplied by the number of scenarios.
+   * Each group is then split into batches of roughly equal cost, sized such that there are
+   * several batches per thread to allow work to be stolen.
+   * 
+   * @param tasks  the tasks to group
+   * @param scenarioCount  the number of scenarios
+   * @return the batches of tasks
+   */
+  List<List<CalculationTask>> createBatches(List<CalculationTask> tasks, int scenarioCount) {
+    Map<Pair<Class<?>, Class<?>>, List<CalculationTask>> groups = new LinkedHashMap<>();
+    long totalCost = 0;
+    for (CalculationTask task : tasks) {
+      Pair<Class<?>, Class<?>> key = Pair.of(task.getTarget().getClass(), task.getFunction().getClass());
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+      totalCost += cost(task, scenarioCount);
+    }
+    long batchCost = Math.max(totalCost / ((long) forkJoinPool.getParallelism() * BATCHES_PER_THREAD), 1);
+
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    for (List<CalculationTask> group : groups.values()) {
+      List<CalculationTask> batch = new ArrayList<>();
+      long cost = 0;
+      for (CalculationTask task : group) {
+        batch.add(task);
+        cost += cost(task, scenarioCount);
+        if (cost >= batchCost) {
+          batches.add(batch);
+          batch = new ArrayList<>();
+          cost = 0;
+        }
+      }
+      if (!batch.isEmpty()) {
+        batches.add(batch);
+      }
+    }
+    return batches;
+  }
+
+  // the estimated cost of a task
+  private static long cost(CalculationTask task, int scenarioCount) {
+    return (long) task.getCells().size() * Math.max(scenarioCount, 1);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public void close() {
-    executor.shutdown();
+    if (shutdownOnClose) {
+      executor.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Fork-join action that runs a range of batches.
+   * <p>
+   * The range is split in two until a single batch remains, allowing idle threads to steal work.
+   * The results of each batch are delivered to the listener in one chunk.
+   */
+  private static final class BatchAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<List<CalculationTask>> batches;
+    private final int start;
+    private final int end;
+    private final transient ScenarioMarketData marketData;
+    private final transient ReferenceData refData;
+    private final transient ListenerWrapper consumer;
+
+    private BatchAction(
+        List<List<CalculationTask>> batches,
+        int start,
+        int end,
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        ListenerWrapper consumer) {
+
+      this.batches = batches;
+      this.start = start;
+      this.end = end;
+      this.marketData = marketData;
+      this.refData = refData;
+      this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start == 1) {
+        List<CalculationTask> batch = batches.get(start);
+        List<CalculationResults> results = new ArrayList<>(batch.size());
+        for (CalculationTask task : batch) {
+          results.add(task.execute(marketData, refData));
+        }
+        consumer.acceptAll(results);
+      } else {
+        int mid = (start + end) >>> 1;
+        invokeAll(
+            new BatchAction(batches, start, mid, marketData, refData, consumer),
+            new BatchAction(batches, mid, end, marketData, refData, consumer));
+      }
+    }
   }
 
   //-------------------------------------------------------------------------
   /**
    * Calculation listener that receives the results of individual calculations
    * and builds a set of {@link Results}. This is used by the non-async methods.
+   * <p>
+   * The results are stored in a pre-sized array indexed by row and column.
+   * Each result is written directly to its slot, thus no sorting is needed when the results are built.
    */
   private static final class AggregatingListener extends AggregatingCalculationListener<Results> {
 
-    /** Comparator for sorting the results by row and then column. */
-    private static final Comparator<CalculationResult> COMPARATOR =
-        Comparator.comparingInt(CalculationResult::getRowIndex)
-            .thenComparingInt(CalculationResult::getColumnIndex);
-
-    /** List that is populated with the results as they arrive. */
-    private final List<CalculationResult> results = new ArrayList<>();
+    /** The results, indexed by row and then column, populated as they arrive. */
+    private final AtomicReferenceArray<Result<?>> results;
 
     /** The columns that define what values are calculated. */
     private final List<Column> columns;
 
-    private AggregatingListener(List<Column> columns) {
+    private AggregatingListener(List<Column> columns, int rowCount) {
       this.columns = columns;
+      this.results = new AtomicReferenceArray<>(rowCount * columns.size());
     }
 
     @Override
     public void resultReceived(CalculationTarget target, CalculationResult result) {
-      results.add(result);
+      results.set(result.getRowIndex() * columns.size() + result.getColumnIndex(), result.getResult());
     }
 
     @Override
     protected Results createAggregateResult() {
-      results.sort(COMPARATOR);
-      return buildResults(results, columns);
-    }
-
-    /**
-     * Builds a set of results from the results of the individual calculations.
-     *
-     * @param calculationResults  the results of the individual calculations
-     * @param columns  the columns that define what values are calculated
-     * @return the results
-     */
-    private static Results buildResults(List<CalculationResult> calculationResults, List<Column> columns) {
-      List<Result<?>> results =
-          calculationResults.stream()
-              .map(r -> r.getResult())
-              .collect(toImmutableList());
       List<ColumnHeader> headers = columns.stream()
           .map(c -> c.toHeader())
           .collect(toImmutableList());
-      return Results.of(headers, results);
+      Result<?>[] cells = new Result<?>[results.length()];
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = results.get(i);
+      }
+      return Results.of(headers, Arrays.asList(cells));
     }
   }
 
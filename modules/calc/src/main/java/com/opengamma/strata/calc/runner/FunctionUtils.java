@@ -11,6 +11,8 @@ import java.util.Map;
 import java.util.stream.Collector;
 import java.util.stream.DoubleStream;
 
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.calc.Measure;
@@ -130,4 +132,25 @@ public final class FunctionUtils {
     mutableMeasureMap.put(newKey, result);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves a target, such as a trade, using the reference data.
+   * <p>
+   * If the reference data is an instance of {@link CachingReferenceData}, as it is when
+   * the calculation runner is used, the target is only resolved once for all the functions
+   * that calculate it. Otherwise, the target is resolved directly.
+   *
+   * @param <T>  the type of the resolved result
+   * @param target  the target to resolve
+   * @param refData  the reference data
+   * @return the resolved target
+   * @throws RuntimeException if unable to resolve the target
+   */
+  public static <T> T resolve(Resolvable<T> target, ReferenceData refData) {
+    if (refData instanceof CachingReferenceData) {
+      return ((CachingReferenceData) refData).resolve(target);
+    }
+    return target.resolve(refData);
+  }
+
 }
@@ -5,10 +5,10 @@
  */
 package com.opengamma.strata.calc.runner;
 
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -26,6 +26,11 @@ import com.opengamma.strata.collect.ArgChecker;
  * Calculations may be performed in bulk for a given target.
  * The logic in this class unwraps the {@link CalculationResults}, calling the
  * listener with each individual {@link CalculationResult}.
+ * <p>
+ * Results may also be delivered in chunks using {@link #acceptAll(List)}.
+ * <p>
+ * No locks are used. Results are added to a concurrent queue, and a work-in-progress counter
+ * is used to elect a single thread to drain the queue into the listener.
  */
 final class ListenerWrapper implements Consumer<CalculationResults> {
 
@@ -34,11 +39,15 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   /** The wrapped listener. */
   private final CalculationListener listener;
 
-  /** Queue of actions to perform on the delegate. */
-  private final Queue<CalculationResults> queue = new LinkedList<>();
+  /** Queue of results to deliver to the delegate. */
+  private final Queue<CalculationResults> queue = new ConcurrentLinkedQueue<>();
 
-  /** Protects the queue and the executing flag. */
-  private final Lock lock = new ReentrantLock();
+  /**
+   * The number of outstanding requests to drain the queue.
+   * The thread that increments this from zero is responsible for draining the queue,
+   * and continues draining until it is able to decrement it back to zero.
+   */
+  private final AtomicInteger workInProgress = new AtomicInteger();
 
   /** The total number of tasks to be executed. */
   private final int tasksExpected;
@@ -46,21 +55,10 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   // Mutable state -----------------------------------------------------
 
   /**
-   * Flags whether a call to the underlying listener is executing.
-   * If this flag is set when {@link #accept} is called, the result is added to
-   * the queue and the calling thread returns. The executing thread will ensure
-   * all queued results are delivered.
-   */
-  private boolean executing;
-
-  /**
-   * Flags whether the calculations are complete.
-   * This is set when the number of results received equals {@link #tasksExpected}.
-   * This causes a call to {@link CalculationListener#calculationsComplete()}.
+   * The number of task results that have been received.
+   * This is only accessed by the thread draining the queue, with visibility between
+   * successive draining threads guaranteed by {@link #workInProgress}.
    */
-  private boolean complete;
-
-  /** The number of task results that have been received. */
   private int tasksReceived;
 
   //-------------------------------------------------------------------------
@@ -95,59 +93,55 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    */
   @Override
   public void accept(CalculationResults result) {
-    // This is mutated while protected by the lock and accessed while not protected.
-    // This is safe because the executing flag ensures the thread that accesses the
-    // variable while unlocked is the same thread that set its value while guarded by the lock.
-    CalculationResults nextResult;
-
-    lock.lock();
-    try {
-      if (executing) {
-        // Another thread is already invoking the listener. Add the result to
-        // the queue and return. The other thread will ensure the queued results
-        // are delivered.
-        queue.add(result);
-        return;
-      } else {
-        // There is no thread invoking the listener. Set the executing flag to
-        // ensure no other thread passes this point and invoke the listener.
-        executing = true;
-        nextResult = result;
-      }
-    } finally {
-      lock.unlock();
+    queue.add(result);
+    drain();
+  }
+
+  /**
+   * Accepts a chunk of calculation results and delivers them to the listener.
+   * <p>
+   * This method can be invoked concurrently by multiple threads, and concurrently
+   * with {@link #accept(CalculationResults)}. The results are delivered in the order
+   * they appear in the list.
+   *
+   * @param results  the results of a number of calculations
+   */
+  void acceptAll(List<CalculationResults> results) {
+    if (results.isEmpty()) {
+      return;
+    }
+    queue.addAll(results);
+    drain();
+  }
+
+  // drains the queue if no other thread is doing so
+  private void drain() {
+    if (workInProgress.getAndIncrement() != 0) {
+      // Another thread is already invoking the listener. It will observe the incremented
+      // counter and ensure the queued results are delivered.
+      return;
     }
-    // Loop until the nextResult and all the results from the queue have been delivered
+    boolean complete = false;
+    int missed = 1;
     for (;;) {
-      try {
-        // Invoke the listener while not protected by the lock. This allows other threads
-        // to queue results while this thread is delivering them to the listener.
-        for (CalculationResult cell : nextResult.getCells()) {
-          listener.resultReceived(nextResult.getTarget(), cell);
+      CalculationResults nextResult;
+      while ((nextResult = queue.poll()) != null) {
+        try {
+          for (CalculationResult cell : nextResult.getCells()) {
+            listener.resultReceived(nextResult.getTarget(), cell);
+          }
+        } catch (RuntimeException e) {
+          log.warn("Exception invoking listener.resultReceived", e);
         }
-      } catch (RuntimeException e) {
-        log.warn("Exception invoking listener.resultReceived", e);
-      }
-      lock.lock();
-      try {
         if (++tasksReceived == tasksExpected) {
-          // The expected number of results have been received. Set the complete
-          // flag to trigger a call to listener.calculationsComplete after unlocking
           complete = true;
-          break;
-        } else if (queue.isEmpty()) {
-          // There are no more results to deliver. Unset the executing flag and return.
-          // This allows the next calling thread to deliver results.
-          executing = false;
-          break;
-        } else {
-          // There are results on the queue. This means another thread called accept(),
-          // added a result to the queue and returned while this thread was invoking the listener.
-          // This thread must deliver the results from the queue.
-          nextResult = queue.remove();
         }
-      } finally {
-        lock.unlock();
+      }
+      // There are no more results on the queue. If no other thread has added results
+      // since the last check the counter drops to zero, allowing the next calling thread to drain
+      missed = workInProgress.addAndGet(-missed);
+      if (missed == 0) {
+        break;
       }
     }
     if (complete) {
@@ -13,6 +13,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -355,6 +357,68 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
   }
 
+  /**
+   * Tests building a result and keeping the intermediate values when building concurrently.
+   */
+  public void buildWithIntermediateValuesConcurrently() {
+    TestMarketDataFunctionB builderB = new TestMarketDataFunctionB();
+    TestMarketDataFunctionC builderC = new TestMarketDataFunctionC();
+
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .put(date(2011, 3, 9), 2)
+        .put(date(2011, 3, 10), 3)
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 10)
+        .put(date(2011, 3, 9), 20)
+        .put(date(2011, 3, 10), 30)
+        .build();
+
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), timeSeries1,
+        new TestIdA("2"), timeSeries2);
+
+    TimeSeriesProvider timeSeriesProvider = new TestTimeSeriesProvider(timeSeriesMap);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          timeSeriesProvider,
+          executor,
+          ImmutableList.of(builderB, builderC));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+
+      TestMarketDataC expectedC1 = new TestMarketDataC(timeSeries1);
+      TestMarketDataC expectedC2 = new TestMarketDataC(timeSeries2);
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, expectedC1);
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, expectedC2);
+
+      // Check the values in the requirements are present
+      assertThat(marketData.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+      assertThat(marketData.getValue(new TestIdB("2"))).isEqualTo(expectedB2);
+
+      // Check the intermediate values are present
+      assertThat(marketData.getValue(new TestIdA("1"))).isEqualTo(1d);
+      assertThat(marketData.getValue(new TestIdA("2"))).isEqualTo(2d);
+      assertThat(marketData.getValue(new TestIdC("1"))).isEqualTo(expectedC1);
+      assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests building multiple observable values for scenarios where the values aren't perturbed.
    */
@@ -758,6 +822,42 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofScenarioValues("2.2", "2.4", "2.6"));
   }
 
+  /**
+   * Tests that non-observable data built concurrently sees the effects of the perturbations.
+   */
+  public void nonObservableDataBuiltFromPerturbedObservableDataConcurrently() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of()),
+          executor,
+          ImmutableList.of(new NonObservableMarketDataFunction()));
+      BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+      MarketDataId<?> id1 = new NonObservableId("a");
+      MarketDataId<?> id2 = new NonObservableId("b");
+      TestObservableId quoteId = TestObservableId.of(StandardId.of("reqs", "b"));
+      MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(id1, id2).build();
+
+      PerturbationMapping<Double> mapping = PerturbationMapping.of(
+          Double.class,
+          new ExactIdFilter<>(quoteId),
+          new RelativeDoubleShift(0.1, 0.2, 0.3));
+      ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+      BuiltScenarioMarketData marketData = factory.createMultiScenario(
+          requirements,
+          MARKET_DATA_CONFIG,
+          suppliedData,
+          REF_DATA, scenarioDefinition);
+
+      assertThat(marketData.getValue(id1)).isEqualTo(MarketDataBox.ofSingleValue("1.0"));
+      assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofScenarioValues("2.2", "2.4", "2.6"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests that an exception is thrown when building observable market data for scenarios where there is no
    * market data function.
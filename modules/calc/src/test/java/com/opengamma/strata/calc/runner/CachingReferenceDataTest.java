@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+
+/**
+ * Test {@link CachingReferenceData}.
+ */
+@Test
+public class CachingReferenceDataTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingReferenceData test = CachingReferenceData.of(REF_DATA);
+    assertSame(test.getUnderlying(), REF_DATA);
+    assertSame(CachingReferenceData.of(test), test);
+    assertThrowsIllegalArg(() -> CachingReferenceData.of(null));
+  }
+
+  public void test_findValue() {
+    CountingReferenceData underlying = new CountingReferenceData();
+    CachingReferenceData test = CachingReferenceData.of(underlying);
+    HolidayCalendar cal = test.getValue(HolidayCalendarIds.GBLO);
+    assertEquals(cal, REF_DATA.getValue(HolidayCalendarIds.GBLO));
+    assertSame(test.getValue(HolidayCalendarIds.GBLO), cal);
+    assertEquals(test.containsValue(HolidayCalendarIds.GBLO), true);
+    assertEquals(underlying.count.get(), 1);
+    // missing values are also cached
+    assertEquals(test.containsValue(TestRefDataId.INSTANCE), false);
+    assertEquals(test.findValue(TestRefDataId.INSTANCE), Optional.empty());
+    assertEquals(underlying.count.get(), 2);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_resolve() {
+    CachingReferenceData test = CachingReferenceData.of(REF_DATA);
+    TestResolvableTarget target = new TestResolvableTarget(false);
+    String resolved = test.resolve(target);
+    assertEquals(resolved, "Resolved");
+    assertSame(test.resolve(target), resolved);
+    assertSame(FunctionUtils.resolve(target, test), resolved);
+    assertEquals(target.count.get(), 1);
+    // a different instance is resolved separately
+    TestResolvableTarget target2 = new TestResolvableTarget(false);
+    assertEquals(test.resolve(target2), "Resolved");
+    assertEquals(target2.count.get(), 1);
+  }
+
+  public void test_resolve_notCaching() {
+    TestResolvableTarget target = new TestResolvableTarget(false);
+    assertEquals(FunctionUtils.resolve(target, REF_DATA), "Resolved");
+    assertEquals(FunctionUtils.resolve(target, REF_DATA), "Resolved");
+    assertEquals(target.count.get(), 2);
+  }
+
+  public void test_resolve_failure() {
+    CachingReferenceData test = CachingReferenceData.of(REF_DATA);
+    TestResolvableTarget target = new TestResolvableTarget(true);
+    test.tryResolve(target);
+    test.tryResolve("NotResolvable");
+    assertThrowsIllegalArg(() -> test.resolve(target));
+    assertEquals(target.count.get(), 2);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_resolveTargets() {
+    List<CalculationTarget> targets = IntStream.range(0, 100)
+        .<CalculationTarget>mapToObj(i -> new TestResolvableTarget(i == 50))
+        .collect(Collectors.toList());
+    DefaultCalculationTaskRunner runner = DefaultCalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    CachingReferenceData test = runner.resolveTargets(targets, REF_DATA);
+    for (CalculationTarget target : targets) {
+      assertEquals(((TestResolvableTarget) target).count.get(), 1);
+    }
+    assertEquals(FunctionUtils.resolve((TestResolvableTarget) targets.get(0), test), "Resolved");
+    assertEquals(((TestResolvableTarget) targets.get(0)).count.get(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  // reference data that counts the number of lookups
+  private static final class CountingReferenceData implements ReferenceData {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+      count.incrementAndGet();
+      return REF_DATA.findValue(id);
+    }
+  }
+
+  // target that counts the number of times it is resolved
+  private static final class TestResolvableTarget implements CalculationTarget, Resolvable<String> {
+    private final boolean fail;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private TestResolvableTarget(boolean fail) {
+      this.fail = fail;
+    }
+
+    @Override
+    public String resolve(ReferenceData refData) {
+      count.incrementAndGet();
+      if (fail) {
+        throw new IllegalArgumentException("Unable to resolve");
+      }
+      return "Resolved";
+    }
+  }
+
+  // reference data identifier that is never found
+  private static final class TestRefDataId implements ReferenceDataId<String> {
+    private static final TestRefDataId INSTANCE = new TestRefDataId();
+
+    @Override
+    public Class<String> getReferenceDataType() {
+      return String.class;
+    }
+  }
+
+}
@@ -8,12 +8,25 @@ package com.opengamma.strata.calc.runner;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -31,6 +44,7 @@ import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -121,6 +135,82 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(result2).hasValue(scenarioResult);
   }
 
+  /**
+   * Test that calculateMultiScenarioAsync() returns before the targets are resolved.
+   */
+  public void calculateAsyncDoesNotBlock() throws Exception {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(column));
+
+    // the only thread of the executor is blocked, so the targets cannot be resolved until it is released
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch release = new CountDownLatch(1);
+    executor.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    CountDownLatch complete = new CountDownLatch(1);
+    Listener listener = new Listener() {
+      @Override
+      public void calculationsComplete() {
+        complete.countDown();
+      }
+    };
+    CalculationTaskRunner test = CalculationTaskRunner.of(executor);
+    test.calculateMultiScenarioAsync(tasks, ScenarioMarketData.of(1, MarketData.empty(VAL_DATE)), REF_DATA, listener);
+    assertNull(listener.result);
+
+    release.countDown();
+    assertTrue(complete.await(10, TimeUnit.SECONDS));
+    assertThat(listener.result.getResult()).hasValue(ScenarioArray.of("foo"));
+    test.close();
+  }
+
+  /**
+   * Test that the listener is completed with failures if the executor rejects the tasks.
+   */
+  public void calculateAsyncRejected() {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(column));
+
+    // the executor is shut down, so the targets cannot be resolved
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+    CalculationTaskRunner test = CalculationTaskRunner.of(executor);
+    MarketData marketData = MarketData.empty(VAL_DATE);
+    Results results = test.calculate(tasks, marketData, REF_DATA);
+    assertThat(results.get(0, 0)).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
+  /**
+   * Test that the cells of the tasks rejected by the executor are failed.
+   */
+  public void calculateAsyncPartiallyRejected() {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task1 = CalculationTask.of(TARGET, fn, cell1);
+    CalculationTask task2 = CalculationTask.of(TARGET, fn, cell2);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task1, task2), ImmutableList.of(column));
+
+    // the two targets are resolved and the first task is run, then the executor rejects the second task
+    CalculationTaskRunner test = CalculationTaskRunner.of(new RejectingExecutorService(3));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+    Results results = test.calculate(tasks, marketData, REF_DATA);
+    assertThat(results.get(0, 0)).hasValue("foo");
+    assertThat(results.get(1, 0)).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
   //-------------------------------------------------------------------------
   public static final class TestFunction implements CalculationFunction<TestTarget> {
 
@@ -185,6 +275,81 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the work-stealing mode calculates every cell and places it in the correct row and column.
+   */
+  public void workStealing() {
+    ScenarioArray<String> scenarioResult1 = ScenarioArray.of("foo");
+    ScenarioArray<String> scenarioResult2 = ScenarioArray.of("bar");
+    ScenarioResultFunction fn1 = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult1);
+    ScenarioResultFunction fn2 = new ScenarioResultFunction(TestingMeasures.PAR_RATE, scenarioResult2);
+    int rowCount = 500;
+    List<CalculationTask> taskList = IntStream.range(0, rowCount)
+        .boxed()
+        .flatMap(i -> ImmutableList.of(
+            CalculationTask.of(TARGET, fn1, CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL)),
+            CalculationTask.of(TARGET, fn2, CalculationTaskCell.of(i, 1, TestingMeasures.PAR_RATE, NATURAL))).stream())
+        .collect(toImmutableList());
+    List<Column> columns = ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE),
+        Column.of(TestingMeasures.PAR_RATE));
+    CalculationTasks tasks = CalculationTasks.of(taskList, columns);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing(pool)) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      Results results = test.calculateMultiScenario(tasks, ScenarioMarketData.of(1, marketData), REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(rowCount);
+      assertThat(results.getColumnCount()).isEqualTo(2);
+      for (int i = 0; i < rowCount; i++) {
+        assertThat(results.get(i, 0)).hasValue(scenarioResult1);
+        assertThat(results.get(i, 1)).hasValue(scenarioResult2);
+      }
+    }
+    // the pool was supplied by the caller, so closing the runner must not shut it down
+    assertThat(pool.isShutdown()).isFalse();
+    pool.shutdown();
+  }
+
+  /**
+   * Tests that closing the runner does not shut down a pool supplied by the caller.
+   */
+  public void workStealingClose() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    DefaultCalculationTaskRunner.ofWorkStealing(pool).close();
+    assertThat(pool.isShutdown()).isFalse();
+    pool.shutdown();
+  }
+
+  /**
+   * Tests that the batches created in work-stealing mode contain every task and only one type of function.
+   */
+  public void workStealingBatches() {
+    ScenarioResultFunction fn1 = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    ScenarioResultFunction fn2 = new ScenarioResultFunction(TestingMeasures.PAR_RATE, ScenarioArray.of("bar"));
+    TestFunction fn3 = new TestFunction();
+    List<CalculationTask> taskList = IntStream.range(0, 100)
+        .mapToObj(i -> CalculationTask.of(
+            TARGET,
+            i % 2 == 0 ? fn1 : (i % 3 == 0 ? fn2 : fn3),
+            CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL)))
+        .collect(toImmutableList());
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    DefaultCalculationTaskRunner test = DefaultCalculationTaskRunner.ofWorkStealing(pool);
+    try {
+      List<List<CalculationTask>> batches = test.createBatches(taskList, 10);
+      assertThat(batches.size()).isGreaterThan(1);
+      assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(taskList.size());
+      for (List<CalculationTask> batch : batches) {
+        assertThat(batch.stream().map(t -> t.getFunction().getClass()).distinct().count()).isEqualTo(1);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -234,9 +399,52 @@ public class DefaultCalculationTaskRunnerTest {
   }
 
   //-------------------------------------------------------------------------
-  private static final class Listener implements CalculationListener {
+  // executor that runs tasks in the calling thread, rejecting them once the limit is reached
+  private static final class RejectingExecutorService extends AbstractExecutorService {
+
+    private final AtomicInteger remaining;
+
+    private RejectingExecutorService(int limit) {
+      this.remaining = new AtomicInteger(limit);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (remaining.getAndDecrement() <= 0) {
+        throw new RejectedExecutionException("Rejected");
+      }
+      command.run();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return ImmutableList.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return true;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static class Listener implements CalculationListener {
 
-    private CalculationResult result;
+    private volatile CalculationResult result;
 
     @Override
     public void resultReceived(CalculationTarget target, CalculationResult result) {
@@ -8,6 +8,8 @@ package com.opengamma.strata.calc.runner;
 import static java.util.stream.Collectors.joining;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -51,6 +53,32 @@ public class ListenerWrapperTest {
     }
   }
 
+  // Tests that a listener is only invoked by a single thread at any time when results are delivered in chunks.
+  public void concurrentExecutionChunks() throws InterruptedException {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    int chunksPerThread = 5;
+    int chunkSize = 3;
+    ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    int expectedResultCount = nThreads * chunksPerThread * chunkSize;
+    Listener listener = new Listener(errors, latch);
+    ListenerWrapper wrapper = new ListenerWrapper(listener, expectedResultCount);
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    CalculationResult result = CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "foo"));
+    CalculationTarget target = new CalculationTarget() {};
+    CalculationResults results = CalculationResults.of(target, ImmutableList.of(result));
+    List<CalculationResults> chunk = Collections.nCopies(chunkSize, results);
+    IntStream.range(0, nThreads * chunksPerThread).forEach(i -> executor.submit(() -> wrapper.acceptAll(chunk)));
+
+    latch.await();
+    executor.shutdown();
+
+    if (!errors.isEmpty()) {
+      String allErrors = errors.stream().collect(joining("\n"));
+      fail(allErrors);
+    }
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
@@ -0,0 +1,28 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.function;
+
+/**
+ * A function of three arguments - one object and two {@code int}.
+ * <p>
+ * This takes three arguments and returns a {@code double} result.
+ *
+ * @param <T> the type of the object parameter
+ */
+@FunctionalInterface
+public interface ObjIntIntToDoubleFunction<T> {
+
+  /**
+   * Performs an operation on the values.
+   *
+   * @param obj  the first argument
+   * @param intValue1  the second argument
+   * @param intValue2  the third argument
+   * @return the result
+   */
+  double applyAsDouble(T obj, int intValue1, int intValue2);
+
+}
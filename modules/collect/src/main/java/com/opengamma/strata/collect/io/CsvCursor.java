@@ -0,0 +1,747 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * A cursor over the rows of a CSV file, parsing the file directly from a memory-mapped buffer.
+ * <p>
+ * This is an alternative to {@link CsvIterator} for very large files.
+ * Rather than reading each line into a {@code String} and splitting it into a {@code String} per field,
+ * the cursor maps the file into memory in large windows and records the position of each field.
+ * Fields are accessed as {@code CharSequence} views onto the buffer, or parsed directly to
+ * primitive values using {@link #getDouble(int)} and {@link #getLocalDate(int)}.
+ * <p>
+ * The format is the same as {@link CsvFile}, with the exception that the file must be encoded in UTF-8.
+ * Fields containing only ASCII are viewed directly, with a character obtained from each byte,
+ * while other fields are decoded to a {@code String}.
+ * <p>
+ * A file can be split into a number of ranges, each with its own cursor, using
+ * {@link #split(Path, boolean, char, int)}. The ranges start and end on line boundaries,
+ * allowing the cursors to be processed in parallel.
+ * <p>
+ * The cursor holds the state of the current row, thus the values returned are only valid until
+ * the cursor is advanced using {@link #next()}. Instances are not thread-safe.
+ * This class must be used in a try-with-resources block to ensure that the underlying file is closed:
+ * <pre>
+ *  try (CsvCursor cursor = CsvCursor.of(file, true)) {
+ *    int priceColumn = cursor.columnIndex("Price");
+ *    while (cursor.next()) {
+ *      double price = cursor.getDouble(priceColumn);
+ *    }
+ *  }
+ * </pre>
+ */
+public final class CsvCursor implements AutoCloseable {
+
+  /**
+   * The default size of the window that is mapped into memory, 64Mb.
+   */
+  private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+  /**
+   * The powers of ten that are exactly representable as a double.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /**
+   * The largest mantissa that is exactly representable as a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /**
+   * The file channel.
+   */
+  private final FileChannel channel;
+  /**
+   * The separator.
+   */
+  private final byte separator;
+  /**
+   * The header row, ordered as the headers appear in the file.
+   */
+  private final ImmutableList<String> headers;
+  /**
+   * The header map, transformed for case-insensitive searching.
+   */
+  private final ImmutableMap<String, Integer> searchHeaders;
+  /**
+   * The position in the file where the range to be parsed ends, exclusive.
+   */
+  private final long end;
+  /**
+   * The size of the window that is mapped into memory.
+   */
+  private final int windowSize;
+  /**
+   * The mapped window.
+   */
+  private MappedByteBuffer window;
+  /**
+   * The position in the file of the start of the window.
+   */
+  private long windowStart;
+  /**
+   * The position in the file of the start of the next line.
+   */
+  private long position;
+  /**
+   * The number of fields in the current row.
+   */
+  private int fieldCount;
+  /**
+   * The start of each field in the current row, relative to the window.
+   */
+  private int[] fieldStarts = new int[16];
+  /**
+   * The end of each field in the current row, relative to the window.
+   */
+  private int[] fieldEnds = new int[16];
+  /**
+   * Whether each field in the current row contains escaped quotes.
+   */
+  private boolean[] fieldEscaped = new boolean[16];
+  /**
+   * The reusable views of each field.
+   */
+  private FieldView[] views = new FieldView[16];
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a cursor over the specified CSV file.
+   * <p>
+   * The caller is responsible for closing the cursor by calling {@link #close()}.
+   *
+   * @param file  the CSV file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @return the cursor
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvCursor of(Path file, boolean headerRow) {
+    return of(file, headerRow, ',');
+  }
+
+  /**
+   * Opens a cursor over the specified CSV file where the separator is specified and might not be a comma.
+   * <p>
+   * The caller is responsible for closing the cursor by calling {@link #close()}.
+   *
+   * @param file  the CSV file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the cursor
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvCursor of(Path file, boolean headerRow, char separator) {
+    return split(file, headerRow, separator, 1, DEFAULT_WINDOW_SIZE).get(0);
+  }
+
+  /**
+   * Opens a number of cursors, each over a range of the specified CSV file.
+   * <p>
+   * The data rows of the file are split into approximately equal ranges of bytes, with each range
+   * starting and ending on a line boundary. Each cursor has the headers of the file.
+   * Fewer cursors than requested are returned if the file is too small to split.
+   * <p>
+   * The cursors are independent, and can be processed in parallel.
+   * The caller is responsible for closing each cursor by calling {@link #close()}.
+   *
+   * @param file  the CSV file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @param parts  the number of ranges to split the file into, one or greater
+   * @return the cursors, in the order of the file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static ImmutableList<CsvCursor> split(Path file, boolean headerRow, char separator, int parts) {
+    return split(file, headerRow, separator, parts, DEFAULT_WINDOW_SIZE);
+  }
+
+  // splits the file, with the window size controlled for testing
+  static ImmutableList<CsvCursor> split(Path file, boolean headerRow, char separator, int parts, int windowSize) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.isTrue(separator < 128, "Separator must be an ASCII character");
+    ArgChecker.notNegativeOrZero(parts, "parts");
+    ArgChecker.notNegativeOrZero(windowSize, "windowSize");
+    long[] boundaries;
+    ImmutableList<String> headers = ImmutableList.of();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long dataStart = 0;
+      if (headerRow) {
+        long headerEnd = findLineEnd(channel, 0, size, false);
+        if (size == 0 || headerEnd > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Could not read header row from empty CSV file");
+        }
+        ByteBuffer headerBytes = ByteBuffer.allocate((int) headerEnd);
+        readFully(channel, headerBytes, 0);
+        headers = CsvFile.parseLine(new String(headerBytes.array(), UTF_8), separator);
+        dataStart = Math.min(headerEnd + 1, size);
+      }
+      boundaries = new long[parts + 1];
+      boundaries[0] = dataStart;
+      for (int i = 1; i < parts; i++) {
+        long target = dataStart + (size - dataStart) * i / parts;
+        long lineStart = findLineEnd(channel, Math.max(target - 1, dataStart), size, true);
+        boundaries[i] = Math.max(boundaries[i - 1], lineStart);
+      }
+      boundaries[parts] = size;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    // open a cursor for each non-empty range
+    ImmutableMap<String, Integer> searchHeaders = CsvFile.buildSearchHeaders(headers);
+    List<CsvCursor> cursors = new ArrayList<>();
+    try {
+      for (int i = 0; i < parts; i++) {
+        if (i == 0 || boundaries[i] < boundaries[i + 1]) {
+          FileChannel channel = Unchecked.wrap(() -> FileChannel.open(file, StandardOpenOption.READ));
+          cursors.add(new CsvCursor(
+              channel, (byte) separator, headers, searchHeaders, boundaries[i], boundaries[i + 1], windowSize));
+        }
+      }
+    } catch (RuntimeException ex) {
+      cursors.forEach(CsvCursor::close);
+      throw ex;
+    }
+    return ImmutableList.copyOf(cursors);
+  }
+
+  // finds the position of the end of the line containing the start position
+  // if afterEnd is true, returns the position after the line end, which is the start of the next line
+  private static long findLineEnd(FileChannel channel, long start, long size, boolean afterEnd) throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(8192);
+    long pos = start;
+    while (pos < size) {
+      buf.clear();
+      int read = channel.read(buf, pos);
+      if (read < 0) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        byte b = buf.get(i);
+        if (b == '\n' || (b == '\r' && !afterEnd)) {
+          return afterEnd ? pos + i + 1 : pos + i;
+        }
+      }
+      pos += read;
+    }
+    return size;
+  }
+
+  // reads the buffer fully from the position
+  private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+    long pos = position;
+    while (buf.hasRemaining()) {
+      int read = channel.read(buf, pos);
+      if (read < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+      pos += read;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   *
+   * @param channel  the file channel
+   * @param separator  the separator
+   * @param headers  the header row
+   * @param searchHeaders  the search headers
+   * @param start  the position in the file to start parsing from
+   * @param end  the position in the file to end parsing at, exclusive
+   * @param windowSize  the size of the window to map
+   */
+  private CsvCursor(
+      FileChannel channel,
+      byte separator,
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders,
+      long start,
+      long end,
+      int windowSize) {
+
+    this.channel = channel;
+    this.separator = separator;
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+    this.position = start;
+    this.end = end;
+    this.windowSize = windowSize;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the header row.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return headers;
+  }
+
+  /**
+   * Gets the index of the column with the specified header.
+   * <p>
+   * This returns the index of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * The index is typically obtained once, before iterating over the rows.
+   *
+   * @param header  the column header
+   * @return the column index
+   * @throws IllegalArgumentException if the header is not found
+   */
+  public int columnIndex(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("Header not found: " + header);
+    }
+    return index;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Advances the cursor to the next row.
+   * <p>
+   * Blank lines and comment lines are skipped.
+   * The values obtained from the previous row are no longer valid once this method is called.
+   *
+   * @return true if the cursor is positioned on a row, false if the end of the range has been reached
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public boolean next() {
+    while (position < end) {
+      if (window == null || position >= windowStart + window.limit()) {
+        map(position);
+      }
+      int lineStart = (int) (position - windowStart);
+      int limit = window.limit();
+      int lineEnd = lineStart;
+      while (lineEnd < limit && window.get(lineEnd) != '\n' && window.get(lineEnd) != '\r') {
+        lineEnd++;
+      }
+      if (lineEnd == limit && windowStart + limit < end) {
+        // the line continues beyond the window, so remap the window from the start of the line
+        if (lineStart == 0) {
+          throw new IllegalArgumentException(Messages.format(
+              "CSV line is longer than the maximum of {} bytes at position {}", windowSize, position));
+        }
+        map(position);
+        continue;
+      }
+      position = windowStart + lineEnd + 1;
+      if (parseLine(lineStart, lineEnd)) {
+        return true;
+      }
+    }
+    fieldCount = 0;
+    return false;
+  }
+
+  // maps the window from the specified position
+  private void map(long start) {
+    long size = Math.min(windowSize, end - start);
+    window = Unchecked.wrap(() -> channel.map(MapMode.READ_ONLY, start, size));
+    windowStart = start;
+  }
+
+  // parses the line into fields, returning false if the line has no content
+  private boolean parseLine(int lineStart, int lineEnd) {
+    fieldCount = 0;
+    if (lineStart == lineEnd || window.get(lineStart) == '#' || window.get(lineStart) == ';') {
+      return false;
+    }
+    boolean content = false;
+    int pos = lineStart;
+    while (true) {
+      int sep = pos;
+      while (sep < lineEnd && window.get(sep) != separator) {
+        sep++;
+      }
+      int start = pos;
+      while (start < sep && isWhitespace(window.get(start))) {
+        start++;
+      }
+      if (start < sep && window.get(start) == '"') {
+        sep = parseQuoted(start + 1, lineStart, lineEnd);
+      } else {
+        int fieldEnd = sep;
+        while (fieldEnd > start && isWhitespace(window.get(fieldEnd - 1))) {
+          fieldEnd--;
+        }
+        addField(start, fieldEnd, false);
+      }
+      content |= hasContent(fieldCount - 1);
+      if (sep >= lineEnd) {
+        return content;
+      }
+      pos = sep + 1;
+    }
+  }
+
+  // parses a quoted field, returning the position of the separator or line end that follows it
+  private int parseQuoted(int start, int lineStart, int lineEnd) {
+    boolean escaped = false;
+    int i = start;
+    while (i < lineEnd) {
+      if (window.get(i) == '"') {
+        if (i + 1 < lineEnd && window.get(i + 1) == '"') {
+          escaped = true;
+          i += 2;
+          continue;
+        }
+        // a closing quote must be followed by the separator, allowing for whitespace
+        int after = i + 1;
+        while (after < lineEnd && window.get(after) != separator && isWhitespace(window.get(after))) {
+          after++;
+        }
+        if (after == lineEnd || window.get(after) == separator) {
+          addField(start, i, escaped);
+          return after;
+        }
+      }
+      i++;
+    }
+    throw new IllegalArgumentException("Mismatched quotes on line: " + decode(lineStart, lineEnd));
+  }
+
+  // adds a field to the current row
+  private void addField(int start, int end, boolean escaped) {
+    if (fieldCount == fieldStarts.length) {
+      int newSize = fieldCount * 2;
+      fieldStarts = Arrays.copyOf(fieldStarts, newSize);
+      fieldEnds = Arrays.copyOf(fieldEnds, newSize);
+      fieldEscaped = Arrays.copyOf(fieldEscaped, newSize);
+      views = Arrays.copyOf(views, newSize);
+    }
+    fieldStarts[fieldCount] = start;
+    fieldEnds[fieldCount] = end;
+    fieldEscaped[fieldCount] = escaped;
+    fieldCount++;
+  }
+
+  // checks whether the field has any non-whitespace content
+  private boolean hasContent(int index) {
+    for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+      if (!isWhitespace(window.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // checks whether the field only contains ASCII, and thus one character per byte
+  private boolean isAscii(int index) {
+    for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+      if (window.get(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // matches the definition of whitespace in String.trim()
+  private static boolean isWhitespace(byte b) {
+    return b >= 0 && b <= ' ';
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of fields in the current row.
+   * <p>
+   * This will never be less than the number of headers.
+   *
+   * @return the number of fields
+   */
+  public int fieldCount() {
+    return Math.max(fieldCount, headers.size());
+  }
+
+  /**
+   * Gets the specified field of the current row as a view.
+   * <p>
+   * The view is onto the underlying buffer, with a character obtained from each byte.
+   * The view is only valid until the cursor is advanced.
+   * If the field is quoted and contains escaped quotes, or contains characters outside ASCII,
+   * the field is decoded and a {@code String} is returned.
+   *
+   * @param index  the field index
+   * @return the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws NoSuchElementException if the cursor is not positioned on a row
+   */
+  public CharSequence field(int index) {
+    if (checkIndex(index)) {
+      return "";
+    }
+    if (fieldEscaped[index] || !isAscii(index)) {
+      return getField(index);
+    }
+    FieldView view = views[index];
+    if (view == null) {
+      view = new FieldView(index);
+      views[index] = view;
+    }
+    return view;
+  }
+
+  /**
+   * Gets the specified field of the current row as a {@code String}.
+   * <p>
+   * The field is decoded as UTF-8.
+   *
+   * @param index  the field index
+   * @return the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws NoSuchElementException if the cursor is not positioned on a row
+   */
+  public String getField(int index) {
+    if (checkIndex(index)) {
+      return "";
+    }
+    String str = decode(fieldStarts[index], fieldEnds[index]);
+    return fieldEscaped[index] ? str.replace("\"\"", "\"") : str;
+  }
+
+  /**
+   * Gets the specified field of the current row as a {@code double}.
+   * <p>
+   * Simple decimal numbers are parsed directly from the buffer.
+   * Other formats, such as scientific notation, are parsed using {@link Double#parseDouble(String)}.
+   *
+   * @param index  the field index
+   * @return the value of the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws NoSuchElementException if the cursor is not positioned on a row
+   * @throws IllegalArgumentException if the field cannot be parsed
+   */
+  public double getDouble(int index) {
+    if (checkIndex(index) || fieldEscaped[index]) {
+      return parseDoubleSlow(index);
+    }
+    int start = fieldStarts[index];
+    int end = fieldEnds[index];
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (window.get(pos) == '-' || window.get(pos) == '+')) {
+      negative = window.get(pos) == '-';
+      pos++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean decimalPoint = false;
+    for (; pos < end; pos++) {
+      byte b = window.get(pos);
+      if (b >= '0' && b <= '9') {
+        if (++digits > 18) {
+          return parseDoubleSlow(index);
+        }
+        mantissa = mantissa * 10 + (b - '0');
+        scale += decimalPoint ? 1 : 0;
+      } else if (b == '.' && !decimalPoint) {
+        decimalPoint = true;
+      } else {
+        return parseDoubleSlow(index);
+      }
+    }
+    if (digits == 0 || mantissa > MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+      return parseDoubleSlow(index);
+    }
+    // both mantissa and power of ten are exact, thus a single division is correctly rounded
+    double value = mantissa / POWERS_OF_TEN[scale];
+    return negative ? -value : value;
+  }
+
+  // parses a double via a string
+  private double parseDoubleSlow(int index) {
+    String str = getField(index);
+    try {
+      return Double.parseDouble(str);
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(Messages.format("Unable to parse double from '{}'", str), ex);
+    }
+  }
+
+  /**
+   * Gets the specified field of the current row as a {@code LocalDate}.
+   * <p>
+   * Dates in the ISO-8601 format {@code yyyy-MM-dd} are parsed directly from the buffer.
+   * Other formats are parsed using {@link LocalDate#parse(CharSequence)}.
+   *
+   * @param index  the field index
+   * @return the value of the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws NoSuchElementException if the cursor is not positioned on a row
+   * @throws IllegalArgumentException if the field cannot be parsed
+   */
+  public LocalDate getLocalDate(int index) {
+    if (!checkIndex(index) && !fieldEscaped[index] && fieldEnds[index] - fieldStarts[index] == 10) {
+      int start = fieldStarts[index];
+      if (window.get(start + 4) == '-' && window.get(start + 7) == '-') {
+        int year = parseDigits(start, start + 4);
+        int month = parseDigits(start + 5, start + 7);
+        int day = parseDigits(start + 8, start + 10);
+        if (year >= 0 && month >= 0 && day >= 0) {
+          try {
+            return LocalDate.of(year, month, day);
+          } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(
+                Messages.format("Unable to parse date from '{}'", getField(index)), ex);
+          }
+        }
+      }
+    }
+    String str = getField(index);
+    try {
+      return LocalDate.parse(str);
+    } catch (DateTimeParseException ex) {
+      throw new IllegalArgumentException(Messages.format("Unable to parse date from '{}'", str), ex);
+    }
+  }
+
+  // parses digits, returning -1 if not all digits
+  private int parseDigits(int start, int end) {
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      byte b = window.get(i);
+      if (b < '0' || b > '9') {
+        return -1;
+      }
+      result = result * 10 + (b - '0');
+    }
+    return result;
+  }
+
+  /**
+   * Converts the current row to a {@code CsvRow}.
+   * <p>
+   * This creates a {@code String} for each field.
+   *
+   * @return the row
+   * @throws NoSuchElementException if the cursor is not positioned on a row
+   */
+  public CsvRow toRow() {
+    if (fieldCount == 0) {
+      throw new NoSuchElementException("CsvCursor is not positioned on a row");
+    }
+    ImmutableList.Builder<String> fields = ImmutableList.builder();
+    for (int i = 0; i < fieldCount; i++) {
+      fields.add(getField(i));
+    }
+    return new CsvRow(headers, searchHeaders, fields.build());
+  }
+
+  // checks the index, returning true if the field is beyond the fields but within the headers
+  private boolean checkIndex(int index) {
+    if (fieldCount == 0) {
+      throw new NoSuchElementException("CsvCursor is not positioned on a row");
+    }
+    if (index >= fieldCount && index < headers.size()) {
+      return true;
+    }
+    if (index < 0 || index >= fieldCount) {
+      throw new IndexOutOfBoundsException("Invalid field index: " + index);
+    }
+    return false;
+  }
+
+  // decodes part of the window as UTF-8
+  private String decode(int start, int end) {
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = window.get(start + i);
+    }
+    return new String(bytes, UTF_8);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the underlying file.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    window = null;
+    fieldCount = 0;
+    Unchecked.wrap(() -> channel.close());
+  }
+
+  /**
+   * Returns a string describing the CSV cursor.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CsvCursor" + headers.toString();
+  }
+
+  //-------------------------------------------------------------------------
+  // view of a field containing only ASCII, valid until the cursor is advanced
+  private final class FieldView implements CharSequence {
+    private final int index;
+
+    private FieldView(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public int length() {
+      return fieldEnds[index] - fieldStarts[index];
+    }
+
+    @Override
+    public char charAt(int pos) {
+      if (pos < 0 || pos >= length()) {
+        throw new IndexOutOfBoundsException("Invalid index: " + pos);
+      }
+      return (char) window.get(fieldStarts[index] + pos);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return decode(fieldStarts[index], fieldEnds[index]);
+    }
+  }
+
+}
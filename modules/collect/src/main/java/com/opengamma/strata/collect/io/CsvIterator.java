@@ -32,6 +32,7 @@ import com.opengamma.strata.collect.Unchecked;
  * <p>
  * This class processes the CSV file row-by-row.
  * To load the entire CSV file into memory, use {@link CsvFile}.
+ * To parse a very large file without creating a {@code String} for each field, use {@link CsvCursor}.
  * <p>
  * This class must be used in a try-with-resources block to ensure that the underlying CSV file is closed:
  * <pre>
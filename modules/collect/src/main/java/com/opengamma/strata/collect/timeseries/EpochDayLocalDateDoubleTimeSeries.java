@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} where the
+ * dates are stored as epoch-days.
+ * <p>
+ * This is an alternative to {@link SparseLocalDateDoubleTimeSeries} for large,
+ * long-lived sets of data, such as historic fixings.
+ * The dates are held in an {@code int} array, using four bytes per point rather than a
+ * reference to a {@code LocalDate} object. Searches operate directly on the primitive array,
+ * and a {@code LocalDate} is only created when a date is returned.
+ * <p>
+ * Use {@link LocalDateDoubleTimeSeriesBuilder#buildCompact()} to create an instance.
+ */
+final class EpochDayLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The dates in the series, as epoch-days.
+   * The dates are ordered from earliest to latest.
+   */
+  private final int[] dates;
+  /**
+   * The values in the series.
+   * The date for each value is at the matching array index.
+   */
+  private final double[] values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a time-series from matching arrays of epoch-days and values.
+   * <p>
+   * The two arrays must be the same size and the dates must be sorted from earliest to latest.
+   * The arrays are not cloned.
+   *
+   * @param dates  the dates, as epoch-days
+   * @param values  the values
+   * @return the time-series
+   */
+  static EpochDayLocalDateDoubleTimeSeries of(int[] dates, double[] values) {
+    ArgChecker.notNull(dates, "dates");
+    ArgChecker.notNull(values, "values");
+    validate(dates, values);
+    return new EpochDayLocalDateDoubleTimeSeries(dates, values);
+  }
+
+  // validates the arrays are same length and in order
+  private static void validate(int[] dates, double[] values) {
+    ArgChecker.isTrue(dates.length == values.length,
+        "Arrays are of different sizes - dates: {}, values: {}", dates.length, values.length);
+    for (int i = 1; i < dates.length; i++) {
+      if (dates[i] <= dates[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}",
+            LocalDate.ofEpochDay(dates[i]), LocalDate.ofEpochDay(dates[i - 1])));
+      }
+    }
+  }
+
+  // creates time-series by directly assigning the input arrays
+  // must only be called when safe to do so
+  static EpochDayLocalDateDoubleTimeSeries createUnsafe(int[] dates, double[] values) {
+    return new EpochDayLocalDateDoubleTimeSeries(dates, values);
+  }
+
+  // restricted constructor
+  private EpochDayLocalDateDoubleTimeSeries(int[] dates, double[] values) {
+    this.dates = dates;
+    this.values = values;
+  }
+
+  // validate when deserializing
+  private void readObject(ObjectInputStream in) throws Exception {
+    in.defaultReadObject();
+    if (dates == null || values == null) {
+      throw new InvalidObjectException("Time-series arrays must not be null");
+    }
+    validate(dates, values);
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the dates as epoch-days, the array must not be mutated
+  int[] epochDays() {
+    return dates;
+  }
+
+  // gets the values, the array must not be mutated
+  double[] valueArray() {
+    return values;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return dates.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return dates.length == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
+  }
+
+  // dates outside the range of an int are before or after all the dates in the series
+  private int findDatePosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE) {
+      return -1;
+    } else if (epochDay > Integer.MAX_VALUE) {
+      return -dates.length - 1;
+    }
+    return Arrays.binarySearch(dates, (int) epochDay);
+  }
+
+  /**
+   * Converts a date to an epoch-day.
+   *
+   * @param date  the date
+   * @return the epoch-day
+   * @throws IllegalArgumentException if the date cannot be stored as an {@code int} epoch-day
+   */
+  static int toEpochDay(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          Messages.format("Date is out of range for a compact time-series: {}", date));
+    }
+    return (int) epochDay;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(dates[0]);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return values[0];
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(dates[dates.length - 1]);
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return values[values.length - 1];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // special case when this is empty or when the dates are the same
+    if (isEmpty() || startInclusive.equals(endExclusive)) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    // where in the array would start/end be (whether or not it's actually in the series)
+    int startPos = findDatePosition(startInclusive);
+    startPos = startPos >= 0 ? startPos : -startPos - 1;
+    int endPos = findDatePosition(endExclusive);
+    endPos = endPos >= 0 ? endPos : -endPos - 1;
+    return range(startPos, endPos);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return range(0, Math.min(numPoints, size()));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return range(Math.max(size() - numPoints, 0), size());
+  }
+
+  // creates a time-series from a range of this series
+  private LocalDateDoubleTimeSeries range(int startPos, int endPos) {
+    if (startPos == endPos) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    } else if (startPos == 0 && endPos == size()) {
+      return this;
+    }
+    return new EpochDayLocalDateDoubleTimeSeries(
+        Arrays.copyOfRange(dates, startPos, endPos),
+        Arrays.copyOfRange(values, startPos, endPos));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size())
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(dates[i]), values[i]));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.of(dates).mapToObj(LocalDate::ofEpochDay);
+  }
+
+  @Override
+  public DoubleStream values() {
+    return DoubleStream.of(values);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size(); i++) {
+      action.accept(LocalDate.ofEpochDay(dates[i]), values[i]);
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    int[] mapped = new int[size()];
+    for (int i = 0; i < size(); i++) {
+      mapped[i] = toEpochDay(mapper.apply(LocalDate.ofEpochDay(dates[i])));
+      if (i > 0 && mapped[i] <= mapped[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order after calling mapDates but {} and {} are not",
+            LocalDate.ofEpochDay(mapped[i - 1]), LocalDate.ofEpochDay(mapped[i])));
+      }
+    }
+    return new EpochDayLocalDateDoubleTimeSeries(mapped, values);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    return new EpochDayLocalDateDoubleTimeSeries(dates, DoubleStream.of(values).map(mapper).toArray());
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    ArgChecker.notNull(predicate, "predicate");
+    // build up result in arrays keeping track of count of retained dates
+    int[] resDates = new int[size()];
+    double[] resValues = new double[size()];
+    int resCount = 0;
+    for (int i = 0; i < size(); i++) {
+      if (predicate.test(LocalDate.ofEpochDay(dates[i]), values[i])) {
+        resDates[resCount] = dates[i];
+        resValues[resCount] = values[i];
+        resCount++;
+      }
+    }
+    return new EpochDayLocalDateDoubleTimeSeries(
+        Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof EpochDayLocalDateDoubleTimeSeries) {
+      EpochDayLocalDateDoubleTimeSeries other = (EpochDayLocalDateDoubleTimeSeries) obj;
+      return Arrays.equals(dates, other.dates) && Arrays.equals(values, other.values);
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(dates) + Arrays.hashCode(values);
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
@@ -9,17 +9,17 @@ import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSe
 import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.SKIP_WEEKENDS;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import com.google.common.primitives.Doubles;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
@@ -29,6 +29,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Entries can be added to the builder in any order.
  * If a date is duplicated it will overwrite an earlier entry.
  * <p>
+ * The entries are held as epoch-days and values in primitive arrays, in the order they are added.
+ * The arrays are sorted, and duplicate dates removed, only when the entries are queried or built.
+ * <p>
  * Use {@link LocalDateDoubleTimeSeries#builder()} to create an instance.
  */
 public final class LocalDateDoubleTimeSeriesBuilder {
@@ -39,9 +42,26 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   private static final double DENSITY_THRESHOLD = 0.7;
 
   /**
-   * The entries for the time-series.
+   * The initial capacity of the arrays.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The dates of the entries, as epoch-days.
+   */
+  private long[] dates;
+  /**
+   * The values of the entries.
+   */
+  private double[] values;
+  /**
+   * The number of entries.
+   */
+  private int size;
+  /**
+   * Whether the entries are in ascending date order, without duplicate dates.
    */
-  private final SortedMap<LocalDate, Double> entries = new TreeMap<>();
+  private boolean sorted = true;
 
   /**
    * Keep track of whether we have weekends in the data.
@@ -55,6 +75,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * Use {@link LocalDateDoubleTimeSeries#builder()}.
    */
   LocalDateDoubleTimeSeriesBuilder() {
+    this.dates = new long[INITIAL_CAPACITY];
+    this.values = new double[INITIAL_CAPACITY];
   }
 
   /**
@@ -66,11 +88,32 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @param values  the values to initialize with
    */
   LocalDateDoubleTimeSeriesBuilder(LocalDate[] dates, double[] values) {
+    this.dates = new long[Math.max(dates.length, INITIAL_CAPACITY)];
+    this.values = new double[Math.max(dates.length, INITIAL_CAPACITY)];
     for (int i = 0; i < dates.length; i++) {
       put(dates[i], values[i]);
     }
   }
 
+  /**
+   * Creates an instance.
+   * <p>
+   * Use {@link EpochDayLocalDateDoubleTimeSeries#toBuilder()}.
+   *
+   * @param dates  the dates to initialize with, as epoch-days
+   * @param values  the values to initialize with
+   */
+  LocalDateDoubleTimeSeriesBuilder(int[] dates, double[] values) {
+    // the dates are known to be in ascending order without duplicates
+    this.dates = new long[Math.max(dates.length, INITIAL_CAPACITY)];
+    this.values = Arrays.copyOf(values, Math.max(dates.length, INITIAL_CAPACITY));
+    for (int i = 0; i < dates.length; i++) {
+      this.dates[i] = dates[i];
+      containsWeekends |= isWeekend(dates[i]);
+    }
+    this.size = dates.length;
+  }
+
   /**
    * Creates an instance.
    * <p>
@@ -79,6 +122,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @param points  the stream of points to initialize with
    */
   LocalDateDoubleTimeSeriesBuilder(Stream<LocalDateDoublePoint> points) {
+    this();
     points.forEach(pt -> put(pt.getDate(), pt.getValue()));
   }
 
@@ -94,8 +138,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return the value associated with the date, optional empty if the date is not present
    */
   public OptionalDouble get(LocalDate date) {
-    Double value = entries.get(date);
-    return (value != null ? OptionalDouble.of(value) : OptionalDouble.empty());
+    int index = indexOf(date.toEpochDay());
+    return (index >= 0 ? OptionalDouble.of(values[index]) : OptionalDouble.empty());
   }
 
   //-------------------------------------------------------------------------
@@ -109,10 +153,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder put(LocalDate date, double value) {
     ArgChecker.notNull(date, "date");
     ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
-    entries.put(date, value);
-    if (!containsWeekends && date.get(ChronoField.DAY_OF_WEEK) > 5) {
-      containsWeekends = true;
-    }
+    append(date.toEpochDay(), value);
     return this;
   }
 
@@ -142,7 +183,22 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDate date, double value, DoubleBinaryOperator operator) {
     ArgChecker.notNull(date, "date");
     ArgChecker.notNull(operator, "operator");
-    entries.merge(date, value, (a, b) -> operator.applyAsDouble(a, b));
+    long epochDay = date.toEpochDay();
+    int index = indexOf(epochDay);
+    if (index >= 0) {
+      values[index] = operator.applyAsDouble(values[index], value);
+    } else {
+      // insert to keep the entries sorted, which is cheap when merging in date order
+      append(epochDay, value);
+      int insertion = -index - 1;
+      if (insertion < size - 1) {
+        System.arraycopy(dates, insertion, dates, insertion + 1, size - 1 - insertion);
+        System.arraycopy(values, insertion, values, insertion + 1, size - 1 - insertion);
+        dates[insertion] = epochDay;
+        values[insertion] = value;
+        sorted = true;
+      }
+    }
     return this;
   }
 
@@ -157,8 +213,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDateDoublePoint point, DoubleBinaryOperator operator) {
     ArgChecker.notNull(point, "point");
-    entries.merge(point.getDate(), point.getValue(), (a, b) -> operator.applyAsDouble(a, b));
-    return this;
+    return merge(point.getDate(), point.getValue(), operator);
   }
 
   //-------------------------------------------------------------------------
@@ -251,8 +306,9 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder putAll(LocalDateDoubleTimeSeriesBuilder other) {
     ArgChecker.notNull(other, "other");
-    entries.putAll(other.entries);
-    containsWeekends = containsWeekends || other.containsWeekends;
+    for (int i = 0; i < other.size; i++) {
+      append(other.dates[i], other.values[i]);
+    }
     return this;
   }
 
@@ -270,6 +326,91 @@ public final class LocalDateDoubleTimeSeriesBuilder {
     return this;
   }
 
+  //-------------------------------------------------------------------------
+  // adds an entry to the end of the arrays, noting whether the order is preserved
+  private void append(long epochDay, double value) {
+    if (size == dates.length) {
+      int capacity = Math.max(size * 2, INITIAL_CAPACITY);
+      dates = Arrays.copyOf(dates, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    if (size > 0 && epochDay <= dates[size - 1]) {
+      sorted = false;
+    }
+    dates[size] = epochDay;
+    values[size] = value;
+    size++;
+    if (!containsWeekends && isWeekend(epochDay)) {
+      containsWeekends = true;
+    }
+  }
+
+  // finds the index of the date, negative if not found
+  private int indexOf(long epochDay) {
+    sort();
+    return Arrays.binarySearch(dates, 0, size, epochDay);
+  }
+
+  // sorts the entries by date, retaining the last entry added for each date
+  private void sort() {
+    if (sorted) {
+      return;
+    }
+    int[] order = sortOrder();
+    long[] sortedDates = new long[dates.length];
+    double[] sortedValues = new double[values.length];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int index = order[i];
+      if (count > 0 && sortedDates[count - 1] == dates[index]) {
+        count--;
+      }
+      sortedDates[count] = dates[index];
+      sortedValues[count] = values[index];
+      count++;
+    }
+    dates = sortedDates;
+    values = sortedValues;
+    size = count;
+    sorted = true;
+  }
+
+  // the indices of the entries in date order, where entries with the same date are in the order added
+  private int[] sortOrder() {
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int i = 0; i < size; i++) {
+      min = Math.min(min, dates[i]);
+      max = Math.max(max, dates[i]);
+    }
+    int[] order = new int[size];
+    if (max - min <= Integer.MAX_VALUE) {
+      // typical case, where the date offset and index are packed into a long and sorted
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = ((dates[i] - min) << 32) | i;
+      }
+      Arrays.sort(keys);
+      for (int i = 0; i < size; i++) {
+        order[i] = (int) keys[i];
+      }
+    } else {
+      // dates spanning millions of years, where a stable sort of boxed indices is used
+      long[] unsortedDates = dates;
+      Integer[] boxed = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+      Arrays.sort(boxed, (a, b) -> Long.compare(unsortedDates[a], unsortedDates[b]));
+      for (int i = 0; i < size; i++) {
+        order[i] = boxed[i];
+      }
+    }
+    return order;
+  }
+
+  // checks if the epoch-day is a Saturday or Sunday, where 1970-01-01 is a Thursday
+  private static boolean isWeekend(long epochDay) {
+    return Math.floorMod(epochDay + 3, 7) >= 5;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Build the time-series from the builder.
@@ -277,8 +418,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return a time-series containing the entries from the builder
    */
   public LocalDateDoubleTimeSeries build() {
-
-    if (entries.isEmpty()) {
+    sort();
+    if (size == 0) {
       return LocalDateDoubleTimeSeries.empty();
     }
 
@@ -289,22 +430,52 @@ public final class LocalDateDoubleTimeSeriesBuilder {
         createSparseSeries();
   }
 
+  /**
+   * Build the time-series from the builder, storing the dates as epoch-days.
+   * <p>
+   * The resulting time-series holds the dates as an {@code int} array rather than
+   * as {@code LocalDate} objects, reducing the memory used by each point.
+   * This is intended for large sets of data that are held for a long time, such as historic fixings.
+   * Unlike {@link #build()}, the density of the data is not considered.
+   *
+   * @return a time-series containing the entries from the builder
+   * @throws IllegalArgumentException if a date is too far from 1970 to be stored as an {@code int} epoch-day
+   */
+  public LocalDateDoubleTimeSeries buildCompact() {
+    sort();
+    if (size == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    int[] epochDays = new int[size];
+    for (int i = 0; i < size; i++) {
+      if (dates[i] < Integer.MIN_VALUE || dates[i] > Integer.MAX_VALUE) {
+        // report the out of range date
+        EpochDayLocalDateDoubleTimeSeries.toEpochDay(LocalDate.ofEpochDay(dates[i]));
+      }
+      epochDays[i] = (int) dates[i];
+    }
+    return EpochDayLocalDateDoubleTimeSeries.of(epochDays, Arrays.copyOf(values, size));
+  }
+
   private LocalDateDoubleTimeSeries createDenseSeries() {
     return DenseLocalDateDoubleTimeSeries.of(
-        entries.firstKey(),
-        entries.lastKey(),
+        LocalDate.ofEpochDay(dates[0]),
+        LocalDate.ofEpochDay(dates[size - 1]),
         streamEntries(),
         determineCalculation());
   }
 
   private SparseLocalDateDoubleTimeSeries createSparseSeries() {
-    return SparseLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+    LocalDate[] localDates = new LocalDate[size];
+    for (int i = 0; i < size; i++) {
+      localDates[i] = LocalDate.ofEpochDay(dates[i]);
+    }
+    return SparseLocalDateDoubleTimeSeries.of(Arrays.asList(localDates), Doubles.asList(values).subList(0, size));
   }
 
   private Stream<LocalDateDoublePoint> streamEntries() {
-    return entries.entrySet()
-        .stream()
-        .map(e -> LocalDateDoublePoint.of(e.getKey(), e.getValue()));
+    return IntStream.range(0, size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(dates[i]), values[i]));
   }
 
   private DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation determineCalculation() {
@@ -313,8 +484,9 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private double density() {
     // We can use the calculators to work out range size
-    double rangeSize = determineCalculation().calculatePosition(entries.firstKey(), entries.lastKey()) + 1;
-    return entries.size() / rangeSize;
+    double rangeSize = determineCalculation().calculatePosition(
+        LocalDate.ofEpochDay(dates[0]), LocalDate.ofEpochDay(dates[size - 1])) + 1;
+    return size / rangeSize;
   }
 
 }
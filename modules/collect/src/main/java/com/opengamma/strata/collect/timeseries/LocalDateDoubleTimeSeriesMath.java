@@ -0,0 +1,332 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.function.ObjIntIntToDoubleFunction;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Contains utility methods for bulk operations on {@code LocalDateDoubleTimeSeries}.
+ * <p>
+ * Historical scenario generation typically requires returns and aligned joins across
+ * a large number of time-series. The methods here operate on primitive arrays of epoch-days
+ * and values, using merge-style loops, rather than creating a {@link LocalDateDoublePoint}
+ * for each point in each series.
+ * <p>
+ * The time-series returned store their dates as epoch-days, as per
+ * {@link LocalDateDoubleTimeSeriesBuilder#buildCompact()}.
+ */
+public final class LocalDateDoubleTimeSeriesMath {
+
+  /**
+   * Restricted constructor.
+   */
+  private LocalDateDoubleTimeSeriesMath() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Joins a list of time-series on the dates that are present in every series.
+   * <p>
+   * The result is a pair of the dates and a matrix of values.
+   * The matrix has one row for each date and one column for each series, in the order of the list.
+   * If there are no common dates, the list of dates is empty and the matrix is empty.
+   *
+   * @param series  the time-series to join
+   * @return the common dates and the matrix of values
+   */
+  public static Pair<ImmutableList<LocalDate>, DoubleMatrix> joinIntersection(
+      List<? extends LocalDateDoubleTimeSeries> series) {
+
+    ArgChecker.noNulls(series, "series");
+    int count = series.size();
+    if (count == 0) {
+      return Pair.of(ImmutableList.of(), DoubleMatrix.EMPTY);
+    }
+    int[][] dates = new int[count][];
+    double[][] values = new double[count][];
+    int maxRows = Integer.MAX_VALUE;
+    for (int j = 0; j < count; j++) {
+      extract(series.get(j), dates, values, j);
+      maxRows = Math.min(maxRows, dates[j].length);
+    }
+    int[] resultDates = new int[maxRows];
+    double[][] resultValues = new double[maxRows][];
+    int[] positions = new int[count];
+    int rows = 0;
+    outer:
+    while (true) {
+      // find the latest of the current dates, which is the earliest date that might be common
+      int target = Integer.MIN_VALUE;
+      for (int j = 0; j < count; j++) {
+        if (positions[j] == dates[j].length) {
+          break outer;
+        }
+        target = Math.max(target, dates[j][positions[j]]);
+      }
+      // advance each series to the target, checking if all series contain it
+      boolean matched = true;
+      for (int j = 0; j < count; j++) {
+        int pos = positions[j];
+        while (pos < dates[j].length && dates[j][pos] < target) {
+          pos++;
+        }
+        positions[j] = pos;
+        if (pos == dates[j].length) {
+          break outer;
+        }
+        matched &= (dates[j][pos] == target);
+      }
+      if (matched) {
+        double[] row = new double[count];
+        for (int j = 0; j < count; j++) {
+          row[j] = values[j][positions[j]++];
+        }
+        resultDates[rows] = target;
+        resultValues[rows] = row;
+        rows++;
+      }
+    }
+    return Pair.of(toDates(resultDates, rows), DoubleMatrix.ofUnsafe(Arrays.copyOf(resultValues, rows)));
+  }
+
+  /**
+   * Joins a list of time-series on the dates that are present in any series.
+   * <p>
+   * The result is a pair of the dates and a matrix of values.
+   * The matrix has one row for each date and one column for each series, in the order of the list.
+   * Where a series has no value for a date, the matrix contains {@link Double#NaN}.
+   *
+   * @param series  the time-series to join
+   * @return the dates and the matrix of values
+   */
+  public static Pair<ImmutableList<LocalDate>, DoubleMatrix> joinUnion(
+      List<? extends LocalDateDoubleTimeSeries> series) {
+
+    ArgChecker.noNulls(series, "series");
+    int count = series.size();
+    if (count == 0) {
+      return Pair.of(ImmutableList.of(), DoubleMatrix.EMPTY);
+    }
+    int[][] dates = new int[count][];
+    double[][] values = new double[count][];
+    int maxRows = 0;
+    for (int j = 0; j < count; j++) {
+      extract(series.get(j), dates, values, j);
+      maxRows += dates[j].length;
+    }
+    int[] resultDates = new int[maxRows];
+    double[][] resultValues = new double[maxRows][];
+    int[] positions = new int[count];
+    int rows = 0;
+    while (true) {
+      // find the earliest of the current dates
+      int target = Integer.MAX_VALUE;
+      boolean remaining = false;
+      for (int j = 0; j < count; j++) {
+        if (positions[j] < dates[j].length) {
+          target = Math.min(target, dates[j][positions[j]]);
+          remaining = true;
+        }
+      }
+      if (!remaining) {
+        break;
+      }
+      double[] row = new double[count];
+      for (int j = 0; j < count; j++) {
+        int pos = positions[j];
+        if (pos < dates[j].length && dates[j][pos] == target) {
+          row[j] = values[j][pos];
+          positions[j]++;
+        } else {
+          row[j] = Double.NaN;
+        }
+      }
+      resultDates[rows] = target;
+      resultValues[rows] = row;
+      rows++;
+    }
+    return Pair.of(toDates(resultDates, rows), DoubleMatrix.ofUnsafe(Arrays.copyOf(resultValues, rows)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the lagged differences of a time-series.
+   * <p>
+   * The value at each point is the value of the input at that point minus the value
+   * of the input {@code lag} points earlier. The first {@code lag} points have no value.
+   * Points are counted in the series, thus a lag of one is the difference to the previous point.
+   *
+   * @param series  the time-series
+   * @param lag  the number of points to look back, one or greater
+   * @return the time-series of differences
+   */
+  public static LocalDateDoubleTimeSeries differences(LocalDateDoubleTimeSeries series, int lag) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNegativeOrZero(lag, "lag");
+    int[][] dates = new int[1][];
+    double[][] values = new double[1][];
+    extract(series, dates, values, 0);
+    int size = dates[0].length - lag;
+    if (size <= 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    double[] input = values[0];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = input[i + lag] - input[i];
+    }
+    return EpochDayLocalDateDoubleTimeSeries.createUnsafe(Arrays.copyOfRange(dates[0], lag, lag + size), result);
+  }
+
+  /**
+   * Calculates the lagged logarithmic returns of a time-series.
+   * <p>
+   * The value at each point is the natural logarithm of the value of the input at that point
+   * divided by the value of the input {@code lag} points earlier. The first {@code lag} points have no value.
+   * Points are counted in the series, thus a lag of one is the return from the previous point.
+   * <p>
+   * The values of the input are expected to be positive.
+   * A zero or negative value results in an infinite or {@code NaN} return.
+   *
+   * @param series  the time-series
+   * @param lag  the number of points to look back, one or greater
+   * @return the time-series of logarithmic returns
+   */
+  public static LocalDateDoubleTimeSeries logReturns(LocalDateDoubleTimeSeries series, int lag) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNegativeOrZero(lag, "lag");
+    int[][] dates = new int[1][];
+    double[][] values = new double[1][];
+    extract(series, dates, values, 0);
+    int size = dates[0].length - lag;
+    if (size <= 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    double[] input = values[0];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = Math.log(input[i + lag] / input[i]);
+    }
+    return EpochDayLocalDateDoubleTimeSeries.createUnsafe(Arrays.copyOfRange(dates[0], lag, lag + size), result);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the rolling mean of a time-series.
+   * <p>
+   * The value at each point is the mean of the input values in the window of
+   * {@code window} points ending at, and including, that point.
+   * The first {@code window - 1} points have no value.
+   *
+   * @param series  the time-series
+   * @param window  the number of points in the window, one or greater
+   * @return the time-series of rolling means
+   */
+  public static LocalDateDoubleTimeSeries rollingMean(LocalDateDoubleTimeSeries series, int window) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNegativeOrZero(window, "window");
+    int[][] dates = new int[1][];
+    double[][] values = new double[1][];
+    extract(series, dates, values, 0);
+    int size = dates[0].length - window + 1;
+    if (size <= 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    double[] input = values[0];
+    double[] result = new double[size];
+    double sum = 0;
+    for (int i = 0; i < window; i++) {
+      sum += input[i];
+    }
+    result[0] = sum / window;
+    for (int i = 1; i < size; i++) {
+      sum += input[i + window - 1] - input[i - 1];
+      result[i] = sum / window;
+    }
+    return EpochDayLocalDateDoubleTimeSeries.createUnsafe(
+        Arrays.copyOfRange(dates[0], window - 1, window - 1 + size), result);
+  }
+
+  /**
+   * Applies a function to a rolling window of a time-series.
+   * <p>
+   * The value at each point is the result of the function applied to the input values
+   * in the window of {@code window} points ending at, and including, that point.
+   * The first {@code window - 1} points have no value.
+   * <p>
+   * The function is passed the array of all the input values, the index of the first value
+   * in the window and the number of values in the window, which is always {@code window}.
+   * This avoids copying the values of each window. The array must not be altered.
+   *
+   * @param series  the time-series
+   * @param window  the number of points in the window, one or greater
+   * @param function  the function to apply to the values in each window, passed the values, offset and length
+   * @return the time-series of results
+   */
+  public static LocalDateDoubleTimeSeries rolling(
+      LocalDateDoubleTimeSeries series,
+      int window,
+      ObjIntIntToDoubleFunction<double[]> function) {
+
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNegativeOrZero(window, "window");
+    ArgChecker.notNull(function, "function");
+    int[][] dates = new int[1][];
+    double[][] values = new double[1][];
+    extract(series, dates, values, 0);
+    int size = dates[0].length - window + 1;
+    if (size <= 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    double[] input = values[0];
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = function.applyAsDouble(input, i, window);
+    }
+    return EpochDayLocalDateDoubleTimeSeries.createUnsafe(
+        Arrays.copyOfRange(dates[0], window - 1, window - 1 + size), result);
+  }
+
+  //-------------------------------------------------------------------------
+  // extracts the epoch-days and values of the series into the arrays at the index
+  // the arrays of a compact series are used directly, and must not be mutated
+  private static void extract(LocalDateDoubleTimeSeries series, int[][] dates, double[][] values, int index) {
+    if (series instanceof EpochDayLocalDateDoubleTimeSeries) {
+      EpochDayLocalDateDoubleTimeSeries compact = (EpochDayLocalDateDoubleTimeSeries) series;
+      dates[index] = compact.epochDays();
+      values[index] = compact.valueArray();
+      return;
+    }
+    int[] seriesDates = new int[series.size()];
+    double[] seriesValues = new double[series.size()];
+    int[] pos = new int[1];
+    series.forEach((date, value) -> {
+      seriesDates[pos[0]] = EpochDayLocalDateDoubleTimeSeries.toEpochDay(date);
+      seriesValues[pos[0]] = value;
+      pos[0]++;
+    });
+    dates[index] = seriesDates;
+    values[index] = seriesValues;
+  }
+
+  // converts the first size epoch-days to a list of dates
+  private static ImmutableList<LocalDate> toDates(int[] epochDays, int size) {
+    ImmutableList.Builder<LocalDate> builder = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      builder.add(LocalDate.ofEpochDay(epochDays[i]));
+    }
+    return builder.build();
+  }
+
+}
@@ -0,0 +1,314 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} backed by a memory-mapped file.
+ * <p>
+ * The dates are held as epoch-days in an {@code int} column and the values in a {@code double} column.
+ * The columns are shared by all the series in the file, with each series being a range of the columns.
+ * No data is copied onto the heap when the series is queried, or when a sub-series is obtained.
+ * Operations that create new values, such as {@link #mapValues(DoubleUnaryOperator)}, return an on-heap series.
+ * <p>
+ * Instances are obtained from {@link MappedTimeSeriesStore}.
+ * When serialized, the series is converted to an equivalent on-heap series.
+ */
+final class MappedLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The dates of all the series in the file, as epoch-days.
+   */
+  private final transient IntBuffer dates;
+  /**
+   * The values of all the series in the file.
+   */
+  private final transient DoubleBuffer values;
+  /**
+   * The index of the first point of this series in the columns.
+   */
+  private final int offset;
+  /**
+   * The number of points in this series.
+   */
+  private final int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * <p>
+   * The dates in the range must be in ascending order.
+   *
+   * @param dates  the dates column, as epoch-days
+   * @param values  the values column
+   * @param offset  the index of the first point of the series
+   * @param size  the number of points in the series
+   */
+  MappedLocalDateDoubleTimeSeries(IntBuffer dates, DoubleBuffer values, int offset, int size) {
+    this.dates = dates;
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  // replace with an on-heap series
+  private Object writeReplace() {
+    return toBuilder().build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return findDatePosition(date) >= 0;
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(values.get(offset + position)) : OptionalDouble.empty());
+  }
+
+  // binary search on the epoch-days, returning the position within this series
+  // or (-(insertion point) - 1) if not found, matching Arrays.binarySearch
+  private int findDatePosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midDay = dates.get(offset + mid);
+      if (midDay < epochDay) {
+        low = mid + 1;
+      } else if (midDay > epochDay) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  // the date at the position within this series
+  private LocalDate date(int position) {
+    return LocalDate.ofEpochDay(dates.get(offset + position));
+  }
+
+  // the value at the position within this series
+  private double value(int position) {
+    return values.get(offset + position);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return date(size - 1);
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return value(size - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // special case when this is empty or when the dates are the same
+    if (isEmpty() || startInclusive.equals(endExclusive)) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    // where in the series would start/end be (whether or not it's actually in the series)
+    int startPos = findDatePosition(startInclusive);
+    startPos = startPos >= 0 ? startPos : -startPos - 1;
+    int endPos = findDatePosition(endExclusive);
+    endPos = endPos >= 0 ? endPos : -endPos - 1;
+    return range(startPos, endPos);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return range(0, Math.min(numPoints, size));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return range(Math.max(size - numPoints, 0), size);
+  }
+
+  // creates a view of a range of this series
+  private LocalDateDoubleTimeSeries range(int startPos, int endPos) {
+    if (startPos == endPos) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    } else if (startPos == 0 && endPos == size) {
+      return this;
+    }
+    return new MappedLocalDateDoubleTimeSeries(dates, values, offset + startPos, endPos - startPos);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size).mapToObj(i -> LocalDateDoublePoint.of(date(i), value(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.range(0, size).mapToObj(i -> date(i));
+  }
+
+  @Override
+  public DoubleStream values() {
+    return IntStream.range(0, size).mapToDouble(i -> value(i));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(date(i), value(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    return toBuilder().build().mapDates(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < size; i++) {
+      builder.put(date(i), mapper.applyAsDouble(value(i)));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    ArgChecker.notNull(predicate, "predicate");
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < size; i++) {
+      LocalDate date = date(i);
+      double value = value(i);
+      if (predicate.test(date, value)) {
+        builder.put(date, value);
+      }
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(stream());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (dates.get(offset + i) != other.dates.get(other.offset + i) ||
+            Double.doubleToLongBits(value(i)) != Double.doubleToLongBits(other.value(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      long bits = Double.doubleToLongBits(value(i));
+      hash = hash * 31 + dates.get(offset + i);
+      hash = hash * 31 + (int) (bits ^ (bits >>> 32));
+    }
+    return hash;
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
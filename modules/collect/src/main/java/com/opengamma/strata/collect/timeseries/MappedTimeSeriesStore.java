@@ -0,0 +1,298 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * A store of time-series held in a memory-mapped binary file.
+ * <p>
+ * Large sets of historical data, such as the fixings of thousands of indices, are expensive
+ * to parse and hold on the heap. This store holds each series in a columnar binary file
+ * that is memory-mapped when the store is opened. The time-series returned are views onto
+ * the file, thus opening the store is fast and the data is shared with other processes
+ * that map the same file, via the operating system page cache.
+ * <p>
+ * Files are created using {@link #write(Path, Map)}.
+ * The file contains a header, an index of the series by identifier, a column of the
+ * dates of every series as {@code int} epoch-days, and a column of the values of every series.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MappedTimeSeriesStore {
+
+  /**
+   * The magic number at the start of the file, 'STTS'.
+   */
+  private static final int MAGIC = 0x53545453;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The file.
+   */
+  private final Path file;
+  /**
+   * The time-series, keyed by identifier, in the order of the file.
+   */
+  private final ImmutableMap<String, LocalDateDoubleTimeSeries> series;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a store, memory-mapping the specified file.
+   * <p>
+   * The file must have been created by {@link #write(Path, Map)}.
+   * The file is mapped read-only, and remains mapped until the store is garbage collected.
+   *
+   * @param file  the file to open
+   * @return the store
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not a valid time-series store
+   */
+  public static MappedTimeSeriesStore of(Path file) {
+    ArgChecker.notNull(file, "file");
+    MappedByteBuffer buffer = Unchecked.wrap(() -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        return channel.map(MapMode.READ_ONLY, 0, channel.size());
+      }
+    });
+    return new MappedTimeSeriesStore(file, buffer);
+  }
+
+  // restricted constructor
+  private MappedTimeSeriesStore(Path file, ByteBuffer buffer) {
+    this.file = file;
+    if (buffer.remaining() < 16 || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException(Messages.format("File is not a time-series store: {}", file));
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException(Messages.format(
+          "Time-series store has unsupported version {}: {}", buffer.getInt(4), file));
+    }
+    int seriesCount = buffer.getInt(8);
+    int pointCount = buffer.getInt(12);
+    // read the index, which holds the offset and size of each series
+    ByteBuffer index = buffer.duplicate();
+    index.position(16);
+    String[] ids = new String[seriesCount];
+    int[] offsets = new int[seriesCount];
+    int[] sizes = new int[seriesCount];
+    for (int i = 0; i < seriesCount; i++) {
+      byte[] idBytes = new byte[index.getInt()];
+      index.get(idBytes);
+      ids[i] = new String(idBytes, UTF_8);
+      offsets[i] = index.getInt();
+      sizes[i] = index.getInt();
+    }
+    // the columns follow the index
+    int datesPosition = align(index.position());
+    int valuesPosition = align(datesPosition + pointCount * Integer.BYTES);
+    IntBuffer dates = slice(buffer, datesPosition).asIntBuffer();
+    DoubleBuffer values = slice(buffer, valuesPosition).asDoubleBuffer();
+    boolean complete = dates.remaining() >= pointCount && values.remaining() >= pointCount;
+    ArgChecker.isTrue(complete, "Time-series store is truncated: {}", file);
+    ImmutableMap.Builder<String, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
+    for (int i = 0; i < seriesCount; i++) {
+      builder.put(ids[i], new MappedLocalDateDoubleTimeSeries(dates, values, offsets[i], sizes[i]));
+    }
+    this.series = builder.build();
+  }
+
+  // slices the buffer from the position
+  private static ByteBuffer slice(ByteBuffer buffer, int position) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(position);
+    return duplicate.slice();
+  }
+
+  // aligns the position to the next multiple of eight
+  private static int align(int position) {
+    return (position + 7) & ~7;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a set of time-series to a file, such that it can be opened as a store.
+   * <p>
+   * The file is written to a temporary file in the same directory, which is then moved to replace
+   * the target file atomically. As such, processes that have mapped the previous file are not affected.
+   *
+   * @param file  the file to write
+   * @param series  the time-series to write, keyed by identifier
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file would be too large
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> series) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(series, "series");
+    // calculate the layout of the file
+    long pointCount = 0;
+    long indexEnd = 16;
+    for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+      indexEnd += Integer.BYTES * 3 + entry.getKey().getBytes(UTF_8).length;
+      pointCount += entry.getValue().size();
+    }
+    long fileSize = indexEnd + 8 + pointCount * Integer.BYTES + 8 + pointCount * Double.BYTES;
+    ArgChecker.isTrue(fileSize <= Integer.MAX_VALUE, "Time-series store would be too large: {} bytes", fileSize);
+    int datesPosition = align((int) indexEnd);
+    int valuesPosition = align(datesPosition + (int) pointCount * Integer.BYTES);
+    // write the file
+    Unchecked.wrap(() -> {
+      Path dir = file.toAbsolutePath().getParent();
+      Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+      try {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+          writeContents(out, series, (int) pointCount, datesPosition, valuesPosition);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    });
+  }
+
+  // writes the header, index and columns
+  private static void writeContents(
+      DataOutputStream out,
+      Map<String, ? extends LocalDateDoubleTimeSeries> series,
+      int pointCount,
+      int datesPosition,
+      int valuesPosition) throws IOException {
+
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(series.size());
+    out.writeInt(pointCount);
+    int offset = 0;
+    for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+      byte[] idBytes = entry.getKey().getBytes(UTF_8);
+      out.writeInt(idBytes.length);
+      out.write(idBytes);
+      out.writeInt(offset);
+      out.writeInt(entry.getValue().size());
+      offset += entry.getValue().size();
+    }
+    pad(out, datesPosition);
+    for (LocalDateDoubleTimeSeries ts : series.values()) {
+      for (LocalDate date : (Iterable<LocalDate>) ts.dates()::iterator) {
+        out.writeInt(Math.toIntExact(date.toEpochDay()));
+      }
+    }
+    pad(out, valuesPosition);
+    for (LocalDateDoubleTimeSeries ts : series.values()) {
+      for (double value : ts.values().toArray()) {
+        out.writeDouble(value);
+      }
+    }
+  }
+
+  // pads the output with zeroes up to the position
+  private static void pad(DataOutputStream out, int position) throws IOException {
+    while (out.size() < position) {
+      out.writeByte(0);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the file that the store is mapped from.
+   *
+   * @return the file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Gets the identifiers of the time-series in the store.
+   *
+   * @return the identifiers, in the order of the file
+   */
+  public ImmutableSet<String> getSeriesIds() {
+    return series.keySet();
+  }
+
+  /**
+   * Gets the number of time-series in the store.
+   *
+   * @return the number of time-series
+   */
+  public int size() {
+    return series.size();
+  }
+
+  /**
+   * Finds the time-series with the specified identifier.
+   * <p>
+   * The time-series is a view onto the mapped file.
+   *
+   * @param seriesId  the identifier of the time-series
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> findSeries(String seriesId) {
+    return Optional.ofNullable(series.get(seriesId));
+  }
+
+  /**
+   * Gets the time-series with the specified identifier.
+   * <p>
+   * The time-series is a view onto the mapped file.
+   *
+   * @param seriesId  the identifier of the time-series
+   * @return the time-series
+   * @throws IllegalArgumentException if the time-series is not found
+   */
+  public LocalDateDoubleTimeSeries getSeries(String seriesId) {
+    LocalDateDoubleTimeSeries ts = series.get(seriesId);
+    if (ts == null) {
+      throw new IllegalArgumentException(Messages.format("Time-series not found in store: {}", seriesId));
+    }
+    return ts;
+  }
+
+  /**
+   * Gets all the time-series in the store, keyed by identifier.
+   *
+   * @return the time-series, in the order of the file
+   */
+  public ImmutableMap<String, LocalDateDoubleTimeSeries> getAllSeries() {
+    return series;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesStore[" + file + ", " + series.size() + " series]";
+  }
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+
+/**
+ * Test {@link CsvCursor}.
+ */
+@Test
+public class CsvCursorTest {
+
+  private final String CSV1 = "" +
+      "h1,h2\n" +
+      "r11,r12\n" +
+      "r21,r22";
+
+  private final String CSV2 = "" +
+      "h1,h2\n" +
+      "#r11,r12\n" +
+      ";r11,r12\n" +
+      "\n" +
+      "r21,r22\r\n" +
+      ",\n";
+
+  private final String CSV3 = "" +
+      "Date,Value,Name\n" +
+      "2015-01-05,1.25,\"a,b\"\n" +
+      " 2015-01-06 , -12.5 , \"x\"\"y\"\n" +
+      "2015-1-7,1e-3,\u00e9t\u00e9\n";
+
+  //-------------------------------------------------------------------------
+  public void test_of_ioException() {
+    assertThrows(() -> CsvCursor.of(Paths.get("src/test/resources/unknown.csv"), false), UncheckedIOException.class);
+  }
+
+  public void test_of_empty_no_header() throws IOException {
+    Path file = write("");
+    try (CsvCursor test = CsvCursor.of(file, false)) {
+      assertEquals(test.headers(), ImmutableList.of());
+      assertEquals(test.next(), false);
+      assertEquals(test.next(), false);
+      assertThrows(() -> test.field(0), NoSuchElementException.class);
+      assertThrows(() -> test.toRow(), NoSuchElementException.class);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_of_empty_with_header() throws IOException {
+    Path file = write("");
+    try {
+      assertThrowsIllegalArg(() -> CsvCursor.of(file, true));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_of_simple_with_header() throws IOException {
+    Path file = write(CSV1);
+    try (CsvCursor test = CsvCursor.of(file, true)) {
+      assertEquals(test.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(test.columnIndex("H2"), 1);
+      assertThrowsIllegalArg(() -> test.columnIndex("h3"));
+      assertEquals(test.next(), true);
+      assertEquals(test.fieldCount(), 2);
+      assertEquals(test.field(0).toString(), "r11");
+      assertEquals(test.getField(1), "r12");
+      assertEquals(test.next(), true);
+      assertEquals(test.toRow(), CsvIterator.of(CharSource.wrap(CSV1), true).nextBatch(2).get(1));
+      assertThrows(() -> test.field(2), IndexOutOfBoundsException.class);
+      assertEquals(test.next(), false);
+      assertEquals(test.toString(), "CsvCursor[h1, h2]");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_of_simple_no_header_tabs() throws IOException {
+    Path file = write(CSV1.replace(',', '\t'));
+    try (CsvCursor test = CsvCursor.of(file, false, '\t')) {
+      assertEquals(test.headers(), ImmutableList.of());
+      assertEquals(test.next(), true);
+      assertEquals(test.getField(0), "h1");
+      assertEquals(test.getField(1), "h2");
+      assertEquals(test.next(), true);
+      assertEquals(test.next(), true);
+      assertEquals(test.getField(1), "r22");
+      assertEquals(test.next(), false);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_of_comment_blank() throws IOException {
+    Path file = write(CSV2);
+    try (CsvCursor test = CsvCursor.of(file, true)) {
+      assertEquals(test.next(), true);
+      assertEquals(test.fieldCount(), 2);
+      assertEquals(test.getField(0), "r21");
+      assertEquals(test.getField(1), "r22");
+      assertEquals(test.next(), false);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_fields() throws IOException {
+    Path file = write(CSV3);
+    try (CsvCursor test = CsvCursor.of(file, true)) {
+      int dateColumn = test.columnIndex("date");
+      int valueColumn = test.columnIndex("value");
+      int nameColumn = test.columnIndex("name");
+      assertEquals(test.next(), true);
+      assertEquals(test.getLocalDate(dateColumn), LocalDate.of(2015, 1, 5));
+      assertEquals(test.getDouble(valueColumn), 1.25d);
+      assertEquals(test.field(nameColumn).toString(), "a,b");
+      assertEquals(test.field(nameColumn).length(), 3);
+      assertEquals(test.field(nameColumn).charAt(1), ',');
+      assertEquals(test.field(nameColumn).subSequence(1, 3), ",b");
+      assertEquals(test.next(), true);
+      assertEquals(test.getLocalDate(dateColumn), LocalDate.of(2015, 1, 6));
+      assertEquals(test.getDouble(valueColumn), -12.5d);
+      assertEquals(test.field(nameColumn), "x\"y");
+      assertEquals(test.getField(nameColumn), "x\"y");
+      assertThrowsIllegalArg(() -> test.getDouble(nameColumn));
+      assertThrowsIllegalArg(() -> test.getLocalDate(nameColumn));
+      assertEquals(test.next(), true);
+      assertThrowsIllegalArg(() -> test.getLocalDate(dateColumn));
+      assertEquals(test.getDouble(valueColumn), 0.001d);
+      assertEquals(test.getField(nameColumn), "\u00e9t\u00e9");
+      assertEquals(test.field(nameColumn), "\u00e9t\u00e9");
+      assertEquals(test.field(nameColumn).length(), 3);
+      assertEquals(test.field(nameColumn).charAt(0), '\u00e9');
+      assertEquals(test.next(), false);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_mismatchedQuotes() throws IOException {
+    Path file = write("\"alpha,beta\n");
+    try (CsvCursor test = CsvCursor.of(file, false)) {
+      assertThrowsIllegalArg(() -> test.next());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_split() throws IOException {
+    StringBuilder buf = new StringBuilder("Index,Value\n");
+    for (int i = 0; i < 1000; i++) {
+      buf.append(i).append(',').append(i * 0.5).append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    Path file = write(buf.toString());
+    try {
+      // small window forces the mapped window to be moved
+      List<CsvCursor> cursors = CsvCursor.split(file, true, ',', 7, 100);
+      assertEquals(cursors.size(), 7);
+      List<Integer> indices = new ArrayList<>();
+      for (CsvCursor cursor : cursors) {
+        try (CsvCursor test = cursor) {
+          assertEquals(test.headers(), ImmutableList.of("Index", "Value"));
+          while (test.next()) {
+            int index = (int) test.getDouble(0);
+            assertEquals(test.getDouble(1), index * 0.5d);
+            indices.add(index);
+          }
+        }
+      }
+      assertEquals(indices.size(), 1000);
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(indices.get(i).intValue(), i);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_split_small() throws IOException {
+    Path file = write(CSV1);
+    try {
+      List<CsvCursor> cursors = CsvCursor.split(file, true, ',', 10);
+      assertEquals(cursors.size(), 2);
+      cursors.forEach(CsvCursor::close);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_lineTooLong() throws IOException {
+    Path file = write("short\n" + "long,long,long,long,long,long\n" + "short\n");
+    try (CsvCursor test = CsvCursor.split(file, false, ',', 1, 16).get(0)) {
+      assertEquals(test.next(), true);
+      assertThrowsIllegalArg(() -> test.next());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path write(String content) throws IOException {
+    Path file = Files.createTempFile("CsvCursorTest", ".csv");
+    Files.write(file, content.getBytes(UTF_8));
+    return file;
+  }
+
+}
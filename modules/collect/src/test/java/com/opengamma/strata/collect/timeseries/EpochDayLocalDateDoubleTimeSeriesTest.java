@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link EpochDayLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class EpochDayLocalDateDoubleTimeSeriesTest {
+
+  private static final LocalDate DATE_2010_01_01 = date(2010, 1, 1);
+  private static final LocalDate DATE_2011_01_01 = date(2011, 1, 1);
+  private static final LocalDate DATE_2012_01_01 = date(2012, 1, 1);
+  private static final LocalDate DATE_2013_01_01 = date(2013, 1, 1);
+  private static final LocalDate DATE_2014_01_01 = date(2014, 1, 1);
+  private static final ImmutableList<LocalDate> DATES_2010_14 = ImmutableList.of(
+      DATE_2010_01_01, DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01, DATE_2014_01_01);
+  private static final ImmutableList<Double> VALUES_10_14 = ImmutableList.of(10d, 11d, 12d, 13d, 14d);
+  private static final LocalDateDoubleTimeSeries SPARSE =
+      LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+
+  //-------------------------------------------------------------------------
+  public void test_buildCompact() {
+    LocalDateDoubleTimeSeries test = compact();
+    assertEquals(test.getClass(), EpochDayLocalDateDoubleTimeSeries.class);
+    assertEquals(test.size(), 5);
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.containsDate(DATE_2012_01_01), true);
+    assertEquals(test.containsDate(date(2012, 1, 2)), false);
+    assertEquals(test.get(DATE_2012_01_01), OptionalDouble.of(12d));
+    assertEquals(test.get(date(2009, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MAX), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MIN), OptionalDouble.empty());
+    assertEquals(test.getEarliestDate(), DATE_2010_01_01);
+    assertEquals(test.getEarliestValue(), 10d);
+    assertEquals(test.getLatestDate(), DATE_2014_01_01);
+    assertEquals(test.getLatestValue(), 14d);
+    assertEquals(test.dates().collect(toList()), DATES_2010_14);
+    assertEquals(test.values().boxed().collect(toList()), VALUES_10_14);
+    assertEquals(test.stream().collect(toList()), SPARSE.stream().collect(toList()));
+    assertEquals(test.toBuilder().build(), SPARSE);
+    assertEquals(test.toString(), SPARSE.toString());
+  }
+
+  public void test_buildCompact_empty() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().buildCompact();
+    assertEquals(test, LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_buildCompact_dateOutOfRange() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder().put(LocalDate.MAX, 1d);
+    assertThrowsIllegalArg(() -> builder.buildCompact());
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> EpochDayLocalDateDoubleTimeSeries.of(new int[] {1, 2}, new double[] {1d}));
+    assertThrowsIllegalArg(() -> EpochDayLocalDateDoubleTimeSeries.of(new int[] {2, 1}, new double[] {1d, 2d}));
+    assertThrowsIllegalArg(() -> EpochDayLocalDateDoubleTimeSeries.of(new int[] {1, 1}, new double[] {1d, 2d}));
+  }
+
+  public void test_earliestLatest_whenEmpty() {
+    LocalDateDoubleTimeSeries test = compact().filter((d, v) -> false);
+    assertEquals(test.isEmpty(), true);
+    assertThrows(() -> test.getEarliestDate(), NoSuchElementException.class);
+    assertThrows(() -> test.getEarliestValue(), NoSuchElementException.class);
+    assertThrows(() -> test.getLatestDate(), NoSuchElementException.class);
+    assertThrows(() -> test.getLatestValue(), NoSuchElementException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_subSeries() {
+    LocalDateDoubleTimeSeries test = compact();
+    LocalDateDoubleTimeSeries sub = test.subSeries(date(2010, 6, 1), DATE_2013_01_01);
+    assertEquals(sub.getClass(), EpochDayLocalDateDoubleTimeSeries.class);
+    assertEquals(sub.dates().collect(toList()), ImmutableList.of(DATE_2011_01_01, DATE_2012_01_01));
+    assertEquals(sub.values().boxed().collect(toList()), ImmutableList.of(11d, 12d));
+    assertEquals(test.subSeries(DATE_2011_01_01, DATE_2011_01_01), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.subSeries(date(2000, 1, 1), date(2001, 1, 1)), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.subSeries(date(2000, 1, 1), date(2020, 1, 1)), test);
+    assertThrowsIllegalArg(() -> test.subSeries(DATE_2013_01_01, DATE_2011_01_01));
+  }
+
+  public void test_headSeries_tailSeries() {
+    LocalDateDoubleTimeSeries test = compact();
+    assertEquals(test.headSeries(2).dates().collect(toList()), ImmutableList.of(DATE_2010_01_01, DATE_2011_01_01));
+    assertEquals(test.tailSeries(2).dates().collect(toList()), ImmutableList.of(DATE_2013_01_01, DATE_2014_01_01));
+    assertEquals(test.headSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.tailSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.headSeries(10), test);
+    assertEquals(test.tailSeries(10), test);
+    assertThrowsIllegalArg(() -> test.headSeries(-1));
+    assertThrowsIllegalArg(() -> test.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_mapValues_filter_forEach() {
+    LocalDateDoubleTimeSeries test = compact();
+    assertEquals(test.mapValues(v -> v * 2).toBuilder().build(), SPARSE.mapValues(v -> v * 2));
+    assertEquals(test.filter((d, v) -> v > 11).toBuilder().build(), SPARSE.filter((d, v) -> v > 11));
+    double[] total = new double[1];
+    test.forEach((d, v) -> total[0] += v);
+    assertEquals(total[0], 60d);
+  }
+
+  public void test_mapDates() {
+    LocalDateDoubleTimeSeries test = compact().mapDates(d -> d.plusYears(1));
+    assertEquals(test.getEarliestDate(), DATE_2011_01_01);
+    assertEquals(test.getLatestDate(), date(2015, 1, 1));
+    assertEquals(test.get(DATE_2011_01_01), OptionalDouble.of(10d));
+  }
+
+  public void test_mapDates_notAscending() {
+    LocalDateDoubleTimeSeries test = compact();
+    assertThrowsIllegalArg(() -> test.mapDates(d -> date(2016, 1, 1)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equalsHashCode() {
+    LocalDateDoubleTimeSeries test = compact();
+    assertEquals(test, test);
+    assertEquals(test, compact());
+    assertEquals(test.hashCode(), compact().hashCode());
+    assertNotEquals(test, test.headSeries(4));
+    assertNotEquals(test, test.mapValues(v -> v + 1));
+    assertNotEquals(test, SPARSE);
+    assertNotEquals(test, "");
+    assertNotEquals(test, null);
+  }
+
+  public void test_serialization() {
+    assertSerialization(compact());
+  }
+
+  //-------------------------------------------------------------------------
+  private static LocalDateDoubleTimeSeries compact() {
+    return LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).buildCompact();
+  }
+
+}
@@ -141,6 +141,25 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
   }
 
+  public void test_duplicatesGetOverwritten_unordered() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 1), 12)
+        .put(date(2012, 1, 1), 10)
+        .put(date(2014, 1, 1), 14)
+        .put(date(2012, 1, 1), 11);
+    builder.merge(date(2013, 1, 1), 13, Double::sum);
+    builder.merge(date(2012, 1, 1), 1, Double::sum);
+    builder.put(date(2011, 1, 1), 9);
+    LocalDateDoubleTimeSeries test = builder.build();
+
+    assertEquals(test.size(), 4);
+    assertEquals(test.get(date(2011, 1, 1)), OptionalDouble.of(9d));
+    assertEquals(test.get(date(2012, 1, 1)), OptionalDouble.of(12d));
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(13d));
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
+    assertEquals(builder.buildCompact().stream().toArray(), test.stream().toArray());
+  }
+
   public void test_useBuilderToAlterSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder()
         .put(date(2014, 1, 1), 14)
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.function.ObjIntIntToDoubleFunction;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Test {@link LocalDateDoubleTimeSeriesMath}.
+ */
+@Test
+public class LocalDateDoubleTimeSeriesMathTest {
+
+  private static final double TOLERANCE = 1e-12;
+  private static final LocalDate DATE_2015_01_05 = date(2015, 1, 5);
+  private static final LocalDate DATE_2015_01_06 = date(2015, 1, 6);
+  private static final LocalDate DATE_2015_01_07 = date(2015, 1, 7);
+  private static final LocalDate DATE_2015_01_08 = date(2015, 1, 8);
+  private static final LocalDate DATE_2015_01_09 = date(2015, 1, 9);
+  // dense
+  private static final LocalDateDoubleTimeSeries SERIES1 = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2015_01_05, 100)
+      .put(DATE_2015_01_06, 110)
+      .put(DATE_2015_01_07, 99)
+      .put(DATE_2015_01_08, 121)
+      .put(DATE_2015_01_09, 133.1)
+      .build();
+  // sparse
+  private static final LocalDateDoubleTimeSeries SERIES2 = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2015_01_06, 2)
+      .put(DATE_2015_01_08, 4)
+      .put(DATE_2015_01_09, 5)
+      .build();
+  // compact
+  private static final LocalDateDoubleTimeSeries SERIES3 = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2015_01_05, 30)
+      .put(DATE_2015_01_08, 31)
+      .put(DATE_2015_01_09, 32)
+      .buildCompact();
+
+  //-------------------------------------------------------------------------
+  public void test_joinIntersection() {
+    Pair<ImmutableList<LocalDate>, DoubleMatrix> test =
+        LocalDateDoubleTimeSeriesMath.joinIntersection(ImmutableList.of(SERIES1, SERIES2, SERIES3));
+    assertEquals(test.getFirst(), ImmutableList.of(DATE_2015_01_08, DATE_2015_01_09));
+    assertEquals(test.getSecond(), DoubleMatrix.copyOf(new double[][] {{121, 4, 31}, {133.1, 5, 32}}));
+  }
+
+  public void test_joinIntersection_noCommonDates() {
+    LocalDateDoubleTimeSeries other = LocalDateDoubleTimeSeries.of(DATE_2015_01_07, 1);
+    Pair<ImmutableList<LocalDate>, DoubleMatrix> test =
+        LocalDateDoubleTimeSeriesMath.joinIntersection(ImmutableList.of(SERIES2, other));
+    assertEquals(test.getFirst(), ImmutableList.of());
+    assertEquals(test.getSecond(), DoubleMatrix.EMPTY);
+  }
+
+  public void test_joinIntersection_empty() {
+    Pair<ImmutableList<LocalDate>, DoubleMatrix> test =
+        LocalDateDoubleTimeSeriesMath.joinIntersection(ImmutableList.of());
+    assertEquals(test.getFirst(), ImmutableList.of());
+    assertEquals(test.getSecond(), DoubleMatrix.EMPTY);
+    assertEquals(
+        LocalDateDoubleTimeSeriesMath.joinIntersection(ImmutableList.of(SERIES1, LocalDateDoubleTimeSeries.empty())),
+        test);
+  }
+
+  public void test_joinUnion() {
+    Pair<ImmutableList<LocalDate>, DoubleMatrix> test =
+        LocalDateDoubleTimeSeriesMath.joinUnion(ImmutableList.of(SERIES2, SERIES3));
+    assertEquals(test.getFirst(), ImmutableList.of(DATE_2015_01_05, DATE_2015_01_06, DATE_2015_01_08, DATE_2015_01_09));
+    double nan = Double.NaN;
+    assertEquals(test.getSecond(), DoubleMatrix.copyOf(new double[][] {{nan, 30}, {2, nan}, {4, 31}, {5, 32}}));
+  }
+
+  public void test_joinUnion_empty() {
+    Pair<ImmutableList<LocalDate>, DoubleMatrix> test = LocalDateDoubleTimeSeriesMath.joinUnion(ImmutableList.of());
+    assertEquals(test.getFirst(), ImmutableList.of());
+    assertEquals(test.getSecond(), DoubleMatrix.EMPTY);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_differences() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesMath.differences(SERIES1, 1);
+    assertEquals(test.dates().collect(toList()),
+        ImmutableList.of(DATE_2015_01_06, DATE_2015_01_07, DATE_2015_01_08, DATE_2015_01_09));
+    assertEquals(test.get(DATE_2015_01_06).getAsDouble(), 10d, TOLERANCE);
+    assertEquals(test.get(DATE_2015_01_07).getAsDouble(), -11d, TOLERANCE);
+    assertEquals(test.get(DATE_2015_01_08).getAsDouble(), 22d, TOLERANCE);
+    assertEquals(test.get(DATE_2015_01_09).getAsDouble(), 12.1d, TOLERANCE);
+    LocalDateDoubleTimeSeries test2 = LocalDateDoubleTimeSeriesMath.differences(SERIES3, 2);
+    assertEquals(test2.dates().collect(toList()), ImmutableList.of(DATE_2015_01_09));
+    assertEquals(test2.getLatestValue(), 2d, TOLERANCE);
+    assertEquals(LocalDateDoubleTimeSeriesMath.differences(SERIES2, 3), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesMath.differences(SERIES1, 0));
+  }
+
+  public void test_logReturns() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesMath.logReturns(SERIES1, 1);
+    assertEquals(test.size(), 4);
+    assertEquals(test.get(DATE_2015_01_06).getAsDouble(), Math.log(1.1), TOLERANCE);
+    assertEquals(test.get(DATE_2015_01_09).getAsDouble(), Math.log(1.1), TOLERANCE);
+    LocalDateDoubleTimeSeries test2 = LocalDateDoubleTimeSeriesMath.logReturns(SERIES2, 2);
+    assertEquals(test2.dates().collect(toList()), ImmutableList.of(DATE_2015_01_09));
+    assertEquals(test2.getLatestValue(), Math.log(2.5), TOLERANCE);
+    assertEquals(LocalDateDoubleTimeSeriesMath.logReturns(SERIES2, 3), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesMath.logReturns(SERIES1, -1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_rollingMean() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesMath.rollingMean(SERIES1, 3);
+    assertEquals(test.dates().collect(toList()), ImmutableList.of(DATE_2015_01_07, DATE_2015_01_08, DATE_2015_01_09));
+    assertEquals(test.get(DATE_2015_01_07).getAsDouble(), 103d, TOLERANCE);
+    assertEquals(test.get(DATE_2015_01_08).getAsDouble(), 110d, TOLERANCE);
+    assertEquals(test.get(DATE_2015_01_09).getAsDouble(), 117.7d, TOLERANCE);
+    assertEquals(LocalDateDoubleTimeSeriesMath.rollingMean(SERIES1, 1).values().boxed().collect(toList()),
+        SERIES1.values().boxed().collect(toList()));
+    assertEquals(LocalDateDoubleTimeSeriesMath.rollingMean(SERIES2, 4), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesMath.rollingMean(SERIES1, 0));
+  }
+
+  public void test_rolling() {
+    ObjIntIntToDoubleFunction<double[]> max = LocalDateDoubleTimeSeriesMathTest::max;
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesMath.rolling(SERIES1, 2, max);
+    assertEquals(test.dates().collect(toList()),
+        ImmutableList.of(DATE_2015_01_06, DATE_2015_01_07, DATE_2015_01_08, DATE_2015_01_09));
+    assertEquals(test.values().boxed().collect(toList()), ImmutableList.of(110d, 110d, 121d, 133.1d));
+    assertEquals(LocalDateDoubleTimeSeriesMath.rolling(SERIES3, 4, max), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesMath.rolling(SERIES1, 0, max));
+  }
+
+  public void test_rolling_matchesRollingMean() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeriesMath.rolling(
+        SERIES1, 3, (values, offset, length) -> (values[offset] + values[offset + 1] + values[offset + 2]) / length);
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeriesMath.rollingMean(SERIES1, 3);
+    assertEquals(test.dates().collect(toList()), expected.dates().collect(toList()));
+    for (LocalDate date : expected.dates().collect(toList())) {
+      assertEquals(test.get(date).getAsDouble(), expected.get(date).getAsDouble(), TOLERANCE);
+    }
+  }
+
+  // the maximum of the values in the window
+  private static double max(double[] values, int offset, int length) {
+    double max = Double.NEGATIVE_INFINITY;
+    for (int i = offset; i < offset + length; i++) {
+      max = Math.max(max, values[i]);
+    }
+    return max;
+  }
+
+}
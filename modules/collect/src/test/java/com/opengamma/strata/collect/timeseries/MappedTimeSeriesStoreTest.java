@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test {@link MappedTimeSeriesStore} and {@link MappedLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class MappedTimeSeriesStoreTest {
+
+  private static final LocalDate DATE_2010_01_01 = date(2010, 1, 1);
+  private static final LocalDate DATE_2011_01_01 = date(2011, 1, 1);
+  private static final LocalDate DATE_2012_01_01 = date(2012, 1, 1);
+  private static final LocalDate DATE_2013_01_01 = date(2013, 1, 1);
+  private static final LocalDate DATE_2014_01_01 = date(2014, 1, 1);
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2010_01_01, 10)
+      .put(DATE_2011_01_01, 11)
+      .put(DATE_2012_01_01, 12)
+      .put(DATE_2013_01_01, 13)
+      .put(DATE_2014_01_01, 14)
+      .build();
+  private static final LocalDateDoubleTimeSeries DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1.5)
+      .put(date(2015, 1, 6), 1.6)
+      .put(date(2015, 1, 7), 1.7)
+      .build();
+
+  private Path file;
+  private MappedTimeSeriesStore store;
+
+  @BeforeClass
+  public void setUp() throws IOException {
+    file = Files.createTempFile("MappedTimeSeriesStoreTest", ".bin");
+    Map<String, LocalDateDoubleTimeSeries> series = new LinkedHashMap<>();
+    series.put("GBP-LIBOR-3M", SPARSE);
+    series.put("EMPTY", LocalDateDoubleTimeSeries.empty());
+    series.put("USD-FED-FUND", DENSE);
+    MappedTimeSeriesStore.write(file, series);
+    store = MappedTimeSeriesStore.of(file);
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void tearDown() throws IOException {
+    store = null;
+    Files.deleteIfExists(file);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_store() {
+    assertEquals(store.getFile(), file);
+    assertEquals(store.size(), 3);
+    assertEquals(store.getSeriesIds(), ImmutableSet.of("GBP-LIBOR-3M", "EMPTY", "USD-FED-FUND"));
+    assertEquals(store.findSeries("Unknown"), Optional.empty());
+    assertEquals(store.findSeries("EMPTY").get().isEmpty(), true);
+    assertEquals(store.getAllSeries().size(), 3);
+    assertThrowsIllegalArg(() -> store.getSeries("Unknown"));
+    assertEquals(store.toString(), "MappedTimeSeriesStore[" + file + ", 3 series]");
+  }
+
+  public void test_series() {
+    LocalDateDoubleTimeSeries test = store.getSeries("GBP-LIBOR-3M");
+    assertEquals(test.size(), 5);
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.containsDate(DATE_2012_01_01), true);
+    assertEquals(test.containsDate(date(2012, 1, 2)), false);
+    assertEquals(test.get(DATE_2012_01_01), OptionalDouble.of(12));
+    assertEquals(test.get(date(2009, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.get(date(2015, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.getEarliestDate(), DATE_2010_01_01);
+    assertEquals(test.getEarliestValue(), 10d);
+    assertEquals(test.getLatestDate(), DATE_2014_01_01);
+    assertEquals(test.getLatestValue(), 14d);
+    assertEquals(test.dates().collect(toList()), SPARSE.dates().collect(toList()));
+    assertEquals(test.values().boxed().collect(toList()), SPARSE.values().boxed().collect(toList()));
+    assertEquals(test.stream().collect(toList()), SPARSE.stream().collect(toList()));
+    assertEquals(test.toBuilder().build(), SPARSE);
+    assertEquals(test.toString(), SPARSE.toString());
+    assertEquals(store.getSeries("USD-FED-FUND").toBuilder().build(), DENSE);
+  }
+
+  public void test_series_empty() {
+    LocalDateDoubleTimeSeries test = store.getSeries("EMPTY");
+    assertEquals(test.size(), 0);
+    assertEquals(test.get(DATE_2010_01_01), OptionalDouble.empty());
+    assertThrows(() -> test.getLatestDate(), NoSuchElementException.class);
+    assertThrows(() -> test.getLatestValue(), NoSuchElementException.class);
+    assertEquals(test.subSeries(DATE_2010_01_01, DATE_2014_01_01), LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_subSeries() {
+    LocalDateDoubleTimeSeries test = store.getSeries("GBP-LIBOR-3M");
+    LocalDateDoubleTimeSeries sub = test.subSeries(date(2010, 6, 1), DATE_2013_01_01);
+    assertEquals(sub.size(), 2);
+    assertEquals(sub.getEarliestDate(), DATE_2011_01_01);
+    assertEquals(sub.getLatestDate(), DATE_2012_01_01);
+    assertEquals(sub.toBuilder().build(), SPARSE.subSeries(date(2010, 6, 1), DATE_2013_01_01));
+    assertEquals(test.subSeries(DATE_2011_01_01, DATE_2011_01_01), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.subSeries(date(2000, 1, 1), date(2020, 1, 1)), test);
+    assertThrowsIllegalArg(() -> test.subSeries(DATE_2013_01_01, DATE_2011_01_01));
+  }
+
+  public void test_headSeries_tailSeries() {
+    LocalDateDoubleTimeSeries test = store.getSeries("GBP-LIBOR-3M");
+    assertEquals(test.headSeries(2).dates().collect(toList()), ImmutableList.of(DATE_2010_01_01, DATE_2011_01_01));
+    assertEquals(test.tailSeries(2).dates().collect(toList()), ImmutableList.of(DATE_2013_01_01, DATE_2014_01_01));
+    assertEquals(test.headSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.tailSeries(10), test);
+    assertThrowsIllegalArg(() -> test.headSeries(-1));
+    assertThrowsIllegalArg(() -> test.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_mapValues_filter_mapDates() {
+    LocalDateDoubleTimeSeries test = store.getSeries("GBP-LIBOR-3M");
+    assertEquals(test.mapValues(v -> v * 2), SPARSE.mapValues(v -> v * 2));
+    assertEquals(test.filter((d, v) -> v > 11), SPARSE.filter((d, v) -> v > 11));
+    assertEquals(test.mapDates(d -> d.plusDays(1)), SPARSE.mapDates(d -> d.plusDays(1)));
+    double[] total = new double[1];
+    test.forEach((d, v) -> total[0] += v);
+    assertEquals(total[0], 60d);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equalsHashCode() {
+    LocalDateDoubleTimeSeries test = store.getSeries("GBP-LIBOR-3M");
+    LocalDateDoubleTimeSeries other = MappedTimeSeriesStore.of(file).getSeries("GBP-LIBOR-3M");
+    assertEquals(test, test);
+    assertEquals(test, other);
+    assertEquals(test.hashCode(), other.hashCode());
+    assertNotEquals(test, store.getSeries("USD-FED-FUND"));
+    assertNotEquals(test, test.headSeries(4));
+    assertNotEquals(test, "");
+  }
+
+  public void test_serialization() throws Exception {
+    LocalDateDoubleTimeSeries test = store.getSeries("GBP-LIBOR-3M");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(test);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(ois.readObject(), SPARSE);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of_invalidFile() throws IOException {
+    Path invalid = Files.createTempFile("MappedTimeSeriesStoreTest", ".bin");
+    try {
+      Files.write(invalid, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+      assertThrowsIllegalArg(() -> MappedTimeSeriesStore.of(invalid));
+    } finally {
+      Files.deleteIfExists(invalid);
+    }
+  }
+
+}
@@ -102,6 +102,27 @@ public interface Curve extends ParameterizedData {
    */
   public abstract UnitParameterSensitivity yValueParameterSensitivity(double x);
 
+  /**
+   * Adds the sensitivity of the y-value with respect to the curve parameters to an array.
+   * <p>
+   * The sensitivity at the specified x-value is multiplied by the multiplier and added to the array,
+   * which has one element for each parameter of the curve.
+   * This is equivalent to adding the result of {@link #yValueParameterSensitivity(double)}, however
+   * implementations may only update the non-zero elements and avoid allocating intermediate objects.
+   * This is intended for loops that sum the sensitivity of many points on the same curve.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param multiplier  the multiplier to apply to the sensitivity
+   * @param result  the array to add the sensitivity to
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void addYValueParameterSensitivity(double x, double multiplier, double[] result) {
+    DoubleArray sensitivity = yValueParameterSensitivity(x).getSensitivity();
+    for (int i = 0; i < sensitivity.size(); i++) {
+      result[i] += multiplier * sensitivity.get(i);
+    }
+  }
+
   /**
    * Computes the first derivative of the curve.
    * <p>
@@ -113,6 +134,61 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double firstDerivative(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #yValue(double)} for each x-value,
+   * storing the y-value in the same position of the result array.
+   * The result array may be the array of x-values, which is then overwritten.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param x  the x-values to find the y-values for
+   * @param result  the array to populate with the y-values, at least as long as the x-values
+   */
+  public default void yValue(double[] x, double[] result) {
+    for (int i = 0; i < x.length; i++) {
+      result[i] = yValue(x[i]);
+    }
+  }
+
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters for each of the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #yValueParameterSensitivity(double)} for each x-value,
+   * storing the sensitivity in the row of the result matrix with the same index.
+   * Each row of the matrix must have one element for each parameter of the curve, and is fully overwritten.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param x  the x-values at which the parameter sensitivity is computed
+   * @param result  the matrix to populate with the sensitivities, one row for each x-value
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default void yValueParameterSensitivity(double[] x, double[][] result) {
+    for (int i = 0; i < x.length; i++) {
+      DoubleArray sensitivity = yValueParameterSensitivity(x[i]).getSensitivity();
+      System.arraycopy(sensitivity.toArrayUnsafe(), 0, result[i], 0, sensitivity.size());
+    }
+  }
+
+  /**
+   * Computes the first derivative of the curve for each of the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #firstDerivative(double)} for each x-value,
+   * storing the derivative in the same position of the result array.
+   * The result array may be the array of x-values, which is then overwritten.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param x  the x-values at which the derivative is taken
+   * @param result  the array to populate with the first derivatives, at least as long as the x-values
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default void firstDerivative(double[] x, double[] result) {
+    for (int i = 0; i < x.length; i++) {
+      result[i] = firstDerivative(x[i]);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a parameter sensitivity instance for this curve when the sensitivity values are known.
@@ -249,11 +249,31 @@ public final class InterpolatedNodalCurve
     return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
   }
 
+  @Override
+  public void addYValueParameterSensitivity(double x, double multiplier, double[] result) {
+    boundInterpolator.addParameterSensitivity(x, multiplier, result);
+  }
+
   @Override
   public double firstDerivative(double x) {
     return boundInterpolator.firstDerivative(x);
   }
 
+  @Override
+  public void yValue(double[] x, double[] result) {
+    boundInterpolator.interpolate(x, result);
+  }
+
+  @Override
+  public void yValueParameterSensitivity(double[] x, double[][] result) {
+    boundInterpolator.parameterSensitivity(x, result);
+  }
+
+  @Override
+  public void firstDerivative(double[] x, double[] result) {
+    boundInterpolator.firstDerivative(x, result);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public InterpolatedNodalCurve withMetadata(CurveMetadata metadata) {
@@ -24,6 +24,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The right extrapolator.
    */
   private final BoundCurveExtrapolator extrapolatorRight;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
   /**
    * The x-value of the first node.
    */
@@ -51,6 +55,7 @@ public abstract class AbstractBoundCurveInterpolator
     ArgChecker.isTrue(size > 1, "Curve node arrays must have at least two nodes");
     this.extrapolatorLeft = ExceptionCurveExtrapolator.INSTANCE;
     this.extrapolatorRight = ExceptionCurveExtrapolator.INSTANCE;
+    this.nodeXValues = xValues.toArrayUnsafe();
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
@@ -70,6 +75,7 @@ public abstract class AbstractBoundCurveInterpolator
 
     this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
     this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+    this.nodeXValues = base.nodeXValues;
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
@@ -132,6 +138,161 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  @Override
+  public final void addParameterSensitivity(double xValue, double multiplier, double[] result) {
+    if (xValue < firstXValue) {
+      add(extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue), multiplier, result);
+    } else if (xValue > lastXValue) {
+      add(extrapolatorRight.rightExtrapolateParameterSensitivity(xValue), multiplier, result);
+    } else {
+      doAddParameterSensitivity(xValue, lowerBoundIndex(xValue, nodeXValues), multiplier, result);
+    }
+  }
+
+  /**
+   * Method for subclasses to add the parameter sensitivity to an array when the lower bound index is known.
+   * <p>
+   * The index is that returned by {@link #lowerBoundIndex(double, double[])} for the x-values of the nodes.
+   * Implementations should only update the elements of the array that have a non-zero sensitivity.
+   * By default, this ignores the index and adds the result of {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @param multiplier  the multiplier to apply to the sensitivity
+   * @param result  the array to add the parameter sensitivity to
+   */
+  protected void doAddParameterSensitivity(double xValue, int lowerIndex, double multiplier, double[] result) {
+    add(doParameterSensitivity(xValue), multiplier, result);
+  }
+
+  // adds the multiplied sensitivity to the result
+  private static void add(DoubleArray sensitivity, double multiplier, double[] result) {
+    for (int i = 0; i < sensitivity.size(); i++) {
+      result[i] += multiplier * sensitivity.get(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public final void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as x-values");
+    int lowerIndex = 0;
+    double previous = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = nextLowerBoundIndex(xValue, previous, lowerIndex);
+        previous = xValue;
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value when the lower bound index is known.
+   * <p>
+   * The index is that returned by {@link #lowerBoundIndex(double, double[])} for the x-values of the nodes.
+   * By default, this ignores the index and calls {@link #doInterpolate(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
+  @Override
+  public final void firstDerivative(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as x-values");
+    int lowerIndex = 0;
+    double previous = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolateFirstDerivative(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolateFirstDerivative(xValue);
+      } else {
+        lowerIndex = nextLowerBoundIndex(xValue, previous, lowerIndex);
+        previous = xValue;
+        result[i] = doFirstDerivative(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the first derivative when the lower bound index is known.
+   * <p>
+   * The index is that returned by {@link #lowerBoundIndex(double, double[])} for the x-values of the nodes.
+   * By default, this ignores the index and calls {@link #doFirstDerivative(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @return the first derivative
+   */
+  protected double doFirstDerivative(double xValue, int lowerIndex) {
+    return doFirstDerivative(xValue);
+  }
+
+  @Override
+  public final void parameterSensitivity(double[] xValues, double[][] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result matrix must have at least as many rows as x-values");
+    int lowerIndex = 0;
+    double previous = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        copy(extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue), result[i]);
+      } else if (xValue > lastXValue) {
+        copy(extrapolatorRight.rightExtrapolateParameterSensitivity(xValue), result[i]);
+      } else {
+        lowerIndex = nextLowerBoundIndex(xValue, previous, lowerIndex);
+        previous = xValue;
+        doParameterSensitivity(xValue, lowerIndex, result[i]);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate parameter sensitivity when the lower bound index is known.
+   * <p>
+   * The index is that returned by {@link #lowerBoundIndex(double, double[])} for the x-values of the nodes.
+   * The result array has one element for each parameter and must be fully overwritten.
+   * By default, this ignores the index and calls {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @param result  the array to populate with the parameter sensitivity
+   */
+  protected void doParameterSensitivity(double xValue, int lowerIndex, double[] result) {
+    copy(doParameterSensitivity(xValue), result);
+  }
+
+  // copies the sensitivity to the result
+  private static void copy(DoubleArray sensitivity, double[] result) {
+    System.arraycopy(sensitivity.toArrayUnsafe(), 0, result, 0, sensitivity.size());
+  }
+
+  // finds the lower bound index, sweeping forward from the previous index when the x-values are sorted
+  private int nextLowerBoundIndex(double xValue, double previousXValue, int previousIndex) {
+    if (xValue < previousXValue) {
+      return lowerBoundIndex(xValue, nodeXValues);
+    }
+    int index = previousIndex;
+    int lastIndex = nodeXValues.length - 1;
+    while (index < lastIndex && nodeXValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
   //-------------------------------------------------------------------------
 
   /**
@@ -52,6 +52,83 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  /**
+   * Adds the sensitivity of the y-value with respect to the curve parameters to an array.
+   * <p>
+   * The sensitivity at the specified x-value is multiplied by the multiplier and added to the array,
+   * which has one element for each parameter of the curve.
+   * This is equivalent to adding the result of {@link #parameterSensitivity(double)}, however
+   * implementations may only update the non-zero elements and avoid allocating an array.
+   * For example, linear interpolation only updates the two nodes either side of the x-value.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param multiplier  the multiplier to apply to the sensitivity
+   * @param result  the array to add the sensitivity to
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void addParameterSensitivity(double x, double multiplier, double[] result) {
+    DoubleArray sensitivity = parameterSensitivity(x);
+    for (int i = 0; i < sensitivity.size(); i++) {
+      result[i] += multiplier * sensitivity.get(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * This is equivalent to calling {@link #interpolate(double)} for each x-value,
+   * storing the y-value in the same position of the result array.
+   * The result array may be the array of x-values, which is then overwritten.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to populate with the y-values, at least as long as the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(double[] xValues, double[] result) {
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = interpolate(xValues[i]);
+    }
+  }
+
+  /**
+   * Computes the first derivative of the y-value for each of the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #firstDerivative(double)} for each x-value,
+   * storing the derivative in the same position of the result array.
+   * The result array may be the array of x-values, which is then overwritten.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the derivative is taken
+   * @param result  the array to populate with the first derivatives, at least as long as the x-values
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default void firstDerivative(double[] xValues, double[] result) {
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = firstDerivative(xValues[i]);
+    }
+  }
+
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters for each of the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #parameterSensitivity(double)} for each x-value,
+   * storing the sensitivity in the row of the result matrix with the same index.
+   * Each row of the matrix must have one element for each parameter of the curve, and is fully overwritten.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivity is computed
+   * @param result  the matrix to populate with the sensitivities, one row for each x-value
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default void parameterSensitivity(double[] xValues, double[][] result) {
+    for (int i = 0; i < xValues.length; i++) {
+      DoubleArray sensitivity = parameterSensitivity(xValues[i]);
+      System.arraycopy(sensitivity.toArrayUnsafe(), 0, result[i], 0, sensitivity.size());
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -99,7 +100,11 @@ final class LinearCurveInterpolator
     @Override
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
       return y1 + (xValue - x1) * gradients[lowerIndex];
@@ -107,11 +112,15 @@ final class LinearCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
-        lowerIndex--;
+        return gradients[lowerIndex - 1];
       }
       return gradients[lowerIndex];
     }
@@ -119,20 +128,30 @@ final class LinearCurveInterpolator
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
       double[] result = new double[yValues.length];
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      doAddParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, int lowerIndex, double[] result) {
+      Arrays.fill(result, 0d);
+      doAddParameterSensitivity(xValue, lowerIndex, 1d, result);
+    }
+
+    @Override
+    protected void doAddParameterSensitivity(double xValue, int lowerIndex, double multiplier, double[] result) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
-        result[intervalCount] = 1d;
+        result[intervalCount] += multiplier;
       } else {
         double x1 = xValues[lowerIndex];
         double x2 = xValues[lowerIndex + 1];
         double dx = x2 - x1;
         double a = (x2 - xValue) / dx;
-        result[lowerIndex] = a;
-        result[lowerIndex + 1] = 1 - a;
+        result[lowerIndex] += multiplier * a;
+        result[lowerIndex + 1] += multiplier * (1 - a);
       }
-      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
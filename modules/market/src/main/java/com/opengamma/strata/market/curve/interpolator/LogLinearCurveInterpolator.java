@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -90,7 +91,11 @@ final class LogLinearCurveInterpolator
     @Override
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       double x1 = xValues[lowerIndex];
       double x2 = xValues[lowerIndex + 1];
       double y1 = yValues[lowerIndex];
@@ -100,7 +105,11 @@ final class LogLinearCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
@@ -122,11 +131,22 @@ final class LogLinearCurveInterpolator
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
       double[] result = new double[yValues.length];
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      doAddParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, int lowerIndex, double[] result) {
+      Arrays.fill(result, 0d);
+      doAddParameterSensitivity(xValue, lowerIndex, 1d, result);
+    }
+
+    @Override
+    protected void doAddParameterSensitivity(double xValue, int lowerIndex, double multiplier, double[] result) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
-        result[intervalCount] = 1d;
+        result[intervalCount] += multiplier;
       } else {
         double x1 = xValues[lowerIndex];
         double x2 = xValues[lowerIndex + 1];
@@ -136,10 +156,9 @@ final class LogLinearCurveInterpolator
         double x1diffInv = (xValue - x1) * diffInv;
         double x2diffInv = (x2 - xValue) * diffInv;
         double yDiv = y1 / y2;
-        result[lowerIndex] = Math.pow(yDiv, -x1diffInv) * x2diffInv;
-        result[lowerIndex + 1] = Math.pow(yDiv, x2diffInv) * x1diffInv;
+        result[lowerIndex] += multiplier * Math.pow(yDiv, -x1diffInv) * x2diffInv;
+        result[lowerIndex + 1] += multiplier * Math.pow(yDiv, x2diffInv) * x1diffInv;
       }
-      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
@@ -125,6 +125,14 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_addYValueParameterSensitivity() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] result = {1d, 1d, 1d};
+    test.addYValueParameterSensitivity(1.5d, 2d, result);
+    DoubleArray expected = test.yValueParameterSensitivity(1.5d).getSensitivity().multipliedBy(2d).plus(1d);
+    assertThat(DoubleArray.ofUnsafe(result).equalWithTolerance(expected, 1e-14)).isTrue();
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
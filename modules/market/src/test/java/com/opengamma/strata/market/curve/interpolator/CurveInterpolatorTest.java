@@ -25,6 +25,8 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -106,6 +108,47 @@ public class CurveInterpolatorTest {
     assertNotNull(bound.toString());
   }
 
+  @Test(dataProvider = "name")
+  public void test_bind_batch(CurveInterpolator convention, String name) {
+    DoubleArray xValues = DoubleArray.of(0, 0.5, 1, 2, 3, 5);
+    DoubleArray yValues = DoubleArray.of(1, 0.98, 0.96, 0.93, 0.9, 0.85);
+    BoundCurveInterpolator bound =
+        convention.bind(xValues, yValues, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+    // sorted, including nodes and extrapolation, then unsorted
+    double[] x = {-1, 0, 0.25, 0.5, 0.75, 0.75, 1.5, 2, 2.9, 4, 5, 6, 0.1, 4.5, 3, 0.6};
+    double[] values = new double[x.length];
+    double[] derivatives = new double[x.length];
+    double[][] sensitivities = new double[x.length][xValues.size()];
+    for (double[] row : sensitivities) {
+      Arrays.fill(row, Double.NaN);
+    }
+    bound.interpolate(x, values);
+    bound.firstDerivative(x, derivatives);
+    bound.parameterSensitivity(x, sensitivities);
+    for (int i = 0; i < x.length; i++) {
+      assertEquals(values[i], bound.interpolate(x[i]), 1e-14);
+      assertEquals(derivatives[i], bound.firstDerivative(x[i]), 1e-14);
+      assertTrue(DoubleArray.ofUnsafe(sensitivities[i]).equalWithTolerance(bound.parameterSensitivity(x[i]), 1e-14));
+    }
+  }
+
+  @Test(dataProvider = "name")
+  public void test_bind_addParameterSensitivity(CurveInterpolator convention, String name) {
+    DoubleArray xValues = DoubleArray.of(0, 0.5, 1, 2, 3, 5);
+    DoubleArray yValues = DoubleArray.of(1, 0.98, 0.96, 0.93, 0.9, 0.85);
+    BoundCurveInterpolator bound =
+        convention.bind(xValues, yValues, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+    double[] x = {-1, 0, 0.25, 0.5, 1.5, 2.9, 5, 6};
+    double[] result = new double[xValues.size()];
+    DoubleArray expected = DoubleArray.filled(xValues.size());
+    for (int i = 0; i < x.length; i++) {
+      double multiplier = 2d + i;
+      bound.addParameterSensitivity(x[i], multiplier, result);
+      expected = expected.plus(bound.parameterSensitivity(x[i]).multipliedBy(multiplier));
+    }
+    assertTrue(DoubleArray.ofUnsafe(result).equalWithTolerance(expected, 1e-14));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(CurveInterpolators.class);
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Primitive functions of the standard normal distribution.
+ * <p>
+ * This provides the cumulative distribution function, probability density function and
+ * inverse cumulative distribution function of the normal distribution with zero mean
+ * and unit standard deviation.
+ * <p>
+ * The methods are static, operate on primitive doubles and hold no state, so they are
+ * thread-safe and do not allocate. They are intended for the hot paths of option formulas,
+ * where {@link NormalDistribution} would box each argument.
+ * <p>
+ * The cumulative distribution function uses the rational Chebyshev approximations of W. J. Cody,
+ * "Rational Chebyshev approximations for the error function", Mathematics of Computation 23 (1969),
+ * as published in ACM TOMS algorithm 715. The relative accuracy is close to machine precision.
+ * <p>
+ * The inverse uses the rational approximation of P. J. Acklam, refined by one step of Halley's method.
+ */
+public final class StandardNormalDistribution {
+
+  /**
+   * 1 / sqrt(2 pi).
+   */
+  private static final double INV_SQRT_2PI = 0.398942280401432677939946059934;
+  /**
+   * sqrt(2 pi).
+   */
+  private static final double SQRT_2PI = 2.50662827463100050241576528481;
+  /**
+   * The upper bound of the central region of the cumulative distribution function.
+   */
+  private static final double CENTRAL_BOUND = 0.67448975;
+  /**
+   * The upper bound of the intermediate region of the cumulative distribution function, sqrt(32).
+   */
+  private static final double INTERMEDIATE_BOUND = 5.65685424949238019520980;
+  /**
+   * The argument beyond which the cumulative distribution function is 0 or 1 in double precision.
+   */
+  private static final double CUTOFF = 38.5;
+  /**
+   * The lower probability bound of the central region of the inverse.
+   */
+  private static final double P_LOW = 0.02425;
+  /**
+   * The upper probability bound of the central region of the inverse.
+   */
+  private static final double P_HIGH = 1 - P_LOW;
+
+  //CSOFF
+  private static final double A0 = 2.2352520354606839287;
+  private static final double A1 = 161.02823106855587881;
+  private static final double A2 = 1067.6894854603709582;
+  private static final double A3 = 18154.981253343561249;
+  private static final double A4 = 0.065682337918207449113;
+  private static final double B0 = 47.20258190468824187;
+  private static final double B1 = 976.09855173777669322;
+  private static final double B2 = 10260.932208618978205;
+  private static final double B3 = 45507.789335026729956;
+
+  private static final double C0 = 0.39894151208813466764;
+  private static final double C1 = 8.8831497943883759412;
+  private static final double C2 = 93.506656132177855979;
+  private static final double C3 = 597.27027639480026226;
+  private static final double C4 = 2494.5375852903726711;
+  private static final double C5 = 6848.1904505362823326;
+  private static final double C6 = 11602.651437647350124;
+  private static final double C7 = 9842.7148383839780218;
+  private static final double C8 = 1.0765576773720192317e-8;
+  private static final double D0 = 22.266688044328115691;
+  private static final double D1 = 235.38790178262499861;
+  private static final double D2 = 1519.377599407554805;
+  private static final double D3 = 6485.558298266760755;
+  private static final double D4 = 18615.571640885098091;
+  private static final double D5 = 34900.952721145977266;
+  private static final double D6 = 38912.003286093271411;
+  private static final double D7 = 19685.429676859990727;
+
+  private static final double P0 = 0.21589853405795699;
+  private static final double P1 = 0.1274011611602473639;
+  private static final double P2 = 0.022235277870649807;
+  private static final double P3 = 0.001421619193227893466;
+  private static final double P4 = 2.9112874951168792e-5;
+  private static final double P5 = 0.02307344176494017303;
+  private static final double Q0 = 1.28426009614491121;
+  private static final double Q1 = 0.468238212480865118;
+  private static final double Q2 = 0.0659881378689285515;
+  private static final double Q3 = 0.00378239633202758244;
+  private static final double Q4 = 7.29751555083966205e-5;
+
+  private static final double IA0 = -3.969683028665376e+01;
+  private static final double IA1 = 2.209460984245205e+02;
+  private static final double IA2 = -2.759285104469687e+02;
+  private static final double IA3 = 1.383577518672690e+02;
+  private static final double IA4 = -3.066479806614716e+01;
+  private static final double IA5 = 2.506628277459239e+00;
+  private static final double IB0 = -5.447609879822406e+01;
+  private static final double IB1 = 1.615858368580409e+02;
+  private static final double IB2 = -1.556989798598866e+02;
+  private static final double IB3 = 6.680131188771972e+01;
+  private static final double IB4 = -1.328068155211513e+01;
+  private static final double IC0 = -7.784894002430293e-03;
+  private static final double IC1 = -3.223964580411365e-01;
+  private static final double IC2 = -2.400758277161838e+00;
+  private static final double IC3 = -2.549732539343734e+00;
+  private static final double IC4 = 4.374664141464968e+00;
+  private static final double IC5 = 2.938163982698783e+00;
+  private static final double ID0 = 7.784695709041462e-03;
+  private static final double ID1 = 3.224671290700398e-01;
+  private static final double ID2 = 2.445134137142996e+00;
+  private static final double ID3 = 3.754408661907416e+00;
+  //CSON
+
+  /**
+   * Restricted constructor.
+   */
+  private StandardNormalDistribution() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function.
+   * <p>
+   * This is the probability that a standard normal variable is less than or equal to {@code x}.
+   * As with {@link NormalDistribution}, the result for NaN is zero.
+   *
+   * @param x  the value
+   * @return the cumulative probability
+   */
+  public static double cdf(double x) {
+    double y = Math.abs(x);
+    if (y <= CENTRAL_BOUND) {
+      double xsq = x * x;
+      double xnum = A4 * xsq;
+      double xden = xsq;
+      xnum = (xnum + A0) * xsq;
+      xden = (xden + B0) * xsq;
+      xnum = (xnum + A1) * xsq;
+      xden = (xden + B1) * xsq;
+      xnum = (xnum + A2) * xsq;
+      xden = (xden + B2) * xsq;
+      return 0.5 + x * (xnum + A3) / (xden + B3);
+    }
+    double tail = tail(y);
+    return x > 0 ? 1d - tail : tail;
+  }
+
+  /**
+   * Computes the complement of the cumulative distribution function.
+   * <p>
+   * This is the probability that a standard normal variable is greater than {@code x},
+   * equal to {@code cdf(-x)}. It is accurate in the upper tail where {@code 1 - cdf(x)} is not.
+   *
+   * @param x  the value
+   * @return the complementary cumulative probability
+   */
+  public static double ccdf(double x) {
+    return cdf(-x);
+  }
+
+  /**
+   * Computes the probability density function.
+   *
+   * @param x  the value
+   * @return the probability density
+   */
+  public static double pdf(double x) {
+    return INV_SQRT_2PI * Math.exp(-0.5 * x * x);
+  }
+
+  /**
+   * Computes the inverse of the cumulative distribution function.
+   * <p>
+   * The inverse of 0 is negative infinity and the inverse of 1 is positive infinity.
+   *
+   * @param p  the probability, from 0 to 1 inclusive
+   * @return the value whose cumulative probability is {@code p}
+   * @throws IllegalArgumentException if the probability is outside the range 0 to 1
+   */
+  public static double inverseCdf(double p) {
+    ArgChecker.inRangeInclusive(p, 0d, 1d, "p");
+    if (p == 0d) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (p == 1d) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double x;
+    if (p < P_LOW) {
+      double q = Math.sqrt(-2d * Math.log(p));
+      x = (((((IC0 * q + IC1) * q + IC2) * q + IC3) * q + IC4) * q + IC5) /
+          ((((ID0 * q + ID1) * q + ID2) * q + ID3) * q + 1d);
+    } else if (p <= P_HIGH) {
+      double q = p - 0.5;
+      double r = q * q;
+      x = (((((IA0 * r + IA1) * r + IA2) * r + IA3) * r + IA4) * r + IA5) * q /
+          (((((IB0 * r + IB1) * r + IB2) * r + IB3) * r + IB4) * r + 1d);
+    } else {
+      double q = Math.sqrt(-2d * Math.log1p(-p));
+      x = -(((((IC0 * q + IC1) * q + IC2) * q + IC3) * q + IC4) * q + IC5) /
+          ((((ID0 * q + ID1) * q + ID2) * q + ID3) * q + 1d);
+    }
+    // one step of Halley's method, using the tail probability for accuracy
+    double e = x < 0 ? cdf(x) - p : (1d - p) - ccdf(x);
+    double u = e * SQRT_2PI * Math.exp(0.5 * x * x);
+    return x - u / (1d + 0.5 * x * u);
+  }
+
+  //-------------------------------------------------------------------------
+  // the probability that a standard normal variable exceeds y, where y is positive and outside the central region
+  private static double tail(double y) {
+    if (!(y < CUTOFF)) {
+      return 0d;
+    }
+    double result;
+    if (y <= INTERMEDIATE_BOUND) {
+      double xnum = C8 * y;
+      double xden = y;
+      xnum = (xnum + C0) * y;
+      xden = (xden + D0) * y;
+      xnum = (xnum + C1) * y;
+      xden = (xden + D1) * y;
+      xnum = (xnum + C2) * y;
+      xden = (xden + D2) * y;
+      xnum = (xnum + C3) * y;
+      xden = (xden + D3) * y;
+      xnum = (xnum + C4) * y;
+      xden = (xden + D4) * y;
+      xnum = (xnum + C5) * y;
+      xden = (xden + D5) * y;
+      xnum = (xnum + C6) * y;
+      xden = (xden + D6) * y;
+      result = (xnum + C7) / (xden + D7);
+    } else {
+      double xsq = 1d / (y * y);
+      double xnum = P5 * xsq;
+      double xden = xsq;
+      xnum = (xnum + P0) * xsq;
+      xden = (xden + Q0) * xsq;
+      xnum = (xnum + P1) * xsq;
+      xden = (xden + Q1) * xsq;
+      xnum = (xnum + P2) * xsq;
+      xden = (xden + Q2) * xsq;
+      xnum = (xnum + P3) * xsq;
+      xden = (xden + Q3) * xsq;
+      result = xsq * (xnum + P4) / (xden + Q4);
+      result = (INV_SQRT_2PI - result) / y;
+    }
+    // split the exponent to avoid loss of precision in exp(-y^2/2)
+    double ysq = Math.floor(y * 16d) / 16d;
+    double del = (y - ysq) * (y + ysq);
+    return Math.exp(-ysq * ysq * 0.5) * Math.exp(-del * 0.5) * result;
+  }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Vague performance and accuracy comparison of {@link StandardNormalDistribution} against {@link NormalDistribution}.
+ */
+public class StandardNormalDistributionPerformance {
+
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final int COUNT = 10_000_000;
+  private static final double MIN = -8d;
+  private static final double STEP = 16d / COUNT;
+
+  public static void main(String[] args) throws Exception {
+    System.out.println("Go");
+    accuracy();
+    for (int i = 0; i < 10; i++) {
+      System.out.println("Run " + i);
+      time("cdf boxed", StandardNormalDistributionPerformance::cdfBoxed);
+      time("cdf primitive", StandardNormalDistributionPerformance::cdfPrimitive);
+      time("pdf boxed", StandardNormalDistributionPerformance::pdfBoxed);
+      time("pdf primitive", StandardNormalDistributionPerformance::pdfPrimitive);
+      time("inverse boxed", StandardNormalDistributionPerformance::inverseBoxed);
+      time("inverse primitive", StandardNormalDistributionPerformance::inversePrimitive);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static void accuracy() {
+    double maxCdf = 0d;
+    double maxPdf = 0d;
+    double maxInverse = 0d;
+    for (int i = 0; i < 100_000; i++) {
+      double x = MIN + i * 16d / 100_000;
+      maxCdf = Math.max(maxCdf, Math.abs(StandardNormalDistribution.cdf(x) - NORMAL.getCDF(x)));
+      maxPdf = Math.max(maxPdf, Math.abs(StandardNormalDistribution.pdf(x) - NORMAL.getPDF(x)));
+      double p = (i + 0.5d) / 100_000;
+      maxInverse = Math.max(maxInverse, Math.abs(StandardNormalDistribution.inverseCdf(p) - NORMAL.getInverseCDF(p)));
+    }
+    System.out.println("Max difference cdf: " + maxCdf + ", pdf: " + maxPdf + ", inverse: " + maxInverse);
+  }
+
+  private static void time(String name, DoubleSupplier operation) {
+    long start = System.nanoTime();
+    double total = operation.getAsDouble();
+    long end = System.nanoTime();
+    System.out.println(name + ": " + (end - start) / (double) COUNT + " ns/op (" + total + ")");
+  }
+
+  //-------------------------------------------------------------------------
+  private static double cdfBoxed() {
+    double total = 0d;
+    for (int i = 0; i < COUNT; i++) {
+      total += NORMAL.getCDF(MIN + i * STEP);
+    }
+    return total;
+  }
+
+  private static double cdfPrimitive() {
+    double total = 0d;
+    for (int i = 0; i < COUNT; i++) {
+      total += StandardNormalDistribution.cdf(MIN + i * STEP);
+    }
+    return total;
+  }
+
+  private static double pdfBoxed() {
+    double total = 0d;
+    for (int i = 0; i < COUNT; i++) {
+      total += NORMAL.getPDF(MIN + i * STEP);
+    }
+    return total;
+  }
+
+  private static double pdfPrimitive() {
+    double total = 0d;
+    for (int i = 0; i < COUNT; i++) {
+      total += StandardNormalDistribution.pdf(MIN + i * STEP);
+    }
+    return total;
+  }
+
+  private static double inverseBoxed() {
+    double total = 0d;
+    for (int i = 0; i < COUNT; i++) {
+      total += NORMAL.getInverseCDF((i + 0.5d) / COUNT);
+    }
+    return total;
+  }
+
+  private static double inversePrimitive() {
+    double total = 0d;
+    for (int i = 0; i < COUNT; i++) {
+      total += StandardNormalDistribution.inverseCdf((i + 0.5d) / COUNT);
+    }
+    return total;
+  }
+
+}
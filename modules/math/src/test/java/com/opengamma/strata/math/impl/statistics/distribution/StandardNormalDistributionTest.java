@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link StandardNormalDistribution}.
+ */
+@Test
+public class StandardNormalDistributionTest {
+
+  private static final NormalDistribution NORMAL = new NormalDistribution(0, 1);
+  private static final double TOL = 1e-14;
+
+  public void test_cdf_values() {
+    // reference values computed to 20 significant figures
+    assertEquals(StandardNormalDistribution.cdf(0d), 0.5d, 0d);
+    assertRelative(StandardNormalDistribution.cdf(-1d), 0.15865525393145705142);
+    assertRelative(StandardNormalDistribution.cdf(1.96d), 0.97500210485177952822);
+    assertRelative(StandardNormalDistribution.cdf(-3d), 0.0013498980316300945267);
+    assertRelative(StandardNormalDistribution.cdf(-10d), 7.6198530241605260660e-24);
+    assertRelative(StandardNormalDistribution.cdf(-20d), 2.7536241186062336951e-89);
+  }
+
+  public void test_cdf_limits() {
+    assertEquals(StandardNormalDistribution.cdf(Double.NEGATIVE_INFINITY), 0d, 0d);
+    assertEquals(StandardNormalDistribution.cdf(-40d), 0d, 0d);
+    assertEquals(StandardNormalDistribution.cdf(40d), 1d, 0d);
+    assertEquals(StandardNormalDistribution.cdf(Double.POSITIVE_INFINITY), 1d, 0d);
+    assertEquals(StandardNormalDistribution.cdf(Double.NaN), NORMAL.getCDF(Double.NaN), 0d);
+  }
+
+  public void test_ccdf() {
+    for (int i = 0; i <= 160; i++) {
+      double x = -8d + 0.1 * i;
+      assertEquals(StandardNormalDistribution.ccdf(x), StandardNormalDistribution.cdf(-x), 0d);
+    }
+  }
+
+  public void test_pdf() {
+    assertEquals(StandardNormalDistribution.pdf(0d), 1d / Math.sqrt(2d * Math.PI), TOL);
+    assertEquals(StandardNormalDistribution.pdf(Double.POSITIVE_INFINITY), 0d, 0d);
+  }
+
+  public void test_inverseCdf() {
+    assertEquals(StandardNormalDistribution.inverseCdf(0.5d), 0d, TOL);
+    assertEquals(StandardNormalDistribution.inverseCdf(0.975d), 1.9599639845400542355, TOL);
+    assertEquals(StandardNormalDistribution.inverseCdf(0d), Double.NEGATIVE_INFINITY);
+    assertEquals(StandardNormalDistribution.inverseCdf(1d), Double.POSITIVE_INFINITY);
+    assertThrowsIllegalArg(() -> StandardNormalDistribution.inverseCdf(-0.2));
+    assertThrowsIllegalArg(() -> StandardNormalDistribution.inverseCdf(1.2));
+  }
+
+  public void test_roundTrip() {
+    for (int i = 0; i <= 300; i++) {
+      double x = -30d + 0.1 * i;
+      double p = StandardNormalDistribution.cdf(x);
+      assertEquals(StandardNormalDistribution.inverseCdf(p), x, 1e-13 * Math.max(1d, Math.abs(x)));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_consistentWithNormalDistribution() {
+    for (int i = 0; i <= 1600; i++) {
+      double x = -8d + 0.01 * i;
+      assertEquals(StandardNormalDistribution.cdf(x), NORMAL.getCDF(x), TOL);
+      assertEquals(StandardNormalDistribution.pdf(x), NORMAL.getPDF(x), TOL);
+    }
+    for (int i = 1; i < 1000; i++) {
+      double p = 0.001 * i;
+      assertEquals(StandardNormalDistribution.inverseCdf(p), NORMAL.getInverseCDF(p), 1e-12);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertRelative(double actual, double expected) {
+    assertEquals(actual, expected, TOL * Math.abs(expected));
+  }
+
+}
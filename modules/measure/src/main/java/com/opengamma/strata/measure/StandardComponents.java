@@ -16,6 +16,8 @@ import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
 import com.opengamma.strata.measure.capfloor.IborCapFloorTradeCalculationFunction;
 import com.opengamma.strata.measure.credit.CdsTradeCalculationFunction;
+import com.opengamma.strata.measure.credit.IsdaCreditCurveMarketDataFunction;
+import com.opengamma.strata.measure.credit.IsdaYieldCurveMarketDataFunction;
 import com.opengamma.strata.measure.curve.CurveGroupMarketDataFunction;
 import com.opengamma.strata.measure.curve.CurveInputsMarketDataFunction;
 import com.opengamma.strata.measure.curve.CurveMarketDataFunction;
@@ -128,6 +130,7 @@ public class StandardComponents {
    *  <li>Curve groups from par rates
    *  <li>Curves from curve groups
    *  <li>Discount factors and index rates from curves
+   *  <li>ISDA yield and credit curves from par rates
    * </ul>
    *
    * @return the standard market data functions
@@ -137,7 +140,9 @@ public class StandardComponents {
         new CurveMarketDataFunction(),
         new CurveGroupMarketDataFunction(),
         new CurveInputsMarketDataFunction(),
-        new FxRateMarketDataFunction());
+        new FxRateMarketDataFunction(),
+        new IsdaYieldCurveMarketDataFunction(),
+        new IsdaCreditCurveMarketDataFunction());
   }
 
   /**
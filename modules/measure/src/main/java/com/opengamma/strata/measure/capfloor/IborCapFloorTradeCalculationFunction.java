@@ -19,6 +19,7 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.FunctionUtils;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -127,7 +128,7 @@ public class IborCapFloorTradeCalculationFunction
       ReferenceData refData) {
 
     // expand the trade once for all measures and all scenarios
-    ResolvedIborCapFloorTrade resolved = trade.resolve(refData);
+    ResolvedIborCapFloorTrade resolved = FunctionUtils.resolve(trade, refData);
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData ratesMarketData = ratesLookup.marketDataView(scenarioMarketData);
     IborCapFloorMarketDataLookup capFloorLookup = parameters.getParameter(IborCapFloorMarketDataLookup.class);
@@ -20,6 +20,7 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.FunctionUtils;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -132,7 +133,7 @@ public class CmsTradeCalculationFunction
       ReferenceData refData) {
 
     // expand the trade once for all measures and all scenarios
-    ResolvedCmsTrade resolved = trade.resolve(refData);
+    ResolvedCmsTrade resolved = FunctionUtils.resolve(trade, refData);
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData ratesMarketData = ratesLookup.marketDataView(scenarioMarketData);
     SwaptionMarketDataLookup swaptionLookup = parameters.getParameter(SwaptionMarketDataLookup.class);
@@ -5,20 +5,24 @@
  */
 package com.opengamma.strata.measure.credit;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.credit.CdsRecoveryRate;
 import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveId;
 import com.opengamma.strata.pricer.credit.IsdaCreditCurveInputs;
 import com.opengamma.strata.pricer.credit.IsdaIndexCreditCurveInputsId;
 import com.opengamma.strata.pricer.credit.IsdaIndexRecoveryRateId;
 import com.opengamma.strata.pricer.credit.IsdaSingleNameCreditCurveInputsId;
 import com.opengamma.strata.pricer.credit.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveId;
 import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputs;
 import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputsId;
 import com.opengamma.strata.product.credit.IndexReferenceInformation;
@@ -31,6 +35,10 @@ import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
  * Multi-scenario measure calculations for CSD trades.
  * <p>
  * Each method corresponds to a measure, typically calculated by one or more calls to the pricer.
+ * <p>
+ * Measures that do not bump the curves use the calibrated curves from the market data,
+ * see {@link IsdaYieldCurveId} and {@link IsdaCreditCurveId}, avoiding calibration for each trade.
+ * If the market data does not contain the calibrated curves, they are calibrated from the inputs.
  */
 final class CdsMeasureCalculations {
 
@@ -60,13 +68,14 @@ final class CdsMeasureCalculations {
       MarketData marketData) {
 
     ResolvedCds product = trade.getProduct();
-    IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsId.of(product.getCurrency()));
+    NodalCurve yieldCurve = yieldCurve(trade, marketData);
+    NodalCurve creditCurve = creditCurve(trade, marketData, yieldCurve);
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
     return PRICER.presentValue(
         product,
-        yieldCurveInputs,
-        creditCurveInputs,
+        yieldCurve,
+        creditCurve,
         marketData.getValuationDate(),
         recoveryRate,
         creditCurveInputs.getScalingFactor());
@@ -350,19 +359,41 @@ final class CdsMeasureCalculations {
       MarketData marketData) {
 
     ResolvedCds product = trade.getProduct();
-    IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsId.of(product.getCurrency()));
+    NodalCurve yieldCurve = yieldCurve(trade, marketData);
+    NodalCurve creditCurve = creditCurve(trade, marketData, yieldCurve);
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
     return PRICER.jumpToDefault(
         product,
-        yieldCurveInputs,
-        creditCurveInputs,
+        yieldCurve,
+        creditCurve,
         marketData.getValuationDate(),
         recoveryRate,
         creditCurveInputs.getScalingFactor());
   }
 
   //-------------------------------------------------------------------------
+  // obtains the calibrated yield curve, calibrating it if not available in the market data
+  private static NodalCurve yieldCurve(ResolvedCdsTrade trade, MarketData marketData) {
+    Currency currency = trade.getProduct().getCurrency();
+    return marketData.findValue(IsdaYieldCurveId.of(currency))
+        .orElseGet(() -> PRICER.calibrateYieldCurve(
+            marketData.getValuationDate(),
+            marketData.getValue(IsdaYieldCurveInputsId.of(currency))));
+  }
+
+  // obtains the calibrated credit curve, calibrating it against the yield curve if not available in the market data
+  private static NodalCurve creditCurve(ResolvedCdsTrade trade, MarketData marketData, NodalCurve yieldCurve) {
+    ResolvedCds product = trade.getProduct();
+    IsdaCreditCurveId curveId = IsdaCreditCurveId.of(product.getReferenceInformation(), product.getCurrency());
+    return marketData.findValue(curveId)
+        .orElseGet(() -> PRICER.calibrateCreditCurve(
+            marketData.getValuationDate(),
+            marketData.getValue(curveId.creditCurveInputsId()),
+            yieldCurve,
+            marketData.getValue(curveId.recoveryRateId()).getRecoveryRate()));
+  }
+
   // obtains the credit curve inputs
   private static IsdaCreditCurveInputs creditCurveInputs(ResolvedCdsTrade trade, MarketData marketData) {
     ReferenceInformation refInfo = trade.getProduct().getReferenceInformation();
@@ -408,13 +439,13 @@ final class CdsMeasureCalculations {
       MarketData marketData) {
 
     ResolvedCds product = trade.getProduct();
-    IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsId.of(product.getCurrency()));
-    IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
+    NodalCurve yieldCurve = yieldCurve(trade, marketData);
+    NodalCurve creditCurve = creditCurve(trade, marketData, yieldCurve);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
     return PRICER.parRate(
         product,
-        yieldCurveInputs,
-        creditCurveInputs,
+        yieldCurve,
+        creditCurve,
         marketData.getValuationDate(),
         recoveryRate);
   }
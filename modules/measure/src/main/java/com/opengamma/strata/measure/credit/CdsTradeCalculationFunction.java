@@ -19,15 +19,18 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.FunctionUtils;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveId;
 import com.opengamma.strata.pricer.credit.IsdaIndexCreditCurveInputsId;
 import com.opengamma.strata.pricer.credit.IsdaIndexRecoveryRateId;
 import com.opengamma.strata.pricer.credit.IsdaSingleNameCreditCurveInputsId;
 import com.opengamma.strata.pricer.credit.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveId;
 import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputsId;
 import com.opengamma.strata.product.credit.Cds;
 import com.opengamma.strata.product.credit.CdsTrade;
@@ -125,7 +128,8 @@ public class CdsTradeCalculationFunction
 
     Set<MarketDataId<?>> rateCurveIds = ImmutableSet.of(
         IsdaYieldCurveInputsId.of(notionalCurrency),
-        IsdaYieldCurveInputsId.of(feeCurrency));
+        IsdaYieldCurveInputsId.of(feeCurrency),
+        IsdaYieldCurveId.of(notionalCurrency));
 
     Set<Currency> currencies = ImmutableSet.of(notionalCurrency, feeCurrency);
     ReferenceInformation refInfo = cds.getReferenceInformation();
@@ -133,7 +137,8 @@ public class CdsTradeCalculationFunction
       SingleNameReferenceInformation singleNameRefInfo = (SingleNameReferenceInformation) refInfo;
       Set<MarketDataId<?>> keys = ImmutableSet.of(
           IsdaSingleNameCreditCurveInputsId.of(singleNameRefInfo),
-          IsdaSingleNameRecoveryRateId.of(singleNameRefInfo));
+          IsdaSingleNameRecoveryRateId.of(singleNameRefInfo),
+          IsdaCreditCurveId.of(singleNameRefInfo, notionalCurrency));
       return FunctionRequirements.builder()
           .valueRequirements(Sets.union(rateCurveIds, keys))
           .outputCurrencies(currencies)
@@ -143,7 +148,8 @@ public class CdsTradeCalculationFunction
       IndexReferenceInformation indexRefInfo = (IndexReferenceInformation) refInfo;
       Set<MarketDataId<?>> keys = ImmutableSet.of(
           IsdaIndexCreditCurveInputsId.of(indexRefInfo),
-          IsdaIndexRecoveryRateId.of(indexRefInfo));
+          IsdaIndexRecoveryRateId.of(indexRefInfo),
+          IsdaCreditCurveId.of(indexRefInfo, notionalCurrency));
       return FunctionRequirements.builder()
           .valueRequirements(Sets.union(rateCurveIds, keys))
           .outputCurrencies(currencies)
@@ -164,7 +170,7 @@ public class CdsTradeCalculationFunction
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedCdsTrade resolved = trade.resolve(refData);
+    ResolvedCdsTrade resolved = FunctionUtils.resolve(trade, refData);
 
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.pricer.credit.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveId;
+import com.opengamma.strata.pricer.credit.IsdaCreditCurveInputs;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveId;
+
+/**
+ * Market data function that calibrates the credit curve of the ISDA credit model.
+ * <p>
+ * This function bootstraps the curve identified by {@link IsdaCreditCurveId} from the
+ * {@link IsdaCreditCurveInputs} and {@link CdsRecoveryRate} of the single-name or index,
+ * using the calibrated yield curve identified by {@link IsdaYieldCurveId}.
+ * The curve is calibrated once for each scenario and shared by all trades that require it.
+ */
+public class IsdaCreditCurveMarketDataFunction
+    implements MarketDataFunction<NodalCurve, IsdaCreditCurveId> {
+
+  /**
+   * The pricer used to calibrate the curve.
+   */
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+
+  @Override
+  public MarketDataRequirements requirements(IsdaCreditCurveId id, MarketDataConfig config) {
+    return MarketDataRequirements.builder()
+        .addValues(IsdaYieldCurveId.of(id.getCurrency()), id.creditCurveInputsId(), id.recoveryRateId())
+        .build();
+  }
+
+  @Override
+  public MarketDataBox<NodalCurve> build(
+      IsdaCreditCurveId id,
+      MarketDataConfig config,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    MarketDataBox<LocalDate> valuationDateBox = marketData.getValuationDate();
+    MarketDataBox<NodalCurve> yieldCurveBox = marketData.getValue(IsdaYieldCurveId.of(id.getCurrency()));
+    MarketDataBox<IsdaCreditCurveInputs> inputsBox = marketData.getValue(id.creditCurveInputsId());
+    MarketDataBox<CdsRecoveryRate> recoveryRateBox = marketData.getValue(id.recoveryRateId());
+
+    if (valuationDateBox.isSingleValue() && yieldCurveBox.isSingleValue() &&
+        inputsBox.isSingleValue() && recoveryRateBox.isSingleValue()) {
+      return MarketDataBox.ofSingleValue(PRICER.calibrateCreditCurve(
+          valuationDateBox.getSingleValue(),
+          inputsBox.getSingleValue(),
+          yieldCurveBox.getSingleValue(),
+          recoveryRateBox.getSingleValue().getRecoveryRate()));
+    }
+    List<NodalCurve> curves = IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(i -> PRICER.calibrateCreditCurve(
+            valuationDateBox.getValue(i),
+            inputsBox.getValue(i),
+            yieldCurveBox.getValue(i),
+            recoveryRateBox.getValue(i).getRecoveryRate()))
+        .collect(toImmutableList());
+    return MarketDataBox.ofScenarioValues(curves);
+  }
+
+  @Override
+  public Class<IsdaCreditCurveId> getMarketDataIdType() {
+    return IsdaCreditCurveId.class;
+  }
+
+}
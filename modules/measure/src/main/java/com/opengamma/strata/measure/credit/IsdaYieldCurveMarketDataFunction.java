@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveId;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputs;
+import com.opengamma.strata.pricer.credit.IsdaYieldCurveInputsId;
+
+/**
+ * Market data function that calibrates the yield curve of the ISDA credit model.
+ * <p>
+ * This function bootstraps the curve identified by {@link IsdaYieldCurveId} from the
+ * {@link IsdaYieldCurveInputs} of the same currency.
+ * The curve is calibrated once for each scenario and shared by all trades that require it.
+ */
+public class IsdaYieldCurveMarketDataFunction
+    implements MarketDataFunction<NodalCurve, IsdaYieldCurveId> {
+
+  /**
+   * The pricer used to calibrate the curve.
+   */
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+
+  @Override
+  public MarketDataRequirements requirements(IsdaYieldCurveId id, MarketDataConfig config) {
+    return MarketDataRequirements.builder()
+        .addValues(IsdaYieldCurveInputsId.of(id.getCurrency()))
+        .build();
+  }
+
+  @Override
+  public MarketDataBox<NodalCurve> build(
+      IsdaYieldCurveId id,
+      MarketDataConfig config,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    MarketDataBox<IsdaYieldCurveInputs> inputsBox = marketData.getValue(IsdaYieldCurveInputsId.of(id.getCurrency()));
+    return marketData.getValuationDate().combineWith(inputsBox, PRICER::calibrateYieldCurve);
+  }
+
+  @Override
+  public Class<IsdaYieldCurveId> getMarketDataIdType() {
+    return IsdaYieldCurveId.class;
+  }
+
+}
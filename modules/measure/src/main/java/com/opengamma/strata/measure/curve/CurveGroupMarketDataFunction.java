@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -49,6 +50,10 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
    * The default analytics object that performs the curve calibration.
    */
   private final CalibrationMeasures calibrationMeasures;
+  /**
+   * Whether scenarios are calibrated in parallel.
+   */
+  private final boolean parallelScenarios;
 
   //-------------------------------------------------------------------------
   /**
@@ -71,7 +76,26 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
    * @param calibrationMeasures  the calibration measures to be used in the calibrator
    */
   public CurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures) {
+    this(calibrationMeasures, false);
+  }
+
+  /**
+   * Creates a new function for building curve groups, specifying whether scenarios are calibrated in parallel.
+   * <p>
+   * The default calibrator is specified. The {@link MarketDataConfig} may contain a
+   * {@link RootFinderConfig} that alters the tolerances used in calibration.
+   * <p>
+   * When there are multiple scenarios and parallel calibration is enabled, the first scenario is calibrated first.
+   * The remaining scenarios are then calibrated in parallel using the fork-join common pool, with the root finder
+   * for each scenario warm-started from the curves of the first scenario. This typically requires
+   * fewer iterations, as scenarios are usually small perturbations of one another.
+   *
+   * @param calibrationMeasures  the calibration measures to be used in the calibrator
+   * @param parallelScenarios  true to calibrate scenarios in parallel
+   */
+  public CurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures, boolean parallelScenarios) {
     this.calibrationMeasures = ArgChecker.notNull(calibrationMeasures, "calibrationMeasures");
+    this.parallelScenarios = parallelScenarios;
   }
 
   //-------------------------------------------------------------------------
@@ -168,19 +192,65 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
       ReferenceData refData) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
+    if (parallelScenarios) {
+      return buildMultipleCurveGroupsInParallel(
+          configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, scenarioCount);
+    }
     ImmutableList.Builder<CurveGroup> builder = ImmutableList.builder();
 
     for (int i = 0; i < scenarioCount; i++) {
-      LocalDate valuationDate = valuationDateBox.getValue(scenarioCount);
-      CurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
-      List<CurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
-      MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
+      builder.add(toCurveGroup(configuredGroup.getName(), calibrateScenario(
+          configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, i, null)));
     }
     ImmutableList<CurveGroup> curveGroups = builder.build();
     return MarketDataBox.ofScenarioValues(curveGroups);
   }
 
+  // calibrates the first scenario, then the remaining scenarios in parallel warm-started from the first
+  private MarketDataBox<CurveGroup> buildMultipleCurveGroupsInParallel(
+      CurveGroupDefinition configuredGroup,
+      CurveCalibrator calibrator,
+      MarketDataBox<LocalDate> valuationDateBox,
+      List<MarketDataBox<CurveInputs>> inputBoxes,
+      Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
+      ReferenceData refData,
+      int scenarioCount) {
+
+    ImmutableRatesProvider baseProvider = calibrateScenario(
+        configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, 0, null);
+    List<CurveGroup> otherGroups = IntStream.range(1, scenarioCount)
+        .parallel()
+        .mapToObj(i -> toCurveGroup(configuredGroup.getName(), calibrateScenario(
+            configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, i, baseProvider)))
+        .collect(toImmutableList());
+    ImmutableList<CurveGroup> curveGroups = ImmutableList.<CurveGroup>builder()
+        .add(toCurveGroup(configuredGroup.getName(), baseProvider))
+        .addAll(otherGroups)
+        .build();
+    return MarketDataBox.ofScenarioValues(curveGroups);
+  }
+
+  // calibrates a single scenario, warm-starting from the starting provider if not null
+  private ImmutableRatesProvider calibrateScenario(
+      CurveGroupDefinition configuredGroup,
+      CurveCalibrator calibrator,
+      MarketDataBox<LocalDate> valuationDateBox,
+      List<MarketDataBox<CurveInputs>> inputBoxes,
+      Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
+      ReferenceData refData,
+      int scenarioIndex,
+      ImmutableRatesProvider startingProvider) {
+
+    LocalDate valuationDate = valuationDateBox.getValue(scenarioIndex);
+    CurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
+    List<CurveInputs> curveInputsList = inputsForScenario(inputBoxes, scenarioIndex);
+    MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
+    if (startingProvider != null) {
+      return calibrator.calibrate(filteredGroup, inputs, refData, startingProvider);
+    }
+    return calibrator.calibrate(filteredGroup, inputs, refData);
+  }
+
   private static List<CurveInputs> inputsForScenario(List<MarketDataBox<CurveInputs>> boxes, int scenarioIndex) {
     return boxes.stream()
         .map(box -> box.getValue(scenarioIndex))
@@ -252,8 +322,13 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
         marketData,
         refData);
 
+    return toCurveGroup(groupDefn.getName(), calibratedProvider);
+  }
+
+  // converts the calibrated provider to a curve group
+  private static CurveGroup toCurveGroup(CurveGroupName groupName, ImmutableRatesProvider calibratedProvider) {
     return CurveGroup.of(
-        groupDefn.getName(),
+        groupName,
         calibratedProvider.getDiscountCurves(),
         calibratedProvider.getIndexCurves());
   }
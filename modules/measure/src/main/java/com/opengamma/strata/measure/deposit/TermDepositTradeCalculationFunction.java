@@ -18,6 +18,7 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.FunctionUtils;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -123,7 +124,7 @@ public class TermDepositTradeCalculationFunction
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedTermDepositTrade resolved = trade.resolve(refData);
+    ResolvedTermDepositTrade resolved = FunctionUtils.resolve(trade, refData);
 
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
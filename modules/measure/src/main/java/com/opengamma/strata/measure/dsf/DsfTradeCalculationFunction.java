@@ -19,6 +19,7 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.FunctionUtils;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FieldName;
@@ -141,7 +142,7 @@ public class DsfTradeCalculationFunction
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedDsfTrade resolved = trade.resolve(refData);
+    ResolvedDsfTrade resolved = FunctionUtils.resolve(trade, refData);
 
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
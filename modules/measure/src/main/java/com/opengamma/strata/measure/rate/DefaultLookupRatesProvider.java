@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.joda.beans.BeanDefinition;
@@ -76,6 +77,26 @@ final class DefaultLookupRatesProvider
    * The FX rate provider.
    */
   private final FxRateProvider fxRateProvider;  // derived
+  /**
+   * The discount factors, cached by currency.
+   */
+  private final ConcurrentHashMap<Currency, DiscountFactors> discountFactorsCache =
+      new ConcurrentHashMap<>();  // derived
+  /**
+   * The Ibor index rates, cached by index.
+   */
+  private final ConcurrentHashMap<IborIndex, IborIndexRates> iborIndexRatesCache =
+      new ConcurrentHashMap<>();  // derived
+  /**
+   * The Overnight index rates, cached by index.
+   */
+  private final ConcurrentHashMap<OvernightIndex, OvernightIndexRates> overnightIndexRatesCache =
+      new ConcurrentHashMap<>();  // derived
+  /**
+   * The forward FX rates, cached by currency pair.
+   */
+  private final ConcurrentHashMap<CurrencyPair, FxForwardRates> fxForwardRatesCache =
+      new ConcurrentHashMap<>();  // derived
 
   //-------------------------------------------------------------------------
   /**
@@ -164,6 +185,12 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public DiscountFactors discountFactors(Currency currency) {
+    DiscountFactors factors = discountFactorsCache.get(currency);
+    return factors != null ? factors : discountFactorsCache.computeIfAbsent(currency, this::createDiscountFactors);
+  }
+
+  // create the discount factors, called once per currency
+  private DiscountFactors createDiscountFactors(Currency currency) {
     CurveId curveId = lookup.getDiscountCurves().get(currency);
     if (curveId == null) {
       throw new IllegalArgumentException(lookup.msgCurrencyNotFound(currency));
@@ -182,15 +209,27 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    FxForwardRates rates = fxForwardRatesCache.get(currencyPair);
+    return rates != null ? rates : fxForwardRatesCache.computeIfAbsent(currencyPair, this::createFxForwardRates);
+  }
+
+  // create the forward FX rates, called once per currency pair
+  private FxForwardRates createFxForwardRates(CurrencyPair currencyPair) {
     DiscountFactors base = discountFactors(currencyPair.getBase());
     DiscountFactors counter = discountFactors(currencyPair.getCounter());
     FxRate fxRate = FxRate.of(currencyPair, fxRate(currencyPair));
     return DiscountFxForwardRates.of(currencyPair, fxRate, base, counter);
-  };
+  }
 
   //-------------------------------------------------------------------------
   @Override
   public IborIndexRates iborIndexRates(IborIndex index) {
+    IborIndexRates rates = iborIndexRatesCache.get(index);
+    return rates != null ? rates : iborIndexRatesCache.computeIfAbsent(index, this::createIborIndexRates);
+  }
+
+  // create the Ibor index rates, called once per index
+  private IborIndexRates createIborIndexRates(IborIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       throw new IllegalArgumentException(lookup.msgIndexNotFound(index));
@@ -202,6 +241,12 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    OvernightIndexRates rates = overnightIndexRatesCache.get(index);
+    return rates != null ? rates : overnightIndexRatesCache.computeIfAbsent(index, this::createOvernightIndexRates);
+  }
+
+  // create the Overnight index rates, called once per index
+  private OvernightIndexRates createOvernightIndexRates(OvernightIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       throw new IllegalArgumentException(lookup.msgIndexNotFound(index));
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import static java.util.stream.Collectors.toList;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,6 +27,7 @@ import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -44,6 +46,7 @@ import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityLedger;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
 import com.opengamma.strata.product.swap.NotionalPaymentPeriod;
 import com.opengamma.strata.product.swap.SwapPaymentPeriod;
@@ -80,6 +83,11 @@ final class SwapMeasureCalculations {
    * Pricer for {@link ResolvedSwapTrade}.
    */
   private final DiscountingSwapTradePricer tradePricer;
+  /**
+   * Whether present value is calculated for all scenarios at once where possible.
+   * This is only used with the default pricer, as the vectorised path matches the default pricer.
+   */
+  private final boolean vectorised;
 
   /**
    * Creates an instance.
@@ -89,6 +97,7 @@ final class SwapMeasureCalculations {
   SwapMeasureCalculations(
       DiscountingSwapTradePricer tradePricer) {
     this.tradePricer = ArgChecker.notNull(tradePricer, "tradePricer");
+    this.vectorised = tradePricer == DiscountingSwapTradePricer.DEFAULT;
   }
 
   //-------------------------------------------------------------------------
@@ -97,11 +106,38 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
+    if (vectorised) {
+      Optional<SwapScenarioPricer> scenarioPricer = SwapScenarioPricer.of(trade.getProduct());
+      if (scenarioPricer.isPresent()) {
+        return scenarioPricer.get().multiCurrencyPresentValue(marketData);
+      }
+    }
     return MultiCurrencyScenarioArray.of(
         marketData.getScenarioCount(),
         i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
   }
 
+  // calculates present value for all scenarios of a single currency swap
+  CurrencyScenarioArray singleCurrencyPresentValue(
+      ResolvedSwapTrade trade,
+      RatesScenarioMarketData marketData) {
+
+    ResolvedSwap product = trade.getProduct();
+    if (product.isCrossCurrency()) {
+      throw new IllegalArgumentException("Swap must not be cross-currency");
+    }
+    if (vectorised) {
+      Optional<SwapScenarioPricer> scenarioPricer = SwapScenarioPricer.of(product);
+      if (scenarioPricer.isPresent()) {
+        return scenarioPricer.get().presentValue(marketData);
+      }
+    }
+    Currency currency = product.getLegs().get(0).getCurrency();
+    return CurrencyScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> presentValue(trade, marketData.scenario(i).ratesProvider()).getAmount(currency));
+  }
+
   // present value for one scenario
   MultiCurrencyAmount presentValue(
       ResolvedSwapTrade trade,
@@ -169,6 +205,30 @@ final class SwapMeasureCalculations {
     return ratesProvider.parameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates calibrated bucketed PV01 for a portfolio of trades for all scenarios
+  ScenarioArray<CurrencyParameterSensitivities> portfolioPv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesScenarioMarketData marketData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> portfolioPv01CalibratedBucketed(trades, marketData.scenario(i).ratesProvider()));
+  }
+
+  // calibrated bucketed PV01 for a portfolio of trades for one scenario
+  // the point sensitivities of all trades are accumulated and converted once
+  CurrencyParameterSensitivities portfolioPv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    ParameterSensitivityLedger ledger = ParameterSensitivityLedger.of(ratesProvider);
+    for (ResolvedSwapTrade trade : trades) {
+      ledger.add(tradePricer.presentValueSensitivity(trade, ratesProvider));
+    }
+    return ledger.build().multipliedBy(ONE_BASIS_POINT);
+  }
+
   //-------------------------------------------------------------------------
   // calculates market quote sum PV01 for all scenarios
   MultiCurrencyScenarioArray pv01MarketQuoteSum(
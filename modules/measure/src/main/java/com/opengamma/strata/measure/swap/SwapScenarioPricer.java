@@ -0,0 +1,306 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * Scenario-vectorised present value for simple swaps.
+ * <p>
+ * The period-level data of the swap, such as payment dates, accrual year fractions and Ibor observations,
+ * is extracted once into primitive arrays. The present value is then calculated for all scenarios,
+ * querying the discount factors and Ibor index rates once per scenario rather than once per period.
+ * <p>
+ * The result is the same as {@link com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer#DEFAULT}.
+ * Only swaps where each payment period is a {@link RatePaymentPeriod} with a single accrual period,
+ * a fixed or Ibor rate and no FX reset, and each payment event is a {@link NotionalExchange}
+ * in the currency of the leg, are supported.
+ */
+final class SwapScenarioPricer {
+
+  /**
+   * The legs of the swap.
+   */
+  private final ImmutableList<LegData> legs;
+  /**
+   * Whether the swap is cross-currency.
+   */
+  private final boolean crossCurrency;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the specified swap, empty if the swap is not supported.
+   *
+   * @param swap  the swap
+   * @return the pricer, empty if the swap is not supported
+   */
+  static Optional<SwapScenarioPricer> of(ResolvedSwap swap) {
+    List<LegData> legs = new ArrayList<>();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      Optional<LegData> legData = LegData.of(leg);
+      if (!legData.isPresent()) {
+        return Optional.empty();
+      }
+      legs.add(legData.get());
+    }
+    return Optional.of(new SwapScenarioPricer(ImmutableList.copyOf(legs), swap.isCrossCurrency()));
+  }
+
+  // restricted constructor
+  private SwapScenarioPricer(ImmutableList<LegData> legs, boolean crossCurrency) {
+    this.legs = legs;
+    this.crossCurrency = crossCurrency;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of each leg for all scenarios.
+   * <p>
+   * The result is expressed in the currency of each leg.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value of each leg, one entry per scenario
+   */
+  ImmutableList<CurrencyScenarioArray> legPresentValue(RatesScenarioMarketData marketData) {
+    int scenarioCount = marketData.getScenarioCount();
+    double[][] values = new double[legs.size()][scenarioCount];
+    for (int i = 0; i < scenarioCount; i++) {
+      RatesProvider provider = marketData.scenario(i).ratesProvider();
+      for (int j = 0; j < legs.size(); j++) {
+        values[j][i] = legs.get(j).presentValue(provider);
+      }
+    }
+    ImmutableList.Builder<CurrencyScenarioArray> builder = ImmutableList.builder();
+    for (int j = 0; j < legs.size(); j++) {
+      builder.add(CurrencyScenarioArray.of(legs.get(j).currency, DoubleArray.ofUnsafe(values[j])));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Calculates the present value of a single currency swap for all scenarios.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value, one entry per scenario
+   * @throws IllegalArgumentException if the swap is cross-currency
+   */
+  CurrencyScenarioArray presentValue(RatesScenarioMarketData marketData) {
+    if (crossCurrency) {
+      throw new IllegalArgumentException("Swap must not be cross-currency");
+    }
+    ImmutableList<CurrencyScenarioArray> legValues = legPresentValue(marketData);
+    double[] total = new double[marketData.getScenarioCount()];
+    for (CurrencyScenarioArray legValue : legValues) {
+      DoubleArray values = legValue.getAmounts().getValues();
+      for (int i = 0; i < total.length; i++) {
+        total[i] += values.get(i);
+      }
+    }
+    return CurrencyScenarioArray.of(legs.get(0).currency, DoubleArray.ofUnsafe(total));
+  }
+
+  /**
+   * Calculates the present value of the swap for all scenarios.
+   * <p>
+   * The result is expressed in the currency of each leg.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value, one entry per scenario
+   */
+  MultiCurrencyScenarioArray multiCurrencyPresentValue(RatesScenarioMarketData marketData) {
+    Map<Currency, DoubleArray> values = new LinkedHashMap<>();
+    if (crossCurrency) {
+      for (CurrencyScenarioArray legValue : legPresentValue(marketData)) {
+        values.merge(legValue.getCurrency(), legValue.getAmounts().getValues(), DoubleArray::plus);
+      }
+    } else {
+      CurrencyScenarioArray value = presentValue(marketData);
+      values.put(value.getCurrency(), value.getAmounts().getValues());
+    }
+    return MultiCurrencyScenarioArray.of(values);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The extracted data of a single leg.
+   * <p>
+   * Payment periods and payment events are held in parallel arrays.
+   * For payment periods with a fixed rate, the observation is null.
+   */
+  private static final class LegData {
+    private final Currency currency;
+    private final LocalDate[] paymentDates;
+    private final double[] notionals;
+    private final double[] yearFractions;
+    private final double[] gearings;
+    private final double[] spreads;
+    private final double[] fixedRates;
+    private final IborIndexObservation[] observations;
+    private final int[] indexPositions;
+    private final NegativeRateMethod[] negativeRateMethods;
+    private final ImmutableList<IborIndex> indices;
+    private final LocalDate[] eventPaymentDates;
+    private final double[] eventAmounts;
+
+    // extracts the data, empty if the leg is not supported
+    private static Optional<LegData> of(ResolvedSwapLeg leg) {
+      Currency currency = leg.getCurrency();
+      ImmutableList<SwapPaymentPeriod> periods = leg.getPaymentPeriods();
+      int periodCount = periods.size();
+      LocalDate[] paymentDates = new LocalDate[periodCount];
+      double[] notionals = new double[periodCount];
+      double[] yearFractions = new double[periodCount];
+      double[] gearings = new double[periodCount];
+      double[] spreads = new double[periodCount];
+      double[] fixedRates = new double[periodCount];
+      IborIndexObservation[] observations = new IborIndexObservation[periodCount];
+      int[] indexPositions = new int[periodCount];
+      NegativeRateMethod[] negativeRateMethods = new NegativeRateMethod[periodCount];
+      List<IborIndex> indices = new ArrayList<>();
+      for (int i = 0; i < periodCount; i++) {
+        if (!(periods.get(i) instanceof RatePaymentPeriod)) {
+          return Optional.empty();
+        }
+        RatePaymentPeriod period = (RatePaymentPeriod) periods.get(i);
+        if (period.getFxReset().isPresent() || period.getAccrualPeriods().size() != 1) {
+          return Optional.empty();
+        }
+        RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+        RateComputation computation = accrualPeriod.getRateComputation();
+        if (computation instanceof FixedRateComputation) {
+          fixedRates[i] = ((FixedRateComputation) computation).getRate();
+        } else if (computation instanceof IborRateComputation) {
+          IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+          if (!indices.contains(observation.getIndex())) {
+            indices.add(observation.getIndex());
+          }
+          observations[i] = observation;
+          indexPositions[i] = indices.indexOf(observation.getIndex());
+        } else {
+          return Optional.empty();
+        }
+        paymentDates[i] = period.getPaymentDate();
+        notionals[i] = period.getNotional();
+        yearFractions[i] = accrualPeriod.getYearFraction();
+        gearings[i] = accrualPeriod.getGearing();
+        spreads[i] = accrualPeriod.getSpread();
+        negativeRateMethods[i] = accrualPeriod.getNegativeRateMethod();
+      }
+      ImmutableList<SwapPaymentEvent> events = leg.getPaymentEvents();
+      LocalDate[] eventPaymentDates = new LocalDate[events.size()];
+      double[] eventAmounts = new double[events.size()];
+      for (int i = 0; i < events.size(); i++) {
+        if (!(events.get(i) instanceof NotionalExchange) || !events.get(i).getCurrency().equals(currency)) {
+          return Optional.empty();
+        }
+        NotionalExchange event = (NotionalExchange) events.get(i);
+        eventPaymentDates[i] = event.getPaymentDate();
+        eventAmounts[i] = event.getPaymentAmount().getAmount();
+      }
+      return Optional.of(new LegData(
+          currency,
+          paymentDates,
+          notionals,
+          yearFractions,
+          gearings,
+          spreads,
+          fixedRates,
+          observations,
+          indexPositions,
+          negativeRateMethods,
+          indices.stream().collect(toImmutableList()),
+          eventPaymentDates,
+          eventAmounts));
+    }
+
+    private LegData(
+        Currency currency,
+        LocalDate[] paymentDates,
+        double[] notionals,
+        double[] yearFractions,
+        double[] gearings,
+        double[] spreads,
+        double[] fixedRates,
+        IborIndexObservation[] observations,
+        int[] indexPositions,
+        NegativeRateMethod[] negativeRateMethods,
+        ImmutableList<IborIndex> indices,
+        LocalDate[] eventPaymentDates,
+        double[] eventAmounts) {
+
+      this.currency = currency;
+      this.paymentDates = paymentDates;
+      this.notionals = notionals;
+      this.yearFractions = yearFractions;
+      this.gearings = gearings;
+      this.spreads = spreads;
+      this.fixedRates = fixedRates;
+      this.observations = observations;
+      this.indexPositions = indexPositions;
+      this.negativeRateMethods = negativeRateMethods;
+      this.indices = indices;
+      this.eventPaymentDates = eventPaymentDates;
+      this.eventAmounts = eventAmounts;
+    }
+
+    // the present value of the periods and then the events, in the same order as the leg pricer
+    private double presentValue(RatesProvider provider) {
+      LocalDate valuationDate = provider.getValuationDate();
+      DiscountFactors discountFactors = provider.discountFactors(currency);
+      IborIndexRates[] rates = new IborIndexRates[indices.size()];
+      for (int i = 0; i < rates.length; i++) {
+        rates[i] = provider.iborIndexRates(indices.get(i));
+      }
+      double totalPeriods = 0d;
+      for (int i = 0; i < paymentDates.length; i++) {
+        if (!paymentDates[i].isBefore(valuationDate)) {
+          double rawRate = observations[i] == null ? fixedRates[i] : rates[indexPositions[i]].rate(observations[i]);
+          double treatedRate = rawRate * gearings[i] + spreads[i];
+          double forecastValue = negativeRateMethods[i].adjust(treatedRate * yearFractions[i]) * notionals[i];
+          totalPeriods += forecastValue * discountFactors.discountFactor(paymentDates[i]);
+        }
+      }
+      double totalEvents = 0d;
+      for (int i = 0; i < eventPaymentDates.length; i++) {
+        if (!eventPaymentDates[i].isBefore(valuationDate)) {
+          totalEvents += eventAmounts[i] * discountFactors.discountFactor(eventPaymentDates[i]);
+        }
+      }
+      return totalPeriods + totalEvents;
+    }
+  }
+
+}
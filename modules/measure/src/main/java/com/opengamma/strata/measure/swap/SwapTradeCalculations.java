@@ -5,7 +5,10 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -72,6 +75,26 @@ public class SwapTradeCalculations {
     return calc.presentValue(trade, lookup.marketDataView(marketData));
   }
 
+  /**
+   * Calculates present value of a single currency swap across one or more scenarios.
+   * <p>
+   * This is the same as {@link #presentValue(ResolvedSwapTrade, RatesMarketDataLookup, ScenarioMarketData)},
+   * except that the result is expressed as a single array in the currency of the swap.
+   * 
+   * @param trade  the trade
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value, one entry per scenario
+   * @throws IllegalArgumentException if the swap is cross-currency
+   */
+  public CurrencyScenarioArray singleCurrencyPresentValue(
+      ResolvedSwapTrade trade,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.singleCurrencyPresentValue(trade, lookup.marketDataView(marketData));
+  }
+
   /**
    * Calculates present value for a single set of market data.
    * 
@@ -207,6 +230,48 @@ public class SwapTradeCalculations {
     return calc.pv01CalibratedBucketed(trade, ratesProvider);
   }
 
+  /**
+   * Calculates present value sensitivity of a portfolio of trades across one or more scenarios.
+   * <p>
+   * This is the sum of the {@linkplain #pv01CalibratedBucketed(ResolvedSwapTrade, RatesMarketDataLookup,
+   * ScenarioMarketData) present value sensitivity} of each trade.
+   * The point sensitivities of all the trades are accumulated before being converted to
+   * parameter sensitivities, which is much faster than calculating each trade separately.
+   * The result is provided for each affected curve and currency, bucketed by curve node.
+   * 
+   * @param trades  the trades
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value sensitivity of the portfolio, one entry per scenario
+   */
+  public ScenarioArray<CurrencyParameterSensitivities> portfolioPv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.portfolioPv01CalibratedBucketed(trades, lookup.marketDataView(marketData));
+  }
+
+  /**
+   * Calculates present value sensitivity of a portfolio of trades for a single set of market data.
+   * <p>
+   * This is the sum of the {@linkplain #pv01CalibratedBucketed(ResolvedSwapTrade, RatesProvider)
+   * present value sensitivity} of each trade.
+   * The point sensitivities of all the trades are accumulated before being converted to
+   * parameter sensitivities, which is much faster than calculating each trade separately.
+   * The result is provided for each affected curve and currency, bucketed by curve node.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the market data
+   * @return the present value sensitivity of the portfolio
+   */
+  public CurrencyParameterSensitivities portfolioPv01CalibratedBucketed(
+      List<ResolvedSwapTrade> trades,
+      RatesProvider ratesProvider) {
+
+    return calc.portfolioPv01CalibratedBucketed(trades, ratesProvider);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates present value sensitivity across one or more scenarios.
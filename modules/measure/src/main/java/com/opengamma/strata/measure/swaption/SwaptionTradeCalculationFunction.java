@@ -19,6 +19,7 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.FunctionUtils;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -128,7 +129,7 @@ public class SwaptionTradeCalculationFunction
       ReferenceData refData) {
 
     // expand the trade once for all measures and all scenarios
-    ResolvedSwaptionTrade resolved = trade.resolve(refData);
+    ResolvedSwaptionTrade resolved = FunctionUtils.resolve(trade, refData);
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData ratesMarketData = ratesLookup.marketDataView(scenarioMarketData);
     SwaptionMarketDataLookup swaptionLookup = parameters.getParameter(SwaptionMarketDataLookup.class);
@@ -16,6 +16,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -60,6 +61,7 @@ import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.CurveCalibrator;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -183,6 +185,56 @@ public class CurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  /**
+   * Tests that calibrating scenarios in parallel produces the same curves as calibrating them sequentially.
+   */
+  public void parallelScenarios() {
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraCurveDefinition();
+    List<MarketDataId<?>> keys = curveDefn.getNodes().stream()
+        .map(FraCurveNode.class::cast)
+        .map(CurveTestUtils::key)
+        .collect(toImmutableList());
+    double[] rates = {0.003, 0.0033, 0.0037, 0.0054, 0.007, 0.0091, 0.0134};
+
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    CurveName curveName = CurveName.of("FRA Curve");
+    List<CurveInputs> scenarioInputs = IntStream.range(0, 4)
+        .mapToObj(scenario -> {
+          ImmutableMap.Builder<MarketDataId<?>, Double> inputData = ImmutableMap.builder();
+          for (int i = 0; i < keys.size(); i++) {
+            inputData.put(keys.get(i), rates[i] + scenario * 0.0001);
+          }
+          return CurveInputs.of(inputData.build(), DefaultCurveMetadata.of(curveName));
+        })
+        .collect(toImmutableList());
+
+    CurveGroupDefinition groupDefn = CurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+    LocalDate valuationDate = date(2011, 3, 8);
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(valuationDate)
+        .addScenarioValue(CurveInputsId.of(groupName, curveName, ObservableSource.NONE), scenarioInputs)
+        .build();
+
+    CurveGroupMarketDataFunction sequential = new CurveGroupMarketDataFunction();
+    CurveGroupMarketDataFunction parallel = new CurveGroupMarketDataFunction(CalibrationMeasures.PAR_SPREAD, true);
+    MarketDataBox<CurveGroup> expected =
+        sequential.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    MarketDataBox<CurveGroup> computed =
+        parallel.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+
+    assertThat(computed.getScenarioCount()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      Curve expectedCurve = expected.getValue(i).findDiscountCurve(Currency.USD).get();
+      Curve computedCurve = computed.getValue(i).findDiscountCurve(Currency.USD).get();
+      assertThat(computedCurve.getParameterCount()).isEqualTo(expectedCurve.getParameterCount());
+      for (int j = 0; j < expectedCurve.getParameterCount(); j++) {
+        assertThat(computedCurve.getParameter(j)).isCloseTo(expectedCurve.getParameter(j), offset(1e-8));
+      }
+    }
+  }
+
   /**
    * Tests that par rates are required for curves.
    */
@@ -22,6 +22,7 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -167,16 +168,19 @@ public class RatesMarketDataLookupTest {
     // check discount factors
     SimpleDiscountFactors df = (SimpleDiscountFactors) ratesProvider.discountFactors(USD);
     assertEquals(df.getCurve().getName(), dscCurve.getName());
+    assertSame(ratesProvider.discountFactors(USD), df);
     assertThrowsIllegalArg(() -> ratesProvider.discountFactors(GBP));
     // check Ibor
     DiscountIborIndexRates ibor = (DiscountIborIndexRates) ratesProvider.iborIndexRates(USD_LIBOR_3M);
     SimpleDiscountFactors iborDf = (SimpleDiscountFactors) ibor.getDiscountFactors();
     assertEquals(iborDf.getCurve().getName(), fwdCurve.getName());
+    assertSame(ratesProvider.iborIndexRates(USD_LIBOR_3M), ibor);
     assertThrowsIllegalArg(() -> ratesProvider.iborIndexRates(GBP_LIBOR_3M));
     // check Overnight
     DiscountOvernightIndexRates on = (DiscountOvernightIndexRates) ratesProvider.overnightIndexRates(USD_FED_FUND);
     SimpleDiscountFactors onDf = (SimpleDiscountFactors) on.getDiscountFactors();
     assertEquals(onDf.getCurve().getName(), dscCurve.getName());
+    assertSame(ratesProvider.overnightIndexRates(USD_FED_FUND), on);
     assertThrowsIllegalArg(() -> ratesProvider.overnightIndexRates(GBP_SONIA));
     // check price curve must be interpolated
     assertThrowsIllegalArg(() -> ratesProvider.priceIndexValues(US_CPI_U));
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.pricer.swap.SwapDummyData.KNOWN_AMOUNT_SWAP_LEG;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapLegPricer;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Test {@link SwapScenarioPricer}.
+ */
+@Test
+public class SwapScenarioPricerTest {
+
+  private static final ResolvedSwapTrade RTRADE = SwapTradeCalculationFunctionTest.RTRADE;
+  private static final RatesMarketDataLookup RATES_LOOKUP = SwapTradeCalculationFunctionTest.RATES_LOOKUP;
+  private static final double TOLERANCE = 1e-8;
+
+  public void test_presentValue() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesScenarioMarketData ratesMarketData = RATES_LOOKUP.marketDataView(md);
+    RatesProvider provider = ratesMarketData.scenario(0).ratesProvider();
+    MultiCurrencyAmount expected = DiscountingSwapTradePricer.DEFAULT.presentValue(RTRADE, provider);
+
+    SwapScenarioPricer test = SwapScenarioPricer.of(RTRADE.getProduct()).get();
+    CurrencyScenarioArray pv = test.presentValue(ratesMarketData);
+    assertEquals(pv.getScenarioCount(), 1);
+    assertEquals(pv.get(0).getAmount(), expected.getAmount(pv.getCurrency()).getAmount(), TOLERANCE);
+    assertEquals(test.multiCurrencyPresentValue(ratesMarketData).get(0), MultiCurrencyAmount.of(pv.get(0)));
+  }
+
+  public void test_legPresentValue() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesScenarioMarketData ratesMarketData = RATES_LOOKUP.marketDataView(md);
+    RatesProvider provider = ratesMarketData.scenario(0).ratesProvider();
+
+    SwapScenarioPricer test = SwapScenarioPricer.of(RTRADE.getProduct()).get();
+    int legIndex = 0;
+    for (CurrencyScenarioArray legPv : test.legPresentValue(ratesMarketData)) {
+      ResolvedSwapLeg leg = RTRADE.getProduct().getLegs().get(legIndex++);
+      double expected = DiscountingSwapLegPricer.DEFAULT.presentValue(leg, provider).getAmount();
+      assertEquals(legPv.getCurrency(), leg.getCurrency());
+      assertEquals(legPv.get(0).getAmount(), expected, TOLERANCE);
+    }
+  }
+
+  public void test_unsupported() {
+    assertFalse(SwapScenarioPricer.of(ResolvedSwap.of(KNOWN_AMOUNT_SWAP_LEG, KNOWN_AMOUNT_SWAP_LEG)).isPresent());
+  }
+
+}
@@ -6,11 +6,15 @@
 package com.opengamma.strata.measure.swap;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -69,6 +73,18 @@ public class SwapTradeCalculationsTest {
         MultiCurrencyScenarioArray.of(ImmutableList.of(expectedCurrentCash)));
   }
 
+  public void test_singleCurrencyPresentValue() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
+    Currency currency = RTRADE.getProduct().getLegs().get(0).getCurrency();
+    CurrencyAmount expectedPv = DiscountingSwapTradePricer.DEFAULT.presentValue(RTRADE, provider).getAmount(currency);
+
+    CurrencyScenarioArray pv = SwapTradeCalculations.DEFAULT.singleCurrencyPresentValue(RTRADE, RATES_LOOKUP, md);
+    assertEquals(pv.getCurrency(), currency);
+    assertEquals(pv.getScenarioCount(), 1);
+    assertEquals(pv.get(0).getAmount(), expectedPv.getAmount(), 1e-8);
+  }
+
   public void test_pv01() {
     ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
     RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
@@ -86,4 +102,20 @@ public class SwapTradeCalculationsTest {
         ScenarioArray.of(ImmutableList.of(expectedPv01CalBucketed)));
   }
 
+  public void test_portfolioPv01() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
+    ImmutableList<ResolvedSwapTrade> trades = ImmutableList.of(RTRADE, RTRADE, RTRADE);
+    CurrencyParameterSensitivities single = SwapTradeCalculations.DEFAULT.pv01CalibratedBucketed(RTRADE, provider);
+    CurrencyParameterSensitivities expected = single.combinedWith(single).combinedWith(single);
+
+    CurrencyParameterSensitivities computed =
+        SwapTradeCalculations.DEFAULT.portfolioPv01CalibratedBucketed(trades, provider);
+    assertTrue(computed.equalWithTolerance(expected, 1e-8));
+    ScenarioArray<CurrencyParameterSensitivities> scenarios =
+        SwapTradeCalculations.DEFAULT.portfolioPv01CalibratedBucketed(trades, RATES_LOOKUP, md);
+    assertEquals(scenarios.getScenarioCount(), 1);
+    assertTrue(scenarios.get(0).equalWithTolerance(expected, 1e-8));
+  }
+
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Optional;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -118,6 +119,25 @@ public interface DiscountFactors
    */
   public abstract double discountFactor(double yearFraction);
 
+  /**
+   * Gets the discount factors for the specified year fractions.
+   * <p>
+   * This is equivalent to calling {@link #discountFactor(double)} for each year fraction,
+   * storing the discount factor in the same position of the result array.
+   * The result array may be the array of year fractions, which is then overwritten.
+   * Implementations may be more efficient when the year fractions are sorted from low to high,
+   * such as when evaluating all the payment periods of a swap leg.
+   * 
+   * @param yearFractions  the year fractions
+   * @param result  the array to populate with the discount factors, at least as long as the year fractions
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default void discountFactor(double[] yearFractions, double[] result) {
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = discountFactor(yearFractions[i]);
+    }
+  }
+
   /**
    * Gets the discount factor for the specified date with z-spread.
    * <p>
@@ -198,6 +218,24 @@ public interface DiscountFactors
    */
   public abstract double zeroRate(double yearFraction);
 
+  /**
+   * Gets the continuously compounded zero rates for the specified year fractions.
+   * <p>
+   * This is equivalent to calling {@link #zeroRate(double)} for each year fraction,
+   * storing the zero rate in the same position of the result array.
+   * The result array may be the array of year fractions, which is then overwritten.
+   * Implementations may be more efficient when the year fractions are sorted from low to high.
+   * 
+   * @param yearFractions  the year fractions
+   * @param result  the array to populate with the zero rates, at least as long as the year fractions
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default void zeroRate(double[] yearFractions, double[] result) {
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = zeroRate(yearFractions[i]);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the zero rate point sensitivity at the specified date.
@@ -404,6 +442,55 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the sensitivity of the zero rate to the parameters for each of the specified year fractions.
+   * <p>
+   * Each row of the result is the parameter sensitivity of a unit point sensitivity to the zero rate
+   * at the year fraction with the same index, as returned by {@link #parameterSensitivity(ZeroRateSensitivity)}.
+   * Each row of the matrix must have one element for each parameter, and is fully overwritten.
+   * Implementations may be more efficient when the year fractions are sorted from low to high.
+   * 
+   * @param yearFractions  the year fractions
+   * @param result  the matrix to populate with the sensitivities, one row for each year fraction
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void zeroRateParameterSensitivity(double[] yearFractions, double[][] result) {
+    for (int i = 0; i < yearFractions.length; i++) {
+      double[] row = result[i];
+      Arrays.fill(row, 0d);
+      ZeroRateSensitivity unit = ZeroRateSensitivity.of(getCurrency(), yearFractions[i], 1d);
+      for (CurrencyParameterSensitivity sensitivity : parameterSensitivity(unit).getSensitivities()) {
+        DoubleArray values = sensitivity.getSensitivity();
+        for (int j = 0; j < values.size(); j++) {
+          row[j] += values.get(j);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the parameter sensitivity of a point sensitivity to the zero rate at the year fraction.
+   * <p>
+   * The values added are those of {@link #parameterSensitivity(ZeroRateSensitivity)} for a point
+   * sensitivity with the specified value, without creating the intermediate sensitivity objects.
+   * The array must have one element for each parameter,
+   * as in {@link #createParameterSensitivity(Currency, DoubleArray)}.
+   * 
+   * @param yearFraction  the year fraction
+   * @param sensitivity  the value of the point sensitivity
+   * @param result  the array to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void addZeroRateParameterSensitivity(double yearFraction, double sensitivity, double[] result) {
+    ZeroRateSensitivity point = ZeroRateSensitivity.of(getCurrency(), yearFraction, sensitivity);
+    for (CurrencyParameterSensitivity parameterSensitivity : parameterSensitivity(point).getSensitivities()) {
+      DoubleArray values = parameterSensitivity.getSensitivity();
+      for (int j = 0; j < values.size(); j++) {
+        result[j] += values.get(j);
+      }
+    }
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
@@ -28,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.YearFractionCache;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.MarketDataName;
@@ -77,6 +78,10 @@ public final class SimpleDiscountFactors
    * The day count convention of the curve.
    */
   private final DayCount dayCount;  // cached, not a property
+  /**
+   * The cache of year fractions from the valuation date, null if not used.
+   */
+  private final YearFractionCache yearFractionCache;  // optional, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -101,6 +106,16 @@ public final class SimpleDiscountFactors
       LocalDate valuationDate,
       Curve curve) {
 
+    this(currency, valuationDate, curve, null);
+  }
+
+  // creates an instance, using the cache of year fractions only if it matches the curve
+  private SimpleDiscountFactors(
+      Currency currency,
+      LocalDate valuationDate,
+      Curve curve,
+      YearFractionCache yearFractionCache) {
+
     ArgChecker.notNull(currency, "currency");
     ArgChecker.notNull(valuationDate, "valuationDate");
     ArgChecker.notNull(curve, "curve");
@@ -115,6 +130,8 @@ public final class SimpleDiscountFactors
     this.valuationDate = valuationDate;
     this.curve = curve;
     this.dayCount = dayCount;
+    this.yearFractionCache =
+        yearFractionCache != null && yearFractionCache.matches(dayCount, valuationDate) ? yearFractionCache : null;
   }
 
   //-------------------------------------------------------------------------
@@ -154,6 +171,9 @@ public final class SimpleDiscountFactors
   //-------------------------------------------------------------------------
   @Override
   public double relativeYearFraction(LocalDate date) {
+    if (yearFractionCache != null) {
+      return yearFractionCache.relativeYearFraction(date);
+    }
     return dayCount.relativeYearFraction(valuationDate, date);
   }
 
@@ -163,6 +183,12 @@ public final class SimpleDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public void discountFactor(double[] yearFractions, double[] result) {
+    // read discount factors directly off curve
+    curve.yValue(yearFractions, result);
+  }
+
   @Override
   public double discountFactorWithSpread(
       double yearFraction,
@@ -236,6 +262,15 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addZeroRateParameterSensitivity(double yearFraction, double sensitivity, double[] result) {
+    if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+      return; // Discount factor in 0 is always 1, no sensitivity.
+    }
+    double discountFactor = discountFactor(yearFraction);
+    curve.addYValueParameterSensitivity(yearFraction, -sensitivity / (yearFraction * discountFactor), result);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -249,7 +284,31 @@ public final class SimpleDiscountFactors
    * @return the new instance
    */
   public SimpleDiscountFactors withCurve(Curve curve) {
-    return new SimpleDiscountFactors(currency, valuationDate, curve);
+    return new SimpleDiscountFactors(currency, valuationDate, curve, yearFractionCache);
+  }
+
+  /**
+   * Returns a new instance that uses a cache of year fractions.
+   * <p>
+   * By default, the relative year fraction of each date is calculated using the day count of the curve.
+   * A cache avoids repeating this calculation for day counts where it is expensive, such as 'Bus/252'.
+   * The cache would typically be created for a calculation run and shared by all the discount factors
+   * of the run with the same day count and valuation date.
+   * The cache is retained by {@link #withCurve(Curve)} if it matches the day count of the new curve.
+   * 
+   * @param yearFractionCache  the cache, which must match the day count of the curve and the valuation date
+   * @return the new instance
+   * @throws IllegalArgumentException if the cache does not match the day count or valuation date
+   */
+  public SimpleDiscountFactors withYearFractionCache(YearFractionCache yearFractionCache) {
+    ArgChecker.notNull(yearFractionCache, "yearFractionCache");
+    ArgChecker.isTrue(
+        yearFractionCache.matches(dayCount, valuationDate),
+        "Year fraction cache {} does not match day count {} and valuation date {}",
+        yearFractionCache,
+        dayCount,
+        valuationDate);
+    return new SimpleDiscountFactors(currency, valuationDate, curve, yearFractionCache);
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -28,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.YearFractionCache;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.MarketDataName;
@@ -78,6 +79,10 @@ public final class ZeroRateDiscountFactors
    * The day count convention of the curve.
    */
   private final DayCount dayCount;  // cached, not a property
+  /**
+   * The cache of year fractions from the valuation date, null if not used.
+   */
+  private final YearFractionCache yearFractionCache;  // optional, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -102,6 +107,16 @@ public final class ZeroRateDiscountFactors
       LocalDate valuationDate,
       Curve curve) {
 
+    this(currency, valuationDate, curve, null);
+  }
+
+  // creates an instance, using the cache of year fractions only if it matches the curve
+  private ZeroRateDiscountFactors(
+      Currency currency,
+      LocalDate valuationDate,
+      Curve curve,
+      YearFractionCache yearFractionCache) {
+
     ArgChecker.notNull(currency, "currency");
     ArgChecker.notNull(valuationDate, "valuationDate");
     ArgChecker.notNull(curve, "curve");
@@ -116,6 +131,8 @@ public final class ZeroRateDiscountFactors
     this.valuationDate = valuationDate;
     this.curve = curve;
     this.dayCount = dayCount;
+    this.yearFractionCache =
+        yearFractionCache != null && yearFractionCache.matches(dayCount, valuationDate) ? yearFractionCache : null;
   }
 
   //-------------------------------------------------------------------------
@@ -155,6 +172,9 @@ public final class ZeroRateDiscountFactors
   //-------------------------------------------------------------------------
   @Override
   public double relativeYearFraction(LocalDate date) {
+    if (yearFractionCache != null) {
+      return yearFractionCache.relativeYearFraction(date);
+    }
     return dayCount.relativeYearFraction(valuationDate, date);
   }
 
@@ -164,6 +184,16 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public void discountFactor(double[] yearFractions, double[] result) {
+    // convert zero rates to discount factors, the year fractions are still needed if the arrays are the same
+    double[] zeroRates = result == yearFractions ? new double[yearFractions.length] : result;
+    curve.yValue(yearFractions, zeroRates);
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = Math.exp(-yearFractions[i] * zeroRates[i]);
+    }
+  }
+
   @Override
   public double discountFactorWithSpread(
       double yearFraction,
@@ -190,6 +220,11 @@ public final class ZeroRateDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public void zeroRate(double[] yearFractions, double[] result) {
+    curve.yValue(yearFractions, result);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency) {
@@ -228,6 +263,16 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addZeroRateParameterSensitivity(double yearFraction, double sensitivity, double[] result) {
+    curve.addYValueParameterSensitivity(yearFraction, sensitivity, result);
+  }
+
+  @Override
+  public void zeroRateParameterSensitivity(double[] yearFractions, double[][] result) {
+    curve.yValueParameterSensitivity(yearFractions, result);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -241,7 +286,31 @@ public final class ZeroRateDiscountFactors
    * @return the new instance
    */
   public ZeroRateDiscountFactors withCurve(Curve curve) {
-    return new ZeroRateDiscountFactors(currency, valuationDate, curve);
+    return new ZeroRateDiscountFactors(currency, valuationDate, curve, yearFractionCache);
+  }
+
+  /**
+   * Returns a new instance that uses a cache of year fractions.
+   * <p>
+   * By default, the relative year fraction of each date is calculated using the day count of the curve.
+   * A cache avoids repeating this calculation for day counts where it is expensive, such as 'Bus/252'.
+   * The cache would typically be created for a calculation run and shared by all the discount factors
+   * of the run with the same day count and valuation date.
+   * The cache is retained by {@link #withCurve(Curve)} if it matches the day count of the new curve.
+   * 
+   * @param yearFractionCache  the cache, which must match the day count of the curve and the valuation date
+   * @return the new instance
+   * @throws IllegalArgumentException if the cache does not match the day count or valuation date
+   */
+  public ZeroRateDiscountFactors withYearFractionCache(YearFractionCache yearFractionCache) {
+    ArgChecker.notNull(yearFractionCache, "yearFractionCache");
+    ArgChecker.isTrue(
+        yearFractionCache.matches(dayCount, valuationDate),
+        "Year fraction cache {} does not match day count {} and valuation date {}",
+        yearFractionCache,
+        dayCount,
+        valuationDate);
+    return new ZeroRateDiscountFactors(currency, valuationDate, curve, yearFractionCache);
   }
 
   //------------------------- AUTOGENERATED START -------------------------
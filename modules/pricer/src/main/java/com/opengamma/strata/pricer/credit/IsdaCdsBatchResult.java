@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The results of pricing a list of CDS products in one batch.
+ * <p>
+ * This is returned by {@link IsdaCdsPricer#priceBatch(List, com.opengamma.strata.data.MarketData)}.
+ * The results are held in arrays, with one element per product in the order of the input list.
+ * The present value and CS01 are expressed in the currency of the product.
+ */
+public final class IsdaCdsBatchResult {
+
+  /**
+   * The currency of each product.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The present value of each product.
+   */
+  private final DoubleArray presentValues;
+  /**
+   * The par rate of each product.
+   */
+  private final DoubleArray parRates;
+  /**
+   * The CS01 of each product, based on a parallel shift in hazard rates.
+   */
+  private final DoubleArray cs01s;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the arrays of results.
+   *
+   * @param currencies  the currency of each product
+   * @param presentValues  the present value of each product
+   * @param parRates  the par rate of each product
+   * @param cs01s  the CS01 of each product
+   * @return the result
+   */
+  public static IsdaCdsBatchResult of(
+      List<Currency> currencies,
+      DoubleArray presentValues,
+      DoubleArray parRates,
+      DoubleArray cs01s) {
+
+    return new IsdaCdsBatchResult(currencies, presentValues, parRates, cs01s);
+  }
+
+  // restricted constructor
+  private IsdaCdsBatchResult(
+      List<Currency> currencies,
+      DoubleArray presentValues,
+      DoubleArray parRates,
+      DoubleArray cs01s) {
+
+    ArgChecker.noNulls(currencies, "currencies");
+    ArgChecker.notNull(presentValues, "presentValues");
+    ArgChecker.notNull(parRates, "parRates");
+    ArgChecker.notNull(cs01s, "cs01s");
+    int size = currencies.size();
+    ArgChecker.isTrue(presentValues.size() == size, "Present values must have one element per product");
+    ArgChecker.isTrue(parRates.size() == size, "Par rates must have one element per product");
+    ArgChecker.isTrue(cs01s.size() == size, "CS01s must have one element per product");
+    this.currencies = ImmutableList.copyOf(currencies);
+    this.presentValues = presentValues;
+    this.parRates = parRates;
+    this.cs01s = cs01s;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of products.
+   *
+   * @return the number of products
+   */
+  public int size() {
+    return currencies.size();
+  }
+
+  /**
+   * Gets the currency of each product.
+   *
+   * @return the currencies
+   */
+  public ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * Gets the present value of each product, in the currency of the product.
+   *
+   * @return the present values
+   */
+  public DoubleArray getPresentValues() {
+    return presentValues;
+  }
+
+  /**
+   * Gets the par rate of each product.
+   * <p>
+   * The par rate of a product that has expired is {@link Double#NaN}.
+   *
+   * @return the par rates
+   */
+  public DoubleArray getParRates() {
+    return parRates;
+  }
+
+  /**
+   * Gets the CS01 of each product, in the currency of the product.
+   * <p>
+   * This is the change in present value for a one basis point parallel shift in hazard rates.
+   *
+   * @return the CS01s
+   */
+  public DoubleArray getCs01s() {
+    return cs01s;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the present value of the product at the specified index.
+   *
+   * @param index  the index of the product in the input list
+   * @return the present value
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public CurrencyAmount getPresentValue(int index) {
+    return CurrencyAmount.of(currencies.get(index), presentValues.get(index));
+  }
+
+  /**
+   * Gets the CS01 of the product at the specified index.
+   *
+   * @param index  the index of the product in the input list
+   * @return the CS01
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public CurrencyAmount getCs01(int index) {
+    return CurrencyAmount.of(currencies.get(index), cs01s.get(index));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCdsBatchResult other = (IsdaCdsBatchResult) obj;
+      return currencies.equals(other.currencies) &&
+          presentValues.equals(other.presentValues) &&
+          parRates.equals(other.parRates) &&
+          cs01s.equals(other.cs01s);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(currencies, presentValues, parRates, cs01s);
+  }
+
+  @Override
+  public String toString() {
+    return "IsdaCdsBatchResult[size=" + size() + "]";
+  }
+
+}
@@ -7,16 +7,25 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import com.google.common.collect.ImmutableList;
+
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.date.BusinessDayConvention;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DayCounts;
 import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.pricer.PricingException;
 import com.opengamma.strata.pricer.impl.credit.isda.AccrualOnDefaultFormulae;
@@ -29,6 +38,8 @@ import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantCreditCurveBuil
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurve;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurveBuild;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaInstrumentTypes;
+import com.opengamma.strata.pricer.impl.credit.isda.MultiAnalyticCdsPricer;
+import com.opengamma.strata.pricer.impl.credit.isda.MultiCdsAnalytic;
 import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.type.CdsConvention;
 import com.opengamma.strata.product.credit.type.IsdaYieldCurveConvention;
@@ -68,6 +79,10 @@ class IsdaCdsHelper {
    * ISDA Standard model implementation in analytics.
    */
   private final static AnalyticCdsPricer CALCULATOR = new AnalyticCdsPricer();
+  /**
+   * ISDA Standard model implementation in analytics for a strip of maturities.
+   */
+  private final static MultiAnalyticCdsPricer MULTI_CALCULATOR = new MultiAnalyticCdsPricer();
 
   //-------------------------------------------------------------------------
   /**
@@ -157,6 +172,170 @@ class IsdaCdsHelper {
 
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates present value, par spread and CS01 of a group of products sharing a credit curve.
+   * <p>
+   * The products in the group must reference the same single-name or index in the same currency.
+   * Products with the same premium schedule whose maturities are a whole number of payment
+   * intervals apart are priced as a strip of maturities, sharing the integration grids of the
+   * premium and protection legs. Other products are priced individually.
+   * <p>
+   * The CS01 is based on a one basis point parallel shift in hazard rates.
+   * The par spread of an expired product is {@link Double#NaN}.
+   *
+   * @param valuationDate  date that the results are calculated on
+   * @param products  the expanded CDS products
+   * @param group  the indices of the products in the group
+   * @param yieldCurve  the calibrated ISDA yield curve
+   * @param creditCurve  the calibrated ISDA credit curve
+   * @param bumpedCreditCurve  the credit curve with hazard rates shifted by one basis point
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @param presentValues  the present values, populated at the indices of the group
+   * @param parSpreads  the par spreads, populated at the indices of the group
+   * @param cs01s  the CS01 values, populated at the indices of the group
+   */
+  public static void priceGroup(
+      LocalDate valuationDate,
+      List<ResolvedCds> products,
+      List<Integer> group,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      NodalCurve bumpedCreditCurve,
+      double recoveryRate,
+      double scalingFactor,
+      double[] presentValues,
+      double[] parSpreads,
+      double[] cs01s) {
+
+    // setup
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+    IsdaCompliantCreditCurve bumpedCreditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(bumpedCreditCurve.getXValues(), bumpedCreditCurve.getYValues());
+
+    // the key is the premium schedule, with the day-of-month of the maturity to ensure
+    // that adding whole payment intervals to one maturity reaches the others exactly
+    Map<List<Object>, List<Integer>> strips = new LinkedHashMap<>();
+    for (int index : group) {
+      ResolvedCds product = products.get(index);
+      List<Object> key = ImmutableList.of(
+          product.getStartDate(),
+          product.getPaymentInterval(),
+          product.getStubConvention(),
+          product.getBusinessDayAdjustment(),
+          product.getAccrualDayCount(),
+          product.isPayAccruedOnDefault(),
+          product.getEndDate().getDayOfMonth());
+      strips.computeIfAbsent(key, k -> new ArrayList<>()).add(index);
+    }
+
+    // calculate
+    for (List<Integer> strip : strips.values()) {
+      LocalDate maturityReference = LocalDate.MAX;
+      for (int index : strip) {
+        LocalDate endDate = products.get(index).getEndDate();
+        maturityReference = endDate.isBefore(maturityReference) ? endDate : maturityReference;
+      }
+      int[] periods = stripPeriods(products, strip, maturityReference);
+      if (periods == null) {
+        for (int index : strip) {
+          ResolvedCds product = products.get(index);
+          CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
+          double coupon = product.getCoupon();
+          double pv = CALCULATOR.pv(
+              cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, coupon, CdsPriceType.DIRTY, 0d);
+          double bumpedPv = CALCULATOR.pv(
+              cdsAnalytic, yieldCurveAnalytics, bumpedCreditCurveAnalytics, coupon, CdsPriceType.DIRTY, 0d);
+          parSpreads[index] = cdsAnalytic.getProtectionEnd() <= 0d ?
+              Double.NaN :
+              CALCULATOR.parSpread(cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics);
+          populate(
+              valuationDate, product, index, pv, bumpedPv, scalingFactor, yieldCurveAnalytics, presentValues, cs01s);
+        }
+        continue;
+      }
+      int[] maturityIndexes = IntStream.of(periods).distinct().sorted().toArray();
+      MultiCdsAnalytic cdsAnalytic = toMultiAnalytic(
+          valuationDate, products.get(strip.get(0)), maturityReference, maturityIndexes, recoveryRate);
+      int maturityCount = maturityIndexes.length;
+      double[] proLeg = new double[maturityCount];
+      double[] rpv01 = new double[maturityCount];
+      double[] bumpedProLeg = new double[maturityCount];
+      double[] bumpedRpv01 = new double[maturityCount];
+      if (cdsAnalytic.getProtectionEnd(maturityCount - 1) > 0d) {
+        proLeg = MULTI_CALCULATOR.protectionLeg(cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics);
+        rpv01 = MULTI_CALCULATOR.pvPremiumLegPerUnitSpread(
+            cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, CdsPriceType.DIRTY);
+        bumpedProLeg = MULTI_CALCULATOR.protectionLeg(cdsAnalytic, yieldCurveAnalytics, bumpedCreditCurveAnalytics);
+        bumpedRpv01 = MULTI_CALCULATOR.pvPremiumLegPerUnitSpread(
+            cdsAnalytic, yieldCurveAnalytics, bumpedCreditCurveAnalytics, CdsPriceType.DIRTY);
+      }
+      for (int i = 0; i < strip.size(); i++) {
+        int index = strip.get(i);
+        int matIndex = Arrays.binarySearch(maturityIndexes, periods[i]);
+        ResolvedCds product = products.get(index);
+        double coupon = product.getCoupon();
+        double pv = proLeg[matIndex] - coupon * rpv01[matIndex];
+        double bumpedPv = bumpedProLeg[matIndex] - coupon * bumpedRpv01[matIndex];
+        parSpreads[index] = cdsAnalytic.getProtectionEnd(matIndex) <= 0d ?
+            Double.NaN :
+            proLeg[matIndex] / (rpv01[matIndex] - cdsAnalytic.getAccruedPremiumPerUnitSpread(matIndex));
+        populate(
+            valuationDate, product, index, pv, bumpedPv, scalingFactor, yieldCurveAnalytics, presentValues, cs01s);
+      }
+    }
+  }
+
+  // finds the number of payment intervals from the earliest maturity to each maturity in the strip
+  // null is returned if the strip has a single product or a maturity cannot be reached exactly
+  // the schedule must be generated backwards from the maturity, so that each maturity is a nominal payment date
+  private static int[] stripPeriods(List<ResolvedCds> products, List<Integer> strip, LocalDate reference) {
+    int size = strip.size();
+    ResolvedCds template = products.get(strip.get(0));
+    if (size == 1 || reference.getDayOfMonth() > 28 || !template.getStubConvention().isCalculateBackwards()) {
+      return null;
+    }
+    Period interval = template.getPaymentInterval();
+    int[] periods = new int[size];
+    for (int i = 0; i < size; i++) {
+      LocalDate endDate = products.get(strip.get(i)).getEndDate();
+      int count = 0;
+      LocalDate date = reference;
+      while (date.isBefore(endDate)) {
+        date = reference.plus(interval.multipliedBy(++count));
+      }
+      if (!date.equals(endDate)) {
+        return null;
+      }
+      periods[i] = count;
+    }
+    return periods;
+  }
+
+  // populates the present value and CS01 from the values on a unit notional
+  private static void populate(
+      LocalDate valuationDate,
+      ResolvedCds product,
+      int index,
+      double pv,
+      double bumpedPv,
+      double scalingFactor,
+      IsdaCompliantYieldCurve yieldCurveAnalytics,
+      double[] presentValues,
+      double[] cs01s) {
+
+    int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
+    double factor = product.getNotional() * sign * scalingFactor;
+    double upfrontFeeAmount = priceUpfrontFee(
+        valuationDate, product.getUpfrontFeeAmount(), product.getUpfrontFeePaymentDate(), yieldCurveAnalytics) * sign;
+    presentValues[index] = pv * factor + upfrontFeeAmount;
+    cs01s[index] = (bumpedPv - pv) * factor;
+  }
+
   // Converts the interest rate curve par rates to the corresponding analytics form.
   // Calibration is performed here.
   public static IsdaCompliantYieldCurve createIsdaDiscountCurve(
@@ -286,6 +465,38 @@ class IsdaCdsHelper {
     }
   }
 
+  // Converts a strip of expanded CDS products to the corresponding analytics form.
+  // The maturities are whole numbers of payment intervals after the reference date.
+  private static MultiCdsAnalytic toMultiAnalytic(
+      LocalDate valuationDate,
+      ResolvedCds template,
+      LocalDate maturityReference,
+      int[] maturityIndexes,
+      double recoveryRate) {
+
+    try {
+      return new MultiCdsAnalytic(
+          valuationDate,
+          valuationDate.plusDays(1),
+          valuationDate,
+          template.getStartDate(),
+          maturityReference,
+          maturityIndexes,
+          template.isPayAccruedOnDefault(),
+          Tenor.of(template.getPaymentInterval()),
+          template.getStubConvention(),
+          PROTECT_START,
+          recoveryRate,
+          template.getBusinessDayAdjustment().getConvention(),
+          template.getBusinessDayAdjustment().getCalendar().resolve(REF_DATA),
+          template.getAccrualDayCount(),
+          CURVE_DAY_COUNT);
+
+    } catch (Exception ex) {
+      throw new PricingException("Error converting the trades to an analytic: " + ex.getMessage(), ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   // Converts type of interest curve underlying to the corresponding analytics value.
   private static IsdaInstrumentTypes mapInstrumentType(IsdaYieldCurveUnderlyingType input) {
@@ -5,10 +5,20 @@
  */
 package com.opengamma.strata.pricer.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
@@ -39,7 +49,42 @@ public class IsdaCdsPricer {
   private static final double ONE_BPS = 0.0001d;
 
   //-------------------------------------------------------------------------
+  /**
+   * Calibrates the ISDA yield curve from par rates.
+   * <p>
+   * The curve returned may be passed to the methods of this pricer that take calibrated curves.
+   * Callers pricing many trades should calibrate once and reuse the curve, see {@link IsdaYieldCurveId}.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param yieldCurveInputs  par rate curve points of the ISDA discount curve
+   * @return the calibrated yield curve
+   */
+  public NodalCurve calibrateYieldCurve(LocalDate valuationDate, IsdaYieldCurveInputs yieldCurveInputs) {
+    return IsdaNodalCurve.of(valuationDate, yieldCurveInputs);
+  }
 
+  /**
+   * Calibrates the ISDA credit curve from par spreads.
+   * <p>
+   * The curve returned may be passed to the methods of this pricer that take calibrated curves.
+   * Callers pricing many trades should calibrate once and reuse the curve, see {@link IsdaCreditCurveId}.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param creditCurveInputs  par spread rate curve points of the ISDA spread curve
+   * @param yieldCurve  calibrated ISDA yield curve, see {@link #calibrateYieldCurve(LocalDate, IsdaYieldCurveInputs)}
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @return the calibrated credit curve
+   */
+  public NodalCurve calibrateCreditCurve(
+      LocalDate valuationDate,
+      IsdaCreditCurveInputs creditCurveInputs,
+      NodalCurve yieldCurve,
+      double recoveryRate) {
+
+    return IsdaNodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Calculates the present value of the expanded CDS product.
    * <p>
@@ -117,6 +162,89 @@ public class IsdaCdsPricer {
     return IsdaCdsHelper.parSpread(valuationDate, product, yieldCurve, creditCurve, recoveryRate);
   }
 
+  /**
+   * Calculates the par rate of the expanded CDS product.
+   * <p>
+   * The par rate of the CDS is the coupon rate that will make present value of all cashflows
+   * equal zero as of the valuation date.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @return par rate for the credit default swap
+   */
+  public double parRate(
+      ResolvedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate) {
+
+    return IsdaCdsHelper.parSpread(valuationDate, product, yieldCurve, creditCurve, recoveryRate);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value, par rate and CS01 of a list of expanded CDS products.
+   * <p>
+   * The results are equivalent to calling the present value, par rate and parallel hazard CS01
+   * methods of this pricer for each product, but are calculated considerably faster for large portfolios.
+   * The products are grouped by reference entity and currency, and each group shares the calibrated curves.
+   * Within a group, products with the same premium schedule are priced as a strip of maturities,
+   * in one pass over the integration grids of the premium and protection legs.
+   * <p>
+   * The market data must contain the calibrated curves, identified by {@link IsdaYieldCurveId}
+   * and {@link IsdaCreditCurveId}, together with the credit curve inputs and recovery rate
+   * of each single-name or index referenced.
+   * The par rate of a product that has expired is {@link Double#NaN}.
+   *
+   * @param products  the expanded CDS products
+   * @param marketData  the market data, providing the valuation date, curves and recovery rates
+   * @return the results, with one element for each product in the order of the list
+   */
+  public IsdaCdsBatchResult priceBatch(List<ResolvedCds> products, MarketData marketData) {
+    ArgChecker.noNulls(products, "products");
+    ArgChecker.notNull(marketData, "marketData");
+    LocalDate valuationDate = marketData.getValuationDate();
+    int size = products.size();
+    double[] presentValues = new double[size];
+    double[] parRates = new double[size];
+    double[] cs01s = new double[size];
+
+    // group by the credit curve used for pricing
+    Map<IsdaCreditCurveId, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      ResolvedCds product = products.get(i);
+      IsdaCreditCurveId curveId = IsdaCreditCurveId.of(product.getReferenceInformation(), product.getCurrency());
+      groups.computeIfAbsent(curveId, id -> new ArrayList<>()).add(i);
+    }
+    for (Entry<IsdaCreditCurveId, List<Integer>> entry : groups.entrySet()) {
+      IsdaCreditCurveId curveId = entry.getKey();
+      NodalCurve yieldCurve = marketData.getValue(IsdaYieldCurveId.of(curveId.getCurrency()));
+      NodalCurve creditCurve = marketData.getValue(curveId);
+      NodalCurve bumpedCreditCurve = creditCurve.withPerturbation((i, value, meta) -> value + ONE_BPS);
+      double recoveryRate = marketData.getValue(curveId.recoveryRateId()).getRecoveryRate();
+      double scalingFactor = marketData.getValue(curveId.creditCurveInputsId()).getScalingFactor();
+      IsdaCdsHelper.priceGroup(
+          valuationDate,
+          products,
+          entry.getValue(),
+          yieldCurve,
+          creditCurve,
+          bumpedCreditCurve,
+          recoveryRate,
+          scalingFactor,
+          presentValues,
+          parRates,
+          cs01s);
+    }
+    List<Currency> currencies = products.stream().map(ResolvedCds::getCurrency).collect(toImmutableList());
+    return IsdaCdsBatchResult.of(
+        currencies, DoubleArray.ofUnsafe(presentValues), DoubleArray.ofUnsafe(parRates), DoubleArray.ofUnsafe(cs01s));
+  }
+
   /**
    * Local class that implements ISDANodalCurve
    * This is a further step towards supporting regular Strata ParRates and zero curves for CDS
@@ -594,4 +722,29 @@ public class IsdaCdsPricer {
     return expectedLoss.minus(basePrice);
   }
 
+  /**
+   * Calculates the risk of default by subtracting from current MTM the Notional amount times Recovery Rate - 1.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount jumpToDefault(
+      ResolvedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    CurrencyAmount basePrice = presentValue(
+        product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount expectedLoss = CurrencyAmount.of(product.getCurrency(), product.getNotional() * (recoveryRate - 1));
+    return expectedLoss.minus(basePrice);
+  }
+
 }
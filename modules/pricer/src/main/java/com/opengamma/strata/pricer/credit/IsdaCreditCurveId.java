@@ -0,0 +1,405 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.product.credit.IndexReferenceInformation;
+import com.opengamma.strata.product.credit.ReferenceInformation;
+import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
+
+/**
+ * Market data ID identifying the calibrated credit curve of the ISDA credit model.
+ * <p>
+ * The curve is bootstrapped from the par spreads of the single-name or index, as identified by
+ * {@link IsdaSingleNameCreditCurveInputsId} or {@link IsdaIndexCreditCurveInputsId}.
+ * The calibration also depends on the recovery rate of the single-name or index and on the
+ * calibrated yield curve of the currency, as identified by {@link IsdaYieldCurveId}.
+ */
+@BeanDefinition(builderScope = "private", cacheHashCode = true)
+public final class IsdaCreditCurveId
+    implements MarketDataId<NodalCurve>, ImmutableBean, Serializable {
+
+  /**
+   * The information that identifies the single-name or index.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ReferenceInformation referenceInformation;
+  /**
+   * The currency of the yield curve used in calibration.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance based on the reference information and currency.
+   * 
+   * @param referenceInformation  the information that identifies the single-name or index
+   * @param currency  the currency of the yield curve used in calibration
+   * @return the identifier
+   */
+  public static IsdaCreditCurveId of(ReferenceInformation referenceInformation, Currency currency) {
+    return new IsdaCreditCurveId(referenceInformation, currency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Class<NodalCurve> getMarketDataType() {
+    return NodalCurve.class;
+  }
+
+  /**
+   * Gets the identifier of the par spreads from which the curve is calibrated.
+   * <p>
+   * This is an {@link IsdaSingleNameCreditCurveInputsId} or {@link IsdaIndexCreditCurveInputsId}.
+   * 
+   * @return the identifier of the credit curve inputs
+   * @throws IllegalStateException if the reference information is of an unknown type
+   */
+  public MarketDataId<IsdaCreditCurveInputs> creditCurveInputsId() {
+    if (referenceInformation instanceof SingleNameReferenceInformation) {
+      return IsdaSingleNameCreditCurveInputsId.of((SingleNameReferenceInformation) referenceInformation);
+
+    } else if (referenceInformation instanceof IndexReferenceInformation) {
+      return IsdaIndexCreditCurveInputsId.of((IndexReferenceInformation) referenceInformation);
+
+    } else {
+      throw new IllegalStateException("Unknown reference information type: " + referenceInformation.getType());
+    }
+  }
+
+  /**
+   * Gets the identifier of the recovery rate used in calibration.
+   * <p>
+   * This is an {@link IsdaSingleNameRecoveryRateId} or {@link IsdaIndexRecoveryRateId}.
+   * 
+   * @return the identifier of the recovery rate
+   * @throws IllegalStateException if the reference information is of an unknown type
+   */
+  public MarketDataId<CdsRecoveryRate> recoveryRateId() {
+    if (referenceInformation instanceof SingleNameReferenceInformation) {
+      return IsdaSingleNameRecoveryRateId.of((SingleNameReferenceInformation) referenceInformation);
+
+    } else if (referenceInformation instanceof IndexReferenceInformation) {
+      return IsdaIndexRecoveryRateId.of((IndexReferenceInformation) referenceInformation);
+
+    } else {
+      throw new IllegalStateException("Unknown reference information type: " + referenceInformation.getType());
+    }
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code IsdaCreditCurveId}.
+   * @return the meta-bean, not null
+   */
+  public static IsdaCreditCurveId.Meta meta() {
+    return IsdaCreditCurveId.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(IsdaCreditCurveId.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The cached hash code, using the racy single-check idiom.
+   */
+  private int cachedHashCode;
+
+  private IsdaCreditCurveId(
+      ReferenceInformation referenceInformation,
+      Currency currency) {
+    JodaBeanUtils.notNull(referenceInformation, "referenceInformation");
+    JodaBeanUtils.notNull(currency, "currency");
+    this.referenceInformation = referenceInformation;
+    this.currency = currency;
+  }
+
+  @Override
+  public IsdaCreditCurveId.Meta metaBean() {
+    return IsdaCreditCurveId.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the information that identifies the single-name or index.
+   * @return the value of the property, not null
+   */
+  public ReferenceInformation getReferenceInformation() {
+    return referenceInformation;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the yield curve used in calibration.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCreditCurveId other = (IsdaCreditCurveId) obj;
+      return JodaBeanUtils.equal(referenceInformation, other.referenceInformation) &&
+          JodaBeanUtils.equal(currency, other.currency);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = cachedHashCode;
+    if (hash == 0) {
+      hash = getClass().hashCode();
+      hash = hash * 31 + JodaBeanUtils.hashCode(referenceInformation);
+      hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+      cachedHashCode = hash;
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("IsdaCreditCurveId{");
+    buf.append("referenceInformation").append('=').append(referenceInformation).append(',').append(' ');
+    buf.append("currency").append('=').append(JodaBeanUtils.toString(currency));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code IsdaCreditCurveId}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code referenceInformation} property.
+     */
+    private final MetaProperty<ReferenceInformation> referenceInformation = DirectMetaProperty.ofImmutable(
+        this, "referenceInformation", IsdaCreditCurveId.class, ReferenceInformation.class);
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", IsdaCreditCurveId.class, Currency.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "referenceInformation",
+        "currency");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          return referenceInformation;
+        case 575402001:  // currency
+          return currency;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends IsdaCreditCurveId> builder() {
+      return new IsdaCreditCurveId.Builder();
+    }
+
+    @Override
+    public Class<? extends IsdaCreditCurveId> beanType() {
+      return IsdaCreditCurveId.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code referenceInformation} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ReferenceInformation> referenceInformation() {
+      return referenceInformation;
+    }
+
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          return ((IsdaCreditCurveId) bean).getReferenceInformation();
+        case 575402001:  // currency
+          return ((IsdaCreditCurveId) bean).getCurrency();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code IsdaCreditCurveId}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<IsdaCreditCurveId> {
+
+    private ReferenceInformation referenceInformation;
+    private Currency currency;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          return referenceInformation;
+        case 575402001:  // currency
+          return currency;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          this.referenceInformation = (ReferenceInformation) newValue;
+          break;
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public IsdaCreditCurveId build() {
+      return new IsdaCreditCurveId(
+          referenceInformation,
+          currency);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("IsdaCreditCurveId.Builder{");
+      buf.append("referenceInformation").append('=').append(JodaBeanUtils.toString(referenceInformation)).append(',').append(' ');
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
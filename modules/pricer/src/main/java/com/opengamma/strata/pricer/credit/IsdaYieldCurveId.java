@@ -0,0 +1,313 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.NodalCurve;
+
+/**
+ * Market data ID identifying the calibrated yield curve of the ISDA credit model for a currency.
+ * <p>
+ * The curve is bootstrapped from the par rates identified by {@link IsdaYieldCurveInputsId}.
+ * Calibrating once as market data allows the curve to be shared by every trade in a run.
+ */
+@BeanDefinition(builderScope = "private", cacheHashCode = true)
+public final class IsdaYieldCurveId
+    implements MarketDataId<NodalCurve>, ImmutableBean, Serializable {
+
+  /**
+   * The currency.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance based on a currency.
+   * 
+   * @param currency  the currency
+   * @return the identifier
+   */
+  public static IsdaYieldCurveId of(Currency currency) {
+    return new IsdaYieldCurveId(currency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Class<NodalCurve> getMarketDataType() {
+    return NodalCurve.class;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code IsdaYieldCurveId}.
+   * @return the meta-bean, not null
+   */
+  public static IsdaYieldCurveId.Meta meta() {
+    return IsdaYieldCurveId.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(IsdaYieldCurveId.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The cached hash code, using the racy single-check idiom.
+   */
+  private int cachedHashCode;
+
+  private IsdaYieldCurveId(
+      Currency currency) {
+    JodaBeanUtils.notNull(currency, "currency");
+    this.currency = currency;
+  }
+
+  @Override
+  public IsdaYieldCurveId.Meta metaBean() {
+    return IsdaYieldCurveId.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaYieldCurveId other = (IsdaYieldCurveId) obj;
+      return JodaBeanUtils.equal(currency, other.currency);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = cachedHashCode;
+    if (hash == 0) {
+      hash = getClass().hashCode();
+      hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+      cachedHashCode = hash;
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("IsdaYieldCurveId{");
+    buf.append("currency").append('=').append(JodaBeanUtils.toString(currency));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code IsdaYieldCurveId}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", IsdaYieldCurveId.class, Currency.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "currency");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          return currency;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends IsdaYieldCurveId> builder() {
+      return new IsdaYieldCurveId.Builder();
+    }
+
+    @Override
+    public Class<? extends IsdaYieldCurveId> beanType() {
+      return IsdaYieldCurveId.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          return ((IsdaYieldCurveId) bean).getCurrency();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code IsdaYieldCurveId}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<IsdaYieldCurveId> {
+
+    private Currency currency;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          return currency;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public IsdaYieldCurveId build() {
+      return new IsdaYieldCurveId(
+          currency);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(64);
+      buf.append("IsdaYieldCurveId.Builder{");
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -8,8 +8,10 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -17,17 +19,22 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.NodalCurveDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
@@ -63,11 +70,23 @@ public final class CurveCalibrator {
    * The matrix algebra used for matrix inversion.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  /**
+   * The maximum number of steps when recalibrating using a previous Jacobian.
+   */
+  private static final int CHORD_STEP_MAXIMUM = 10;
 
   /**
    * The root finder used for curve calibration.
    */
   private final BroydenVectorRootFinder rootFinder;
+  /**
+   * The absolute tolerance.
+   */
+  private final double toleranceAbs;
+  /**
+   * The relative tolerance.
+   */
+  private final double toleranceRel;
   /**
    * The calibration measures.
    * This is used to compute the function for which the root is found.
@@ -163,6 +182,8 @@ public final class CurveCalibrator {
         toleranceRel,
         stepMaximum,
         DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+    this.toleranceAbs = toleranceAbs;
+    this.toleranceRel = toleranceRel;
     this.measures = measures;
     this.pvMeasures = pvMeasures;
   }
@@ -197,15 +218,93 @@ public final class CurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
+  }
+
+  /**
+   * Calibrates a single curve group, starting from the curves of a previous calibration.
+   * <p>
+   * This is identical to {@link #calibrate(CurveGroupDefinition, MarketData, ReferenceData)}, except that
+   * the root finder is warm-started. For each curve in the definition, if the starting provider contains
+   * a curve with the same name and number of parameters, the parameters of that curve are used as
+   * the initial guess instead of the guess defined by the curve nodes.
+   * <p>
+   * This is typically used when calibrating the same definition many times with similar market data,
+   * such as for each scenario, where the calibrated curves of one calibration are a good starting
+   * point for the next. The result is the same as a cold start to within the tolerance of the root finder.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param startingProvider  the provider containing the curves of a previous calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      CurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider startingProvider) {
+
+    ArgChecker.notNull(startingProvider, "startingProvider");
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData, startingProvider);
+  }
+
+  /**
+   * Recalibrates a single curve group incrementally, using a previous calibration of the same definition.
+   * <p>
+   * The previous provider must be the result of calibrating the same definition against the previous market data.
+   * The result is the same as {@link #calibrate(CurveGroupDefinition, MarketData, ReferenceData)}
+   * to within the tolerance of the root finder, but is typically much faster when the market data has
+   * changed little, such as for intraday updates.
+   * <p>
+   * The groups of curves are processed in calibration order. A group whose market quotes are all unchanged,
+   * and that only depends on unchanged groups, is not calibrated at all. The previous curves,
+   * including the Jacobian and sensitivity information in their metadata, are reused.
+   * A group that has changed is first solved using the Jacobian stored in the previous curves,
+   * starting from the previous parameters. If this does not converge quickly, the root finder is used,
+   * also starting from the previous parameters.
+   * <p>
+   * If the valuation date or the time-series differ, all groups are calibrated, starting from the
+   * previous parameters.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param previousProvider  the provider resulting from the previous calibration
+   * @param previousMarketData  the market data used in the previous calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      CurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider previousProvider,
+      MarketData previousMarketData) {
+
+    ArgChecker.notNull(previousProvider, "previousProvider");
+    ArgChecker.notNull(previousMarketData, "previousMarketData");
+    ImmutableRatesProvider knownData = knownData(marketData);
+    if (!previousMarketData.getValuationDate().equals(marketData.getValuationDate()) ||
+        !previousProvider.getValuationDate().equals(marketData.getValuationDate()) ||
+        !previousProvider.getTimeSeries().equals(knownData.getTimeSeries())) {
+      return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData, previousProvider);
+    }
+    return calibrate(
+        ImmutableList.of(curveGroupDefn), knownData, marketData, refData, previousProvider, previousMarketData);
+  }
+
+  // creates the known data from the market data
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
     Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
         .filter(IndexQuoteId.class::isInstance)
         .map(IndexQuoteId.class::cast)
         .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
         .fxRateProvider(MarketDataFxRateProvider.of(marketData))
         .timeSeries(timeSeries)
         .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
   /**
@@ -227,6 +326,31 @@ public final class CurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupsDefn, knownData, marketData, refData, null);
+  }
+
+  // calibrates the groups, using the starting provider for the initial guesses if not null
+  private ImmutableRatesProvider calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider startingProvider) {
+
+    return calibrate(allGroupsDefn, knownData, marketData, refData, startingProvider, null);
+  }
+
+  // calibrates the groups, using the starting provider for the initial guesses if not null
+  // if the previous market data is not null, the starting provider is the calibration of that market data
+  // and its curves and Jacobians are reused where possible
+  private ImmutableRatesProvider calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider startingProvider,
+      MarketData previousMarketData) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -238,19 +362,54 @@ public final class CurveCalibrator {
     ImmutableRatesProvider providerCombined = knownData;
     ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
     ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = ImmutableMap.of();
+    boolean unchangedPrev = previousMarketData != null;
     for (CurveGroupDefinition groupDefn : allGroupsDefn) {
-      // combine all data in the group into flat lists
-      ImmutableList<ResolvedTrade> trades = groupDefn.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefn.initialGuesses(marketData);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefn);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
           .addAll(orderGroup)
           .build();
-
-      // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefn, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+
+      // reuse the previous curves if neither this group nor any group it depends on has changed
+      unchangedPrev = unchangedPrev &&
+          isUnchanged(groupDefn, orderPrevAndGroup, marketData, startingProvider, previousMarketData);
+      if (unchangedPrev) {
+        ImmutableList<Curve> previousCurves = previousCurves(groupDefn, startingProvider);
+        if (groupDefn.isComputeJacobian()) {
+          ImmutableMap.Builder<CurveName, JacobianCalibrationMatrix> jacobianBuilder = ImmutableMap.builder();
+          jacobianBuilder.putAll(jacobians);
+          for (Curve curve : previousCurves) {
+            jacobianBuilder.put(curve.getName(), curve.getMetadata().getInfo(CurveInfoType.JACOBIAN));
+          }
+          jacobians = jacobianBuilder.build();
+        }
+        ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
+        if (groupDefn.isComputePvSensitivityToMarketQuote()) {
+          sensitivityToMarketQuote = previousCurves.stream().collect(toImmutableMap(
+              curve -> curve.getName(),
+              curve -> curve.getMetadata().getInfo(CurveInfoType.PV_SENSITIVITY_TO_MARKET_QUOTE)));
+        }
+        orderPrev = orderPrevAndGroup;
+        providerCombined = providerGenerator.generate(
+            previousParameters(previousCurves), jacobians, sensitivityToMarketQuote);
+        continue;
+      }
+
+      // combine all data in the group into flat lists
+      ImmutableList<ResolvedTrade> trades = groupDefn.resolvedTrades(marketData, refData);
+      ImmutableList<Double> initialGuesses = initialGuesses(groupDefn, marketData, startingProvider);
+
+      // calibrate, trying the previous Jacobian before the root finder
+      DoubleArray calibratedGroupParams = null;
+      if (previousMarketData != null) {
+        calibratedGroupParams = previousInverseJacobian(groupDefn, orderPrevAndGroup, startingProvider)
+            .flatMap(pDm -> calibrateGroupWithJacobian(providerGenerator, trades, initialGuesses, pDm))
+            .orElse(null);
+      }
+      if (calibratedGroupParams == null) {
+        calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      }
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -272,6 +431,125 @@ public final class CurveCalibrator {
     return providerCombined;
   }
 
+  // checks if the previous calibration of the group can be reused as is
+  private static boolean isUnchanged(
+      CurveGroupDefinition groupDefn,
+      ImmutableList<CurveParameterSize> orderPrevAndGroup,
+      MarketData marketData,
+      ImmutableRatesProvider previousProvider,
+      MarketData previousMarketData) {
+
+    ImmutableList<Curve> previousCurves = previousCurves(groupDefn, previousProvider);
+    if (previousCurves.isEmpty()) {
+      return false;
+    }
+    for (Curve curve : previousCurves) {
+      Optional<JacobianCalibrationMatrix> jacobian = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN);
+      if (groupDefn.isComputeJacobian() &&
+          !(jacobian.isPresent() && jacobian.get().getOrder().equals(orderPrevAndGroup))) {
+        return false;
+      }
+      if (groupDefn.isComputePvSensitivityToMarketQuote() &&
+          !curve.getMetadata().findInfo(CurveInfoType.PV_SENSITIVITY_TO_MARKET_QUOTE).isPresent()) {
+        return false;
+      }
+    }
+    for (NodalCurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      for (CurveNode node : curveDefn.getNodes()) {
+        for (MarketDataId<?> id : node.requirements()) {
+          if (!marketData.findValue(id).equals(previousMarketData.findValue(id))) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  // the curves of the group in the previous provider, empty if any curve is missing or differs in size
+  private static ImmutableList<Curve> previousCurves(
+      CurveGroupDefinition groupDefn,
+      ImmutableRatesProvider previousProvider) {
+
+    ImmutableList.Builder<Curve> result = ImmutableList.builder();
+    for (NodalCurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      Optional<Curve> previousCurve = previousProvider.findData(curveDefn.getName());
+      if (!previousCurve.isPresent() || previousCurve.get().getParameterCount() != curveDefn.getParameterCount()) {
+        return ImmutableList.of();
+      }
+      result.add(previousCurve.get());
+    }
+    return result.build();
+  }
+
+  // the combined parameters of the curves
+  private static DoubleArray previousParameters(ImmutableList<Curve> curves) {
+    int paramCount = curves.stream().mapToInt(curve -> curve.getParameterCount()).sum();
+    double[] params = new double[paramCount];
+    int startIndex = 0;
+    for (Curve curve : curves) {
+      for (int i = 0; i < curve.getParameterCount(); i++) {
+        params[startIndex++] = curve.getParameter(i);
+      }
+    }
+    return DoubleArray.ofUnsafe(params);
+  }
+
+  // the inverse of the Jacobian of the group with respect to its own parameters, from the previous calibration
+  private static Optional<DoubleMatrix> previousInverseJacobian(
+      CurveGroupDefinition groupDefn,
+      ImmutableList<CurveParameterSize> orderPrevAndGroup,
+      ImmutableRatesProvider previousProvider) {
+
+    ImmutableList<Curve> previousCurves = previousCurves(groupDefn, previousProvider);
+    if (previousCurves.isEmpty()) {
+      return Optional.empty();
+    }
+    int totalParamsGroup = previousCurves.stream().mapToInt(curve -> curve.getParameterCount()).sum();
+    int totalParamsPrevious = orderPrevAndGroup.stream().mapToInt(e -> e.getParameterCount()).sum() - totalParamsGroup;
+    double[][] pDm = new double[totalParamsGroup][];
+    int startIndex = 0;
+    for (Curve curve : previousCurves) {
+      Optional<JacobianCalibrationMatrix> jacobian = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN);
+      if (!jacobian.isPresent() || !jacobian.get().getOrder().equals(orderPrevAndGroup)) {
+        return Optional.empty();
+      }
+      DoubleMatrix matrix = jacobian.get().getJacobianMatrix();
+      for (int p = 0; p < curve.getParameterCount(); p++) {
+        pDm[startIndex++] = Arrays.copyOfRange(
+            matrix.rowArray(p), totalParamsPrevious, totalParamsPrevious + totalParamsGroup);
+      }
+    }
+    return Optional.of(DoubleMatrix.ofUnsafe(pDm));
+  }
+
+  // the initial guesses, using the curves in the starting provider where possible
+  private static ImmutableList<Double> initialGuesses(
+      CurveGroupDefinition groupDefn,
+      MarketData marketData,
+      ImmutableRatesProvider startingProvider) {
+
+    ImmutableList<Double> definitionGuesses = groupDefn.initialGuesses(marketData);
+    if (startingProvider == null) {
+      return definitionGuesses;
+    }
+    ImmutableList.Builder<Double> result = ImmutableList.builder();
+    int startIndex = 0;
+    for (NodalCurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      int paramCount = curveDefn.getParameterCount();
+      Optional<Curve> startingCurve = startingProvider.findData(curveDefn.getName());
+      if (startingCurve.isPresent() && startingCurve.get().getParameterCount() == paramCount) {
+        for (int i = 0; i < paramCount; i++) {
+          result.add(startingCurve.get().getParameter(i));
+        }
+      } else {
+        result.addAll(definitionGuesses.subList(startIndex, startIndex + paramCount));
+      }
+      startIndex += paramCount;
+    }
+    return result.build();
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(CurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
@@ -295,6 +573,50 @@ public final class CurveCalibrator {
     return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
   }
 
+  // calibrates a single group by chord iteration, using a fixed inverse Jacobian
+  // empty if the iteration does not converge quickly, in which case the root finder should be used
+  private Optional<DoubleArray> calibrateGroupWithJacobian(
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<Double> initialGuesses,
+      DoubleMatrix inverseJacobian) {
+
+    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    DoubleArray x = DoubleArray.copyOf(initialGuesses);
+    DoubleArray y = valueCalculator.apply(x);
+    double norm = norm(y);
+    for (int step = 0; step < CHORD_STEP_MAXIMUM; step++) {
+      DoubleArray deltaX = (DoubleArray) MATRIX_ALGEBRA.multiply(inverseJacobian, y);
+      x = x.minus(deltaX);
+      y = valueCalculator.apply(x);
+      double normNext = norm(y);
+      if (isConverged(x, deltaX, normNext)) {
+        return Optional.of(x);
+      }
+      if (!(normNext < norm)) {
+        // the previous Jacobian is not a good enough approximation
+        return Optional.empty();
+      }
+      norm = normNext;
+    }
+    return Optional.empty();
+  }
+
+  // the same convergence criteria as the root finder
+  private boolean isConverged(DoubleArray x, DoubleArray deltaX, double norm) {
+    for (int i = 0; i < x.size(); i++) {
+      if (Math.abs(deltaX.get(i)) > toleranceAbs + Math.abs(x.get(i)) * toleranceRel) {
+        return false;
+      }
+    }
+    return norm < toleranceAbs;
+  }
+
+  // the Euclidean norm
+  private static double norm(DoubleArray array) {
+    return Math.sqrt(array.map(v -> v * v).sum());
+  }
+
   //-------------------------------------------------------------------------
   // calculates the Jacobian and builds the result, called once per group
   // this uses, but does not alter, data from previous groups
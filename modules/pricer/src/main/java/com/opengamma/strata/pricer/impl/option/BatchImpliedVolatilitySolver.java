@@ -0,0 +1,342 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
+
+/**
+ * Solver for the implied volatilities of many European options in a single pass.
+ * <p>
+ * This finds the log-normal (Black) or normal (Bachelier) implied volatility of each option
+ * in a set of arrays. All prices are <b>forward</b> prices, i.e. (spot price)/numeraire,
+ * as in {@link BlackFormulaRepository}.
+ * <p>
+ * Each price is first reduced to the normalized price of an out-of-the-money call.
+ * The volatility is then found by third order Householder iterations, using the analytic
+ * first three derivatives of the normalized price with respect to volatility.
+ * For small prices the objective is the logarithm of the price, which is close to linear in that region.
+ * For large Black prices the objective is the logarithm of the distance to the upper price bound.
+ * The iterations are safeguarded by bisection, so the solver always converges.
+ * In practice three or four iterations are needed to reach close to machine precision.
+ * <p>
+ * This follows the approach of P. Jaeckel, "Let's be rational", Wilmott (2015), using simple
+ * asymptotic initial guesses rather than rational approximations.
+ * Unlike {@link GenericImpliedVolatiltySolver}, there is no boxing and no function object per option.
+ */
+public final class BatchImpliedVolatilitySolver {
+
+  /**
+   * 1 / sqrt(2 pi).
+   */
+  private static final double INV_SQRT_2PI = 0.398942280401432677939946059934;
+  /**
+   * sqrt(2 pi).
+   */
+  private static final double SQRT_2PI = 2.50662827463100050241576528481;
+  /**
+   * The maximum number of iterations, only reached if the price is at the limit of numerical accuracy.
+   */
+  private static final int MAX_ITERATIONS = 50;
+  /**
+   * The relative tolerance on the normalized volatility.
+   */
+  private static final double TOLERANCE = 1e-12;
+  /**
+   * The normalized at-the-money Black price below which the series expansion is used.
+   */
+  private static final double ATM_SERIES_LIMIT = 1e-3;
+
+  // restricted constructor
+  private BatchImpliedVolatilitySolver() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility of each option.
+   * <p>
+   * The arrays must all have the same length.
+   * A price equal to the intrinsic value results in a volatility of zero.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying, positive
+   * @param strikes  the strikes, positive
+   * @param timesToExpiry  the times to expiry, positive
+   * @param isCalls  true for call, false for put
+   * @return the log-normal implied volatilities
+   * @throws IllegalArgumentException if the arrays differ in length, or if a price
+   *  is outside the bounds allowed by the Black model
+   */
+  public static double[] blackImpliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCalls) {
+
+    int size = validateSizes(prices, forwards, strikes, timesToExpiry, isCalls);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      ArgChecker.isTrue(forward > 0d && forward < Double.POSITIVE_INFINITY,
+          "Invalid forward {} at index {}", forward, i);
+      ArgChecker.isTrue(strike > 0d && strike < Double.POSITIVE_INFINITY, "Invalid strike {} at index {}", strike, i);
+      ArgChecker.isTrue(timeToExpiry > 0d && timeToExpiry < Double.POSITIVE_INFINITY,
+          "Invalid time to expiry {} at index {}", timeToExpiry, i);
+      // an in-the-money price is converted to the out-of-the-money price by put-call parity
+      double otmPrice = prices[i] - Math.max(0d, (isCalls[i] ? 1d : -1d) * (forward - strike));
+      ArgChecker.isTrue(otmPrice >= 0d && otmPrice < Math.min(forward, strike),
+          "Price {} at index {} is outside the bounds of the Black model", prices[i], i);
+      if (otmPrice == 0d) {
+        result[i] = 0d;
+      } else {
+        double x = -Math.abs(Math.log(forward / strike));
+        double beta = otmPrice / Math.sqrt(forward * strike);
+        result[i] = normalizedBlackVolatility(beta, x) / Math.sqrt(timeToExpiry);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatility of each option.
+   * <p>
+   * The arrays must all have the same length.
+   * A price equal to the intrinsic value results in a volatility of zero.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry, positive
+   * @param isCalls  true for call, false for put
+   * @return the normal implied volatilities
+   * @throws IllegalArgumentException if the arrays differ in length, or if a price
+   *  is less than the intrinsic value
+   */
+  public static double[] normalImpliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCalls) {
+
+    int size = validateSizes(prices, forwards, strikes, timesToExpiry, isCalls);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      ArgChecker.isTrue(Math.abs(forward) < Double.POSITIVE_INFINITY, "Invalid forward {} at index {}", forward, i);
+      ArgChecker.isTrue(Math.abs(strike) < Double.POSITIVE_INFINITY, "Invalid strike {} at index {}", strike, i);
+      ArgChecker.isTrue(timeToExpiry > 0d && timeToExpiry < Double.POSITIVE_INFINITY,
+          "Invalid time to expiry {} at index {}", timeToExpiry, i);
+      double otmPrice = prices[i] - Math.max(0d, (isCalls[i] ? 1d : -1d) * (forward - strike));
+      ArgChecker.isTrue(otmPrice >= 0d && otmPrice < Double.POSITIVE_INFINITY,
+          "Price {} at index {} is less than the intrinsic value", prices[i], i);
+      if (otmPrice == 0d) {
+        result[i] = 0d;
+      } else {
+        result[i] = normalizedNormalVolatility(otmPrice, -Math.abs(forward - strike)) / Math.sqrt(timeToExpiry);
+      }
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // solves for the total volatility 's' such that the normalized out-of-the-money Black price equals beta
+  // the normalized price is exp(x/2) N(x/s + s/2) - exp(-x/2) N(x/s - s/2), with x = log(F/K) <= 0
+  static double normalizedBlackVolatility(double beta, double x) {
+    return normalizedBlackVolatility(beta, x, MAX_ITERATIONS);
+  }
+
+  // as above, stopping after the specified number of iterations
+  static double normalizedBlackVolatility(double beta, double x, int maxIterations) {
+    if (x == 0d) {
+      if (beta < ATM_SERIES_LIMIT) {
+        // series of the inverse error function, as the price is erf(s / sqrt(8))
+        double betaSq = beta * beta;
+        return SQRT_2PI * beta * (1d + betaSq * (Math.PI / 12d + betaSq * 7d * Math.PI * Math.PI / 480d));
+      }
+      // the price is 1 - 2 N(-s/2), using the lower tail to retain precision
+      return -2d * StandardNormalDistribution.inverseCdf(0.5 * (1d - beta));
+    }
+    double xSq = x * x;
+    double expHalfX = Math.exp(0.5 * x);
+    // the price tends to exp(x/2) as the volatility tends to infinity
+    double gap = expHalfX - beta;
+    if (!(gap > 0d)) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double inflection = Math.sqrt(-2d * x);
+    // below the inflection point the objective is log(price), above it is log(exp(x/2) - price)
+    boolean lowerRegion = beta < normalizedBlackPrice(x, inflection, expHalfX);
+    double s = inflection;
+    if (lowerRegion) {
+      // asymptotic guess for small volatility, where the price is close to s^3 n(x/s) / x^2
+      double guess = Math.sqrt(xSq / (-2d * Math.log(beta)));
+      for (int i = 0; i < 2; i++) {
+        guess = Math.sqrt(xSq / (-2d * Math.log(beta * xSq * SQRT_2PI / (guess * guess * guess))));
+      }
+      s = guess > 0d && guess < inflection ? guess : inflection;
+    } else {
+      // asymptotic guess for large volatility, where exp(x/2) - price is close to (exp(x/2) + exp(-x/2)) N(-s/2)
+      double guess = -2d * StandardNormalDistribution.inverseCdf(gap / (expHalfX + 1d / expHalfX));
+      s = Math.max(inflection, guess);
+    }
+    double logTarget = Math.log(lowerRegion ? beta : gap);
+    double lower = 0d;
+    double upper = Double.POSITIVE_INFINITY;
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      double d1 = x / s + 0.5 * s;
+      double d2 = d1 - s;
+      double vega = INV_SQRT_2PI * Math.exp(-0.5 * (xSq / (s * s) + 0.25 * s * s));
+      // ratios of the second and third derivatives of the price to the first
+      double h2 = xSq / (s * s * s) - 0.25 * s;
+      double h3 = h2 * h2 - 3d * xSq / (s * s * s * s) - 0.25;
+      double step;
+      boolean below;
+      if (lowerRegion) {
+        double price = expHalfX * StandardNormalDistribution.cdf(d1) - StandardNormalDistribution.cdf(d2) / expHalfX;
+        step = householderLog(price, logTarget, vega, h2, h3);
+        below = price < beta;
+      } else {
+        double remainder =
+            expHalfX * StandardNormalDistribution.cdf(-d1) + StandardNormalDistribution.cdf(d2) / expHalfX;
+        step = householderLog(remainder, logTarget, -vega, h2, h3);
+        below = remainder > gap;
+      }
+      if (Math.abs(step) <= TOLERANCE * s) {
+        return s + step;
+      }
+      if (below) {
+        lower = s;
+      } else {
+        upper = s;
+      }
+      if (upper - lower <= TOLERANCE * s) {
+        return s;
+      }
+      s = safeguard(s + step, s, lower, upper);
+    }
+    return s;
+  }
+
+  // the normalized out-of-the-money Black price
+  private static double normalizedBlackPrice(double x, double s, double expHalfX) {
+    double d1 = x / s + 0.5 * s;
+    double d2 = d1 - s;
+    return expHalfX * StandardNormalDistribution.cdf(d1) - StandardNormalDistribution.cdf(d2) / expHalfX;
+  }
+
+  //-------------------------------------------------------------------------
+  // solves for the total volatility 'u' such that the out-of-the-money Bachelier price equals beta
+  // the price is u n(d/u) + d N(d/u), with d = -|F - K| <= 0
+  static double normalizedNormalVolatility(double beta, double d) {
+    return normalizedNormalVolatility(beta, d, MAX_ITERATIONS);
+  }
+
+  // as above, stopping after the specified number of iterations
+  static double normalizedNormalVolatility(double beta, double d, int maxIterations) {
+    if (d == 0d) {
+      return SQRT_2PI * beta;
+    }
+    double dSq = d * d;
+    // for small prices the objective is log(price), starting from an asymptotic guess below u = |d|
+    // otherwise the price is used directly, starting from an upper bound of the root
+    boolean lowerRegion = beta < normalizedNormalPrice(d, -d);
+    double u = SQRT_2PI * (beta - 0.5 * d);
+    if (lowerRegion) {
+      // the price is close to u^3 n(d/u) / d^2 for small volatility
+      double guess = Math.sqrt(dSq / (-2d * Math.log(beta)));
+      for (int i = 0; i < 2; i++) {
+        guess = Math.sqrt(dSq / (-2d * Math.log(beta * dSq * SQRT_2PI / (guess * guess * guess))));
+      }
+      u = guess > 0d && guess < -d ? guess : -d;
+    }
+    double logBeta = Math.log(beta);
+    double lower = 0d;
+    double upper = Double.POSITIVE_INFINITY;
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      double price = normalizedNormalPrice(d, u);
+      double vega = StandardNormalDistribution.pdf(d / u);
+      // ratios of the second and third derivatives of the price to the first
+      double h2 = dSq / (u * u * u);
+      double h3 = h2 * h2 - 3d * dSq / (u * u * u * u);
+      double step = lowerRegion ?
+          householderLog(price, logBeta, vega, h2, h3) :
+          householder(price - beta, vega, h2, h3);
+      if (Math.abs(step) <= TOLERANCE * u) {
+        return u + step;
+      }
+      if (price < beta) {
+        lower = u;
+      } else {
+        upper = u;
+      }
+      if (upper - lower <= TOLERANCE * u) {
+        return u;
+      }
+      u = safeguard(u + step, u, lower, upper);
+    }
+    return u;
+  }
+
+  // the out-of-the-money Bachelier price
+  private static double normalizedNormalPrice(double d, double u) {
+    double z = d / u;
+    return u * StandardNormalDistribution.pdf(z) + d * StandardNormalDistribution.cdf(z);
+  }
+
+  //-------------------------------------------------------------------------
+  // the third order Householder step for the objective f, given f' and the ratios f''/f' and f'''/f'
+  private static double householder(double f, double f1, double h2, double h3) {
+    double newton = -f / f1;
+    double denominator = 1d + newton * (h2 + newton * h3 / 6d);
+    if (!(denominator > 0d)) {
+      return newton;
+    }
+    return newton * (1d + 0.5 * h2 * newton) / denominator;
+  }
+
+  // the third order Householder step for the objective log(g) - log(target),
+  // given g' and the ratios of g'' and g''' to g'
+  private static double householderLog(double g, double logTarget, double g1, double h2, double h3) {
+    double ratio = g1 / g;
+    return householder(Math.log(g) - logTarget, ratio, h2 - ratio, h3 - 3d * ratio * h2 + 2d * ratio * ratio);
+  }
+
+  // bisects the bracket if the proposed point lies outside it
+  private static double safeguard(double proposed, double current, double lower, double upper) {
+    if (proposed > lower && proposed < upper) {
+      return proposed;
+    }
+    return upper == Double.POSITIVE_INFINITY ? 2d * current : 0.5 * (lower + upper);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the arrays are all the same size
+  private static int validateSizes(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCalls) {
+
+    ArgChecker.notNull(prices, "prices");
+    ArgChecker.notNull(forwards, "forwards");
+    ArgChecker.notNull(strikes, "strikes");
+    ArgChecker.notNull(timesToExpiry, "timesToExpiry");
+    ArgChecker.notNull(isCalls, "isCalls");
+    int size = prices.length;
+    ArgChecker.isTrue(
+        forwards.length == size && strikes.length == size && timesToExpiry.length == size && isCalls.length == size,
+        "Arrays must all have the same length");
+    return size;
+  }
+
+}
@@ -6,8 +6,7 @@
 package com.opengamma.strata.pricer.impl.option;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
 
 /**
  * The primary repository for Black-Scholes formulas, including the price and greeks.
@@ -18,7 +17,6 @@ import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistrib
  */
 public final class BlackScholesFormulaRepository {
 
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
   private static final double SMALL = 1e-13;
   private static final double LARGE = 1e13;
 
@@ -116,7 +114,8 @@ public final class BlackScholesFormulaRepository {
       d1 = Math.log(spot / strike) / sigmaRootT + scnd + 0.5 * sigmaRootT;
       d2 = d1 - sigmaRootT;
     }
-    double res = sign * discount * (rescaledSpot * NORMAL.getCDF(sign * d1) - strike * NORMAL.getCDF(sign * d2));
+    double res = sign * discount *
+        (rescaledSpot * StandardNormalDistribution.cdf(sign * d1) - strike * StandardNormalDistribution.cdf(sign * d2));
     return Double.isNaN(res) ? 0d : Math.max(res, 0d);
   }
 
@@ -199,7 +198,7 @@ public final class BlackScholesFormulaRepository {
           Double.isNaN(tmp) ? ((lognormalVol < LARGE && lognormalVol > SMALL) ? sig / lognormalVol : sig * rootT) : tmp;
       d1 = Math.log(spot / strike) / sigmaRootT + scnd + 0.5 * sigmaRootT;
     }
-    double norm = NORMAL.getCDF(sign * d1);
+    double norm = StandardNormalDistribution.cdf(sign * d1);
 
     return norm < SMALL ? 0d : sign * coef * norm;
   }
@@ -250,7 +249,7 @@ public final class BlackScholesFormulaRepository {
     double rescaledSpot = spot * Math.exp(costOfCarry * timeToExpiry);
 
     int sign = isCall ? 1 : -1;
-    double d1 = sign * NORMAL.getInverseCDF(sign * rescaledDelta);
+    double d1 = sign * StandardNormalDistribution.inverseCdf(sign * rescaledDelta);
     return rescaledSpot * Math.exp(-d1 * sigmaRootT + 0.5 * sigmaRootT * sigmaRootT);
   }
 
@@ -329,7 +328,7 @@ public final class BlackScholesFormulaRepository {
           Double.isNaN(tmp) ? ((lognormalVol < LARGE && lognormalVol > SMALL) ? sig / lognormalVol : sig * rootT) : tmp;
       d2 = Math.log(spot / strike) / sigmaRootT + scnd - 0.5 * sigmaRootT;
     }
-    double norm = NORMAL.getCDF(sign * d2);
+    double norm = StandardNormalDistribution.cdf(sign * d2);
 
     return norm < SMALL ? 0d : -sign * discount * norm;
   }
@@ -414,7 +413,7 @@ public final class BlackScholesFormulaRepository {
         d1 = Math.log(spot / strike) / sigmaRootT + scnd + 0.5 * sigmaRootT;
       }
     }
-    double norm = NORMAL.getPDF(d1);
+    double norm = StandardNormalDistribution.pdf(d1);
 
     double res = norm < SMALL ? 0d : coef * norm / spot / sigmaRootT;
     return Double.isNaN(res) ? Double.POSITIVE_INFINITY : res;
@@ -489,7 +488,7 @@ public final class BlackScholesFormulaRepository {
         d2 = Math.log(spot / strike) / sigmaRootT + scnd - 0.5 * sigmaRootT;
       }
     }
-    double norm = NORMAL.getPDF(d2);
+    double norm = StandardNormalDistribution.pdf(d2);
 
     double res = norm < SMALL ? 0d : discount * norm / strike / sigmaRootT;
     return Double.isNaN(res) ? Double.POSITIVE_INFINITY : res;
@@ -562,7 +561,7 @@ public final class BlackScholesFormulaRepository {
         d2 = Math.log(spot / strike) / sigmaRootT + scnd - 0.5 * sigmaRootT;
       }
     }
-    double norm = NORMAL.getPDF(d2);
+    double norm = StandardNormalDistribution.pdf(d2);
 
     double res = norm < SMALL ? 0d : -discount * norm / spot / sigmaRootT;
     return Double.isNaN(res) ? Double.NEGATIVE_INFINITY : res;
@@ -660,11 +659,11 @@ public final class BlackScholesFormulaRepository {
         d2 = d1 - sigmaRootT;
       }
     }
-    double norm = NORMAL.getPDF(d1);
+    double norm = StandardNormalDistribution.pdf(d1);
     double rescaledSpot = Math.exp((costOfCarry - interestRate) * timeToExpiry) * spot;
     double rescaledStrike = discount * strike;
-    double normForSpot = NORMAL.getCDF(sign * d1);
-    double normForStrike = NORMAL.getCDF(sign * d2);
+    double normForSpot = StandardNormalDistribution.cdf(sign * d1);
+    double normForStrike = StandardNormalDistribution.cdf(sign * d2);
     double spotTerm =
         normForSpot < SMALL ? 0d : (Double.isNaN(rescaledSpot) ? -sign * Math.signum((costOfCarry - interestRate)) * rescaledSpot
             : -sign *
@@ -768,8 +767,8 @@ public final class BlackScholesFormulaRepository {
     tmp = Double.isNaN(tmp) ? (d2 >= 0d ? 1d : -1.) : tmp;
     double coefPdf = cocMod - 0.5 * tmp;
 
-    double normPdf = NORMAL.getPDF(d1);
-    double normCdf = NORMAL.getCDF(sign * d1);
+    double normPdf = StandardNormalDistribution.pdf(d1);
+    double normCdf = StandardNormalDistribution.cdf(sign * d1);
     double first = normPdf < SMALL ? 0d : (Double.isNaN(coefPdf) ? 0d : normPdf * coefPdf);
     double second = normCdf < SMALL ? 0d : (costOfCarry - interestRate) * normCdf;
     double res = -coeff * (first + sign * second);
@@ -869,8 +868,8 @@ public final class BlackScholesFormulaRepository {
       coefPdf = cocMod - 0.5 * tmp;
     }
 
-    double normPdf = NORMAL.getPDF(d2);
-    double normCdf = NORMAL.getCDF(sign * d2);
+    double normPdf = StandardNormalDistribution.pdf(d2);
+    double normCdf = StandardNormalDistribution.cdf(sign * d2);
     double first = normPdf < SMALL ? 0d : (Double.isNaN(coefPdf) ? 0d : normPdf * coefPdf);
     double second = normCdf < SMALL ? 0d : interestRate * normCdf;
     double res = discount * (first - sign * second);
@@ -954,7 +953,7 @@ public final class BlackScholesFormulaRepository {
         d1 = Math.log(spot / strike) / sigmaRootT + scnd + 0.5 * sigmaRootT;
       }
     }
-    double norm = NORMAL.getPDF(d1);
+    double norm = StandardNormalDistribution.pdf(d1);
 
     double res = norm < SMALL ? 0d : coef * norm * spot * rootT;
     return Double.isNaN(res) ? Double.POSITIVE_INFINITY : res;
@@ -1043,7 +1042,7 @@ public final class BlackScholesFormulaRepository {
       coef = Math.exp(rate * timeToExpiry);
     }
 
-    double norm = NORMAL.getPDF(d1);
+    double norm = StandardNormalDistribution.pdf(d1);
     double tmp = d2 * coef / lognormalVol;
     if (Double.isNaN(tmp)) {
       tmp = coef;
@@ -1125,7 +1124,7 @@ public final class BlackScholesFormulaRepository {
       coef = 1d; //ref value is returned
     }
 
-    double norm = NORMAL.getPDF(d2);
+    double norm = StandardNormalDistribution.pdf(d2);
     double tmp = d1 * coef / lognormalVol;
     if (Double.isNaN(tmp)) {
       tmp = coef;
@@ -1216,7 +1215,7 @@ public final class BlackScholesFormulaRepository {
       coef = Math.exp(rate * timeToExpiry);
     }
 
-    double norm = NORMAL.getPDF(d1);
+    double norm = StandardNormalDistribution.pdf(d1);
     double tmp = d1d2Mod * spot * coef;
     if (Double.isNaN(tmp)) {
       tmp = coef;
@@ -1312,7 +1311,7 @@ public final class BlackScholesFormulaRepository {
       coef = Math.exp(rate * timeToExpiry);
     }
 
-    double norm = NORMAL.getPDF(d1);
+    double norm = StandardNormalDistribution.pdf(d1);
     double tmp = spot * coef * extra;
     if (Double.isNaN(tmp)) {
       tmp = coef;
@@ -1394,7 +1393,7 @@ public final class BlackScholesFormulaRepository {
           Double.isNaN(tmp) ? ((lognormalVol < LARGE && lognormalVol > SMALL) ? sig / lognormalVol : sig * rootT) : tmp;
       d2 = Math.log(spot / strike) / sigmaRootT + scnd - 0.5 * sigmaRootT;
     }
-    double norm = NORMAL.getCDF(sign * d2);
+    double norm = StandardNormalDistribution.cdf(sign * d2);
     double result = norm < SMALL ? 0d : sign * discount * strike * timeToExpiry * norm;
     return Double.isNaN(result) ? sign * discount : result;
   }
@@ -1477,7 +1476,7 @@ public final class BlackScholesFormulaRepository {
           Double.isNaN(tmp) ? ((lognormalVol < LARGE && lognormalVol > SMALL) ? sig / lognormalVol : sig * rootT) : tmp;
       d1 = Math.log(spot / strike) / sigmaRootT + scnd + 0.5 * sigmaRootT;
     }
-    double norm = NORMAL.getCDF(sign * d1);
+    double norm = StandardNormalDistribution.cdf(sign * d1);
 
     double result = norm < SMALL ? 0d : sign * coef * timeToExpiry * spot * norm;
     return Double.isNaN(result) ? sign * coef : result;
@@ -216,6 +216,24 @@ public final class DiscountIborIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public void addParameterSensitivity(IborIndexObservation observation, double sensitivity, double[] result) {
+    LocalDate fixingStartDate = observation.getEffectiveDate();
+    LocalDate fixingEndDate = observation.getMaturityDate();
+    double accrualFactor = observation.getYearFraction();
+    double yearFractionStart = discountFactors.relativeYearFraction(fixingStartDate);
+    double yearFractionEnd = discountFactors.relativeYearFraction(fixingEndDate);
+    double dfForwardStart = discountFactors.discountFactor(yearFractionStart);
+    double dfForwardEnd = discountFactors.discountFactor(yearFractionEnd);
+    double dfStartBar = sensitivity / (accrualFactor * dfForwardEnd);
+    double dfEndBar = -sensitivity * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+    // the sensitivity of the discount factor to the zero rate is -df * t
+    discountFactors.addZeroRateParameterSensitivity(
+        yearFractionStart, -dfForwardStart * yearFractionStart * dfStartBar, result);
+    discountFactors.addZeroRateParameterSensitivity(
+        yearFractionEnd, -dfForwardEnd * yearFractionEnd * dfEndBar, result);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
@@ -243,6 +243,28 @@ public final class DiscountOvernightIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public void addParameterSensitivity(
+      OvernightIndexObservation observation,
+      LocalDate endDate,
+      double sensitivity,
+      double[] result) {
+
+    LocalDate startDate = observation.getEffectiveDate();
+    double accrualFactor = observation.getIndex().getDayCount().yearFraction(startDate, endDate);
+    double yearFractionStart = discountFactors.relativeYearFraction(startDate);
+    double yearFractionEnd = discountFactors.relativeYearFraction(endDate);
+    double dfForwardStart = discountFactors.discountFactor(yearFractionStart);
+    double dfForwardEnd = discountFactors.discountFactor(yearFractionEnd);
+    double dfStartBar = sensitivity / (accrualFactor * dfForwardEnd);
+    double dfEndBar = -sensitivity * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+    // the sensitivity of the discount factor to the zero rate is -df * t
+    discountFactors.addZeroRateParameterSensitivity(
+        yearFractionStart, -dfForwardStart * yearFractionStart * dfStartBar, result);
+    discountFactors.addZeroRateParameterSensitivity(
+        yearFractionEnd, -dfForwardEnd * yearFractionEnd * dfEndBar, result);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
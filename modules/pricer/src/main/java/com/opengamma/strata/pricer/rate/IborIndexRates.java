@@ -178,6 +178,29 @@ public interface IborIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(IborRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of a point sensitivity to the rate of the observation.
+   * <p>
+   * The values added are those of {@link #parameterSensitivity(IborRateSensitivity)} for a point
+   * sensitivity with the specified value, without creating the intermediate sensitivity objects.
+   * The array must have one element for each parameter,
+   * as in {@link #createParameterSensitivity(Currency, DoubleArray)}.
+   * 
+   * @param observation  the rate observation
+   * @param sensitivity  the value of the point sensitivity
+   * @param result  the array to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void addParameterSensitivity(IborIndexObservation observation, double sensitivity, double[] result) {
+    IborRateSensitivity point = IborRateSensitivity.of(observation, sensitivity);
+    for (CurrencyParameterSensitivity parameterSensitivity : parameterSensitivity(point).getSensitivities()) {
+      DoubleArray values = parameterSensitivity.getSensitivity();
+      for (int j = 0; j < values.size(); j++) {
+        result[j] += values.get(j);
+      }
+    }
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
@@ -211,6 +211,35 @@ public interface OvernightIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(OvernightRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of a point sensitivity to the rate of the observation up to the end date.
+   * <p>
+   * The values added are those of {@link #parameterSensitivity(OvernightRateSensitivity)} for a point
+   * sensitivity with the specified value, without creating the intermediate sensitivity objects.
+   * The array must have one element for each parameter,
+   * as in {@link #createParameterSensitivity(Currency, DoubleArray)}.
+   * 
+   * @param observation  the rate observation, including the fixing date
+   * @param endDate  the end date of the period
+   * @param sensitivity  the value of the point sensitivity
+   * @param result  the array to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void addParameterSensitivity(
+      OvernightIndexObservation observation,
+      LocalDate endDate,
+      double sensitivity,
+      double[] result) {
+
+    OvernightRateSensitivity point = OvernightRateSensitivity.ofPeriod(observation, endDate, sensitivity);
+    for (CurrencyParameterSensitivity parameterSensitivity : parameterSensitivity(point).getSensitivities()) {
+      DoubleArray values = parameterSensitivity.getSensitivity();
+      for (int j = 0; j < values.size(); j++) {
+        result[j] += values.get(j);
+      }
+    }
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
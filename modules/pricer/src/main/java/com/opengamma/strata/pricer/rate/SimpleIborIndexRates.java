@@ -29,6 +29,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.YearFractionCache;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.collect.ArgChecker;
@@ -83,6 +84,10 @@ public final class SimpleIborIndexRates
    * The day count convention of the curve.
    */
   private final DayCount dayCount;  // cached, not a property
+  /**
+   * The cache of year fractions from the valuation date, null if not used.
+   */
+  private final YearFractionCache yearFractionCache;  // optional, not a property
 
   /**
    * Obtains an instance from a curve, with an empty time-series of fixings.
@@ -133,6 +138,17 @@ public final class SimpleIborIndexRates
       Curve curve,
       LocalDateDoubleTimeSeries fixings) {
 
+    this(index, valuationDate, curve, fixings, null);
+  }
+
+  // creates an instance, using the cache of year fractions only if it matches the curve
+  private SimpleIborIndexRates(
+      IborIndex index,
+      LocalDate valuationDate,
+      Curve curve,
+      LocalDateDoubleTimeSeries fixings,
+      YearFractionCache yearFractionCache) {
+
     ArgChecker.notNull(index, "index");
     ArgChecker.notNull(valuationDate, "valuationDate");
     ArgChecker.notNull(curve, "curve");
@@ -149,6 +165,8 @@ public final class SimpleIborIndexRates
     this.curve = curve;
     this.fixings = fixings;
     this.dayCount = dayCount;
+    this.yearFractionCache =
+        yearFractionCache != null && yearFractionCache.matches(dayCount, valuationDate) ? yearFractionCache : null;
   }
 
   //-------------------------------------------------------------------------
@@ -245,6 +263,12 @@ public final class SimpleIborIndexRates
     return CurrencyParameterSensitivities.of(sensitivity);
   }
 
+  @Override
+  public void addParameterSensitivity(IborIndexObservation observation, double sensitivity, double[] result) {
+    double relativeYearFraction = relativeYearFraction(observation.getMaturityDate());
+    curve.addYValueParameterSensitivity(relativeYearFraction, sensitivity, result);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -258,11 +282,38 @@ public final class SimpleIborIndexRates
    * @return the new instance
    */
   public SimpleIborIndexRates withCurve(Curve curve) {
-    return new SimpleIborIndexRates(index, valuationDate, curve, fixings);
+    return new SimpleIborIndexRates(index, valuationDate, curve, fixings, yearFractionCache);
+  }
+
+  /**
+   * Returns a new instance that uses a cache of year fractions.
+   * <p>
+   * By default, the relative year fraction of each date is calculated using the day count of the curve.
+   * A cache avoids repeating this calculation for day counts where it is expensive, such as 'Bus/252'.
+   * The cache would typically be created for a calculation run and shared by all the index rates
+   * of the run with the same day count and valuation date.
+   * The cache is retained by {@link #withCurve(Curve)} if it matches the day count of the new curve.
+   * 
+   * @param yearFractionCache  the cache, which must match the day count of the curve and the valuation date
+   * @return the new instance
+   * @throws IllegalArgumentException if the cache does not match the day count or valuation date
+   */
+  public SimpleIborIndexRates withYearFractionCache(YearFractionCache yearFractionCache) {
+    ArgChecker.notNull(yearFractionCache, "yearFractionCache");
+    ArgChecker.isTrue(
+        yearFractionCache.matches(dayCount, valuationDate),
+        "Year fraction cache {} does not match day count {} and valuation date {}",
+        yearFractionCache,
+        dayCount,
+        valuationDate);
+    return new SimpleIborIndexRates(index, valuationDate, curve, fixings, yearFractionCache);
   }
 
   // calculate the relative time between the valuation date and the specified date using the day count of the curve
   private double relativeYearFraction(LocalDate date) {
+    if (yearFractionCache != null) {
+      return yearFractionCache.relativeYearFraction(date);
+    }
     return dayCount.relativeYearFraction(valuationDate, date);
   }
 
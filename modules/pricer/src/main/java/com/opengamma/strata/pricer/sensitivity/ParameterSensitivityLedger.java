@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Ledger of curve parameter sensitivities for a portfolio of trades.
+ * <p>
+ * Calculating bucketed PV01 trade by trade converts the point sensitivities of each trade to
+ * {@link CurrencyParameterSensitivities}, and then combines the results.
+ * As the conversion from point sensitivity to parameter sensitivity is linear, the point sensitivities
+ * of all the trades can instead be accumulated first and converted once, which is the adjoint approach.
+ * <p>
+ * This ledger accumulates the point sensitivities of many trades using a {@link PointSensitivityAccumulator}.
+ * Parameter sensitivities that are already available can also be added, and are held in one dense
+ * {@code double[]} for each curve and currency. The {@code CurrencyParameterSensitivities} is only built
+ * once, when {@link #build()} is called.
+ * <p>
+ * All the sensitivities must be relative to the curves in the rates provider of the ledger.
+ * This class is mutable and not thread-safe.
+ */
+public final class ParameterSensitivityLedger {
+
+  /**
+   * The rates provider, used to convert point sensitivities.
+   */
+  private final RatesProvider provider;
+  /**
+   * The accumulated point sensitivities.
+   */
+  private final PointSensitivityAccumulator points = new PointSensitivityAccumulator();
+  /**
+   * The accumulated parameter sensitivities, one array per curve and currency.
+   */
+  private final ParameterSensitivityTotals totals = new ParameterSensitivityTotals();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty ledger for the specified rates provider.
+   *
+   * @param provider  the rates provider, used to convert point sensitivities
+   * @return the ledger
+   */
+  public static ParameterSensitivityLedger of(RatesProvider provider) {
+    return new ParameterSensitivityLedger(provider);
+  }
+
+  // restricted constructor
+  private ParameterSensitivityLedger(RatesProvider provider) {
+    this.provider = ArgChecker.notNull(provider, "provider");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds point sensitivities, typically those of a single trade.
+   *
+   * @param sensitivities  the point sensitivities
+   * @return {@code this}, for method chaining
+   */
+  public ParameterSensitivityLedger add(PointSensitivities sensitivities) {
+    points.add(sensitivities);
+    return this;
+  }
+
+  /**
+   * Adds the point sensitivities of a builder, typically those of a single trade.
+   *
+   * @param builder  the builder of the point sensitivities
+   * @return {@code this}, for method chaining
+   */
+  public ParameterSensitivityLedger add(PointSensitivityBuilder builder) {
+    points.add(builder);
+    return this;
+  }
+
+  /**
+   * Adds parameter sensitivities.
+   *
+   * @param sensitivities  the parameter sensitivities
+   * @return {@code this}, for method chaining
+   */
+  public ParameterSensitivityLedger add(CurrencyParameterSensitivities sensitivities) {
+    totals.add(sensitivities);
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the total parameter sensitivity of everything added to the ledger.
+   * <p>
+   * The ledger can continue to be used after this method is called.
+   *
+   * @return the total parameter sensitivity
+   */
+  public CurrencyParameterSensitivities build() {
+    return totals.build().combinedWith(points.parameterSensitivity(provider));
+  }
+
+}
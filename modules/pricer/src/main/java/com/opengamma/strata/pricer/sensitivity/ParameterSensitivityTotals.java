@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+
+/**
+ * Running totals of parameter sensitivities, held in one array for each curve and currency.
+ * <p>
+ * Parameter sensitivities are summed as they are added, without creating intermediate
+ * {@link CurrencyParameterSensitivities}. The metadata of each curve is taken from the
+ * first sensitivity added for that curve and currency.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+final class ParameterSensitivityTotals {
+
+  /**
+   * The totals, one array per curve and currency, in insertion order.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, double[]> totals = new LinkedHashMap<>();
+  /**
+   * The first parameter sensitivity of each curve and currency, providing the metadata.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, CurrencyParameterSensitivity> firsts = new LinkedHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds parameter sensitivities to the totals.
+   *
+   * @param sensitivities  the parameter sensitivities
+   */
+  void add(CurrencyParameterSensitivities sensitivities) {
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+  }
+
+  /**
+   * Adds a parameter sensitivity to the totals.
+   *
+   * @param sensitivity  the parameter sensitivity
+   */
+  void add(CurrencyParameterSensitivity sensitivity) {
+    Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+    DoubleArray values = sensitivity.getSensitivity();
+    double[] total = totals.get(key);
+    if (total == null) {
+      totals.put(key, values.toArray());
+      firsts.put(key, sensitivity);
+    } else {
+      ArgChecker.isTrue(total.length == values.size(), "Sensitivity to {} has inconsistent size", key.getFirst());
+      for (int i = 0; i < total.length; i++) {
+        total[i] += values.get(i);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the parameter sensitivities from the totals.
+   * <p>
+   * The totals can continue to be used after this method is called.
+   *
+   * @return the total parameter sensitivities
+   */
+  CurrencyParameterSensitivities build() {
+    List<CurrencyParameterSensitivity> result = new ArrayList<>(totals.size());
+    for (Map.Entry<Pair<MarketDataName<?>, Currency>, double[]> entry : totals.entrySet()) {
+      CurrencyParameterSensitivity first = firsts.get(entry.getKey());
+      result.add(CurrencyParameterSensitivity.of(
+          first.getMarketDataName(),
+          first.getParameterMetadata(),
+          first.getCurrency(),
+          DoubleArray.copyOf(entry.getValue())));
+    }
+    return CurrencyParameterSensitivities.of(result);
+  }
+
+}
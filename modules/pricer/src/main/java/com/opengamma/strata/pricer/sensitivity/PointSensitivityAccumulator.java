@@ -0,0 +1,372 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.pricer.rate.OvernightRateSensitivity;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Accumulator of point sensitivities, aggregating into primitive arrays.
+ * <p>
+ * This is an alternative to {@link MutablePointSensitivities} for large numbers of point sensitivities,
+ * such as when calculating bucketed PV01 for a portfolio.
+ * Rather than holding each point sensitivity and then sorting and merging them, the sensitivities are
+ * aggregated as they are added, keyed by curve and by date or time on the curve.
+ * <p>
+ * Zero rate, Ibor rate and Overnight rate sensitivities are aggregated. The curve is identified by the
+ * curve currency or the index, together with the currency of the sensitivity. The point on the curve is
+ * identified by the year fraction, the fixing date or the fixing and end dates respectively.
+ * Each point is held as a primitive key, together with the rate observation for Ibor and Overnight rates.
+ * Adding a sensitivity to a point that is already present only updates a primitive array.
+ * The {@code addZeroRate}, {@code addIborRate} and {@code addOvernightRate} methods add a sensitivity
+ * without creating a {@link PointSensitivity}. Point sensitivities are only created once per distinct point,
+ * when the result is built. Other types of point sensitivity are held without aggregation.
+ * <p>
+ * The accumulated sensitivities are converted to {@link CurrencyParameterSensitivities} using
+ * {@link #parameterSensitivity(RatesProvider)}. The curve of each group is queried once,
+ * and the parameter sensitivity of each distinct point is summed into one array per curve.
+ * Each point is added using {@link DiscountFactors#addZeroRateParameterSensitivity(double, double, double[])},
+ * {@link IborIndexRates#addParameterSensitivity(IborIndexObservation, double, double[])} or
+ * {@link OvernightIndexRates#addParameterSensitivity(OvernightIndexObservation, LocalDate, double, double[])}.
+ * The curve based implementations only update the non-zero elements of the sensitivity to the curve,
+ * while other implementations fall back to creating the parameter sensitivity of each point.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class PointSensitivityAccumulator {
+
+  /**
+   * The groups of aggregated sensitivities, one for each curve.
+   */
+  private final List<Group> groups = new ArrayList<>();
+  /**
+   * The point sensitivities that are not aggregated.
+   */
+  private final MutablePointSensitivities others = new MutablePointSensitivities();
+  /**
+   * The last group that was used, checked first as sensitivities tend to be added in runs.
+   */
+  private Group lastGroup;
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of distinct points that have been accumulated.
+   *
+   * @return the number of distinct points
+   */
+  public int size() {
+    int size = others.size();
+    for (Group group : groups) {
+      size += group.size;
+    }
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a point sensitivity.
+   *
+   * @param sensitivity  the point sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivity sensitivity) {
+    if (sensitivity instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) sensitivity;
+      return addZeroRate(pt.getCurveCurrency(), pt.getYearFraction(), pt.getCurrency(), pt.getSensitivity());
+    }
+    if (sensitivity instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) sensitivity;
+      return addIborRate(pt.getObservation(), pt.getCurrency(), pt.getSensitivity());
+    }
+    if (sensitivity instanceof OvernightRateSensitivity) {
+      OvernightRateSensitivity pt = (OvernightRateSensitivity) sensitivity;
+      return addOvernightRate(pt.getObservation(), pt.getEndDate(), pt.getCurrency(), pt.getSensitivity());
+    }
+    others.add(sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds the sensitivity to a zero rate, without creating a {@link ZeroRateSensitivity}.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param yearFraction  the year fraction that was looked up on the curve
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addZeroRate(
+      Currency curveCurrency,
+      double yearFraction,
+      Currency currency,
+      double sensitivity) {
+
+    group(ZeroRateSensitivity.class, curveCurrency, currency)
+        .add(Double.doubleToLongBits(yearFraction), null, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds the sensitivity to an Ibor rate, without creating an {@link IborRateSensitivity}.
+   *
+   * @param observation  the rate observation
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addIborRate(
+      IborIndexObservation observation,
+      Currency currency,
+      double sensitivity) {
+
+    group(IborRateSensitivity.class, observation.getIndex(), currency)
+        .add(observation.getFixingDate().toEpochDay(), observation, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds the sensitivity to an Overnight rate, without creating an {@link OvernightRateSensitivity}.
+   *
+   * @param observation  the rate observation, including the fixing date
+   * @param endDate  the end date of the period
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addOvernightRate(
+      OvernightIndexObservation observation,
+      LocalDate endDate,
+      Currency currency,
+      double sensitivity) {
+
+    long fixing = observation.getFixingDate().toEpochDay();
+    long end = endDate.toEpochDay();
+    group(OvernightRateSensitivity.class, observation.getIndex(), currency)
+        .add((fixing << 32) | (end & 0xFFFFFFFFL), observation, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a list of point sensitivities.
+   *
+   * @param sensitivities  the point sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivities sensitivities) {
+    for (PointSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the point sensitivities of a builder.
+   *
+   * @param builder  the builder of the point sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivityBuilder builder) {
+    return add(builder.build());
+  }
+
+  // finds or creates the group
+  private Group group(Class<?> type, Object curveKey, Currency currency) {
+    if (lastGroup != null && lastGroup.matches(type, curveKey, currency)) {
+      return lastGroup;
+    }
+    for (Group group : groups) {
+      if (group.matches(type, curveKey, currency)) {
+        lastGroup = group;
+        return group;
+      }
+    }
+    Group group = new Group(type, curveKey, currency);
+    groups.add(group);
+    lastGroup = group;
+    return group;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the aggregated point sensitivities.
+   * <p>
+   * The result contains one point sensitivity for each distinct point.
+   *
+   * @return the aggregated point sensitivities
+   */
+  public PointSensitivities build() {
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (Group group : groups) {
+      for (int i = 0; i < group.size; i++) {
+        result.add(group.point(i));
+      }
+    }
+    result.addAll(others);
+    return result.build().normalized();
+  }
+
+  /**
+   * Computes the parameter sensitivity of the accumulated point sensitivities.
+   * <p>
+   * The result is the same as calling {@link RatesProvider#parameterSensitivity(PointSensitivities)}
+   * with all the point sensitivities that were added.
+   *
+   * @param provider  the rates provider
+   * @return the sensitivity to the curve parameters
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(RatesProvider provider) {
+    ParameterSensitivityTotals totals = new ParameterSensitivityTotals();
+    for (Group group : groups) {
+      // the parameter sensitivity of each point is summed directly into the array of the curve
+      if (group.type == ZeroRateSensitivity.class) {
+        DiscountFactors factors = provider.discountFactors((Currency) group.curveKey);
+        double[] total = new double[factors.getParameterCount()];
+        for (int i = 0; i < group.size; i++) {
+          factors.addZeroRateParameterSensitivity(Double.longBitsToDouble(group.keys[i]), group.values[i], total);
+        }
+        totals.add(factors.createParameterSensitivity(group.currency, DoubleArray.ofUnsafe(total)));
+      } else if (group.type == IborRateSensitivity.class) {
+        IborIndexRates rates = provider.iborIndexRates((IborIndex) group.curveKey);
+        double[] total = new double[rates.getParameterCount()];
+        for (int i = 0; i < group.size; i++) {
+          rates.addParameterSensitivity((IborIndexObservation) group.observations[i], group.values[i], total);
+        }
+        totals.add(rates.createParameterSensitivity(group.currency, DoubleArray.ofUnsafe(total)));
+      } else {
+        OvernightIndexRates rates = provider.overnightIndexRates((OvernightIndex) group.curveKey);
+        double[] total = new double[rates.getParameterCount()];
+        for (int i = 0; i < group.size; i++) {
+          // the end date is held in the low 32 bits of the key
+          LocalDate endDate = LocalDate.ofEpochDay((int) group.keys[i]);
+          rates.addParameterSensitivity(
+              (OvernightIndexObservation) group.observations[i], endDate, group.values[i], total);
+        }
+        totals.add(rates.createParameterSensitivity(group.currency, DoubleArray.ofUnsafe(total)));
+      }
+    }
+    if (others.size() > 0) {
+      totals.add(provider.parameterSensitivity(others.build()));
+    }
+    return totals.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The aggregated sensitivities to a single curve.
+   * <p>
+   * The points are held in insertion order in parallel arrays, with an open addressing
+   * hash table mapping the key of the point on the curve to its position.
+   */
+  private static final class Group {
+    private final Class<?> type;
+    private final Object curveKey;
+    private final Currency currency;
+    private long[] keys = new long[16];
+    private Object[] observations = new Object[16];
+    private double[] values = new double[16];
+    private int[] table = new int[32];
+    private int size;
+
+    private Group(Class<?> type, Object curveKey, Currency currency) {
+      this.type = type;
+      this.curveKey = curveKey;
+      this.currency = currency;
+    }
+
+    // checks if this group matches
+    private boolean matches(Class<?> type, Object curveKey, Currency currency) {
+      return this.type == type && this.curveKey.equals(curveKey) && this.currency.equals(currency);
+    }
+
+    // adds the sensitivity of the point, the key identifying the point on the curve
+    private void add(long key, Object observation, double sensitivity) {
+      int mask = table.length - 1;
+      int hash = hash(key) & mask;
+      while (table[hash] != 0) {
+        int position = table[hash] - 1;
+        if (keys[position] == key) {
+          values[position] += sensitivity;
+          return;
+        }
+        hash = (hash + 1) & mask;
+      }
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        observations = Arrays.copyOf(observations, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      keys[size] = key;
+      observations[size] = observation;
+      values[size] = sensitivity;
+      table[hash] = ++size;
+      if (size * 2 > table.length) {
+        rehash();
+      }
+    }
+
+    // creates the point sensitivity at the position
+    private PointSensitivity point(int position) {
+      if (type == ZeroRateSensitivity.class) {
+        return ZeroRateSensitivity.of(
+            (Currency) curveKey, Double.longBitsToDouble(keys[position]), currency, values[position]);
+      }
+      if (type == IborRateSensitivity.class) {
+        return IborRateSensitivity.of((IborIndexObservation) observations[position], currency, values[position]);
+      }
+      // the end date is held in the low 32 bits of the key
+      LocalDate endDate = LocalDate.ofEpochDay((int) keys[position]);
+      return OvernightRateSensitivity.ofPeriod(
+          (OvernightIndexObservation) observations[position], endDate, currency, values[position]);
+    }
+
+    // doubles the size of the hash table
+    private void rehash() {
+      table = new int[table.length * 2];
+      int mask = table.length - 1;
+      for (int position = 0; position < size; position++) {
+        int hash = hash(keys[position]) & mask;
+        while (table[hash] != 0) {
+          hash = (hash + 1) & mask;
+        }
+        table[hash] = position + 1;
+      }
+    }
+
+    // spreads the bits of the key
+    private static int hash(long key) {
+      long mixed = key * 0x9E3779B97F4A7C15L;
+      return (int) (mixed ^ (mixed >>> 32));
+    }
+  }
+
+}
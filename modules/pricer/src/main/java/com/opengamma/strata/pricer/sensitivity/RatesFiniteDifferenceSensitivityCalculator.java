@@ -5,26 +5,51 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
+import com.opengamma.strata.pricer.fx.DiscountFxForwardRates;
+import com.opengamma.strata.pricer.fx.ForwardFxIndexRates;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.pricer.rate.PriceIndexValues;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
 /**
@@ -32,11 +57,20 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider} or {@link LegalEntityDiscountingProvider}, 
  * and calculates the sensitivity by finite difference.
+ * <p>
+ * The finite difference can be forward, central or backward.
+ * The bumps to the parameters of each curve can optionally be evaluated in parallel,
+ * in which case the function being differentiated must be thread-safe.
+ * <p>
+ * When the function only needs a {@link RatesProvider}, {@link #sensitivityWithOverlay(RatesProvider, Function)}
+ * avoids building a complete {@code ImmutableRatesProvider} for each bump.
+ * Instead, a lightweight provider is used that substitutes the bumped curve and delegates to the
+ * underlying provider for everything else.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
   /**
-   * Default implementation. The shift is one basis point (0.0001).
+   * Default implementation. Finite difference is forward and the shift is one basis point (0.0001).
    */
   public static final RatesFiniteDifferenceSensitivityCalculator DEFAULT =
       new RatesFiniteDifferenceSensitivityCalculator(1.0E-4);
@@ -45,21 +79,84 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType differenceType;
+  /**
+   * Whether the bumps to the parameters of a curve are evaluated in parallel.
+   */
+  private final boolean parallel;
 
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance of the finite difference calculator using forward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofForwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.FORWARD, false);
+  }
+
+  /**
+   * Obtains an instance of the finite difference calculator using central differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofCentralDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.CENTRAL, false);
+  }
+
+  /**
+   * Obtains an instance of the finite difference calculator using backward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofBackwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.BACKWARD, false);
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Create an instance of the finite difference calculator.
+   * <p>
+   * The finite difference is computed by forward type.
    * 
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, FiniteDifferenceType.FORWARD, false);
+  }
+
+  // restricted constructor
+  private RatesFiniteDifferenceSensitivityCalculator(
+      double shift,
+      FiniteDifferenceType differenceType,
+      boolean parallel) {
     this.shift = shift;
+    this.differenceType = ArgChecker.notNull(differenceType, "differenceType");
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a copy of this calculator that evaluates the bumps to the parameters of a curve in parallel.
+   * <p>
+   * The function passed to the calculator must be thread-safe.
+   * 
+   * @param parallel  true to evaluate the bumps in parallel
+   * @return the calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator withParallel(boolean parallel) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, differenceType, parallel);
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
    * The function should return a value in the same currency for any rate provider.
    * 
    * @param provider  the rates provider
@@ -98,23 +195,68 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
     for (Entry<T, Curve> entry : baseCurves.entrySet()) {
       Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      DoubleArray sensitivity = curveSensitivity(curve, valueInit, dscBumped -> {
         Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(entry.getKey(), dscBumped);
         ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+        return valueFn.apply(providerDscBumped).getAmount();
       });
       result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference,
+   * overlaying each bumped curve on the underlying provider.
+   * <p>
+   * The function is passed a provider that returns the bumped curve for the currency or index being bumped,
+   * and delegates to the underlying provider for all other data. This avoids rebuilding a complete
+   * {@link ImmutableRatesProvider} for every bump.
+   * <p>
+   * The function should return a value in the same currency for any rate provider.
+   * 
+   * @param provider  the rates provider
+   * @param valueFn  the function from a rate provider to a currency amount for which the sensitivity should be computed
+   * @return the curve sensitivity
+   */
+  public CurrencyParameterSensitivities sensitivityWithOverlay(
+      RatesProvider provider,
+      Function<RatesProvider, CurrencyAmount> valueFn) {
+
+    ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
+    CurrencyAmount valueInit = valueFn.apply(immProv);
+    CurrencyParameterSensitivities discounting =
+        sensitivityWithOverlay(immProv, immProv.getDiscountCurves(), valueFn, valueInit);
+    CurrencyParameterSensitivities forward =
+        sensitivityWithOverlay(immProv, immProv.getIndexCurves(), valueFn, valueInit);
+    return discounting.combinedWith(forward);
+  }
+
+  // computes the sensitivity with respect to the curves, using an overlay provider
+  private <T> CurrencyParameterSensitivities sensitivityWithOverlay(
+      ImmutableRatesProvider provider,
+      Map<T, Curve> baseCurves,
+      Function<RatesProvider, CurrencyAmount> valueFn,
+      CurrencyAmount valueInit) {
+
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
+      Curve curve = entry.getValue();
+      DoubleArray sensitivity = curveSensitivity(
+          curve,
+          valueInit,
+          bumped -> valueFn.apply(new BumpedRatesProvider(provider, entry.getKey(), bumped)).getAmount());
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a LegalEntityDiscountingProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
    * The function should return a value in the same currency for any rates provider of LegalEntityDiscountingProvider.
    * 
    * @param provider  the rates provider
@@ -144,21 +286,52 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     for (Pair<T, Currency> key : baseCurves.keySet()) {
       DiscountFactors discountFactors = baseCurves.get(key);
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      DoubleArray sensitivity = curveSensitivity(curve, valueInit, dscBumped -> {
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
         LegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return valueFn.apply(providerDscBumped).getAmount();
+      });
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  // computes the finite difference with respect to each parameter of the curve
+  private DoubleArray curveSensitivity(Curve curve, CurrencyAmount valueInit, ToDoubleFunction<Curve> bumpedValueFn) {
+    int paramCount = curve.getParameterCount();
+    double[] sensitivity = new double[paramCount];
+    IntStream indices = IntStream.range(0, paramCount);
+    if (parallel) {
+      indices = indices.parallel();
+    }
+    indices.forEach(i -> sensitivity[i] = difference(curve, i, valueInit.getAmount(), bumpedValueFn));
+    return DoubleArray.ofUnsafe(sensitivity);
+  }
+
+  // computes the finite difference with respect to a single parameter of the curve
+  private double difference(Curve curve, int i, double valueInit, ToDoubleFunction<Curve> bumpedValueFn) {
+    double parameter = curve.getParameter(i);
+    switch (differenceType) {
+      case FORWARD: {
+        double up = bumpedValueFn.applyAsDouble(curve.withParameter(i, parameter + shift));
+        return (up - valueInit) / shift;
+      }
+      case CENTRAL: {
+        double up = bumpedValueFn.applyAsDouble(curve.withParameter(i, parameter + shift));
+        double down = bumpedValueFn.applyAsDouble(curve.withParameter(i, parameter - shift));
+        return (up - down) / (2d * shift);
+      }
+      case BACKWARD: {
+        double down = bumpedValueFn.applyAsDouble(curve.withParameter(i, parameter - shift));
+        return (valueInit - down) / shift;
+      }
+      default:
+        throw new IllegalArgumentException("Unsupported finite difference type: " + differenceType);
+    }
+  }
+
   //-------------------------------------------------------------------------
   // check that the discountFactors is ZeroRateDiscountFactors or SimpleDiscountFactors
   private Curve checkDiscountFactors(DiscountFactors discountFactors) {
@@ -180,4 +353,137 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     throw new IllegalArgumentException("Not supported");
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Rates provider that overlays a single bumped curve on an underlying provider.
+   * <p>
+   * The bumped curve replaces the discount curve of a currency or the curve of an index.
+   * All other data is obtained from the underlying provider.
+   */
+  private static final class BumpedRatesProvider implements RatesProvider {
+    private final ImmutableRatesProvider underlying;
+    private final Object key;
+    private final Curve curve;
+
+    private BumpedRatesProvider(ImmutableRatesProvider underlying, Object key, Curve curve) {
+      this.underlying = underlying;
+      this.key = key;
+      this.curve = curve;
+    }
+
+    @Override
+    public LocalDate getValuationDate() {
+      return underlying.getValuationDate();
+    }
+
+    @Override
+    public Set<Currency> getDiscountCurrencies() {
+      return underlying.getDiscountCurrencies();
+    }
+
+    @Override
+    public Set<IborIndex> getIborIndices() {
+      return underlying.getIborIndices();
+    }
+
+    @Override
+    public Set<OvernightIndex> getOvernightIndices() {
+      return underlying.getOvernightIndices();
+    }
+
+    @Override
+    public Set<PriceIndex> getPriceIndices() {
+      return underlying.getPriceIndices();
+    }
+
+    @Override
+    public <T> T data(MarketDataId<T> id) {
+      return underlying.data(id);
+    }
+
+    @Override
+    public <T> Optional<T> findData(MarketDataName<T> name) {
+      if (name instanceof CurveName) {
+        // search in the same order as the underlying, replacing the curve of the bumped currency or index
+        return Stream.concat(
+            underlying.getDiscountCurves().entrySet().stream().map(e -> curve(e.getKey(), e.getValue())),
+            underlying.getIndexCurves().entrySet().stream().map(e -> curve(e.getKey(), e.getValue())))
+            .filter(c -> c.getName().equals(name))
+            .map(c -> name.getMarketDataType().cast(c))
+            .findFirst();
+      }
+      return underlying.findData(name);
+    }
+
+    // the curve for the currency or index, which is the bumped curve if the key matches
+    private Curve curve(Object curveKey, Curve underlyingCurve) {
+      return key.equals(curveKey) ? curve : underlyingCurve;
+    }
+
+    @Override
+    public LocalDateDoubleTimeSeries timeSeries(Index index) {
+      return underlying.timeSeries(index);
+    }
+
+    @Override
+    public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+      return underlying.fxRate(baseCurrency, counterCurrency);
+    }
+
+    @Override
+    public DiscountFactors discountFactors(Currency currency) {
+      if (key.equals(currency)) {
+        return DiscountFactors.of(currency, getValuationDate(), curve);
+      }
+      return underlying.discountFactors(currency);
+    }
+
+    @Override
+    public FxIndexRates fxIndexRates(FxIndex index) {
+      return ForwardFxIndexRates.of(index, fxForwardRates(index.getCurrencyPair()), timeSeries(index));
+    }
+
+    @Override
+    public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+      if (key.equals(currencyPair.getBase()) || key.equals(currencyPair.getCounter())) {
+        DiscountFactors base = discountFactors(currencyPair.getBase());
+        DiscountFactors counter = discountFactors(currencyPair.getCounter());
+        return DiscountFxForwardRates.of(currencyPair, underlying.getFxRateProvider(), base, counter);
+      }
+      return underlying.fxForwardRates(currencyPair);
+    }
+
+    @Override
+    public IborIndexRates iborIndexRates(IborIndex index) {
+      if (key.equals(index)) {
+        return IborIndexRates.of(index, getValuationDate(), curve, timeSeries(index));
+      }
+      return underlying.iborIndexRates(index);
+    }
+
+    @Override
+    public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+      if (key.equals(index)) {
+        return OvernightIndexRates.of(index, getValuationDate(), curve, timeSeries(index));
+      }
+      return underlying.overnightIndexRates(index);
+    }
+
+    @Override
+    public PriceIndexValues priceIndexValues(PriceIndex index) {
+      if (key.equals(index)) {
+        return PriceIndexValues.of(index, getValuationDate(), curve, timeSeries(index));
+      }
+      return underlying.priceIndexValues(index);
+    }
+
+    @Override
+    public ImmutableRatesProvider toImmutableRatesProvider() {
+      if (key instanceof Currency) {
+        return underlying.toBuilder().discountCurve((Currency) key, curve).build();
+      }
+      return underlying.toBuilder().indexCurve((Index) key, curve).build();
+    }
+  }
+
 }
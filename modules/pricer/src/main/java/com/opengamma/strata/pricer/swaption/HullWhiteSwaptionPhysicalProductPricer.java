@@ -17,8 +17,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
-import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
 import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
@@ -37,11 +36,6 @@ import com.opengamma.strata.product.swaption.ResolvedSwaption;
  */
 public class HullWhiteSwaptionPhysicalProductPricer {
 
-  /**
-   * Normal distribution function.
-   */
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
-
   /**
    * The small parameter.
    */
@@ -102,7 +96,7 @@ public class HullWhiteSwaptionPhysicalProductPricer {
     double kappa = computeKappa(hwProvider, discountedCashFlow, alpha, omega);
     double pv = 0.0;
     for (int loopcf = 0; loopcf < nPayments; loopcf++) {
-      pv += discountedCashFlow[loopcf] * NORMAL.getCDF(omega * (kappa + alpha[loopcf]));
+      pv += discountedCashFlow[loopcf] * StandardNormalDistribution.cdf(omega * (kappa + alpha[loopcf]));
     }
     return CurrencyAmount.of(cashFlowEquiv.getCurrency(), pv * (swaption.getLongShort().isLong() ? 1d : -1d));
   }
@@ -164,7 +158,7 @@ public class HullWhiteSwaptionPhysicalProductPricer {
     PointSensitivityBuilder point = PointSensitivityBuilder.none();
     for (int loopcf = 0; loopcf < nPayments; loopcf++) {
       Payment payment = list.get(loopcf);
-      double cdf = NORMAL.getCDF(omega * (kappa + alpha[loopcf]));
+      double cdf = StandardNormalDistribution.cdf(omega * (kappa + alpha[loopcf]));
       point = point.combinedWith(paymentPricer.presentValueSensitivity(payment, ratesProvider).multipliedBy(cdf));
       if (!listSensi.get(loopcf).equals(PointSensitivityBuilder.none())) {
         point = point.combinedWith(listSensi.get(loopcf)
@@ -217,8 +211,8 @@ public class HullWhiteSwaptionPhysicalProductPricer {
     double sign = (swaption.getLongShort().isLong() ? 1d : -1d);
     for (int i = 0; i < nParams; ++i) {
       for (int loopcf = 0; loopcf < nPayments; loopcf++) {
-        pvSensi[i] += sign * discountedCashFlow[loopcf] * NORMAL.getPDF(omega * (kappa + alpha[loopcf])) *
-            omega * alphaAdjoint[loopcf][i];
+        pvSensi[i] += sign * discountedCashFlow[loopcf] *
+            StandardNormalDistribution.pdf(omega * (kappa + alpha[loopcf])) * omega * alphaAdjoint[loopcf][i];
       }
     }
     return DoubleArray.ofUnsafe(pvSensi);
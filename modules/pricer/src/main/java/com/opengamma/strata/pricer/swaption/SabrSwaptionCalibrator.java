@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
@@ -12,6 +15,8 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -70,6 +75,11 @@ public class SabrSwaptionCalibrator {
   
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /**
+   * The maximal chi-square per data point for a warm started calibration to be accepted.
+   * The least square errors are one basis point of shifted Black volatility.
+   */
+  static final double WARM_START_CHI_SQ_LIMIT = 1.0;
 
   /**
    * The default instance of the class.
@@ -178,7 +188,6 @@ public class SabrSwaptionCalibrator {
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,79 +197,201 @@ public class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
-    SwaptionVolatilitiesName name = definition.getName();
+    return calibrateSequentially(
+        definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface, stopOnMathException)
+        .getFirst();
+  }
+
+  // Calibrates the tenors in order without warm start, also returning the diagnostics of the calibrated nodes
+  Pair<SabrParametersSwaptionVolatilities, List<SabrSwaptionNodeCalibration>> calibrateSequentially(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException) {
+
+    List<NodeCalibration> nodes = new ArrayList<>();
+    for (Tenor tenor : data.getTenors()) {
+      nodes.addAll(calibrateTenor(definition, calibrationDateTime, tenor, data.getData(tenor), ratesProvider,
+          betaSurface, shiftSurface, stopOnMathException, false));
+    }
+    SabrParametersSwaptionVolatilities volatilities =
+        volatilities(definition, calibrationDateTime, betaSurface, shiftSurface, nodes);
+    return Pair.of(volatilities, nodes.stream().map(node -> node.diagnostics).collect(toImmutableList()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, calibrating the tenors in parallel.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces, as in
+   * {@link #calibrateWithFixedBetaAndShift(SabrSwaptionDefinition, ZonedDateTime, TenorRawOptionData,
+   * RatesProvider, Surface, Surface, boolean)}.
+   * <p>
+   * The expiries of each tenor are calibrated by a task submitted to the fork-join pool, with the tasks of
+   * the different tenors running in parallel. Within a tenor, the expiries are calibrated in order and the fit
+   * for each expiry is first started from the parameters calibrated for the previous expiry.
+   * If the root-mean-square error of that fit is below one basis point of shifted Black volatility, it is accepted.
+   * Otherwise the default starting points are also tried and the best fit is kept.
+   * Each node is thus either fitted within that limit or at least as well as in the sequential calibration,
+   * but the calibrated parameters may correspond to a different local minimum.
+   * <p>
+   * The diagnostics of each calibrated node are returned in the order of the tenors and expiries of the data.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param pool  the fork-join pool used to calibrate the tenors
+   * @return the SABR volatility object and the diagnostics of the calibrated nodes
+   */
+  public Pair<SabrParametersSwaptionVolatilities, List<SabrSwaptionNodeCalibration>> calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      ForkJoinPool pool) {
+
+    ArgChecker.notNull(pool, "pool");
+    List<ForkJoinTask<List<NodeCalibration>>> tasks = new ArrayList<>();
+    for (Tenor tenor : data.getTenors()) {
+      RawOptionData tenorData = data.getData(tenor);
+      tasks.add(pool.submit(() -> calibrateTenor(definition, calibrationDateTime, tenor, tenorData, ratesProvider,
+          betaSurface, shiftSurface, stopOnMathException, true)));
+    }
+    List<NodeCalibration> nodes = new ArrayList<>();
+    for (ForkJoinTask<List<NodeCalibration>> task : tasks) {
+      nodes.addAll(task.join());
+    }
+    SabrParametersSwaptionVolatilities volatilities =
+        volatilities(definition, calibrationDateTime, betaSurface, shiftSurface, nodes);
+    return Pair.of(volatilities, nodes.stream().map(node -> node.diagnostics).collect(toImmutableList()));
+  }
+
+  // Calibrates the expiries of one tenor in order. With warm start, the calibration of each expiry starts from
+  // the parameters of the previous one, rescaled to keep the same alpha * (forward + shift)^beta.
+  @SuppressWarnings("null")
+  private List<NodeCalibration> calibrateTenor(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      Tenor tenor,
+      RawOptionData tenorData,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      boolean warmStart) {
+
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
-    SurfaceInterpolator interpolator = definition.getInterpolator();
-
     BitSet fixed = new BitSet();
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>(); 
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>>  sabrPointTmp = new TreeMap<>();
-    for (Tenor tenor : data.getTenors()) {
-      RawOptionData tenorData = data.getData(tenor);
-      double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
-        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
-          continue;
-        }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
+    double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
+    List<Period> expiries = tenorData.getExpiries();
+    int nbExpiries = expiries.size();
+    List<NodeCalibration> nodes = new ArrayList<>();
+    NodeCalibration previous = null;
+    for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
+      Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+      if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
+        continue;
+      }
+      LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
+      LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+      double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+      double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+      double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+      LocalDate endDate = effectiveDate.plus(tenor);
+      SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+      double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+      DoubleArray warmStartParameters = null;
+      if (warmStart && previous != null) {
+        SabrFormulaData previousPoint = previous.sabrPoint;
+        double alpha = previousPoint.getAlpha() *
+            Math.pow(previous.forward + previous.shift, previousPoint.getBeta()) / Math.pow(forward + shift, beta);
+        warmStartParameters = DoubleArray.of(alpha, beta, previousPoint.getRho(), previousPoint.getNu());
+      }
+      long start = System.nanoTime();
+      Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
+      int fitCount = 0;
+      boolean warmStarted = false;
+      try {
+        if (warmStartParameters != null) {
+          fitCount++;
+          try {
+            sabrCalibrationResult = calibrateLs(forward, shift, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData,
+                warmStartParameters);
+            warmStarted = sabrCalibrationResult.getFirst().getChiSq() <=
+                WARM_START_CHI_SQ_LIMIT * availableSmile.getFirst().size();
+          } catch (MathException e) {
+            // the default starting points are tried instead
           }
         }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
+        if (!warmStarted) {
+          // The calibration is done 4 times with different starting points: low and high volatilities and
+          // high and low vol of vol. The best result (in term of chi^2) is kept.
+          for (DoubleArray startParameters : startParameters(forward, shift, beta)) {
+            Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrateLs(forward, shift, fixed, bda,
+                calibrationDateTime, dayCount, availableSmile.getFirst(), availableSmile.getSecond(),
+                expiries.get(loopexpiry), tenorData, startParameters);
+            fitCount++;
+            if (sabrCalibrationResult == null ||
+                r.getFirst().getChiSq() < sabrCalibrationResult.getFirst().getChiSq()) { // Keep best calibration
+              sabrCalibrationResult = r;
+            }
           }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
         }
+      } catch (MathException e) {
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
+              expiries.get(loopexpiry), tenor);
+          throw new MathException(message, e);
+        }
+        continue;
       }
+      Duration calibrationTime = Duration.ofNanos(System.nanoTime() - start);
+      SabrSwaptionNodeCalibration diagnostics = SabrSwaptionNodeCalibration.of(expiries.get(loopexpiry), tenor,
+          timeToExpiry, sabrCalibrationResult.getFirst().getChiSq(), fitCount, warmStarted, calibrationTime);
+      ParameterMetadata parameterMetadata = SwaptionSurfaceExpiryTenorParameterMetadata.of(
+          timeToExpiry,
+          timeTenor,
+          expiries.get(loopexpiry).toString() + "x" + tenor.toString());
+      previous = new NodeCalibration(timeToExpiry, timeTenor, forward, shift, parameterMetadata,
+          SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe()),
+          sensitivityToData(sabrCalibrationResult), diagnostics);
+      nodes.add(previous);
+    }
+    return nodes;
+  }
+
+  // Creates the volatilities from the calibrated nodes, sorted by expiry and tenor
+  private SabrParametersSwaptionVolatilities volatilities(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      Surface betaSurface,
+      Surface shiftSurface,
+      List<NodeCalibration> nodes) {
+
+    SwaptionVolatilitiesName name = definition.getName();
+    FixedIborSwapConvention convention = definition.getConvention();
+    DayCount dayCount = definition.getDayCount();
+    SurfaceInterpolator interpolator = definition.getInterpolator();
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, NodeCalibration>> nodesTmp = new TreeMap<>();
+    for (NodeCalibration node : nodes) {
+      nodesTmp.computeIfAbsent(node.timeToExpiry, t -> new TreeMap<>()).put(node.timeTenor, node);
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
@@ -271,23 +402,17 @@ public class SabrSwaptionCalibrator {
     List<DoubleArray> dataSensitivityAlpha = new ArrayList<>(); // Sensitivity to the calibrating data
     List<DoubleArray> dataSensitivityRho = new ArrayList<>();
     List<DoubleArray> dataSensitivityNu = new ArrayList<>();
-    for (Double timeToExpiry : parameterMetadataTmp.keySet()) {
-      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-      for (Double timeTenor : parameterMetadataExpiryMap.keySet()) {
-        parameterMetadata.add(parameterMetadataExpiryMap.get(timeTenor));
-        dataSensitivityAlpha.add(dataSensitivityAlphaExpiryMap.get(timeTenor));
-        dataSensitivityRho.add(dataSensitivityRhoExpiryMap.get(timeTenor));
-        dataSensitivityNu.add(dataSensitivityNuExpiryMap.get(timeTenor));
-        timeToExpiryArray = timeToExpiryArray.concat(timeToExpiry);
-        timeTenorArray = timeTenorArray.concat(timeTenor);
-        SabrFormulaData sabrPt = sabrPointExpiryMap.get(timeTenor);
-        alphaArray = alphaArray.concat(sabrPt.getAlpha());
-        rhoArray = rhoArray.concat(sabrPt.getRho());
-        nuArray = nuArray.concat(sabrPt.getNu());
+    for (TreeMap<Double, NodeCalibration> nodesExpiryMap : nodesTmp.values()) {
+      for (NodeCalibration node : nodesExpiryMap.values()) {
+        parameterMetadata.add(node.parameterMetadata);
+        dataSensitivityAlpha.add(node.inverseJacobian.row(0));
+        dataSensitivityRho.add(node.inverseJacobian.row(2));
+        dataSensitivityNu.add(node.inverseJacobian.row(3));
+        timeToExpiryArray = timeToExpiryArray.concat(node.timeToExpiry);
+        timeTenorArray = timeTenorArray.concat(node.timeTenor);
+        alphaArray = alphaArray.concat(node.sabrPoint.getAlpha());
+        rhoArray = rhoArray.concat(node.sabrPoint.getRho());
+        nuArray = nuArray.concat(node.sabrPoint.getNu());
       }
     }
     SurfaceMetadata metadataAlpha = Surfaces.sabrParameterByExpiryTenor(
@@ -318,12 +443,26 @@ public class SabrSwaptionCalibrator {
   }
       
 
-  // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
-  // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+
+  // The starting points of the calibration: low and high volatilities and high and low vol of vol.
+  private static DoubleArray[] startParameters(double forward, double shift, double beta) {
+    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+    // Correlation is usually positive for normal and negative for log-normal;.
+    double alphaLow = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+    double alphaHigh = 4 * alphaLow; // High vol
+    double nuLow = 0.10; // Low vol of vol
+    double nuHigh = 0.50; // High vol of vol
+    return new DoubleArray[] {
+        DoubleArray.of(alphaLow, beta, rhoStart, nuLow),
+        DoubleArray.of(alphaLow, beta, rhoStart, nuHigh),
+        DoubleArray.of(alphaHigh, beta, rhoStart, nuLow),
+        DoubleArray.of(alphaHigh, beta, rhoStart, nuHigh)};
+  }
+
+  // The least square calibration from one starting point, depending on the type of the raw data.
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrateLs(
       double forward,
       double shift,
-      double beta,
       BitSet fixed,
       BusinessDayAdjustment bda,
       ZonedDateTime calibrationDateTime,
@@ -331,52 +470,31 @@ public class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
+      RawOptionData rawData,
+      DoubleArray startParameters) {
 
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
-    double chi2 = 1.0E+12; // Large number 
-    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
-      }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
-      }
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
     }
-    @SuppressWarnings("null")
-    SabrFormulaData sabrParameters =
-        SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
+    throw new IllegalArgumentException("Data type not supported");
+  }
+
+  // The sensitivity of the calibrated parameters to the raw data.
+  private static DoubleMatrix sensitivityToData(
+      Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult) {
+
     DoubleMatrix parameterSensitivityToBlackShifted =
         sabrCalibrationResult.getFirst().getModelParameterSensitivityToData();
     DoubleArray blackVolSensitivitytoRawData = sabrCalibrationResult.getSecond();
@@ -388,8 +506,7 @@ public class SabrSwaptionCalibrator {
             parameterSensitivityToBlackShifted.get(loopsabr, loopdata) * blackVolSensitivitytoRawData.get(loopdata);
       }
     }
-    DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    return DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
   }
 
   //-------------------------------------------------------------------------
@@ -900,4 +1017,37 @@ public class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // The calibrated parameters of one expiry/tenor node
+  private static final class NodeCalibration {
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final double forward;
+    private final double shift;
+    private final ParameterMetadata parameterMetadata;
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+    private final SabrSwaptionNodeCalibration diagnostics;
+
+    private NodeCalibration(
+        double timeToExpiry,
+        double timeTenor,
+        double forward,
+        double shift,
+        ParameterMetadata parameterMetadata,
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian,
+        SabrSwaptionNodeCalibration diagnostics) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.forward = forward;
+      this.shift = shift;
+      this.parameterMetadata = parameterMetadata;
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+      this.diagnostics = diagnostics;
+    }
+  }
+
 }
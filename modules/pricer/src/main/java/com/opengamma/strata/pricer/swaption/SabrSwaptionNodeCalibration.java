@@ -0,0 +1,595 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Period;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The diagnostics of the SABR calibration of a single expiry/tenor node of a swaption cube.
+ * <p>
+ * This is returned by {@link SabrSwaptionCalibrator} when calibrating in parallel.
+ * It records how the node was calibrated, allowing the cost of a cube calibration to be analyzed.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionNodeCalibration
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The expiry of the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Period expiry;
+  /**
+   * The tenor of the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Tenor tenor;
+  /**
+   * The time to expiry of the node.
+   */
+  @PropertyDefinition
+  private final double timeToExpiry;
+  /**
+   * The chi-square of the selected least-square fit.
+   * <p>
+   * The fit errors are expressed in basis points of shifted Black volatility.
+   */
+  @PropertyDefinition
+  private final double chiSquare;
+  /**
+   * The number of least-square fits run to calibrate the node.
+   * <p>
+   * This is one if the warm start was accepted, otherwise it includes each of the default starting points.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int fitCount;
+  /**
+   * Whether the node was calibrated from the parameters of the neighbouring node alone.
+   */
+  @PropertyDefinition
+  private final boolean warmStarted;
+  /**
+   * The time taken by the least-square fits of the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration calibrationTime;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param expiry  the expiry of the node
+   * @param tenor  the tenor of the node
+   * @param timeToExpiry  the time to expiry of the node
+   * @param chiSquare  the chi-square of the selected least-square fit
+   * @param fitCount  the number of least-square fits run
+   * @param warmStarted  whether the fit started from the parameters of the neighbouring node was accepted
+   * @param calibrationTime  the time taken by the least-square fits
+   * @return the diagnostics
+   */
+  public static SabrSwaptionNodeCalibration of(
+      Period expiry,
+      Tenor tenor,
+      double timeToExpiry,
+      double chiSquare,
+      int fitCount,
+      boolean warmStarted,
+      Duration calibrationTime) {
+
+    return new SabrSwaptionNodeCalibration(
+        expiry, tenor, timeToExpiry, chiSquare, fitCount, warmStarted, calibrationTime);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionNodeCalibration}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionNodeCalibration.Meta meta() {
+    return SabrSwaptionNodeCalibration.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SabrSwaptionNodeCalibration.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionNodeCalibration(
+      Period expiry,
+      Tenor tenor,
+      double timeToExpiry,
+      double chiSquare,
+      int fitCount,
+      boolean warmStarted,
+      Duration calibrationTime) {
+    JodaBeanUtils.notNull(expiry, "expiry");
+    JodaBeanUtils.notNull(tenor, "tenor");
+    ArgChecker.notNegativeOrZero(fitCount, "fitCount");
+    JodaBeanUtils.notNull(calibrationTime, "calibrationTime");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.timeToExpiry = timeToExpiry;
+    this.chiSquare = chiSquare;
+    this.fitCount = fitCount;
+    this.warmStarted = warmStarted;
+    this.calibrationTime = calibrationTime;
+  }
+
+  @Override
+  public SabrSwaptionNodeCalibration.Meta metaBean() {
+    return SabrSwaptionNodeCalibration.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expiry of the node.
+   * @return the value of the property, not null
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the node.
+   * @return the value of the property, not null
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time to expiry of the node.
+   * @return the value of the property
+   */
+  public double getTimeToExpiry() {
+    return timeToExpiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square of the selected least-square fit.
+   * <p>
+   * The fit errors are expressed in basis points of shifted Black volatility.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of least-square fits run to calibrate the node.
+   * <p>
+   * This is one if the warm start was accepted, otherwise it includes each of the default starting points.
+   * @return the value of the property
+   */
+  public int getFitCount() {
+    return fitCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the node was calibrated from the parameters of the neighbouring node alone.
+   * @return the value of the property
+   */
+  public boolean isWarmStarted() {
+    return warmStarted;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken by the least-square fits of the node.
+   * @return the value of the property, not null
+   */
+  public Duration getCalibrationTime() {
+    return calibrationTime;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionNodeCalibration other = (SabrSwaptionNodeCalibration) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          JodaBeanUtils.equal(timeToExpiry, other.timeToExpiry) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          (fitCount == other.fitCount) &&
+          (warmStarted == other.warmStarted) &&
+          JodaBeanUtils.equal(calibrationTime, other.calibrationTime);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(timeToExpiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fitCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStarted);
+    hash = hash * 31 + JodaBeanUtils.hashCode(calibrationTime);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(256);
+    buf.append("SabrSwaptionNodeCalibration{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("timeToExpiry").append('=').append(timeToExpiry).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("fitCount").append('=').append(fitCount).append(',').append(' ');
+    buf.append("warmStarted").append('=').append(warmStarted).append(',').append(' ');
+    buf.append("calibrationTime").append('=').append(JodaBeanUtils.toString(calibrationTime));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionNodeCalibration}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code expiry} property.
+     */
+    private final MetaProperty<Period> expiry = DirectMetaProperty.ofImmutable(
+        this, "expiry", SabrSwaptionNodeCalibration.class, Period.class);
+    /**
+     * The meta-property for the {@code tenor} property.
+     */
+    private final MetaProperty<Tenor> tenor = DirectMetaProperty.ofImmutable(
+        this, "tenor", SabrSwaptionNodeCalibration.class, Tenor.class);
+    /**
+     * The meta-property for the {@code timeToExpiry} property.
+     */
+    private final MetaProperty<Double> timeToExpiry = DirectMetaProperty.ofImmutable(
+        this, "timeToExpiry", SabrSwaptionNodeCalibration.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     */
+    private final MetaProperty<Double> chiSquare = DirectMetaProperty.ofImmutable(
+        this, "chiSquare", SabrSwaptionNodeCalibration.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code fitCount} property.
+     */
+    private final MetaProperty<Integer> fitCount = DirectMetaProperty.ofImmutable(
+        this, "fitCount", SabrSwaptionNodeCalibration.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code warmStarted} property.
+     */
+    private final MetaProperty<Boolean> warmStarted = DirectMetaProperty.ofImmutable(
+        this, "warmStarted", SabrSwaptionNodeCalibration.class, Boolean.TYPE);
+    /**
+     * The meta-property for the {@code calibrationTime} property.
+     */
+    private final MetaProperty<Duration> calibrationTime = DirectMetaProperty.ofImmutable(
+        this, "calibrationTime", SabrSwaptionNodeCalibration.class, Duration.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "expiry",
+        "tenor",
+        "timeToExpiry",
+        "chiSquare",
+        "fitCount",
+        "warmStarted",
+        "calibrationTime");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -1831499397:  // timeToExpiry
+          return timeToExpiry;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -537086082:  // fitCount
+          return fitCount;
+        case -106932676:  // warmStarted
+          return warmStarted;
+        case -1706271785:  // calibrationTime
+          return calibrationTime;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionNodeCalibration> builder() {
+      return new SabrSwaptionNodeCalibration.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionNodeCalibration> beanType() {
+      return SabrSwaptionNodeCalibration.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code expiry} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Period> expiry() {
+      return expiry;
+    }
+
+    /**
+     * The meta-property for the {@code tenor} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Tenor> tenor() {
+      return tenor;
+    }
+
+    /**
+     * The meta-property for the {@code timeToExpiry} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> timeToExpiry() {
+      return timeToExpiry;
+    }
+
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> chiSquare() {
+      return chiSquare;
+    }
+
+    /**
+     * The meta-property for the {@code fitCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> fitCount() {
+      return fitCount;
+    }
+
+    /**
+     * The meta-property for the {@code warmStarted} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> warmStarted() {
+      return warmStarted;
+    }
+
+    /**
+     * The meta-property for the {@code calibrationTime} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Duration> calibrationTime() {
+      return calibrationTime;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return ((SabrSwaptionNodeCalibration) bean).getExpiry();
+        case 110246592:  // tenor
+          return ((SabrSwaptionNodeCalibration) bean).getTenor();
+        case -1831499397:  // timeToExpiry
+          return ((SabrSwaptionNodeCalibration) bean).getTimeToExpiry();
+        case -797918495:  // chiSquare
+          return ((SabrSwaptionNodeCalibration) bean).getChiSquare();
+        case -537086082:  // fitCount
+          return ((SabrSwaptionNodeCalibration) bean).getFitCount();
+        case -106932676:  // warmStarted
+          return ((SabrSwaptionNodeCalibration) bean).isWarmStarted();
+        case -1706271785:  // calibrationTime
+          return ((SabrSwaptionNodeCalibration) bean).getCalibrationTime();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionNodeCalibration}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<SabrSwaptionNodeCalibration> {
+
+    private Period expiry;
+    private Tenor tenor;
+    private double timeToExpiry;
+    private double chiSquare;
+    private int fitCount;
+    private boolean warmStarted;
+    private Duration calibrationTime;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -1831499397:  // timeToExpiry
+          return timeToExpiry;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -537086082:  // fitCount
+          return fitCount;
+        case -106932676:  // warmStarted
+          return warmStarted;
+        case -1706271785:  // calibrationTime
+          return calibrationTime;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          this.expiry = (Period) newValue;
+          break;
+        case 110246592:  // tenor
+          this.tenor = (Tenor) newValue;
+          break;
+        case -1831499397:  // timeToExpiry
+          this.timeToExpiry = (Double) newValue;
+          break;
+        case -797918495:  // chiSquare
+          this.chiSquare = (Double) newValue;
+          break;
+        case -537086082:  // fitCount
+          this.fitCount = (Integer) newValue;
+          break;
+        case -106932676:  // warmStarted
+          this.warmStarted = (Boolean) newValue;
+          break;
+        case -1706271785:  // calibrationTime
+          this.calibrationTime = (Duration) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionNodeCalibration build() {
+      return new SabrSwaptionNodeCalibration(
+          expiry,
+          tenor,
+          timeToExpiry,
+          chiSquare,
+          fitCount,
+          warmStarted,
+          calibrationTime);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(256);
+      buf.append("SabrSwaptionNodeCalibration.Builder{");
+      buf.append("expiry").append('=').append(JodaBeanUtils.toString(expiry)).append(',').append(' ');
+      buf.append("tenor").append('=').append(JodaBeanUtils.toString(tenor)).append(',').append(' ');
+      buf.append("timeToExpiry").append('=').append(JodaBeanUtils.toString(timeToExpiry)).append(',').append(' ');
+      buf.append("chiSquare").append('=').append(JodaBeanUtils.toString(chiSquare)).append(',').append(' ');
+      buf.append("fitCount").append('=').append(JodaBeanUtils.toString(fitCount)).append(',').append(' ');
+      buf.append("warmStarted").append('=').append(JodaBeanUtils.toString(warmStarted)).append(',').append(' ');
+      buf.append("calibrationTime").append('=').append(JodaBeanUtils.toString(calibrationTime));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
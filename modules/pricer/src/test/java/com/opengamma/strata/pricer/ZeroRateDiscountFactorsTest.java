@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer;
 
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
@@ -15,12 +16,14 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.basics.date.YearFractionCache;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -94,6 +97,34 @@ public class ZeroRateDiscountFactorsTest {
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
 
+  public void test_discountFactor_batch() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] yearFractions = {0.1, 0.5, 2d, 7.5, 10d, 12d};
+    double[] discountFactors = new double[yearFractions.length];
+    double[] zeroRates = new double[yearFractions.length];
+    double[][] sensitivities = new double[yearFractions.length][test.getParameterCount()];
+    test.discountFactor(yearFractions, discountFactors);
+    test.zeroRate(yearFractions, zeroRates);
+    test.zeroRateParameterSensitivity(yearFractions, sensitivities);
+    for (int i = 0; i < yearFractions.length; i++) {
+      assertEquals(discountFactors[i], test.discountFactor(yearFractions[i]), TOL);
+      assertEquals(zeroRates[i], test.zeroRate(yearFractions[i]), TOL);
+      ZeroRateSensitivity point = ZeroRateSensitivity.of(GBP, yearFractions[i], 1d);
+      DoubleArray expected = test.parameterSensitivity(point).getSensitivity(NAME, GBP).getSensitivity();
+      assertTrue(DoubleArray.ofUnsafe(sensitivities[i]).equalWithTolerance(expected, TOL));
+    }
+  }
+
+  public void test_discountFactor_batch_sameArray() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] yearFractions = {0.1, 0.5, 2d, 7.5, 10d, 12d};
+    double[] values = yearFractions.clone();
+    test.discountFactor(values, values);
+    for (int i = 0; i < yearFractions.length; i++) {
+      assertEquals(values[i], test.discountFactor(yearFractions[i]), TOL);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_zeroRate() {
     ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -234,6 +265,17 @@ public class ZeroRateDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addZeroRateParameterSensitivity() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] result = new double[test.getParameterCount()];
+    test.addZeroRateParameterSensitivity(1.5d, 2d, result);
+    ZeroRateSensitivity point = ZeroRateSensitivity.of(GBP, 1.5d, 2d);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity();
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(result[i], expected.get(i), 1e-12);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -248,6 +290,17 @@ public class ZeroRateDiscountFactorsTest {
     assertEquals(test.getCurve(), CURVE2);
   }
 
+  public void test_withYearFractionCache() {
+    ZeroRateDiscountFactors base = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ZeroRateDiscountFactors test = base.withYearFractionCache(YearFractionCache.of(ACT_365F, DATE_VAL));
+    assertEquals(test, base);
+    assertEquals(test.relativeYearFraction(DATE_AFTER), base.relativeYearFraction(DATE_AFTER));
+    assertEquals(test.discountFactor(DATE_AFTER), base.discountFactor(DATE_AFTER));
+    assertEquals(test.withCurve(CURVE2).discountFactor(DATE_AFTER), base.withCurve(CURVE2).discountFactor(DATE_AFTER));
+    assertThrowsIllegalArg(() -> base.withYearFractionCache(YearFractionCache.of(ACT_360, DATE_VAL)));
+    assertThrowsIllegalArg(() -> base.withYearFractionCache(YearFractionCache.of(ACT_365F, DATE_AFTER)));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer;
 
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
@@ -22,6 +23,7 @@ import java.util.Optional;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.basics.date.YearFractionCache;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.CurveInfoType;
@@ -276,6 +278,17 @@ public class ZeroRatePeriodicDiscountFactorsTest {
     assertEquals(sensi1.getCurrency(), GBP);
   }
 
+  public void test_addZeroRateParameterSensitivity() {
+    ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] result = new double[test.getParameterCount()];
+    test.addZeroRateParameterSensitivity(1.5d, 2d, result);
+    ZeroRateSensitivity point = ZeroRateSensitivity.of(GBP, 1.5d, 2d);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity();
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(result[i], expected.get(i), 1e-12);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_parameterSensitivity_full() {
     ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -339,6 +352,17 @@ public class ZeroRatePeriodicDiscountFactorsTest {
     assertEquals(test.getCurve(), CURVE2);
   }
 
+  public void test_withYearFractionCache() {
+    ZeroRatePeriodicDiscountFactors base = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ZeroRatePeriodicDiscountFactors test = base.withYearFractionCache(YearFractionCache.of(ACT_365F, DATE_VAL));
+    assertEquals(test, base);
+    assertEquals(test.relativeYearFraction(DATE_AFTER), base.relativeYearFraction(DATE_AFTER));
+    assertEquals(test.discountFactor(DATE_AFTER), base.discountFactor(DATE_AFTER));
+    assertEquals(test.withCurve(CURVE2).discountFactor(DATE_AFTER), base.withCurve(CURVE2).discountFactor(DATE_AFTER));
+    assertThrowsIllegalArg(() -> base.withYearFractionCache(YearFractionCache.of(ACT_360, DATE_VAL)));
+    assertThrowsIllegalArg(() -> base.withYearFractionCache(YearFractionCache.of(ACT_365F, DATE_AFTER)));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -30,12 +30,15 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
@@ -51,6 +54,7 @@ import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -209,6 +213,48 @@ public class CalibrationDiscountingSimple1Test {
     }
   }
 
+  public void calibration_warm_start() {
+    ImmutableRatesProvider cold = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider warm = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA, cold);
+    Curve coldCurve = cold.findData(ALL_CURVE_NAME).get();
+    Curve warmCurve = warm.findData(ALL_CURVE_NAME).get();
+    assertEquals(warmCurve.getParameterCount(), coldCurve.getParameterCount());
+    for (int i = 0; i < coldCurve.getParameterCount(); i++) {
+      assertEquals(warmCurve.getParameter(i), coldCurve.getParameter(i), 1.0E-8);
+    }
+  }
+
+  public void recalibration_unchanged() {
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider result =
+        CALIBRATOR.recalibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA, previous, ALL_QUOTES);
+    assertEquals(result.findData(ALL_CURVE_NAME).get(), previous.findData(ALL_CURVE_NAME).get());
+  }
+
+  public void recalibration_shifted() {
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    for (int i = 0; i < FWD3_NB_NODES; i++) {
+      builder.addValue(QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[i])), FWD3_MARKET_QUOTES[i] + 0.0001 * i);
+    }
+    MarketData shiftedQuotes = builder.build();
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider cold = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, shiftedQuotes, REF_DATA);
+    ImmutableRatesProvider result =
+        CALIBRATOR.recalibrate(CURVE_GROUP_DEFN, shiftedQuotes, REF_DATA, previous, ALL_QUOTES);
+    Curve coldCurve = cold.findData(ALL_CURVE_NAME).get();
+    Curve resultCurve = result.findData(ALL_CURVE_NAME).get();
+    for (int i = 0; i < coldCurve.getParameterCount(); i++) {
+      assertEquals(resultCurve.getParameter(i), coldCurve.getParameter(i), 1.0E-8);
+    }
+    DoubleMatrix coldJacobian = coldCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN).getJacobianMatrix();
+    DoubleMatrix resultJacobian = resultCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN).getJacobianMatrix();
+    for (int i = 0; i < coldJacobian.rowCount(); i++) {
+      for (int j = 0; j < coldJacobian.columnCount(); j++) {
+        assertEquals(resultJacobian.get(i, j), coldJacobian.get(i, j), 1.0E-6);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test(enabled = false)
   void performance() {
@@ -0,0 +1,224 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link BatchImpliedVolatilitySolver}.
+ */
+@Test
+public class BatchImpliedVolatilitySolverTest {
+
+  private static final double FORWARD = 0.025;
+  private static final double[] STRIKES = {0.005, 0.01, 0.02, 0.024, 0.025, 0.026, 0.03, 0.05, 0.1};
+  private static final double[] EXPIRIES = {0.1, 1d, 5d, 30d};
+  private static final double[] BLACK_VOLS = {0.05, 0.2, 0.6, 1.5};
+  private static final double[] NORMAL_VOLS = {0.0005, 0.005, 0.02};
+  private static final double TOL = 1e-12;
+  private static final double PRICE_TOL = 1e-13;
+
+  //-------------------------------------------------------------------------
+  public void test_black_roundTrip() {
+    int size = STRIKES.length * EXPIRIES.length * BLACK_VOLS.length * 2;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    double[] vols = new double[size];
+    boolean[] isCalls = new boolean[size];
+    int i = 0;
+    for (double strike : STRIKES) {
+      for (double expiry : EXPIRIES) {
+        for (double vol : BLACK_VOLS) {
+          for (boolean isCall : new boolean[] {true, false}) {
+            prices[i] = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, isCall);
+            forwards[i] = FORWARD;
+            strikes[i] = strike;
+            expiries[i] = expiry;
+            vols[i] = vol;
+            isCalls[i] = isCall;
+            i++;
+          }
+        }
+      }
+    }
+    double[] computed =
+        BatchImpliedVolatilitySolver.blackImpliedVolatility(prices, forwards, strikes, expiries, isCalls);
+    for (int j = 0; j < size; j++) {
+      double otmPrice = prices[j] - Math.max(0d, (isCalls[j] ? 1d : -1d) * (forwards[j] - strikes[j]));
+      if (otmPrice > 1e-8 * Math.min(forwards[j], strikes[j])) {
+        // the rounding error of the price is amplified by the inverse of the vega
+        double vega = BlackFormulaRepository.vega(forwards[j], strikes[j], expiries[j], vols[j]);
+        assertEquals(computed[j], vols[j], TOL * vols[j] + PRICE_TOL * prices[j] / vega);
+      }
+    }
+  }
+
+  public void test_black_consistentWithRepository() {
+    double[] prices = new double[STRIKES.length];
+    double[] forwards = new double[STRIKES.length];
+    double[] expiries = new double[STRIKES.length];
+    boolean[] isCalls = new boolean[STRIKES.length];
+    for (int i = 0; i < STRIKES.length; i++) {
+      prices[i] = BlackFormulaRepository.price(FORWARD, STRIKES[i], 2d, 0.3, true);
+      forwards[i] = FORWARD;
+      expiries[i] = 2d;
+      isCalls[i] = true;
+    }
+    double[] computed =
+        BatchImpliedVolatilitySolver.blackImpliedVolatility(prices, forwards, STRIKES, expiries, isCalls);
+    for (int i = 0; i < STRIKES.length; i++) {
+      double expected = BlackFormulaRepository.impliedVolatility(prices[i], FORWARD, STRIKES[i], 2d, true);
+      assertEquals(computed[i], expected, 1e-8);
+    }
+  }
+
+  public void test_black_atTheMoney() {
+    // small prices use the series expansion, where the volatility is close to sqrt(2 pi) times the price
+    double small = BatchImpliedVolatilitySolver.normalizedBlackVolatility(1e-10, 0d);
+    assertEquals(small, Math.sqrt(2d * Math.PI) * 1e-10, 1e-14 * small);
+    for (double beta : new double[] {1e-3, 0.3, 1d - 1e-10}) {
+      double vol = BatchImpliedVolatilitySolver.normalizedBlackVolatility(beta, 0d);
+      // the price is 1 - 2 N(-s/2), so compare the tail probabilities to avoid cancellation
+      assertEquals(2d * StandardNormalDistribution.cdf(-0.5 * vol), 1d - beta, 1e-14 * (1d - beta));
+    }
+  }
+
+  public void test_black_iterations() {
+    // four iterations reach the converged volatility
+    for (double strike : STRIKES) {
+      for (double expiry : EXPIRIES) {
+        for (double vol : BLACK_VOLS) {
+          double otmPrice = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, strike >= FORWARD);
+          double beta = otmPrice / Math.sqrt(FORWARD * strike);
+          double x = -Math.abs(Math.log(FORWARD / strike));
+          if (otmPrice > 1e-8 * Math.min(FORWARD, strike)) {
+            double expected = BatchImpliedVolatilitySolver.normalizedBlackVolatility(beta, x);
+            double computed = BatchImpliedVolatilitySolver.normalizedBlackVolatility(beta, x, 4);
+            assertEquals(computed, expected, TOL * expected);
+          }
+        }
+      }
+    }
+  }
+
+  public void test_black_intrinsic() {
+    double[] computed = BatchImpliedVolatilitySolver.blackImpliedVolatility(
+        new double[] {0d, 0.01}, new double[] {0.02, 0.02}, new double[] {0.03, 0.01}, new double[] {1d, 1d},
+        new boolean[] {true, true});
+    assertEquals(computed[0], 0d);
+    assertEquals(computed[1], 0d);
+  }
+
+  public void test_black_invalid() {
+    double[] one = {1d};
+    boolean[] call = {true};
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatility(
+        new double[] {1d, 1d}, one, one, one, call));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatility(
+        new double[] {1d}, new double[] {1d}, new double[] {0.5}, one, call));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatility(
+        new double[] {0.4}, new double[] {1d}, new double[] {0.5}, one, call));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatility(
+        new double[] {0.1}, new double[] {-1d}, new double[] {0.5}, one, call));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatility(
+        new double[] {0.1}, one, one, new double[] {0d}, call));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normal_roundTrip() {
+    int size = STRIKES.length * EXPIRIES.length * NORMAL_VOLS.length * 2;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    double[] vols = new double[size];
+    boolean[] isCalls = new boolean[size];
+    int i = 0;
+    for (double strike : STRIKES) {
+      for (double expiry : EXPIRIES) {
+        for (double vol : NORMAL_VOLS) {
+          for (PutCall putCall : PutCall.values()) {
+            // negative strikes are valid in the normal model
+            prices[i] = NormalFormulaRepository.price(FORWARD, strike - 0.02, expiry, vol, putCall);
+            forwards[i] = FORWARD;
+            strikes[i] = strike - 0.02;
+            expiries[i] = expiry;
+            vols[i] = vol;
+            isCalls[i] = putCall.isCall();
+            i++;
+          }
+        }
+      }
+    }
+    double[] computed =
+        BatchImpliedVolatilitySolver.normalImpliedVolatility(prices, forwards, strikes, expiries, isCalls);
+    for (int j = 0; j < size; j++) {
+      double otmPrice = prices[j] - Math.max(0d, (isCalls[j] ? 1d : -1d) * (forwards[j] - strikes[j]));
+      if (otmPrice > 1e-8 * Math.abs(forwards[j] - strikes[j])) {
+        // the rounding error of the price is amplified by the inverse of the vega
+        double vega = NormalFormulaRepository.vega(forwards[j], strikes[j], expiries[j], vols[j], PutCall.CALL);
+        assertEquals(computed[j], vols[j], TOL * vols[j] + PRICE_TOL * prices[j] / vega);
+      }
+    }
+  }
+
+  public void test_normal_iterations() {
+    // three iterations reach the converged volatility
+    for (double strike : STRIKES) {
+      for (double expiry : EXPIRIES) {
+        for (double vol : NORMAL_VOLS) {
+          PutCall putCall = strike >= FORWARD ? PutCall.CALL : PutCall.PUT;
+          double beta = NormalFormulaRepository.price(FORWARD, strike, expiry, vol, putCall);
+          double d = -Math.abs(FORWARD - strike);
+          if (beta > 1e-8 * Math.abs(d)) {
+            double expected = BatchImpliedVolatilitySolver.normalizedNormalVolatility(beta, d);
+            double computed = BatchImpliedVolatilitySolver.normalizedNormalVolatility(beta, d, 3);
+            assertEquals(computed, expected, TOL * expected);
+          }
+        }
+      }
+    }
+  }
+
+  public void test_normal_consistentWithRepository() {
+    double[] prices = new double[STRIKES.length];
+    double[] forwards = new double[STRIKES.length];
+    double[] expiries = new double[STRIKES.length];
+    boolean[] isCalls = new boolean[STRIKES.length];
+    for (int i = 0; i < STRIKES.length; i++) {
+      prices[i] = NormalFormulaRepository.price(FORWARD, STRIKES[i], 2d, 0.01, PutCall.PUT);
+      forwards[i] = FORWARD;
+      expiries[i] = 2d;
+    }
+    double[] computed =
+        BatchImpliedVolatilitySolver.normalImpliedVolatility(prices, forwards, STRIKES, expiries, isCalls);
+    for (int i = 0; i < STRIKES.length; i++) {
+      double expected = NormalFormulaRepository.impliedVolatility(
+          prices[i], FORWARD, STRIKES[i], 2d, 0.005, 1d, PutCall.PUT);
+      assertEquals(computed[i], expected, 1e-10);
+    }
+  }
+
+  public void test_normal_invalid() {
+    double[] one = {1d};
+    boolean[] call = {true};
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.normalImpliedVolatility(
+        one, one, one, one, new boolean[] {true, false}));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.normalImpliedVolatility(
+        new double[] {0.4}, new double[] {1d}, new double[] {0.5}, one, call));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.normalImpliedVolatility(
+        new double[] {0.1}, one, one, new double[] {-1d}, call));
+  }
+
+}
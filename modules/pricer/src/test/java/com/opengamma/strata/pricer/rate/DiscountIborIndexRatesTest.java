@@ -194,6 +194,17 @@ public class DiscountIborIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addParameterSensitivity() {
+    DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
+    double[] result = new double[test.getParameterCount()];
+    test.addParameterSensitivity(GBP_LIBOR_3M_AFTER, 2d, result);
+    IborRateSensitivity point = IborRateSensitivity.of(GBP_LIBOR_3M_AFTER, GBP, 2d);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity();
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(result[i], expected.get(i), 1e-12);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
@@ -220,6 +220,17 @@ public class DiscountOvernightIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addParameterSensitivity() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
+    double[] result = new double[test.getParameterCount()];
+    test.addParameterSensitivity(GBP_SONIA_AFTER, DATE_AFTER_END, 2d, result);
+    OvernightRateSensitivity point = OvernightRateSensitivity.ofPeriod(GBP_SONIA_AFTER, DATE_AFTER_END, GBP, 2d);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity();
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(result[i], expected.get(i), 1e-12);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
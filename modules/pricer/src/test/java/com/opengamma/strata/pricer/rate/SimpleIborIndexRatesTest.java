@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.rate;
 
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
 import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
@@ -23,6 +24,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.YearFractionCache;
 import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -125,6 +127,16 @@ public class SimpleIborIndexRatesTest {
     assertEquals(test.getCurve(), CURVE2);
   }
 
+  public void test_withYearFractionCache() {
+    SimpleIborIndexRates base = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
+    SimpleIborIndexRates test = base.withYearFractionCache(YearFractionCache.of(CURVE_DAY_COUNT, DATE_VAL));
+    assertEquals(test, base);
+    assertEquals(test.rate(GBP_LIBOR_3M_AFTER), base.rate(GBP_LIBOR_3M_AFTER));
+    assertEquals(test.withCurve(CURVE2).rate(GBP_LIBOR_3M_AFTER), base.withCurve(CURVE2).rate(GBP_LIBOR_3M_AFTER));
+    assertThrowsIllegalArg(() -> base.withYearFractionCache(YearFractionCache.of(ACT_360, DATE_VAL)));
+    assertThrowsIllegalArg(() -> base.withYearFractionCache(YearFractionCache.of(CURVE_DAY_COUNT, DATE_AFTER)));
+  }
+
   //-------------------------------------------------------------------------
   public void test_rate_beforeValuation_fixing() {
     SimpleIborIndexRates test = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
@@ -202,6 +214,17 @@ public class SimpleIborIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addParameterSensitivity() {
+    SimpleIborIndexRates test = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
+    double[] result = new double[test.getParameterCount()];
+    test.addParameterSensitivity(GBP_LIBOR_3M_AFTER, 2d, result);
+    IborRateSensitivity point = IborRateSensitivity.of(GBP_LIBOR_3M_AFTER, GBP, 2d);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity();
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(result[i], expected.get(i), 1e-12);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     SimpleIborIndexRates test = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
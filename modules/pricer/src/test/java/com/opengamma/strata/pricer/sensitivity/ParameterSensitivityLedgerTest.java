@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link ParameterSensitivityLedger}.
+ */
+@Test
+public class ParameterSensitivityLedgerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_USD;
+  private static final LocalDate DATE = RatesProviderDataSets.VAL_DATE_2014_01_22;
+  private static final CurveName OTHER_CURVE = CurveName.of("Other");
+  private static final double TOLERANCE = 1e-6;
+
+  public void test_build() {
+    ParameterSensitivityLedger test = ParameterSensitivityLedger.of(PROVIDER);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < 50; i++) {
+      PointSensitivities trade = PointSensitivities.of(
+          ZeroRateSensitivity.of(USD, 0.5 * (i % 20), 1000d * i),
+          IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, DATE.plusMonths(i % 30), REF_DATA), -500d * i));
+      test.add(trade);
+      expected = expected.combinedWith(PROVIDER.parameterSensitivity(trade));
+    }
+    PointSensitivityBuilder builder = ZeroRateSensitivity.of(USD, 3d, 200d);
+    test.add(builder);
+    expected = expected.combinedWith(PROVIDER.parameterSensitivity(builder.build()));
+    CurrencyParameterSensitivities other = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(OTHER_CURVE, USD, DoubleArray.of(1d, 2d, 3d)));
+    test.add(other);
+    test.add(other);
+    expected = expected.combinedWith(other).combinedWith(other);
+    assertTrue(test.build().equalWithTolerance(expected, TOLERANCE));
+  }
+
+  public void test_empty() {
+    assertEquals(ParameterSensitivityLedger.of(PROVIDER).build(), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_inconsistentSize() {
+    ParameterSensitivityLedger test = ParameterSensitivityLedger.of(PROVIDER);
+    test.add(CurrencyParameterSensitivities.of(CurrencyParameterSensitivity.of(OTHER_CURVE, USD, DoubleArray.of(1d))));
+    assertThrowsIllegalArg(() -> test.add(CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(OTHER_CURVE, USD, DoubleArray.of(1d, 2d)))));
+  }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightRateSensitivity;
+
+/**
+ * Test {@link PointSensitivityAccumulator}.
+ */
+@Test
+public class PointSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_USD;
+  private static final LocalDate DATE = RatesProviderDataSets.VAL_DATE_2014_01_22;
+  private static final double TOLERANCE = 1e-6;
+
+  // a mixture of points, including repeated points
+  private static PointSensitivities points() {
+    MutablePointSensitivities points = new MutablePointSensitivities();
+    for (int i = 0; i < 200; i++) {
+      int period = i % 40;
+      double sensitivity = 1000d * (i + 1) * (i % 3 == 0 ? -1d : 1d);
+      points.add(ZeroRateSensitivity.of(USD, 0.25 * period, sensitivity));
+      points.add(ZeroRateSensitivity.of(USD, 0.25 * period, EUR, sensitivity * 0.5));
+      LocalDate fixingDate = DATE.plusMonths(3 * period);
+      points.add(IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, fixingDate, REF_DATA), sensitivity));
+      points.add(OvernightRateSensitivity.of(
+          OvernightIndexObservation.of(USD_FED_FUND, fixingDate, REF_DATA), sensitivity * 2d));
+    }
+    return points.build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parameterSensitivity() {
+    PointSensitivities points = points();
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator().add(points);
+    assertEquals(test.size(), 160);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(points);
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(PROVIDER);
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE));
+  }
+
+  public void test_build() {
+    PointSensitivities points = points();
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    for (int i = 0; i < points.size(); i++) {
+      test.add(points.getSensitivities().get(i));
+    }
+    assertTrue(test.build().equalWithTolerance(points.normalized(), TOLERANCE));
+  }
+
+  public void test_addPrimitives() {
+    PointSensitivities points = points();
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    for (PointSensitivity point : points.getSensitivities()) {
+      if (point instanceof ZeroRateSensitivity) {
+        ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+        test.addZeroRate(pt.getCurveCurrency(), pt.getYearFraction(), pt.getCurrency(), pt.getSensitivity());
+      } else if (point instanceof IborRateSensitivity) {
+        IborRateSensitivity pt = (IborRateSensitivity) point;
+        test.addIborRate(pt.getObservation(), pt.getCurrency(), pt.getSensitivity());
+      } else {
+        OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+        test.addOvernightRate(pt.getObservation(), pt.getEndDate(), pt.getCurrency(), pt.getSensitivity());
+      }
+    }
+    assertEquals(test.size(), 160);
+    assertTrue(test.build().equalWithTolerance(points.normalized(), TOLERANCE));
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(points);
+    assertTrue(test.parameterSensitivity(PROVIDER).equalWithTolerance(expected, TOLERANCE));
+  }
+
+  public void test_empty() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), PointSensitivities.empty());
+    assertEquals(test.parameterSensitivity(PROVIDER), CurrencyParameterSensitivities.empty());
+  }
+
+}
@@ -6,16 +6,23 @@
 package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
+import java.time.LocalDate;
 import java.util.Map.Entry;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -23,6 +30,8 @@ import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
@@ -32,6 +41,7 @@ import com.opengamma.strata.pricer.bond.LegalEntityGroup;
 import com.opengamma.strata.pricer.datasets.LegalEntityDiscountingProviderDataSets;
 import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
 
 /**
  * Tests {@link RatesFiniteDifferenceSensitivityCalculator}.
@@ -41,7 +51,11 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
   private static final RatesFiniteDifferenceSensitivityCalculator FD_CALCULATOR =
       RatesFiniteDifferenceSensitivityCalculator.DEFAULT;
 
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
   private static final double TOLERANCE_DELTA = 1.0E-8;
+  private static final double TOLERANCE_DELTA_CENTRAL = 1.0E-3;
+  private static final double TOLERANCE_DELTA_BACKWARD = 1.0E-2;
+  private static final double TOLERANCE_ROUNDING = 1.0E-4;
 
   @Test
   public void sensitivity_single_curve() {
@@ -85,6 +99,123 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_central() {
+    // the error of central differences is of order shift^2
+    RatesFiniteDifferenceSensitivityCalculator test =
+        RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-5);
+    CurrencyParameterSensitivities sensiComputed =
+        test.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    CurrencyParameterSensitivities sensiExpected = fnRatesSensitivity(RatesProviderDataSets.MULTI_CPI_USD);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA_CENTRAL));
+  }
+
+  @Test
+  public void sensitivity_backward() {
+    // the error of backward differences is shift times half the second derivative, at most 2E-3 here
+    RatesFiniteDifferenceSensitivityCalculator test =
+        RatesFiniteDifferenceSensitivityCalculator.ofBackwardDifference(1.0E-7);
+    CurrencyParameterSensitivities sensiComputed =
+        test.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    CurrencyParameterSensitivities sensiExpected = fnRatesSensitivity(RatesProviderDataSets.MULTI_CPI_USD);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA_BACKWARD));
+    // the function is convex in the zero rates, so backward differences are below forward differences
+    CurrencyParameterSensitivities sensiForward = RatesFiniteDifferenceSensitivityCalculator.ofForwardDifference(1.0E-7)
+        .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    CurrencyParameterSensitivities difference = sensiForward.combinedWith(sensiComputed.multipliedBy(-1d));
+    for (CurrencyParameterSensitivity sensi : difference.getSensitivities()) {
+      for (int i = 0; i < sensi.getParameterCount(); i++) {
+        assertTrue(sensi.getSensitivity().get(i) > -TOLERANCE_ROUNDING);
+      }
+    }
+    assertTrue(difference.total().getAmount(USD).getAmount() > TOLERANCE_ROUNDING);
+  }
+
+  @Test
+  public void sensitivity_overlay_findData() {
+    // the discount curve is also the Fed Fund curve, bumping either must match rebuilding the provider
+    CurrencyParameterSensitivities sensiComputed =
+        FD_CALCULATOR.sensitivityWithOverlay(RatesProviderDataSets.MULTI_CPI_USD, this::fnCurveByName);
+    CurrencyParameterSensitivities sensiExpected =
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnCurveByName);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_parallel() {
+    RatesFiniteDifferenceSensitivityCalculator test = FD_CALCULATOR.withParallel(true);
+    CurrencyParameterSensitivities sensiComputed = test.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    CurrencyParameterSensitivities sensiExpected =
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_overlay() {
+    CurrencyParameterSensitivities sensiComputed =
+        FD_CALCULATOR.sensitivityWithOverlay(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    CurrencyParameterSensitivities sensiExpected =
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_overlay_centralParallel() {
+    RatesFiniteDifferenceSensitivityCalculator central =
+        RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-5);
+    RatesFiniteDifferenceSensitivityCalculator test = central.withParallel(true);
+    CurrencyParameterSensitivities sensiComputed =
+        test.sensitivityWithOverlay(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    CurrencyParameterSensitivities sensiExpected =
+        central.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnRates);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+    // the provider passed to the function can be converted to an immutable provider
+    CurrencyParameterSensitivities sensiConverted = test.sensitivityWithOverlay(
+        RatesProviderDataSets.MULTI_CPI_USD, provider -> fn(provider.toImmutableRatesProvider()));
+    CurrencyParameterSensitivities sensiLinear =
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertTrue(sensiConverted.equalWithTolerance(sensiLinear, TOLERANCE_DELTA));
+  }
+
+  // the analytic sensitivity of fnRates
+  private CurrencyParameterSensitivities fnRatesSensitivity(ImmutableRatesProvider provider) {
+    LocalDate valuationDate = provider.getValuationDate();
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int i = 1; i <= 10; i++) {
+      LocalDate date = valuationDate.plusMonths(6 * i);
+      builder = builder.combinedWith(provider.discountFactors(USD).zeroRatePointSensitivity(date));
+      builder = builder.combinedWith(provider.iborIndexRates(USD_LIBOR_3M)
+          .ratePointSensitivity(IborIndexObservation.of(USD_LIBOR_3M, date, REF_DATA)));
+      builder = builder.combinedWith(provider.overnightIndexRates(USD_FED_FUND)
+          .periodRatePointSensitivity(OvernightIndexObservation.of(USD_FED_FUND, date, REF_DATA), date.plusMonths(1)));
+    }
+    return provider.parameterSensitivity(builder.multipliedBy(1000d).build());
+  }
+
+  // private function for testing. Returns the sum of the y-values of the USD discount curve, found by name
+  private CurrencyAmount fnCurveByName(RatesProvider provider) {
+    Curve curve = provider.findData(RatesProviderDataSets.USD_DSC_NAME).get();
+    double result = 0.0;
+    for (int i = 1; i <= 10; i++) {
+      result += curve.yValue(0.5 * i);
+    }
+    return CurrencyAmount.of(USD, result * 1000d);
+  }
+
+  // private function for testing. Returns the sum of discount factors and forward rates
+  private CurrencyAmount fnRates(RatesProvider provider) {
+    LocalDate valuationDate = provider.getValuationDate();
+    double result = 0.0;
+    for (int i = 1; i <= 10; i++) {
+      LocalDate date = valuationDate.plusMonths(6 * i);
+      result += provider.discountFactor(USD, date);
+      result += provider.iborIndexRates(USD_LIBOR_3M).rate(IborIndexObservation.of(USD_LIBOR_3M, date, REF_DATA));
+      result += provider.overnightIndexRates(USD_FED_FUND)
+          .periodRate(OvernightIndexObservation.of(USD_FED_FUND, date, REF_DATA), date.plusMonths(1));
+    }
+    return CurrencyAmount.of(USD, result * 1000d);
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
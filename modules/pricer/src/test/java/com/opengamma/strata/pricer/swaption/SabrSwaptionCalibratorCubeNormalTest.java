@@ -13,18 +13,23 @@ import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.MONEYNESS;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.TENORS;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.loader.csv.QuotesCsvLoader;
 import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
@@ -102,7 +107,59 @@ public class SabrSwaptionCalibratorCubeNormalTest {
             .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
     SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
         DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    assertCalibrated(calibrated, shift);
+  }
+
+  @Test
+  public void normal_cube_parallel() {
+    double beta = 0.50;
+    Surface betaSurface = ConstantSurface.of("Beta", beta)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    double shift = 0.0300;
+    Surface shiftSurface = ConstantSurface.of("Shift", shift)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    ForkJoinPool pool = new ForkJoinPool(4);
+    Pair<SabrParametersSwaptionVolatilities, List<SabrSwaptionNodeCalibration>> result;
+    try {
+      result = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true, pool);
+    } finally {
+      pool.shutdown();
+    }
+    SabrParametersSwaptionVolatilities calibrated = result.getFirst();
+    assertCalibrated(calibrated, shift);
+    Pair<SabrParametersSwaptionVolatilities, List<SabrSwaptionNodeCalibration>> sequentialResult =
+        SABR_CALIBRATION.calibrateSequentially(
+            DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true);
+    SabrParametersSwaptionVolatilities sequential = sequentialResult.getFirst();
+    assertEquals(calibrated.getParameterCount(), sequential.getParameterCount());
+    assertEquals(calibrated.getDataSensitivityAlpha().get().size(), sequential.getDataSensitivityAlpha().get().size());
+    List<SabrSwaptionNodeCalibration> diagnostics = result.getSecond();
+    List<SabrSwaptionNodeCalibration> sequentialDiagnostics = sequentialResult.getSecond();
+    assertEquals(diagnostics.size(), calibrated.getDataSensitivityAlpha().get().size());
+    assertEquals(sequentialDiagnostics.size(), diagnostics.size());
+    for (int i = 0; i < diagnostics.size(); i++) {
+      SabrSwaptionNodeCalibration node = diagnostics.get(i);
+      SabrSwaptionNodeCalibration sequentialNode = sequentialDiagnostics.get(i);
+      assertEquals(node.getExpiry(), sequentialNode.getExpiry());
+      assertEquals(node.getTenor(), sequentialNode.getTenor());
+      assertTrue(node.isWarmStarted() ? node.getFitCount() == 1 : node.getFitCount() >= 4);
+      assertFalse(node.getCalibrationTime().isNegative());
+      // each node is fitted within the warm start limit or at least as well as in the sequential calibration
+      int nbStrikes = DATA_SPARSE.getData(node.getTenor()).availableSmileAtExpiry(node.getExpiry()).getFirst().size();
+      double limit = SabrSwaptionCalibrator.WARM_START_CHI_SQ_LIMIT * nbStrikes;
+      if (node.isWarmStarted()) {
+        assertTrue(node.getChiSquare() <= limit, node.toString());
+      } else {
+        assertTrue(node.getChiSquare() <= sequentialNode.getChiSquare(), node + " " + sequentialNode);
+      }
+    }
+  }
 
+  private void assertCalibrated(SabrParametersSwaptionVolatilities calibrated, double shift) {
     for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
       double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
       for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
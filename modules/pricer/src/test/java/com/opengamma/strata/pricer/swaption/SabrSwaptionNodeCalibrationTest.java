@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * Tests {@link SabrSwaptionNodeCalibration}.
+ */
+@Test
+public class SabrSwaptionNodeCalibrationTest {
+
+  private static final Period EXPIRY = Period.ofYears(1);
+  private static final Tenor TENOR = Tenor.TENOR_10Y;
+  private static final Duration TIME = Duration.ofMillis(3);
+
+  //-------------------------------------------------------------------------
+  public void of() {
+    SabrSwaptionNodeCalibration test = SabrSwaptionNodeCalibration.of(EXPIRY, TENOR, 1.01, 0.25, 1, true, TIME);
+    assertEquals(test.getExpiry(), EXPIRY);
+    assertEquals(test.getTenor(), TENOR);
+    assertEquals(test.getTimeToExpiry(), 1.01);
+    assertEquals(test.getChiSquare(), 0.25);
+    assertEquals(test.getFitCount(), 1);
+    assertTrue(test.isWarmStarted());
+    assertEquals(test.getCalibrationTime(), TIME);
+  }
+
+  public void of_invalidFitCount() {
+    assertThrowsIllegalArg(() -> SabrSwaptionNodeCalibration.of(EXPIRY, TENOR, 1.01, 0.25, 0, false, TIME));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionNodeCalibration test = SabrSwaptionNodeCalibration.of(EXPIRY, TENOR, 1.01, 0.25, 1, true, TIME);
+    coverImmutableBean(test);
+    SabrSwaptionNodeCalibration test2 = SabrSwaptionNodeCalibration.of(
+        Period.ofYears(2), Tenor.TENOR_5Y, 2.02, 3.5, 5, false, Duration.ofMillis(12));
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    SabrSwaptionNodeCalibration test = SabrSwaptionNodeCalibration.of(EXPIRY, TENOR, 1.01, 0.25, 1, true, TIME);
+    assertSerialization(test);
+  }
+
+}
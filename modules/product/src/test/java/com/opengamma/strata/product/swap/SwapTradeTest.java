@@ -5,15 +5,22 @@
  */
 package com.opengamma.strata.product.swap;
 
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.GBP_FIXED_1Y_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
 
+import java.time.LocalDate;
+
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.product.TradeInfo;
 
 /**
@@ -49,6 +56,23 @@ public class SwapTradeTest {
     assertEquals(test.resolve(REF_DATA).getProduct(), SWAP1.resolve(REF_DATA));
   }
 
+  public void test_resolve_scheduleCache() {
+    ScheduleCache cache = ScheduleCache.of(100);
+    ReferenceData refData = cache.combinedWith(REF_DATA);
+    LocalDate tradeDate = date(2016, 2, 17);
+    SwapTrade trade1 = GBP_FIXED_1Y_LIBOR_3M.createTrade(tradeDate, TENOR_5Y, BUY, 1_000_000d, 0.01d, REF_DATA);
+    SwapTrade trade2 = GBP_FIXED_1Y_LIBOR_3M.createTrade(tradeDate, TENOR_5Y, SELL, 2_000_000d, 0.02d, REF_DATA);
+    ResolvedSwapTrade resolved1 = trade1.resolve(refData);
+    assertEquals(resolved1, trade1.resolve(REF_DATA));
+    assertEquals(cache.getHitCount(), 0);
+    assertEquals(cache.getMissCount(), 2);
+    // the second trade has the same accrual schedules on both legs
+    ResolvedSwapTrade resolved2 = trade2.resolve(refData);
+    assertEquals(resolved2, trade2.resolve(REF_DATA));
+    assertEquals(cache.getHitCount(), 2);
+    assertEquals(cache.getMissCount(), 2);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     SwapTrade test = SwapTrade.builder()